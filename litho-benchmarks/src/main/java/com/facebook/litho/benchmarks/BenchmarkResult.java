@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable result of a single benchmark scenario. Scores are average times per operation, in
+ * nanoseconds, one sample per measurement iteration.
+ */
+public final class BenchmarkResult {
+
+  private static final double[] PERCENTILES = {0.0, 50.0, 90.0, 99.0, 100.0};
+
+  private final String mName;
+  private final Map<String, String> mParams;
+  private final int mWarmupIterations;
+  private final int mOperationsPerIteration;
+  private final double[] mSamples;
+
+  BenchmarkResult(
+      String name,
+      Map<String, String> params,
+      int warmupIterations,
+      int operationsPerIteration,
+      double[] samples) {
+    mName = name;
+    mParams = Collections.unmodifiableMap(new LinkedHashMap<>(params));
+    mWarmupIterations = warmupIterations;
+    mOperationsPerIteration = operationsPerIteration;
+    mSamples = samples;
+  }
+
+  public String getName() {
+    return mName;
+  }
+
+  public Map<String, String> getParams() {
+    return mParams;
+  }
+
+  /** @return the mean time per operation across all measurement iterations, in nanoseconds. */
+  public double getScore() {
+    double sum = 0;
+    for (double sample : mSamples) {
+      sum += sample;
+    }
+    return sum / mSamples.length;
+  }
+
+  /** @return the sample standard deviation of the time per operation, in nanoseconds. */
+  public double getScoreError() {
+    if (mSamples.length < 2) {
+      return 0;
+    }
+    final double mean = getScore();
+    double squares = 0;
+    for (double sample : mSamples) {
+      squares += (sample - mean) * (sample - mean);
+    }
+    return Math.sqrt(squares / (mSamples.length - 1));
+  }
+
+  /** @return the given percentile (0 to 100) of the time per operation, in nanoseconds. */
+  public double getPercentile(double percentile) {
+    final double[] sorted = Arrays.copyOf(mSamples, mSamples.length);
+    Arrays.sort(sorted);
+    final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+  }
+
+  /**
+   * Appends this result as a JSON object to the given builder. The format follows the one JMH
+   * produces with {@code -rf json}, so that existing tooling can compare two runs.
+   */
+  void appendJson(StringBuilder json, String suiteName) {
+    json.append("  {\n");
+    appendJsonField(json, "benchmark", suiteName + "." + mName).append(",\n");
+    appendJsonField(json, "mode", "avgt").append(",\n");
+    json.append("    \"threads\": 1,\n");
+    json.append("    \"forks\": 1,\n");
+    json.append("    \"warmupIterations\": ").append(mWarmupIterations).append(",\n");
+    json.append("    \"measurementIterations\": ").append(mSamples.length).append(",\n");
+    json.append("    \"operationsPerIteration\": ").append(mOperationsPerIteration).append(",\n");
+    json.append("    \"params\": {");
+    boolean first = true;
+    for (Map.Entry<String, String> param : mParams.entrySet()) {
+      json.append(first ? "" : ", ");
+      json.append(quote(param.getKey())).append(": ").append(quote(param.getValue()));
+      first = false;
+    }
+    json.append("},\n");
+    json.append("    \"primaryMetric\": {\n");
+    json.append("      \"score\": ").append(getScore()).append(",\n");
+    json.append("      \"scoreError\": ").append(getScoreError()).append(",\n");
+    json.append("      \"scoreUnit\": \"ns/op\",\n");
+    json.append("      \"scorePercentiles\": {");
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      json.append(i == 0 ? "" : ", ");
+      json.append('"').append(PERCENTILES[i]).append("\": ");
+      json.append(getPercentile(PERCENTILES[i]));
+    }
+    json.append("},\n");
+    json.append("      \"rawData\": [[");
+    for (int i = 0; i < mSamples.length; i++) {
+      json.append(i == 0 ? "" : ", ").append(mSamples[i]);
+    }
+    json.append("]]\n");
+    json.append("    }\n");
+    json.append("  }");
+  }
+
+  private static StringBuilder appendJsonField(StringBuilder json, String key, String value) {
+    return json.append("    ").append(quote(key)).append(": ").append(quote(value));
+  }
+
+  private static String quote(String value) {
+    return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s %s: %.1f ± %.1f ns/op (p50 %.1f, p99 %.1f)",
+        mName, mParams, getScore(), getScoreError(), getPercentile(50), getPercentile(99));
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A minimal JMH-style harness. Every scenario runs a number of warmup iterations whose results
+ * are discarded, then a number of measurement iterations; each iteration times a fixed number of
+ * operations. Results are written as JMH compatible JSON to {@code <outputDir>/<suite>.json}.
+ *
+ * <p>The iteration counts can be overridden through the {@code litho.benchmarks.*} system
+ * properties, which the Gradle build forwards from project properties of the same name.
+ */
+public final class BenchmarkRunner {
+
+  /** A single benchmarked operation. */
+  public interface Operation {
+    void run() throws Exception;
+  }
+
+  /** Optional per-iteration hook, invoked outside of the timed section. */
+  public interface IterationSetup {
+    void setUp() throws Exception;
+  }
+
+  private static final String PROPERTY_PREFIX = "litho.benchmarks.";
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static volatile @Nullable Object sSink;
+
+  private final String mSuiteName;
+  private final int mWarmupIterations;
+  private final int mMeasurementIterations;
+  private final int mOperationsPerIteration;
+  private final List<BenchmarkResult> mResults = new ArrayList<>();
+
+  private BenchmarkRunner(Builder builder) {
+    mSuiteName = builder.mSuiteName;
+    mWarmupIterations = Integer.getInteger(PROPERTY_PREFIX + "warmupIterations", builder.mWarmup);
+    mMeasurementIterations =
+        Integer.getInteger(PROPERTY_PREFIX + "measurementIterations", builder.mMeasurement);
+    mOperationsPerIteration =
+        Integer.getInteger(PROPERTY_PREFIX + "operationsPerIteration", builder.mOperations);
+  }
+
+  public static Builder create(String suiteName) {
+    return new Builder(suiteName);
+  }
+
+  public static Map<String, String> params(Object... keysAndValues) {
+    if (keysAndValues.length % 2 != 0) {
+      throw new IllegalArgumentException("Params must be given as key/value pairs");
+    }
+    final Map<String, String> params = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      params.put(String.valueOf(keysAndValues[i]), String.valueOf(keysAndValues[i + 1]));
+    }
+    return params;
+  }
+
+  /** Prevents the JIT from eliminating the computation that produced the given value. */
+  public static void consume(@Nullable Object value) {
+    sSink = value;
+  }
+
+  public BenchmarkResult run(String name, Map<String, String> params, Operation operation) {
+    return run(name, params, null, operation);
+  }
+
+  public BenchmarkResult run(
+      String name,
+      Map<String, String> params,
+      @Nullable IterationSetup setup,
+      Operation operation) {
+    try {
+      for (int i = 0; i < mWarmupIterations; i++) {
+        runIteration(setup, operation);
+      }
+
+      final double[] samples = new double[mMeasurementIterations];
+      for (int i = 0; i < mMeasurementIterations; i++) {
+        samples[i] = (double) runIteration(setup, operation) / mOperationsPerIteration;
+      }
+
+      final BenchmarkResult result =
+          new BenchmarkResult(name, params, mWarmupIterations, mOperationsPerIteration, samples);
+      mResults.add(result);
+      System.out.println(mSuiteName + "." + result);
+      return result;
+    } catch (Exception e) {
+      throw new RuntimeException("Benchmark " + mSuiteName + "." + name + " failed", e);
+    }
+  }
+
+  private long runIteration(@Nullable IterationSetup setup, Operation operation)
+      throws Exception {
+    if (setup != null) {
+      setup.setUp();
+    }
+    final long start = System.nanoTime();
+    for (int op = 0; op < mOperationsPerIteration; op++) {
+      operation.run();
+    }
+    return System.nanoTime() - start;
+  }
+
+  public List<BenchmarkResult> getResults() {
+    return Collections.unmodifiableList(mResults);
+  }
+
+  public String toJson() {
+    final StringBuilder json = new StringBuilder("[\n");
+    for (int i = 0; i < mResults.size(); i++) {
+      mResults.get(i).appendJson(json, mSuiteName);
+      json.append(i < mResults.size() - 1 ? ",\n" : "\n");
+    }
+    return json.append("]\n").toString();
+  }
+
+  /**
+   * Writes the results collected so far to the directory given by the {@code
+   * litho.benchmarks.outputDir} system property. Does nothing if the property isn't set.
+   */
+  public void writeResults() {
+    final String outputDir = System.getProperty(PROPERTY_PREFIX + "outputDir");
+    if (outputDir == null || mResults.isEmpty()) {
+      return;
+    }
+
+    final File dir = new File(outputDir);
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IllegalStateException("Could not create benchmark output dir " + dir);
+    }
+
+    try (Writer writer =
+        new OutputStreamWriter(
+            new FileOutputStream(new File(dir, mSuiteName + ".json")), UTF_8)) {
+      writer.write(toJson());
+    } catch (IOException e) {
+      throw new RuntimeException("Could not write results of " + mSuiteName, e);
+    }
+  }
+
+  public static final class Builder {
+    private final String mSuiteName;
+    private int mWarmup = 5;
+    private int mMeasurement = 10;
+    private int mOperations = 100;
+
+    private Builder(String suiteName) {
+      mSuiteName = suiteName;
+    }
+
+    public Builder warmupIterations(int warmupIterations) {
+      mWarmup = warmupIterations;
+      return this;
+    }
+
+    public Builder measurementIterations(int measurementIterations) {
+      mMeasurement = measurementIterations;
+      return this;
+    }
+
+    public Builder operationsPerIteration(int operationsPerIteration) {
+      mOperations = operationsPerIteration;
+      return this;
+    }
+
+    public BenchmarkRunner build() {
+      return new BenchmarkRunner(this);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks mounting and unmounting the view attributes of accessible hosts, with accessibility
+ * enabled and disabled. "lazy" only stores the NodeInfos the accessibility delegates are created
+ * from while accessibility is enabled; "eager" stores them on every mount.
+ */
+@RunWith(LithoTestRunner.class)
+public class AccessibilityMountBenchmark {
+
+  private static final int HOST_COUNT = 200;
+  private static final String ACCESSIBILITY_ENABLED_PROPERTY = "is_accessibility_enabled";
+
+  private BenchmarkRunner mRunner;
+  private ComponentHost[] mHosts;
+  private LayoutOutput mOutput;
+  private boolean mDefaultInstallLazily;
+
+  @Before
+  public void setup() {
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+    mDefaultInstallLazily = ComponentsConfiguration.installAccessibilityDelegatesLazily;
+
+    final NodeInfo nodeInfo = new NodeInfo();
+    nodeInfo.setClickHandler(new EventHandler<ClickEvent>(null, 1, null));
+    nodeInfo.setContentDescription("item");
+    mOutput =
+        new LayoutOutput(HostComponent.create(), nodeInfo, null, 0, 0, LayoutOutput.STATE_UNKNOWN);
+
+    mHosts = new ComponentHost[HOST_COUNT];
+    for (int i = 0; i < HOST_COUNT; i++) {
+      mHosts[i] = new ComponentHost(getApplicationContext());
+    }
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.installAccessibilityDelegatesLazily = mDefaultInstallLazily;
+    System.clearProperty(ACCESSIBILITY_ENABLED_PROPERTY);
+    AccessibilityUtils.invalidateCachedIsAccessibilityEnabled();
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void lazy() {
+    run("lazy", true);
+  }
+
+  @Test
+  public void eager() {
+    run("eager", false);
+  }
+
+  private void run(String name, boolean installLazily) {
+    ComponentsConfiguration.installAccessibilityDelegatesLazily = installLazily;
+    for (boolean accessibilityEnabled : new boolean[] {false, true}) {
+      setAccessibilityEnabled(accessibilityEnabled);
+      mRunner.run(
+          name,
+          params("hosts", HOST_COUNT, "accessibility", accessibilityEnabled),
+          this::mountAndUnmountAll);
+    }
+  }
+
+  private void mountAndUnmountAll() {
+    for (ComponentHost host : mHosts) {
+      MountState.setViewAttributes(host, mOutput);
+      MountState.unsetViewAttributes(host, mOutput, LithoMountData.getViewAttributeFlags(host));
+    }
+  }
+
+  private static void setAccessibilityEnabled(boolean enabled) {
+    System.setProperty(ACCESSIBILITY_ENABLED_PROPERTY, String.valueOf(enabled));
+    AccessibilityUtils.invalidateCachedIsAccessibilityEnabled();
+  }
+}
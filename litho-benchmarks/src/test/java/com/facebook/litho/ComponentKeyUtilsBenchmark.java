@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Benchmarks the global key generation of {@link ComponentKeyUtils} for deep trees. It only needs
+ * plain Java, so it runs on the JVM without Robolectric.
+ */
+@RunWith(JUnit4.class)
+public class ComponentKeyUtilsBenchmark {
+
+  private static final int[][] SHAPES = {{4, 8}, {8, 4}, {16, 2}};
+
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void globalKeys() {
+    for (int[] shape : SHAPES) {
+      final int depth = shape[0];
+      final int siblings = shape[1];
+      mRunner.run(
+          "globalKeys",
+          params("depth", depth, "siblings", siblings),
+          () -> BenchmarkRunner.consume(generateKeys("1", depth, siblings)));
+    }
+  }
+
+  @Test
+  public void manualKeys() {
+    mRunner.run(
+        "manualKeys",
+        params("parts", 3),
+        () -> BenchmarkRunner.consume(ComponentKeyUtils.getKeyWithSeparator("feed", 42, "row")));
+  }
+
+  /** Generates the keys of a chain of {@code depth} parents with {@code siblings} children each. */
+  private static String generateKeys(String rootKey, int depth, int siblings) {
+    String parentKey = rootKey;
+    String lastKey = rootKey;
+    for (int level = 0; level < depth; level++) {
+      final String childKey = ComponentKeyUtils.getKeyWithSeparator(parentKey, "12" + level);
+      for (int index = 0; index < siblings; index++) {
+        lastKey = ComponentKeyUtils.getKeyForChildPosition(childKey, index);
+      }
+      parentKey = lastKey;
+    }
+    return lastKey;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+import static org.junit.Assume.assumeTrue;
+
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.inlinelayoutspec.InlineLayoutSpec;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks relayouts of a 100 row list where every row has a click handler whose params don't
+ * change, and reports the bytes allocated per relayout. "reuse" returns the recorded event handler
+ * from the event handler factory; "noReuse" creates a new event handler on every layout.
+ */
+@RunWith(LithoTestRunner.class)
+public class EventHandlerReuseBenchmark {
+
+  private static final int ROWS = 100;
+  private static final int RELAYOUTS = 20;
+
+  private final int mWidthSpec = SizeSpec.makeSizeSpec(1080, SizeSpec.EXACTLY);
+  private final int mHeightSpec = SizeSpec.makeSizeSpec(1920, SizeSpec.AT_MOST);
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+  private boolean mReuseEventHandlers;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+    mReuseEventHandlers = ComponentsConfiguration.reuseEventHandlers;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.reuseEventHandlers = mReuseEventHandlers;
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void reuse() {
+    relayout("reuse", true);
+  }
+
+  @Test
+  public void noReuse() {
+    relayout("noReuse", false);
+  }
+
+  private void relayout(String name, boolean reuseEventHandlers) {
+    final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+    final com.sun.management.ThreadMXBean allocationBean =
+        (com.sun.management.ThreadMXBean) threadBean;
+    final long threadId = Thread.currentThread().getId();
+
+    ComponentsConfiguration.reuseEventHandlers = reuseEventHandlers;
+    final ComponentTree componentTree = ComponentTree.create(mContext, new ListComponent()).build();
+    componentTree.setRootAndSizeSpecSync(new ListComponent(), mWidthSpec, mHeightSpec);
+
+    // Allocations are counted outside of the runner so that timing iterations don't skew them.
+    final long before = allocationBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < RELAYOUTS; i++) {
+      componentTree.setRootAndSizeSpecSync(new ListComponent(), mWidthSpec, mHeightSpec);
+    }
+    final long bytesPerRelayout =
+        (allocationBean.getThreadAllocatedBytes(threadId) - before) / RELAYOUTS;
+
+    mRunner.run(
+        name,
+        params("rows", ROWS, "bytesPerRelayout", bytesPerRelayout),
+        () -> componentTree.setRootAndSizeSpecSync(new ListComponent(), mWidthSpec, mHeightSpec));
+
+    componentTree.release();
+  }
+
+  private static class ListComponent extends InlineLayoutSpec {
+
+    @Override
+    protected Component onCreateLayout(ComponentContext c) {
+      final Column.Builder column = Column.create(c);
+      for (int i = 0; i < ROWS; i++) {
+        column.child(new RowComponent(i));
+      }
+      return column.build();
+    }
+  }
+
+  /** Creates its click handler the way generated event handler factories do. */
+  private static class RowComponent extends InlineLayoutSpec {
+
+    private static final int ON_CLICK_ID = 1;
+
+    private final int mPosition;
+
+    RowComponent(int position) {
+      mPosition = position;
+    }
+
+    @Override
+    protected Component onCreateLayout(ComponentContext c) {
+      return Row.create(c).heightPx(10).clickHandler(onClick(c, mPosition)).build();
+    }
+
+    private static EventHandler<ClickEvent> onClick(ComponentContext c, int position) {
+      final EventHandler<ClickEvent> reusedEventHandler =
+          getReusableEventHandler(RowComponent.class, c, ON_CLICK_ID);
+      if (reusedEventHandler != null && EventHandler.paramEquals(reusedEventHandler, 1, position)) {
+        return reusedEventHandler;
+      }
+      return newEventHandler(
+          RowComponent.class, "RowComponent", c, ON_CLICK_ID, new Object[] {c, position});
+    }
+  }
+}
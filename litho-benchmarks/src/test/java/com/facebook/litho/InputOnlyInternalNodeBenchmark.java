@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+import static org.junit.Assume.assumeTrue;
+
+import android.graphics.Color;
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import com.facebook.litho.testing.inlinelayoutspec.InlineLayoutSpec;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.yoga.YogaEdge;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks the memory footprint of {@link InputOnlyInternalNode}s. "node", "borderedNode" and
+ * "visibilityNode" report the bytes allocated per node, without and with optional props. "layout"
+ * reports the bytes allocated per layout of a 1000 row list, which is the garbage every layout
+ * leaves behind. Run it on consecutive revisions to compare the numbers.
+ */
+@RunWith(LithoTestRunner.class)
+public class InputOnlyInternalNodeBenchmark {
+
+  private static final int NODES = 10000;
+  private static final int ROWS = 1000;
+  private static final int LAYOUTS = 10;
+
+  private final int mWidthSpec = SizeSpec.makeSizeSpec(1080, SizeSpec.EXACTLY);
+  private final int mHeightSpec = SizeSpec.makeSizeSpec(1920, SizeSpec.AT_MOST);
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+  private com.sun.management.ThreadMXBean mAllocationBean;
+
+  @Before
+  public void setup() {
+    final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+    mAllocationBean = (com.sun.management.ThreadMXBean) threadBean;
+
+    mContext = new ComponentContext(getApplicationContext());
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void node() {
+    createNodes("node", NodeFactory.PLAIN);
+  }
+
+  @Test
+  public void borderedNode() {
+    createNodes("borderedNode", NodeFactory.BORDERED);
+  }
+
+  @Test
+  public void visibilityNode() {
+    createNodes("visibilityNode", NodeFactory.WITH_VISIBILITY);
+  }
+
+  @Test
+  public void layout() {
+    final ComponentTree componentTree = ComponentTree.create(mContext, new ListComponent()).build();
+    componentTree.setRootAndSizeSpecSync(new ListComponent(), mWidthSpec, mHeightSpec);
+
+    // Allocations are counted outside of the runner so that timing iterations don't skew them.
+    final long before = allocatedBytes();
+    for (int i = 0; i < LAYOUTS; i++) {
+      componentTree.setRootAndSizeSpecSync(new ListComponent(), mWidthSpec, mHeightSpec);
+    }
+    final long bytesPerLayout = (allocatedBytes() - before) / LAYOUTS;
+
+    mRunner.run(
+        "layout",
+        params("rows", ROWS, "bytesPerLayout", bytesPerLayout),
+        () -> componentTree.setRootAndSizeSpecSync(new ListComponent(), mWidthSpec, mHeightSpec));
+
+    componentTree.release();
+  }
+
+  private void createNodes(String name, NodeFactory factory) {
+    final InternalNode[] nodes = new InternalNode[NODES];
+
+    final long before = allocatedBytes();
+    for (int i = 0; i < NODES; i++) {
+      nodes[i] = factory.create(mContext);
+    }
+    final long bytesPerNode = (allocatedBytes() - before) / NODES;
+    BenchmarkRunner.consume(nodes);
+
+    mRunner.run(
+        name,
+        params("nodes", NODES, "bytesPerNode", bytesPerNode),
+        () -> {
+          for (int i = 0; i < NODES; i++) {
+            nodes[i] = factory.create(mContext);
+          }
+          BenchmarkRunner.consume(nodes);
+        });
+  }
+
+  private long allocatedBytes() {
+    return mAllocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private enum NodeFactory {
+    PLAIN {
+      @Override
+      InternalNode create(ComponentContext c) {
+        return new InputOnlyInternalNode<>(c);
+      }
+    },
+    BORDERED {
+      @Override
+      InternalNode create(ComponentContext c) {
+        final Border border =
+            Border.create(c).widthPx(YogaEdge.ALL, 2).color(YogaEdge.ALL, Color.RED).build();
+        return new InputOnlyInternalNode<>(c).border(border);
+      }
+    },
+    WITH_VISIBILITY {
+      @Override
+      InternalNode create(ComponentContext c) {
+        return new InputOnlyInternalNode<>(c).visibleHeightRatio(0.5f).visibleWidthRatio(0.5f);
+      }
+    };
+
+    abstract InternalNode create(ComponentContext c);
+  }
+
+  private static class ListComponent extends InlineLayoutSpec {
+
+    @Override
+    protected Component onCreateLayout(ComponentContext c) {
+      final Column.Builder column = Column.create(c);
+      for (int i = 0; i < ROWS; i++) {
+        column.child(Row.create(c).heightPx(10).paddingPx(YogaEdge.ALL, 2));
+      }
+      return column.build();
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.inlinelayoutspec.InlineLayoutSpec;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.yoga.YogaEdge;
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks laying out a 1000 row list whose rows resolve their dimensions from resources and
+ * theme attributes. "table" resolves them through the primitive {@link ResourceTable} and reports
+ * its hit rate; "lru" goes through the boxing LRU resource cache and the theme for attributes.
+ */
+@RunWith(LithoTestRunner.class)
+public class ResourceTableBenchmark {
+
+  private static final int ROWS = 1000;
+
+  private final int mWidthSpec = SizeSpec.makeSizeSpec(1080, SizeSpec.EXACTLY);
+  private final int mHeightSpec = SizeSpec.makeSizeSpec(1920, SizeSpec.AT_MOST);
+
+  private BenchmarkRunner mRunner;
+  private boolean mDefaultUsePrimitiveResourceTable;
+
+  @Before
+  public void setup() {
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+    mDefaultUsePrimitiveResourceTable = ComponentsConfiguration.usePrimitiveResourceTable;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.usePrimitiveResourceTable = mDefaultUsePrimitiveResourceTable;
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void table() {
+    run("table", true);
+  }
+
+  @Test
+  public void lru() {
+    run("lru", false);
+  }
+
+  private void run(String name, boolean usePrimitiveResourceTable) {
+    ComponentsConfiguration.usePrimitiveResourceTable = usePrimitiveResourceTable;
+    final ComponentContext c = new ComponentContext(getApplicationContext());
+    final ComponentTree componentTree = ComponentTree.create(c, new ListComponent()).build();
+
+    final ResourceResolver resolver = c.getResourceResolver();
+    componentTree.setRootAndSizeSpecSync(new ListComponent(), mWidthSpec, mHeightSpec);
+    final long hits = resolver.getResourceTableHitCount();
+    final long lookups = hits + resolver.getResourceTableMissCount();
+    final String hitRate =
+        lookups == 0 ? "n/a" : String.format(Locale.US, "%.4f", (double) hits / lookups);
+
+    mRunner.run(
+        name,
+        params("rows", ROWS, "hitRate", hitRate),
+        () -> componentTree.setRootAndSizeSpecSync(new ListComponent(), mWidthSpec, mHeightSpec));
+
+    componentTree.release();
+  }
+
+  private static class ListComponent extends InlineLayoutSpec {
+
+    @Override
+    protected Component onCreateLayout(ComponentContext c) {
+      final Column.Builder column = Column.create(c);
+      for (int i = 0; i < ROWS; i++) {
+        column.child(
+            Row.create(c)
+                .heightRes(android.R.dimen.app_icon_size)
+                .paddingRes(YogaEdge.ALL, android.R.dimen.thumbnail_height)
+                .marginAttr(YogaEdge.HORIZONTAL, android.R.attr.listPreferredItemPaddingLeft)
+                .minWidthRes(android.R.dimen.thumbnail_width));
+      }
+      return column.build();
+    }
+  }
+}
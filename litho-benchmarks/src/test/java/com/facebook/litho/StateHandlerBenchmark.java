@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import com.facebook.litho.StateContainer.StateUpdate;
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Benchmarks the {@link StateHandler} work of a state update round trip: queueing updates, copying
+ * the handler for a layout, applying the updates and committing the result. Plain state containers
+ * stand in for generated ones so that it runs on the JVM without Robolectric.
+ */
+@RunWith(JUnit4.class)
+public class StateHandlerBenchmark {
+
+  private static final int[] CONTAINER_COUNTS = {10, 100, 1000};
+  private static final StateUpdate INCREMENT = new StateUpdate(0);
+
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void updateAndCommit() {
+    for (int containerCount : CONTAINER_COUNTS) {
+      final StateHandler template = new StateHandler();
+      final String[] keys = new String[containerCount];
+      for (int i = 0; i < containerCount; i++) {
+        keys[i] = "root,child" + i;
+        template.addStateContainer(keys[i], new CounterStateContainer());
+      }
+
+      // Every tenth component receives an update, as a typical interaction would.
+      mRunner.run(
+          "updateAndCommit",
+          params("containers", containerCount, "updates", (containerCount + 9) / 10),
+          () -> {
+            final StateHandler handler = StateHandler.createNewInstance(template);
+            for (int i = 0; i < containerCount; i += 10) {
+              handler.queueStateUpdate(keys[i], INCREMENT, true);
+            }
+
+            final StateHandler layoutHandler = StateHandler.createNewInstance(handler);
+            for (int i = 0; i < containerCount; i += 10) {
+              layoutHandler.applyLazyStateUpdatesForContainer(
+                  keys[i], layoutHandler.getStateContainer(keys[i]));
+            }
+
+            handler.commit(layoutHandler);
+            BenchmarkRunner.consume(handler);
+          });
+    }
+  }
+
+  private static final class CounterStateContainer extends StateContainer {
+    int mCount;
+
+    @Override
+    public void applyStateUpdate(StateUpdate stateUpdate) {
+      mCount++;
+    }
+  }
+}
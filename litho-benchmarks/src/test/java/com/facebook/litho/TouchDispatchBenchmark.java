@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.LayoutOutput.getLayoutOutput;
+import static com.facebook.litho.LayoutOutput.isTouchableDisabled;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import android.graphics.Rect;
+import android.graphics.drawable.ColorDrawable;
+import android.view.MotionEvent;
+import android.view.View;
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.rendercore.MountItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks dispatching down events to a host holding a grid of touchable drawables, like a grid
+ * of drawable-only icons. "indexed" goes through {@link ComponentHost#onTouchEvent(MotionEvent)},
+ * which looks the touchables up in its {@link TouchableIndex}; "scan" offers the event to every
+ * mounted drawable from last to first.
+ */
+@RunWith(LithoTestRunner.class)
+public class TouchDispatchBenchmark {
+
+  private static final int[] ITEM_COUNTS = {16, 128, 512};
+  private static final int CELL_SIZE = 10;
+  private static final int COLUMNS = 16;
+
+  private BenchmarkRunner mRunner;
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+    mContext = new ComponentContext(getApplicationContext());
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void indexed() {
+    for (int count : ITEM_COUNTS) {
+      final ComponentHost host = new ComponentHost(mContext);
+      mountGrid(host, count);
+      final MotionEvent[] events = createDownEvents(count);
+      mRunner.run(
+          "indexed",
+          params("items", count),
+          () -> {
+            int handled = 0;
+            for (MotionEvent event : events) {
+              handled += host.onTouchEvent(event) ? 1 : 0;
+            }
+            BenchmarkRunner.consume(handled);
+          });
+    }
+  }
+
+  @Test
+  public void scan() {
+    for (int count : ITEM_COUNTS) {
+      final ComponentHost host = new ComponentHost(mContext);
+      final MountItem[] items = mountGrid(host, count);
+      final MotionEvent[] events = createDownEvents(count);
+      mRunner.run(
+          "scan",
+          params("items", count),
+          () -> {
+            int handled = 0;
+            for (MotionEvent event : events) {
+              handled += scan(host, items, event) ? 1 : 0;
+            }
+            BenchmarkRunner.consume(handled);
+          });
+    }
+  }
+
+  private static boolean scan(View host, MountItem[] items, MotionEvent event) {
+    for (int i = items.length - 1; i >= 0; i--) {
+      final MountItem item = items[i];
+      if (item.getContent() instanceof Touchable
+          && !isTouchableDisabled(getLayoutOutput(item).getFlags())) {
+        final Touchable t = (Touchable) item.getContent();
+        if (t.shouldHandleTouchEvent(event) && t.onTouchEvent(event, host)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static MountItem[] mountGrid(ComponentHost host, int count) {
+    final MountItem[] items = new MountItem[count];
+    for (int i = 0; i < count; i++) {
+      final Rect bounds = cellBounds(i);
+      final BoundedTouchableDrawable drawable = new BoundedTouchableDrawable();
+      drawable.setBounds(bounds);
+      final LithoRenderUnit unit =
+          LithoRenderUnit.create(
+              i,
+              DrawableComponent.create(drawable),
+              null,
+              null,
+              null,
+              0,
+              View.IMPORTANT_FOR_ACCESSIBILITY_AUTO,
+              LayoutOutput.STATE_UNKNOWN);
+      items[i] = new MountItem(LithoRenderUnit.create(unit, bounds, null, null), host, drawable);
+      items[i].setMountData(new LithoMountData(drawable));
+      host.mount(i, items[i], bounds);
+    }
+    return items;
+  }
+
+  /** One down event in the middle of every cell, in a scattered order. */
+  private static MotionEvent[] createDownEvents(int count) {
+    final MotionEvent[] events = new MotionEvent[count];
+    for (int i = 0; i < count; i++) {
+      final Rect bounds = cellBounds((i * 7) % count);
+      events[i] =
+          MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, bounds.centerX(), bounds.centerY(), 0);
+    }
+    return events;
+  }
+
+  private static Rect cellBounds(int i) {
+    final int left = (i % COLUMNS) * CELL_SIZE;
+    final int top = (i / COLUMNS) * CELL_SIZE;
+    return new Rect(left, top, left + CELL_SIZE, top + CELL_SIZE);
+  }
+
+  /** Handles events within its bounds, like a text with clickable spans. */
+  private static class BoundedTouchableDrawable extends ColorDrawable implements Touchable {
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event, View host) {
+      return true;
+    }
+
+    @Override
+    public boolean shouldHandleTouchEvent(MotionEvent event) {
+      return getBounds().contains((int) event.getX(), (int) event.getY());
+    }
+  }
+}
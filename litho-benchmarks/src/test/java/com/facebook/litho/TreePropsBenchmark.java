@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Benchmarks {@link TreeProps} through a chain of 12 providers, each creating the TreeProps for
+ * its children from its parent's and setting one tree prop, as generated code does in
+ * getTreePropsForChildren.
+ */
+@RunWith(JUnit4.class)
+public class TreePropsBenchmark {
+
+  private static final int DEPTH = 12;
+
+  private static final Class[] KEYS = {
+    String.class,
+    Integer.class,
+    Long.class,
+    Float.class,
+    Double.class,
+    Boolean.class,
+    Character.class,
+    Byte.class,
+    Short.class,
+    Number.class,
+    CharSequence.class,
+    StringBuilder.class,
+  };
+
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void providerChain() {
+    for (int distinctKeys : new int[] {1, 4, DEPTH}) {
+      mRunner.run(
+          "providerChain",
+          params("depth", DEPTH, "distinctKeys", distinctKeys),
+          () -> BenchmarkRunner.consume(buildChain(distinctKeys)));
+    }
+  }
+
+  @Test
+  public void readAtLeaf() {
+    final TreeProps leaf = buildChain(DEPTH);
+    mRunner.run(
+        "readAtLeaf",
+        params("depth", DEPTH),
+        () -> {
+          for (Class key : KEYS) {
+            BenchmarkRunner.consume(leaf.get(key));
+          }
+        });
+  }
+
+  /** Builds the chain, each level setting one of the first {@code distinctKeys} keys. */
+  private static TreeProps buildChain(int distinctKeys) {
+    TreeProps treeProps = null;
+    for (int level = 0; level < DEPTH; level++) {
+      final TreeProps childTreeProps = TreeProps.acquire(treeProps);
+      childTreeProps.put(KEYS[level % distinctKeys], level);
+      treeProps = childTreeProps;
+    }
+    return treeProps;
+  }
+}
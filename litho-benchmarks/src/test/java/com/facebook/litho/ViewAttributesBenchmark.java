@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import android.view.View;
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import com.facebook.litho.testing.TestViewComponent;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks re-binding recycled item Views whose outputs only differ in alpha, as when a list
+ * item is re-bound with the same handlers and tags. "diffed" only touches the attribute groups
+ * flagged by {@link ViewAttributesDiff}; "full" resets and re-applies every attribute.
+ */
+@RunWith(LithoTestRunner.class)
+public class ViewAttributesBenchmark {
+
+  private static final int ITEM_COUNT = 200;
+
+  private BenchmarkRunner mRunner;
+  private View[] mViews;
+  private int mMountFlags;
+  private LayoutOutput mCurrent;
+  private LayoutOutput mNext;
+
+  @Before
+  public void setup() {
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+
+    final Component component =
+        TestViewComponent.create(new ComponentContext(getApplicationContext())).build();
+    final EventHandler<ClickEvent> clickHandler = new EventHandler<>(null, 1, null);
+    mCurrent = createOutput(component, clickHandler, 0.5f);
+    mNext = createOutput(component, clickHandler, 0.8f);
+
+    mViews = new View[ITEM_COUNT];
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      mViews[i] = new View(getApplicationContext());
+      MountState.setViewAttributes(mViews[i], mCurrent);
+    }
+    mMountFlags = LithoMountData.getViewAttributeFlags(mViews[0]);
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void diffed() {
+    mRunner.run(
+        "diffed",
+        params("items", ITEM_COUNT),
+        () -> rebindAll(ViewAttributesDiff.compute(mCurrent, mNext)));
+  }
+
+  @Test
+  public void full() {
+    mRunner.run("full", params("items", ITEM_COUNT), () -> rebindAll(ViewAttributesDiff.ALL));
+  }
+
+  private void rebindAll(int changes) {
+    for (View view : mViews) {
+      MountState.updateViewAttributes(view, mCurrent, mNext, mMountFlags, changes);
+      MountState.updateViewAttributes(view, mNext, mCurrent, mMountFlags, changes);
+    }
+  }
+
+  private static LayoutOutput createOutput(
+      Component component, EventHandler<ClickEvent> clickHandler, float alpha) {
+    final NodeInfo nodeInfo = new NodeInfo();
+    nodeInfo.setClickHandler(clickHandler);
+    nodeInfo.setViewTag("item");
+    nodeInfo.setContentDescription("item");
+    nodeInfo.setAlpha(alpha);
+    return new LayoutOutput(component, nodeInfo, null, 0, 0, LayoutOutput.STATE_UNKNOWN);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import com.facebook.litho.sections.SectionContext;
+import com.facebook.litho.sections.SectionTree;
+import com.facebook.litho.testing.sections.TestGroupSection;
+import com.facebook.litho.testing.sections.TestTarget;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks the ChangeSet generation of a large DataDiffSection. The {@link TestTarget} stands in
+ * for a RecyclerBinder so that only the diffing is measured.
+ */
+@RunWith(LithoTestRunner.class)
+public class ChangeSetBenchmark {
+
+  private static final int[] SIZES = {1000, 10000};
+
+  private SectionContext mSectionContext;
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mSectionContext = new SectionContext(getApplicationContext());
+    mRunner =
+        BenchmarkRunner.create(getClass().getSimpleName())
+            .warmupIterations(3)
+            .operationsPerIteration(10)
+            .build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void diffWithUpdates() {
+    for (int size : SIZES) {
+      final List<String> data = generateData(size);
+      final List<String> updated = new ArrayList<>(data);
+      final Random random = new Random(size);
+      for (int i = 0; i < size / 20; i++) {
+        updated.set(random.nextInt(size), "updated" + i);
+      }
+      runDiff("diffWithUpdates", size, data, updated);
+    }
+  }
+
+  @Test
+  public void diffWithMoves() {
+    for (int size : SIZES) {
+      final List<String> data = generateData(size);
+      final List<String> shuffled = new ArrayList<>(data);
+      Collections.shuffle(shuffled, new Random(size));
+      runDiff("diffWithMoves", size, data, shuffled);
+    }
+  }
+
+  private void runDiff(String name, int size, List<String> first, List<String> second) {
+    final TestTarget target = new TestTarget();
+    final SectionTree sectionTree = SectionTree.create(mSectionContext, target).build();
+    final List<?>[] datasets = {first, second};
+    final int[] index = new int[1];
+
+    mRunner.run(
+        name,
+        params("size", size),
+        () -> {
+          sectionTree.setRoot(
+              TestGroupSection.create(mSectionContext)
+                  .data(datasets[index[0]++ % datasets.length])
+                  .build());
+          target.clear();
+        });
+
+    sectionTree.release();
+  }
+
+  private static List<String> generateData(int size) {
+    final List<String> data = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      data.add("item" + i);
+    }
+    return data;
+  }
+}
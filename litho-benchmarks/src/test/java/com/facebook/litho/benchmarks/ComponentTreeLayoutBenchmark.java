@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import com.facebook.litho.Component;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.ComponentTree;
+import com.facebook.litho.SizeSpec;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Benchmarks a synchronous {@link ComponentTree} layout of synthetic trees of various shapes. */
+@RunWith(LithoTestRunner.class)
+public class ComponentTreeLayoutBenchmark {
+
+  private static final int[][] SHAPES = {{2, 16}, {3, 6}, {4, 4}, {8, 2}};
+
+  private final int mWidthSpec = SizeSpec.makeSizeSpec(1080, SizeSpec.EXACTLY);
+  private final int mHeightSpec = SizeSpec.makeSizeSpec(1920, SizeSpec.AT_MOST);
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void layout() {
+    for (int[] shape : SHAPES) {
+      final int depth = shape[0];
+      final int width = shape[1];
+      // Alternating between two equivalent roots forces a new layout on every operation.
+      final Component[] roots = {
+        SyntheticTrees.create(mContext, depth, width), SyntheticTrees.create(mContext, depth, width)
+      };
+      final ComponentTree componentTree = ComponentTree.create(mContext, roots[0]).build();
+      final int[] index = new int[1];
+
+      mRunner.run(
+          "layout",
+          params("depth", depth, "width", width, "nodes", SyntheticTrees.size(depth, width)),
+          () ->
+              componentTree.setRootAndSizeSpecSync(
+                  roots[index[0]++ % roots.length], mWidthSpec, mHeightSpec));
+
+      componentTree.release();
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import android.graphics.Rect;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.rendercore.incrementalmount.IncrementalMountIndex;
+import com.facebook.rendercore.incrementalmount.IncrementalMountOutput;
+import com.facebook.rendercore.incrementalmount.IncrementalMountRenderCoreExtension;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks building the incremental mount tops and bottoms indexes of a vertical list of rows,
+ * each a host with a few children. "comparator" sorts copies of the outputs with the tops and
+ * bottoms comparators; "index" builds an {@link IncrementalMountIndex} from the outputs and
+ * "indexFromPrevious" builds it starting from the order of the previous layout's index.
+ */
+@RunWith(LithoTestRunner.class)
+public class IncrementalMountIndexBenchmark {
+
+  private static final int[] ROW_COUNTS = {10, 100, 1000};
+  private static final int CHILDREN_PER_ROW = 4;
+  private static final int ROW_HEIGHT = 100;
+
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void comparator() {
+    for (int rows : ROW_COUNTS) {
+      final List<IncrementalMountOutput> outputs = createOutputs(rows);
+      mRunner.run(
+          "comparator",
+          params("outputs", outputs.size()),
+          () -> {
+            final List<IncrementalMountOutput> tops = new ArrayList<>(outputs);
+            final List<IncrementalMountOutput> bottoms = new ArrayList<>(outputs);
+            Collections.sort(tops, IncrementalMountRenderCoreExtension.sTopsComparator);
+            Collections.sort(bottoms, IncrementalMountRenderCoreExtension.sBottomsComparator);
+            BenchmarkRunner.consume(tops);
+            BenchmarkRunner.consume(bottoms);
+          });
+    }
+  }
+
+  @Test
+  public void index() {
+    for (int rows : ROW_COUNTS) {
+      final List<IncrementalMountOutput> outputs = createOutputs(rows);
+      mRunner.run(
+          "index",
+          params("outputs", outputs.size()),
+          () -> BenchmarkRunner.consume(IncrementalMountIndex.create(outputs, null)));
+    }
+  }
+
+  @Test
+  public void indexFromPrevious() {
+    for (int rows : ROW_COUNTS) {
+      final List<IncrementalMountOutput> outputs = createOutputs(rows);
+      final IncrementalMountIndex previous = IncrementalMountIndex.create(outputs, null);
+      mRunner.run(
+          "indexFromPrevious",
+          params("outputs", outputs.size()),
+          () -> BenchmarkRunner.consume(IncrementalMountIndex.create(outputs, previous)));
+    }
+  }
+
+  /** Outputs in depth first order: each row host followed by its children, laid out in a row. */
+  private static List<IncrementalMountOutput> createOutputs(int rows) {
+    final List<IncrementalMountOutput> outputs = new ArrayList<>();
+    final IncrementalMountOutput root =
+        new IncrementalMountOutput(0, 0, new Rect(0, 0, 1080, rows * ROW_HEIGHT), null);
+    outputs.add(root);
+    for (int row = 0; row < rows; row++) {
+      final int top = row * ROW_HEIGHT;
+      final IncrementalMountOutput host =
+          new IncrementalMountOutput(
+              outputs.size(), outputs.size(), new Rect(0, top, 1080, top + ROW_HEIGHT), root);
+      outputs.add(host);
+      for (int child = 0; child < CHILDREN_PER_ROW; child++) {
+        // Children are vertically centered, so their tops and bottoms differ by size.
+        final int inset = (child % 2) * 20;
+        outputs.add(
+            new IncrementalMountOutput(
+                outputs.size(),
+                outputs.size(),
+                new Rect(child * 100, top + inset, (child + 1) * 100, top + ROW_HEIGHT - inset),
+                host));
+      }
+    }
+    return outputs;
+  }
+}
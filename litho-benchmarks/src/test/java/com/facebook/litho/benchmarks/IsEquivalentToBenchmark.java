@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import android.graphics.Color;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.SolidColor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Benchmarks the generated isEquivalentTo of a MountSpec with primitive props. */
+@RunWith(LithoTestRunner.class)
+public class IsEquivalentToBenchmark {
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mRunner =
+        BenchmarkRunner.create(getClass().getSimpleName()).operationsPerIteration(10000).build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void isEquivalentTo() {
+    final SolidColor component = SolidColor.create(mContext).color(Color.RED).alpha(0.5f).build();
+    final SolidColor equivalent = SolidColor.create(mContext).color(Color.RED).alpha(0.5f).build();
+    final SolidColor different = SolidColor.create(mContext).color(Color.BLUE).alpha(0.5f).build();
+
+    mRunner.run(
+        "isEquivalentTo",
+        params("case", "equivalent"),
+        () -> BenchmarkRunner.consume(component.isEquivalentTo(equivalent)));
+    mRunner.run(
+        "isEquivalentTo",
+        params("case", "different"),
+        () -> BenchmarkRunner.consume(component.isEquivalentTo(different)));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import com.facebook.litho.BenchmarkTestHelper;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.LithoView;
+import com.facebook.litho.SizeSpec;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Benchmarks mounting and unmounting an already laid out synthetic tree. */
+@RunWith(LithoTestRunner.class)
+public class MountStateBenchmark {
+
+  private static final int[][] SHAPES = {{2, 16}, {4, 4}, {8, 2}};
+
+  private final int mWidthSpec = SizeSpec.makeSizeSpec(1080, SizeSpec.EXACTLY);
+  private final int mHeightSpec = SizeSpec.makeSizeSpec(1920, SizeSpec.AT_MOST);
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mRunner = BenchmarkRunner.create(getClass().getSimpleName()).build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void mountAndUnmount() {
+    for (int[] shape : SHAPES) {
+      final int depth = shape[0];
+      final int width = shape[1];
+      final LithoView lithoView =
+          BenchmarkTestHelper.createAndMeasureLithoView(
+              mContext, SyntheticTrees.create(mContext, depth, width), mWidthSpec, mHeightSpec);
+
+      mRunner.run(
+          "mountAndUnmount",
+          params("depth", depth, "width", width, "nodes", SyntheticTrees.size(depth, width)),
+          () -> {
+            BenchmarkTestHelper.mountLithoView(lithoView);
+            BenchmarkTestHelper.unmountLithoView(lithoView);
+          });
+
+      lithoView.release();
+    }
+  }
+}
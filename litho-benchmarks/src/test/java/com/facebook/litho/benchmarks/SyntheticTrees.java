@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import com.facebook.litho.Column;
+import com.facebook.litho.Component;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.Row;
+import com.facebook.litho.widget.SolidColor;
+
+/** Builds synthetic component trees of a configurable shape for benchmarks. */
+final class SyntheticTrees {
+
+  private SyntheticTrees() {}
+
+  /**
+   * @return a tree where every non-leaf level has {@code width} children, alternating rows and
+   *     columns, with {@code width ^ depth} leaf mount specs.
+   */
+  static Component create(ComponentContext c, int depth, int width) {
+    return create(c, depth, width, 0);
+  }
+
+  private static Component create(ComponentContext c, int depth, int width, int index) {
+    if (depth == 0) {
+      return SolidColor.create(c).color(0xFF000000 | index).widthPx(8).heightPx(8).build();
+    }
+
+    final Component.ContainerBuilder<?> container =
+        depth % 2 == 0 ? Row.create(c).wrapInView() : Column.create(c);
+    for (int i = 0; i < width; i++) {
+      container.child(create(c, depth - 1, width, index * width + i));
+    }
+    return container.build();
+  }
+
+  /** @return the number of nodes in a tree created with the given shape. */
+  static int size(int depth, int width) {
+    int size = 1;
+    int levelSize = 1;
+    for (int i = 0; i < depth; i++) {
+      levelSize *= width;
+      size += levelSize;
+    }
+    return size;
+  }
+}
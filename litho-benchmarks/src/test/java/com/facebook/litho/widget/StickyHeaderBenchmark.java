@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.benchmarks.BenchmarkRunner.params;
+
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.ComponentTree;
+import com.facebook.litho.Row;
+import com.facebook.litho.benchmarks.BenchmarkRunner;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks finding the sticky header while scrolling through a 10,000 item list with sparse
+ * headers. "indexed" uses the sticky position index of the RecyclerBinder; "scan" goes through a
+ * plain {@link HasStickyHeader}, which walks back calling isSticky for every item.
+ */
+@RunWith(LithoTestRunner.class)
+public class StickyHeaderBenchmark {
+
+  private static final int ITEM_COUNT = 10000;
+  private static final int[] HEADER_INTERVALS = {100, 1000, 5000};
+  private static final int SCROLL_STEP = 7;
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mRunner =
+        BenchmarkRunner.create(getClass().getSimpleName())
+            .warmupIterations(3)
+            .operationsPerIteration(1)
+            .build();
+  }
+
+  @After
+  public void tearDown() {
+    mRunner.writeResults();
+  }
+
+  @Test
+  public void indexed() {
+    for (int interval : HEADER_INTERVALS) {
+      final StickyHeaderControllerImpl controller =
+          new StickyHeaderControllerImpl(createBinder(interval));
+      mRunner.run(
+          "indexed", params("items", ITEM_COUNT, "headerEvery", interval), () -> scroll(controller));
+    }
+  }
+
+  @Test
+  public void scan() {
+    for (int interval : HEADER_INTERVALS) {
+      final StickyHeaderControllerImpl controller =
+          new StickyHeaderControllerImpl(new ScanningStickyHeader(createBinder(interval)));
+      mRunner.run(
+          "scan", params("items", ITEM_COUNT, "headerEvery", interval), () -> scroll(controller));
+    }
+  }
+
+  /** Looks up the sticky header for every SCROLL_STEP-th first visible position. */
+  private static void scroll(StickyHeaderControllerImpl controller) {
+    int found = 0;
+    for (int position = 0; position < ITEM_COUNT; position += SCROLL_STEP) {
+      found += controller.findStickyHeaderPosition(position);
+    }
+    BenchmarkRunner.consume(found);
+  }
+
+  private RecyclerBinder createBinder(int headerInterval) {
+    final RecyclerBinder binder = new RecyclerBinder.Builder().build(mContext);
+    final List<RenderInfo> renderInfos = new ArrayList<>(ITEM_COUNT);
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      renderInfos.add(
+          ComponentRenderInfo.create()
+              .component(Row.create(mContext).build())
+              .isSticky(i % headerInterval == 0)
+              .build());
+    }
+    binder.insertRangeAt(0, renderInfos);
+    binder.notifyChangeSetComplete(true, null);
+    return binder;
+  }
+
+  /** Hides the RecyclerBinder type so the controller falls back to checking every item. */
+  private static class ScanningStickyHeader implements HasStickyHeader {
+
+    private final RecyclerBinder mBinder;
+
+    ScanningStickyHeader(RecyclerBinder binder) {
+      mBinder = binder;
+    }
+
+    @Override
+    public boolean isSticky(int position) {
+      return mBinder.isSticky(position);
+    }
+
+    @Override
+    public boolean isValidPosition(int position) {
+      return mBinder.isValidPosition(position);
+    }
+
+    @Override
+    public ComponentTree getComponentForStickyHeaderAt(int position) {
+      return mBinder.getComponentForStickyHeaderAt(position);
+    }
+
+    @Override
+    public int findFirstVisibleItemPosition() {
+      return mBinder.findFirstVisibleItemPosition();
+    }
+
+    @Override
+    public int findLastVisibleItemPosition() {
+      return mBinder.findLastVisibleItemPosition();
+    }
+
+    @Override
+    public int findFirstFullyVisibleItemPosition() {
+      return mBinder.findFirstFullyVisibleItemPosition();
+    }
+
+    @Override
+    public int findLastFullyVisibleItemPosition() {
+      return mBinder.findLastFullyVisibleItemPosition();
+    }
+
+    @Override
+    public int getItemCount() {
+      return mBinder.getItemCount();
+    }
+  }
+}
@@ -24,6 +24,14 @@ interface StyleItem {
 
   /** Sets this style item value on the given [Component]. */
   fun applyToComponent(resourceResolver: ResourceResolver, component: Component)
+
+  /**
+   * Identifies the attribute this item sets, e.g. the field of a width item. Items with the same
+   * non-null key overwrite each other, which lets [Style.freeze] keep only the last one. Null means
+   * the item is always kept.
+   */
+  val styleKey: Any?
+    get() = null
 }
 
 /** exposed to avoid package-private error on [Component] */
@@ -79,10 +87,46 @@ open class Style(
     }
   }
 
-  internal fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
+  internal open fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     forEach { it.applyToComponent(resourceResolver, component) }
   }
 
+  /**
+   * Returns a Style with the same effect as this one, backed by a single array of its items and
+   * with a precomputed hash. Items overwritten by a later item for the same attribute (see
+   * [StyleItem.styleKey]) are dropped.
+   *
+   * Applying, comparing and hashing a frozen Style doesn't walk the chain of Styles it was built
+   * from, so this is worth doing for Styles which are built once and used many times, e.g. the
+   * styles of a theme. Frozen Styles are only equal to other frozen Styles.
+   */
+  fun freeze(): Style {
+    if (this is FrozenStyle || this === Style) {
+      return this
+    }
+
+    val items = ArrayList<StyleItem>()
+    forEach { items.add(it) }
+
+    val lastIndexByKey = HashMap<Any, Int>()
+    for (i in items.indices) {
+      val key = items[i].styleKey
+      if (key != null) {
+        lastIndexByKey[key] = i
+      }
+    }
+
+    val frozenItems = ArrayList<StyleItem>(items.size)
+    for (i in items.indices) {
+      val key = items[i].styleKey
+      if (key == null || lastIndexByKey[key] == i) {
+        frozenItems.add(items[i])
+      }
+    }
+
+    return FrozenStyle(frozenItems.toTypedArray())
+  }
+
   override fun equals(other: Any?): Boolean {
     if (this === other) {
       return true
@@ -126,3 +170,36 @@ private data class CombinedStyle(val first: Style?, val second: Style?) : Style(
     second?.forEach(lambda)
   }
 }
+
+/**
+ * A [Style] flattened by [Style.freeze]: its items are kept in a single array in the order they
+ * are applied, and its hash is computed once.
+ */
+private class FrozenStyle(private val items: Array<StyleItem>) : Style(null, null) {
+
+  private val hash = items.contentHashCode()
+
+  override fun forEach(lambda: (StyleItem) -> Unit) {
+    for (item in items) {
+      lambda(item)
+    }
+  }
+
+  override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
+    for (item in items) {
+      item.applyToComponent(resourceResolver, component)
+    }
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (this === other) {
+      return true
+    }
+    if (other !is FrozenStyle) {
+      return false
+    }
+    return hash == other.hash && items.contentEquals(other.items)
+  }
+
+  override fun hashCode(): Int = hash
+}
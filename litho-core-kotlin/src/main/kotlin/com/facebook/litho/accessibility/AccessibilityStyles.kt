@@ -44,6 +44,9 @@ internal enum class AccessibilityField {
 @PublishedApi
 internal data class AccessibilityStyleItem(val field: AccessibilityField, val value: Any?) :
     StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     when (field) {
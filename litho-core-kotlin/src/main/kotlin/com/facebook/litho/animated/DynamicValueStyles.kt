@@ -53,6 +53,9 @@ internal enum class DynamicField {
 @PublishedApi
 internal data class DynamicStyleItem(val field: DynamicField, val value: DynamicValue<*>) :
     StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val dynamicProps = component.getOrCreateCommonDynamicPropsHolder()
     when (field) {
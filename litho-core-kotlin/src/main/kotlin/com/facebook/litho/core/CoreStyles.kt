@@ -68,6 +68,9 @@ internal enum class CoreFloatField {
 /** Common style item for all core dimen styles. See note on [CoreDimenField] about this pattern. */
 @PublishedApi
 internal data class CoreDimenStyleItem(val field: CoreDimenField, val value: Dimen) : StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     val pixelValue = value.toPixels(resourceResolver)
@@ -104,6 +107,9 @@ internal data class CoreDimenStyleItem(val field: CoreDimenField, val value: Dim
 /** Common style item for all core float styles. See note on [CoreDimenField] about this pattern. */
 @PublishedApi
 internal class CoreFloatStyleItem(val field: CoreFloatField, val value: Float) : StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     when (field) {
@@ -66,6 +66,9 @@ internal enum class FlexboxObjectField {
 @PublishedApi
 internal data class FlexboxDimenStyleItem(val field: FlexboxDimenField, val value: Dimen) :
     StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     val pixelValue = value.toPixels(resourceResolver)
@@ -88,6 +91,9 @@ internal data class FlexboxDimenStyleItem(val field: FlexboxDimenField, val valu
 /** Common style item for all float styles. See note on [FlexboxDimenField] about this pattern. */
 @PublishedApi
 internal class FloatStyleItem(val field: FlexboxFloatField, val value: Float) : StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     when (field) {
@@ -102,6 +108,10 @@ internal class FloatStyleItem(val field: FlexboxFloatField, val value: Float) :
 /** Common style item for all object styles. See note on [FlexboxDimenField] about this pattern. */
 @PublishedApi
 internal class FlexboxObjectStyleItem(val field: FlexboxObjectField, val value: Any?) : StyleItem {
+  // Null align self and position type values are ignored, so they don't overwrite earlier items.
+  override val styleKey: Any?
+    get() = if (value == null) null else this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     when (field) {
@@ -87,6 +87,9 @@ internal enum class DimenField {
 /** Common style item for all object styles. See note on [DimenField] about this pattern. */
 @PublishedApi
 internal data class ObjectStyleItem(val field: ObjectField, val value: Any?) : StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     when (field) {
@@ -118,6 +121,9 @@ internal data class ObjectStyleItem(val field: ObjectField, val value: Any?) : S
 /** Common style item for all float styles. See note on [FloatField] about this pattern. */
 @PublishedApi
 internal data class FloatStyleItem(val field: FloatField, val value: Float) : StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     when (field) {
@@ -134,6 +140,9 @@ internal data class FloatStyleItem(val field: FloatField, val value: Float) : St
 /** Common style item for all float styles. See note on [FloatField] about this pattern. */
 @PublishedApi
 internal data class DimenStyleItem(val field: DimenField, val value: Dimen) : StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     val pixelValue = value.toPixels(resourceResolver)
@@ -50,6 +50,9 @@ internal enum class VisibilityFloatField {
 
 @PublishedApi
 internal data class VisibilityStyleItem(val field: VisibilityField, val value: Any?) : StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     when (field) {
@@ -74,6 +77,9 @@ internal data class VisibilityStyleItem(val field: VisibilityField, val value: A
 @PublishedApi
 internal class VisibilityFloatStyleItem(val field: VisibilityFloatField, val value: Float) :
     StyleItem {
+  override val styleKey: Any?
+    get() = this.field
+
   override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
     val commonProps = component.getCommonPropsHolder()
     when (field) {
@@ -25,8 +25,11 @@ import org.junit.runners.JUnit4
 @RunWith(JUnit4::class)
 class StyleTest {
 
-  private data class TestStyleItem(val name: String) : StyleItem {
+  private data class TestStyleItem(val name: String, val key: String? = null) : StyleItem {
     override fun applyToComponent(resourceResolver: ResourceResolver, component: Component) = Unit
+
+    override val styleKey: Any?
+      get() = key
   }
 
   @Test
@@ -74,6 +77,41 @@ class StyleTest {
         .isNotEqualTo(Style.testStyleItem("A").testStyleItem("2"))
   }
 
+  @Test
+  fun style_freeze_keepsOrderAndDropsOverwrittenItems() {
+    val style =
+        Style +
+            TestStyleItem("width1", key = "width") +
+            TestStyleItem("unkeyed1") +
+            TestStyleItem("height", key = "height") +
+            TestStyleItem("width2", key = "width") +
+            TestStyleItem("unkeyed2")
+    val frozen = (style + (Style + TestStyleItem("unkeyed1"))).freeze()
+
+    assertThat(frozen.toStringList())
+        .containsExactly("unkeyed1", "height", "width2", "unkeyed2", "unkeyed1")
+  }
+
+  @Test
+  fun style_freeze_equality() {
+    val frozenA = Style.testStyleItem("A").testStyleItem("1").freeze()
+    val frozenB = (Style.testStyleItem("A") + Style.testStyleItem("1")).freeze()
+
+    assertThat(frozenA).isEqualTo(frozenB)
+    assertThat(frozenA.hashCode()).isEqualTo(frozenB.hashCode())
+    assertThat(frozenA).isNotEqualTo(Style.testStyleItem("A").testStyleItem("2").freeze())
+    assertThat(frozenA.freeze()).isSameAs(frozenA)
+    assertThat(Style.freeze()).isSameAs(Style)
+  }
+
+  @Test
+  fun style_freeze_canBeExtended() {
+    val frozen = Style.testStyleItem("A").freeze()
+
+    assertThat((frozen + TestStyleItem("B")).toStringList()).containsExactly("A", "B")
+    assertThat((Style.testStyleItem("0") + frozen).toStringList()).containsExactly("0", "A")
+  }
+
   private fun Style.toStringList(): List<String> {
     val list = mutableListOf<String>()
     forEach { list.add((it as TestStyleItem).name) }
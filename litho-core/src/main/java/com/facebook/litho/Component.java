@@ -32,6 +32,7 @@ import static com.facebook.litho.DynamicPropsManager.KEY_TRANSLATION_Y;
 import android.animation.AnimatorInflater;
 import android.animation.StateListAnimator;
 import android.content.Context;
+import android.content.res.Resources;
 import android.graphics.Paint;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
@@ -332,10 +333,63 @@ public abstract class Component
 
   final void loadStyle(ComponentContext c, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
     c.setDefStyle(defStyleAttr, defStyleRes);
-    onLoadStyle(c);
+    if (ComponentsConfiguration.cacheLoadedStyles) {
+      loadCachedStyle(c, defStyleAttr, defStyleRes);
+    } else {
+      onLoadStyle(c);
+    }
     c.setDefStyle(0, 0);
   }
 
+  private void loadCachedStyle(
+      ComponentContext c, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
+    final ResourceCache resourceCache = c.getResourceCache();
+    final Resources.Theme theme = c.getAndroidContext().getTheme();
+    Object[] snapshot = resourceCache.getStyleSnapshot(theme, mTypeId, defStyleAttr, defStyleRes);
+    if (snapshot == null) {
+      snapshot = createStyleSnapshot(c);
+      if (snapshot == null) {
+        // The values this component loads can't be cached.
+        onLoadStyle(c);
+        return;
+      }
+      if (!canCacheStyleSnapshot(snapshot)) {
+        applyStyleSnapshot(snapshot);
+        return;
+      }
+      resourceCache.putStyleSnapshot(theme, mTypeId, defStyleAttr, defStyleRes, snapshot);
+    }
+    applyStyleSnapshot(copyDrawables(c, snapshot));
+  }
+
+  /** Drawables can only be cached if each instance can get its own copy of them. */
+  private static boolean canCacheStyleSnapshot(Object[] snapshot) {
+    for (Object value : snapshot) {
+      if (value instanceof Drawable && ((Drawable) value).getConstantState() == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Drawables hold per-instance state such as their bounds and callback, so each component gets a
+   * new Drawable from the cached one's constant state instead of sharing it.
+   */
+  private static Object[] copyDrawables(ComponentContext c, Object[] snapshot) {
+    Object[] copy = snapshot;
+    for (int i = 0; i < snapshot.length; i++) {
+      if (snapshot[i] instanceof Drawable) {
+        if (copy == snapshot) {
+          copy = snapshot.clone();
+        }
+        final Drawable.ConstantState state = ((Drawable) snapshot[i]).getConstantState();
+        copy[i] = state.newDrawable(c.getAndroidContext().getResources());
+      }
+    }
+    return copy;
+  }
+
   final void loadStyle(ComponentContext c) {
     onLoadStyle(c);
   }
@@ -610,6 +664,20 @@ public abstract class Component
 
   protected void onLoadStyle(ComponentContext c) {}
 
+  /**
+   * Loads the same values as {@link #onLoadStyle} without setting them on this component, so they
+   * can be cached per theme and style and set on other instances with {@link #applyStyleSnapshot}.
+   * Components generated from a spec with an {@code @OnLoadStyle} method implement this.
+   *
+   * @return the loaded values, or null if they can't be cached.
+   */
+  protected @Nullable Object[] createStyleSnapshot(ComponentContext c) {
+    return null;
+  }
+
+  /** Sets the values returned by {@link #createStyleSnapshot} on this component. */
+  protected void applyStyleSnapshot(Object[] snapshot) {}
+
   protected void onMeasure(
       final ComponentContext c,
       final ComponentLayout layout,
@@ -905,6 +973,35 @@ public abstract class Component
     return eventHandler;
   }
 
+  /**
+   * Returns the event handler with the given id that was recorded for the component scoping the
+   * given context in a previous layout, so that generated event handler factories can return it
+   * instead of creating an equivalent one. The caller is responsible for checking that its params
+   * are unchanged, see {@link EventHandler#paramEquals(EventHandler, int, Object)}.
+   *
+   * @return the recorded event handler, or null if there is none or the context is not scoped to a
+   *     component of the given class.
+   */
+  @Nullable
+  protected static <E> EventHandler<E> getReusableEventHandler(
+      final Class<? extends Component> reference,
+      final @Nullable ComponentContext c,
+      final int id) {
+    if (!ComponentsConfiguration.reuseEventHandlers
+        || c == null
+        || c.getComponentScope() == null
+        || reference != c.getComponentScope().getClass()) {
+      return null;
+    }
+
+    final ComponentTree componentTree = c.getComponentTree();
+    if (componentTree == null) {
+      return null;
+    }
+
+    return (EventHandler<E>) componentTree.getRecordedEventHandler(c, id);
+  }
+
   /**
    * This variant is used to create an EventTrigger used to register this component as a target in
    * {@link EventTriggersContainer}
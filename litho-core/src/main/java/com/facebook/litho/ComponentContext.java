@@ -614,7 +614,12 @@ public class ComponentContext implements Cloneable {
   void applyStyle(InternalNode node, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
     if (defStyleAttr != 0 || defStyleRes != 0) {
       setDefStyle(defStyleAttr, defStyleRes);
-      node.applyAttributes(mContext, defStyleAttr, defStyleRes);
+      if (ComponentsConfiguration.cacheComponentLayoutStyles) {
+        node.applyStyle(
+            mResourceCache.getComponentLayoutStyle(mContext, defStyleAttr, defStyleRes));
+      } else {
+        node.applyAttributes(mContext, defStyleAttr, defStyleRes);
+      }
       setDefStyle(0, 0);
     }
   }
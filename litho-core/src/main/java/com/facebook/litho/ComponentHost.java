@@ -77,6 +77,7 @@ public class ComponentHost extends Host implements DisappearingHost {
 
   private SparseArrayCompat<MountItem> mDrawableMountItems;
   private SparseArrayCompat<MountItem> mScrapDrawableMountItems;
+  private @Nullable TouchableIndex mTouchableIndex;
 
   private ArrayList<MountItem> mDisappearingItems;
 
@@ -222,6 +223,7 @@ public class ComponentHost extends Host implements DisappearingHost {
 
       unmountDrawable((Drawable) content);
       ComponentHostUtils.removeItem(index, mDrawableMountItems, mScrapDrawableMountItems);
+      maybeRemoveFromTouchableIndex(mountItem);
     } else if (content instanceof View) {
       unmountView((View) content);
       ensureViewMountItems();
@@ -255,6 +257,7 @@ public class ComponentHost extends Host implements DisappearingHost {
       ensureDrawableMountItems();
 
       ComponentHostUtils.removeItem(index, mDrawableMountItems, mScrapDrawableMountItems);
+      maybeRemoveFromTouchableIndex(mountItem);
     } else if (content instanceof View) {
       ensureViewMountItems();
       ComponentHostUtils.removeItem(index, mViewMountItems, mScrapViewMountItemsArray);
@@ -828,17 +831,24 @@ public class ComponentHost extends Host implements DisappearingHost {
 
     boolean handled = false;
 
-    if (isEnabled()) {
-      // Iterate drawable from last to first to respect drawing order.
-      for (int i = ((mDrawableMountItems == null) ? 0 : mDrawableMountItems.size()) - 1;
-          i >= 0;
-          i--) {
-        final MountItem item = mDrawableMountItems.valueAt(i);
-
-        if (item.getContent() instanceof Touchable
-            && !isTouchableDisabled(getLayoutOutput(item).getFlags())) {
-          final Touchable t = (Touchable) item.getContent();
-          if (t.shouldHandleTouchEvent(event) && t.onTouchEvent(event, this)) {
+    if (isEnabled() && mTouchableIndex != null && !mTouchableIndex.isEmpty()) {
+      if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+        // A gesture can only start on a touchable under the pointer, so only those are offered
+        // the down event. They come out of the index in the same order as below.
+        for (int i = 0, hits = mTouchableIndex.findHits((int) event.getX(), (int) event.getY());
+            i < hits;
+            i++) {
+          if (dispatchTouchEventToTouchable(mTouchableIndex.getHitAt(i), event)) {
+            handled = true;
+            break;
+          }
+        }
+      } else {
+        // Iterate drawable from last to first to respect drawing order.
+        for (int i = ((mDrawableMountItems == null) ? 0 : mDrawableMountItems.size()) - 1;
+            i >= 0;
+            i--) {
+          if (dispatchTouchEventToTouchable(mDrawableMountItems.valueAt(i), event)) {
             handled = true;
             break;
           }
@@ -853,6 +863,23 @@ public class ComponentHost extends Host implements DisappearingHost {
     return handled;
   }
 
+  private boolean dispatchTouchEventToTouchable(MountItem item, MotionEvent event) {
+    if (item.getContent() instanceof Touchable
+        && !isTouchableDisabled(getLayoutOutput(item).getFlags())) {
+      final Touchable t = (Touchable) item.getContent();
+      return t.shouldHandleTouchEvent(event) && t.onTouchEvent(event, this);
+    }
+    return false;
+  }
+
+  @Override
+  public void invalidateDrawable(Drawable drawable) {
+    if (mTouchableIndex != null && drawable instanceof Touchable) {
+      mTouchableIndex.onDrawableInvalidated(drawable);
+    }
+    super.invalidateDrawable(drawable);
+  }
+
   void performLayout(boolean changed, int l, int t, int r, int b) {}
 
   @Override
@@ -1299,6 +1326,13 @@ public class ComponentHost extends Host implements DisappearingHost {
     mDrawableMountItems.put(index, mountItem);
     final Drawable drawable = (Drawable) mountItem.getContent();
 
+    if (drawable instanceof Touchable) {
+      if (mTouchableIndex == null) {
+        mTouchableIndex = new TouchableIndex();
+      }
+      mTouchableIndex.add(index, mountItem);
+    }
+
     final LayoutOutput output = getLayoutOutput(mountItem);
     drawable.setVisible(getVisibility() == View.VISIBLE, false);
     drawable.setCallback(this);
@@ -1333,6 +1367,9 @@ public class ComponentHost extends Host implements DisappearingHost {
 
     // Move the MountItem in the new position.
     ComponentHostUtils.moveItem(oldIndex, newIndex, mDrawableMountItems, mScrapDrawableMountItems);
+    if (mTouchableIndex != null) {
+      mTouchableIndex.move(item, newIndex);
+    }
 
     // Drawing order changed, invalidate the whole view.
     this.invalidate();
@@ -1340,6 +1377,12 @@ public class ComponentHost extends Host implements DisappearingHost {
     releaseScrapDataStructuresIfNeeded();
   }
 
+  private void maybeRemoveFromTouchableIndex(MountItem mountItem) {
+    if (mTouchableIndex != null) {
+      mTouchableIndex.remove(mountItem);
+    }
+  }
+
   private void ensureScrapDrawableMountItemsArray() {
     if (mScrapDrawableMountItems == null) {
       mScrapDrawableMountItems = new SparseArrayCompat<>(SCRAP_ARRAY_INITIAL_SIZE);
@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static android.os.Build.VERSION.SDK_INT;
+import static android.os.Build.VERSION_CODES.JELLY_BEAN;
+import static android.os.Build.VERSION_CODES.JELLY_BEAN_MR1;
+import static com.facebook.yoga.YogaEdge.ALL;
+import static com.facebook.yoga.YogaEdge.BOTTOM;
+import static com.facebook.yoga.YogaEdge.END;
+import static com.facebook.yoga.YogaEdge.LEFT;
+import static com.facebook.yoga.YogaEdge.RIGHT;
+import static com.facebook.yoga.YogaEdge.START;
+import static com.facebook.yoga.YogaEdge.TOP;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import androidx.annotation.AttrRes;
+import androidx.annotation.Nullable;
+import androidx.annotation.StyleRes;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.yoga.YogaAlign;
+import com.facebook.yoga.YogaDirection;
+import com.facebook.yoga.YogaEdge;
+import com.facebook.yoga.YogaFlexDirection;
+import com.facebook.yoga.YogaJustify;
+import com.facebook.yoga.YogaPositionType;
+import com.facebook.yoga.YogaWrap;
+
+/**
+ * Immutable snapshot of the {@code ComponentLayout} attributes resolved for a (theme, defStyleAttr,
+ * defStyleRes) combination. {@link ResourceCache} keeps one per combination so that the nodes of
+ * styled components can apply it during every layout without obtaining and walking a {@link
+ * TypedArray}.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+final class ComponentLayoutStyle {
+
+  // Used to check whether or not the framework can use style IDs for
+  // paddingStart/paddingEnd due to a bug in some Android devices.
+  private static final boolean SUPPORTS_RTL = (SDK_INT >= JELLY_BEAN_MR1);
+
+  private static final int WIDTH = 1;
+  private static final int HEIGHT = 2;
+  private static final int MIN_WIDTH = 3;
+  private static final int MIN_HEIGHT = 4;
+  private static final int PADDING = 5;
+  private static final int MARGIN = 6;
+  private static final int POSITION = 7;
+  private static final int ALIGN_SELF = 8;
+  private static final int POSITION_TYPE = 9;
+  private static final int LAYOUT_DIRECTION = 10;
+  private static final int FLEX = 11;
+  private static final int FLEX_DIRECTION = 12;
+  private static final int WRAP = 13;
+  private static final int JUSTIFY_CONTENT = 14;
+  private static final int ALIGN_ITEMS = 15;
+  private static final int IMPORTANT_FOR_ACCESSIBILITY = 16;
+  private static final int DUPLICATE_PARENT_STATE = 17;
+  private static final int BACKGROUND_COLOR = 18;
+  private static final int BACKGROUND_RES = 19;
+  private static final int FOREGROUND_COLOR = 20;
+  private static final int FOREGROUND_RES = 21;
+  private static final int CONTENT_DESCRIPTION = 22;
+
+  // Parallel arrays, in the order the attributes appear in the TypedArray.
+  private final int[] mProps;
+  private final int[] mValues;
+  private final YogaEdge[] mEdges;
+  private final int mSize;
+  private final @Nullable String mContentDescription;
+
+  static ComponentLayoutStyle create(
+      Context c, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
+    final TypedArray a =
+        c.obtainStyledAttributes(
+            null, com.facebook.litho.R.styleable.ComponentLayout, defStyleAttr, defStyleRes);
+    try {
+      return new ComponentLayoutStyle(a);
+    } finally {
+      a.recycle();
+    }
+  }
+
+  private ComponentLayoutStyle(TypedArray a) {
+    final int count = a.getIndexCount();
+    mProps = new int[count];
+    mValues = new int[count];
+    mEdges = new YogaEdge[count];
+
+    @Nullable String contentDescription = null;
+    int size = 0;
+    for (int i = 0; i < count; i++) {
+      final int attr = a.getIndex(i);
+      final int prop;
+      int value = 0;
+      YogaEdge edge = null;
+
+      if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_layout_width) {
+        prop = WIDTH;
+        value = a.getLayoutDimension(attr, -1);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_layout_height) {
+        prop = HEIGHT;
+        value = a.getLayoutDimension(attr, -1);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_minHeight) {
+        prop = MIN_HEIGHT;
+        value = a.getDimensionPixelSize(attr, 0);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_minWidth) {
+        prop = MIN_WIDTH;
+        value = a.getDimensionPixelSize(attr, 0);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_paddingLeft) {
+        prop = PADDING;
+        edge = LEFT;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_paddingTop) {
+        prop = PADDING;
+        edge = TOP;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_paddingRight) {
+        prop = PADDING;
+        edge = RIGHT;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_paddingBottom) {
+        prop = PADDING;
+        edge = BOTTOM;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_paddingStart
+          && SUPPORTS_RTL) {
+        prop = PADDING;
+        edge = START;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_paddingEnd
+          && SUPPORTS_RTL) {
+        prop = PADDING;
+        edge = END;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_padding) {
+        prop = PADDING;
+        edge = ALL;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_layout_marginLeft) {
+        prop = MARGIN;
+        edge = LEFT;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_layout_marginTop) {
+        prop = MARGIN;
+        edge = TOP;
+      } else if (attr
+          == com.facebook.litho.R.styleable.ComponentLayout_android_layout_marginRight) {
+        prop = MARGIN;
+        edge = RIGHT;
+      } else if (attr
+          == com.facebook.litho.R.styleable.ComponentLayout_android_layout_marginBottom) {
+        prop = MARGIN;
+        edge = BOTTOM;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_layout_marginStart
+          && SUPPORTS_RTL) {
+        prop = MARGIN;
+        edge = START;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_layout_marginEnd
+          && SUPPORTS_RTL) {
+        prop = MARGIN;
+        edge = END;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_layout_margin) {
+        prop = MARGIN;
+        edge = ALL;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_direction) {
+        prop = FLEX_DIRECTION;
+        value = a.getInteger(attr, 0);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_wrap) {
+        prop = WRAP;
+        value = a.getInteger(attr, 0);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_justifyContent) {
+        prop = JUSTIFY_CONTENT;
+        value = a.getInteger(attr, 0);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_alignItems) {
+        prop = ALIGN_ITEMS;
+        value = a.getInteger(attr, 0);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_alignSelf) {
+        prop = ALIGN_SELF;
+        value = a.getInteger(attr, 0);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_positionType) {
+        prop = POSITION_TYPE;
+        value = a.getInteger(attr, 0);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_layoutDirection) {
+        prop = LAYOUT_DIRECTION;
+        value = a.getInteger(attr, -1);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex) {
+        final float flex = a.getFloat(attr, -1);
+        prop = flex >= 0f ? FLEX : 0;
+        value = Float.floatToRawIntBits(flex);
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_left) {
+        prop = POSITION;
+        edge = LEFT;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_top) {
+        prop = POSITION;
+        edge = TOP;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_right) {
+        prop = POSITION;
+        edge = RIGHT;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_flex_bottom) {
+        prop = POSITION;
+        edge = BOTTOM;
+      } else if (attr
+              == com.facebook.litho.R.styleable.ComponentLayout_android_importantForAccessibility
+          && SDK_INT >= JELLY_BEAN) {
+        prop = IMPORTANT_FOR_ACCESSIBILITY;
+        value = a.getInt(attr, 0);
+      } else if (attr
+          == com.facebook.litho.R.styleable.ComponentLayout_android_duplicateParentState) {
+        prop = DUPLICATE_PARENT_STATE;
+        value = a.getBoolean(attr, false) ? 1 : 0;
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_background) {
+        if (TypedArrayUtils.isColorAttribute(a, attr)) {
+          prop = BACKGROUND_COLOR;
+          value = a.getColor(attr, 0);
+        } else {
+          prop = BACKGROUND_RES;
+          value = a.getResourceId(attr, -1);
+        }
+      } else if (attr == com.facebook.litho.R.styleable.ComponentLayout_android_foreground) {
+        if (TypedArrayUtils.isColorAttribute(a, attr)) {
+          prop = FOREGROUND_COLOR;
+          value = a.getColor(attr, 0);
+        } else {
+          prop = FOREGROUND_RES;
+          value = a.getResourceId(attr, -1);
+        }
+      } else if (attr
+          == com.facebook.litho.R.styleable.ComponentLayout_android_contentDescription) {
+        prop = CONTENT_DESCRIPTION;
+        contentDescription = a.getString(attr);
+      } else {
+        prop = 0;
+      }
+
+      if (edge != null) {
+        value = a.getDimensionPixelOffset(attr, 0);
+      }
+
+      // We don't support WRAP_CONTENT or MATCH_PARENT so skip them.
+      if (prop == 0 || ((prop == WIDTH || prop == HEIGHT) && value < 0)) {
+        continue;
+      }
+
+      mProps[size] = prop;
+      mValues[size] = value;
+      mEdges[size] = edge;
+      size++;
+    }
+
+    mSize = size;
+    mContentDescription = contentDescription;
+  }
+
+  /**
+   * Applies all the attributes to the node in TypedArray order, like {@link
+   * DefaultInternalNode#applyAttributes} does. The order matters: a background with padding sets
+   * the padding of the node, which the padding attributes that come after it then override.
+   */
+  void apply(DefaultInternalNode node) {
+    for (int i = 0; i < mSize; i++) {
+      applyLayoutProp(node, i);
+      applyContainerProp(node, i);
+      applyNodeAttribute(node, i);
+    }
+  }
+
+  /** Applies the layout props which all {@link LayoutProps} support. */
+  void applyLayoutProps(LayoutProps props) {
+    for (int i = 0; i < mSize; i++) {
+      applyLayoutProp(props, i);
+    }
+  }
+
+  /** Applies the layout props which only apply to the children of the node. */
+  void applyContainerProps(YogaLayoutProps props) {
+    for (int i = 0; i < mSize; i++) {
+      final int value = mValues[i];
+      switch (mProps[i]) {
+        case FLEX_DIRECTION:
+          props.flexDirection(YogaFlexDirection.fromInt(value));
+          break;
+        case WRAP:
+          props.wrap(YogaWrap.fromInt(value));
+          break;
+        case JUSTIFY_CONTENT:
+          props.justifyContent(YogaJustify.fromInt(value));
+          break;
+        case ALIGN_ITEMS:
+          props.alignItems(YogaAlign.fromInt(value));
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  /** Applies the attributes which aren't layout props, like the background and accessibility. */
+  void applyNodeAttributes(InternalNode node) {
+    for (int i = 0; i < mSize; i++) {
+      applyNodeAttribute(node, i);
+    }
+  }
+
+  private void applyLayoutProp(LayoutProps props, int i) {
+    final int value = mValues[i];
+    switch (mProps[i]) {
+      case WIDTH:
+        props.widthPx(value);
+        break;
+      case HEIGHT:
+        props.heightPx(value);
+        break;
+      case MIN_WIDTH:
+        props.minWidthPx(value);
+        break;
+      case MIN_HEIGHT:
+        props.minHeightPx(value);
+        break;
+      case PADDING:
+        props.paddingPx(mEdges[i], value);
+        break;
+      case MARGIN:
+        props.marginPx(mEdges[i], value);
+        break;
+      case POSITION:
+        props.positionPx(mEdges[i], value);
+        break;
+      case ALIGN_SELF:
+        props.alignSelf(YogaAlign.fromInt(value));
+        break;
+      case POSITION_TYPE:
+        props.positionType(YogaPositionType.fromInt(value));
+        break;
+      case LAYOUT_DIRECTION:
+        props.layoutDirection(YogaDirection.fromInt(value));
+        break;
+      case FLEX:
+        props.flex(Float.intBitsToFloat(value));
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void applyContainerProp(InternalNode node, int i) {
+    final int value = mValues[i];
+    switch (mProps[i]) {
+      case FLEX_DIRECTION:
+        node.flexDirection(YogaFlexDirection.fromInt(value));
+        break;
+      case WRAP:
+        node.wrap(YogaWrap.fromInt(value));
+        break;
+      case JUSTIFY_CONTENT:
+        node.justifyContent(YogaJustify.fromInt(value));
+        break;
+      case ALIGN_ITEMS:
+        node.alignItems(YogaAlign.fromInt(value));
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void applyNodeAttribute(InternalNode node, int i) {
+    final int value = mValues[i];
+    switch (mProps[i]) {
+      case IMPORTANT_FOR_ACCESSIBILITY:
+        node.importantForAccessibility(value);
+        break;
+      case DUPLICATE_PARENT_STATE:
+        node.duplicateParentState(value != 0);
+        break;
+      case BACKGROUND_COLOR:
+        node.backgroundColor(value);
+        break;
+      case BACKGROUND_RES:
+        node.backgroundRes(value);
+        break;
+      case FOREGROUND_COLOR:
+        node.foregroundColor(value);
+        break;
+      case FOREGROUND_RES:
+        node.foregroundRes(value);
+        break;
+      case CONTENT_DESCRIPTION:
+        node.getOrCreateNodeInfo().setContentDescription(mContentDescription);
+        break;
+      default:
+        break;
+    }
+  }
+}
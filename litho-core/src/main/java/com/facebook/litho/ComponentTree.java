@@ -57,6 +57,8 @@ import com.facebook.litho.LithoLifecycleProvider.LithoLifecycle;
 import com.facebook.litho.animation.AnimatedProperties;
 import com.facebook.litho.animation.AnimatedProperty;
 import com.facebook.litho.annotations.MountSpec;
+import com.facebook.litho.choreographercompat.ChoreographerCompat;
+import com.facebook.litho.choreographercompat.ChoreographerCompatImpl;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.perfboost.LithoPerfBooster;
 import com.facebook.litho.stats.LithoStats;
@@ -74,6 +76,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.concurrent.GuardedBy;
 
@@ -260,6 +263,14 @@ public class ComponentTree implements LithoLifecycleListener {
         }
       };
 
+  private final Runnable mWarmDrawablesRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          warmDrawables();
+        }
+      };
+
   private final Object mUpdateStateSyncRunnableLock = new Object();
 
   @GuardedBy("mUpdateStateSyncRunnableLock")
@@ -269,6 +280,8 @@ public class ComponentTree implements LithoLifecycleListener {
 
   @Nullable private RunnableHandler mPreAllocateMountContentHandler;
 
+  @Nullable private RunnableHandler mWarmDrawablesHandler;
+
   // These variables are only accessed from the main thread.
   @ThreadConfined(ThreadConfined.UI)
   private boolean mIsMounting;
@@ -435,6 +448,7 @@ public class ComponentTree implements LithoLifecycleListener {
     mLayoutThreadHandler = builder.layoutThreadHandler;
     mShouldPreallocatePerMountSpec = builder.shouldPreallocatePerMountSpec;
     mPreAllocateMountContentHandler = builder.preAllocateMountContentHandler;
+    mWarmDrawablesHandler = builder.warmDrawablesHandler;
     mIsAsyncUpdateStateEnabled = builder.asyncStateUpdates;
     mHasMounted = builder.hasMounted;
     mIsFirstMount = builder.isFirstMount;
@@ -487,6 +501,9 @@ public class ComponentTree implements LithoLifecycleListener {
     if (mPreAllocateMountContentHandler != null) {
       mPreAllocateMountContentHandler = instrumentHandler(mPreAllocateMountContentHandler);
     }
+    if (mWarmDrawablesHandler != null) {
+      mWarmDrawablesHandler = instrumentHandler(mWarmDrawablesHandler);
+    }
     mLogger = builder.logger;
     mLogTag = builder.logTag;
     mAreTransitionsEnabled = AnimationsDebug.areTransitionsEnabled(mContext.getAndroidContext());
@@ -1409,6 +1426,27 @@ public class ComponentTree implements LithoLifecycleListener {
     }
   }
 
+  /**
+   * Prepares the drawables of the latest layout ahead of mount, see {@link DrawableWarmer}. Must be
+   * called after layout is created.
+   */
+  @ThreadSafe(enableChecks = false)
+  private void warmDrawables() {
+    final LayoutState toWarm;
+
+    synchronized (this) {
+      if (mMainThreadLayoutState != null) {
+        toWarm = mMainThreadLayoutState;
+      } else if (mCommittedLayoutState != null) {
+        toWarm = mCommittedLayoutState;
+      } else {
+        return;
+      }
+    }
+
+    DrawableWarmer.getInstance().warm(toWarm);
+  }
+
   public void setRootAsync(Component root) {
     if (root == null) {
       throw new IllegalArgumentException("Root component can't be null");
@@ -1621,6 +1659,12 @@ public class ComponentTree implements LithoLifecycleListener {
         Component.getGlobalKey(scopedContext, scopedContext.getComponentScope()), eventHandler);
   }
 
+  @Nullable
+  EventHandler<?> getRecordedEventHandler(ComponentContext scopedContext, int id) {
+    return mEventHandlersController.getEventHandler(
+        Component.getGlobalKey(scopedContext, scopedContext.getComponentScope()), id);
+  }
+
   @GuardedBy("mEventTriggersContainer")
   private void bindTriggerHandler(ComponentContext scopedContext, Component component) {
     final @Nullable Handle componentHandle = component.getHandle();
@@ -2454,6 +2498,19 @@ public class ComponentTree implements LithoLifecycleListener {
       }
       mPreAllocateMountContentHandler.post(mPreAllocateMountContentRunnable, tag);
     }
+
+    if (mWarmDrawablesHandler != null) {
+      mWarmDrawablesHandler.remove(mWarmDrawablesRunnable);
+
+      String tag = EMPTY_STRING;
+      if (mWarmDrawablesHandler.isTracing()) {
+        tag = "warmDrawables ";
+        if (root != null) {
+          tag = tag + root.getSimpleName();
+        }
+      }
+      mWarmDrawablesHandler.post(mWarmDrawablesRunnable, tag);
+    }
   }
 
   private void bindEventAndTriggerHandlers(
@@ -2560,6 +2617,10 @@ public class ComponentTree implements LithoLifecycleListener {
         mPreAllocateMountContentHandler.remove(mPreAllocateMountContentRunnable);
       }
 
+      if (mWarmDrawablesHandler != null) {
+        mWarmDrawablesHandler.remove(mWarmDrawablesRunnable);
+      }
+
       if (mRoot != null) {
         mReleasedComponent = mRoot.getSimpleName();
       }
@@ -2772,7 +2833,8 @@ public class ComponentTree implements LithoLifecycleListener {
 
       // This future has finished executing, if no other threads were waiting for the response we
       // can remove it.
-      if (localLayoutStateFuture.getWaitingCount() == 0) {
+      if (localLayoutStateFuture.getWaitingCount() == 0
+          && !localLayoutStateFuture.hasPendingTimeSlice()) {
         localLayoutStateFuture.release();
         mLayoutStateFutures.remove(localLayoutStateFuture);
       }
@@ -2881,6 +2943,13 @@ public class ComponentTree implements LithoLifecycleListener {
     @Nullable private volatile Object interruptToken;
     @Nullable private volatile Object continuationToken;
 
+    // The time after which a time sliced layout yields on the main thread, or 0 if the layout
+    // isn't being time sliced.
+    private volatile long timeSliceDeadlineNanos;
+    // True if a time sliced layout yielded and a continuation is scheduled to resume it.
+    private volatile boolean hasPendingTimeSlice;
+    private final Object resumeLock = new Object();
+
     @GuardedBy("LayoutStateFuture.this")
     private volatile boolean released = false;
 
@@ -2979,7 +3048,16 @@ public class ComponentTree implements LithoLifecycleListener {
     }
 
     boolean isInterruptRequested() {
-      return !ThreadUtils.isMainThread() && interruptRequested;
+      if (ThreadUtils.isMainThread()) {
+        final long deadline = timeSliceDeadlineNanos;
+        return deadline != 0 && System.nanoTime() >= deadline;
+      }
+
+      return interruptRequested;
+    }
+
+    boolean hasPendingTimeSlice() {
+      return hasPendingTimeSlice;
     }
 
     private void interrupt() {
@@ -3012,8 +3090,14 @@ public class ComponentTree implements LithoLifecycleListener {
     @VisibleForTesting
     @Nullable
     LayoutState runAndGet(@CalculateLayoutSource final int source) {
+      boolean didRunFirstTimeSlice = false;
       if (runningThreadId.compareAndSet(-1, Process.myTid())) {
+        if (canTimeSlice()) {
+          didRunFirstTimeSlice = true;
+          startTimeSlice();
+        }
         futureTask.run();
+        timeSliceDeadlineNanos = 0;
       }
 
       final int runningThreadId = this.runningThreadId.get();
@@ -3088,8 +3172,12 @@ public class ComponentTree implements LithoLifecycleListener {
           }
         }
 
-        if (interruptRequested && result.isPartialLayoutState()) {
-          if (ThreadUtils.isMainThread()) {
+        if (result != null && result.isPartialLayoutState()) {
+          if (ThreadUtils.isMainThread() && canTimeSlice()) {
+            // Resolve the partially resolved InternalNode one frame budget at a time. If this call
+            // already used up its budget creating the layout, continue on the next frame.
+            result = didRunFirstTimeSlice ? yieldTimeSlice(result) : resumeTimeSlice(result);
+          } else if (ThreadUtils.isMainThread()) {
             // This means that the bg task was interrupted and it returned a partially resolved
             // InternalNode. We need to finish computing this LayoutState.
             final Object token =
@@ -3103,7 +3191,7 @@ public class ComponentTree implements LithoLifecycleListener {
             } finally {
               onEndWorkContinuation(token);
             }
-          } else {
+          } else if (interruptRequested) {
             // This means that the bg task was interrupted and the UI thread will pick up the rest
             // of
             // the work. No need to return a LayoutState.
@@ -3111,6 +3199,10 @@ public class ComponentTree implements LithoLifecycleListener {
             continuationToken =
                 onOfferWorkForContinuation("offerPartialLayoutState", interruptToken);
             interruptToken = null;
+          } else {
+            // This means that a time sliced layout was handed back from the UI thread, or that a
+            // sync layout is waiting for it. Finish computing this LayoutState on this thread.
+            result = resolvePartialInternalNodeAndCalculateLayout(result);
           }
         }
       } catch (ExecutionException | InterruptedException | CancellationException e) {
@@ -3153,14 +3245,105 @@ public class ComponentTree implements LithoLifecycleListener {
       if (released) {
         return null;
       }
-      final LayoutState result =
-          LayoutState.resumeCalculate(source, extraAttribution, partialLayoutState);
+      final LayoutState result;
+      synchronized (resumeLock) {
+        // Another thread may have finished this LayoutState while this one was waiting.
+        result =
+            partialLayoutState.isPartialLayoutState()
+                ? LayoutState.resumeCalculate(source, extraAttribution, partialLayoutState)
+                : partialLayoutState;
+      }
+
+      if (!result.isPartialLayoutState() && result.getFramesSpanned() > 1) {
+        traceFramesSpanned(result);
+      }
 
       synchronized (LayoutStateFuture.this) {
         return released ? null : result;
       }
     }
 
+    private boolean canTimeSlice() {
+      return ComponentsConfiguration.timeSliceMainThreadLayouts
+          && mMoveLayoutsBetweenThreads
+          && isMainThread()
+          && canBeCancelled();
+    }
+
+    private void startTimeSlice() {
+      final long budgetNanos =
+          TimeUnit.MILLISECONDS.toNanos(ComponentsConfiguration.mainThreadLayoutSliceBudgetMs);
+      timeSliceDeadlineNanos = System.nanoTime() + budgetNanos;
+    }
+
+    private @Nullable LayoutState resumeTimeSlice(final LayoutState partialLayoutState) {
+      startTimeSlice();
+      final LayoutState result;
+      try {
+        result = resolvePartialInternalNodeAndCalculateLayout(partialLayoutState);
+      } finally {
+        timeSliceDeadlineNanos = 0;
+      }
+
+      if (result != null && result.isPartialLayoutState()) {
+        return yieldTimeSlice(result);
+      }
+
+      return result;
+    }
+
+    /**
+     * Schedules the rest of a partially resolved LayoutState on the next frame. Returns null since
+     * there is no LayoutState to commit yet.
+     *
+     * <p>Only layouts that are not waited on synchronously are time sliced, so the UI thread never
+     * gets here with a layout it took over from the layout thread.
+     */
+    private @Nullable LayoutState yieldTimeSlice(final LayoutState partialLayoutState) {
+      if (released) {
+        return null;
+      }
+
+      partialLayoutState.incrementFramesSpanned();
+      hasPendingTimeSlice = true;
+
+      ChoreographerCompatImpl.getInstance().postFrameCallback(new TimeSliceContinuation());
+
+      return null;
+    }
+
+    private void traceFramesSpanned(final LayoutState layoutState) {
+      if (ComponentsSystrace.isTracing()) {
+        ComponentsSystrace.beginSectionWithArgs("LayoutStateFuture.timeSliced")
+            .arg("treeId", ComponentTree.this.mId)
+            .arg("root", root.getSimpleName())
+            .arg("frames", layoutState.getFramesSpanned())
+            .flush();
+        ComponentsSystrace.endSection();
+      }
+    }
+
+    /**
+     * Resumes a time sliced layout by calculating the layout again, which picks this future up if
+     * the root and size specs are still the same.
+     */
+    private final class TimeSliceContinuation extends ChoreographerCompat.FrameCallback {
+
+      @Override
+      public void doFrame(long frameTimeNanos) {
+        hasPendingTimeSlice = false;
+        calculateLayout(null, source, extraAttribution, treeProps, false);
+
+        // If the layout wasn't picked up because it's no longer needed, drop it.
+        synchronized (mLayoutStateFutureLock) {
+          if (!hasPendingTimeSlice && getWaitingCount() == 0) {
+            release();
+            mLayoutStateFutures.remove(LayoutStateFuture.this);
+          }
+        }
+      }
+    }
+
     @Override
     public boolean equals(Object o) {
       if (this == o) {
@@ -3291,6 +3474,7 @@ public class ComponentTree implements LithoLifecycleListener {
     private boolean isLayoutDiffingEnabled = true;
     private RunnableHandler layoutThreadHandler;
     private RunnableHandler preAllocateMountContentHandler;
+    private @Nullable RunnableHandler warmDrawablesHandler;
     private StateHandler stateHandler;
     private RenderState previousRenderState;
     private boolean asyncStateUpdates = true;
@@ -3391,6 +3575,15 @@ public class ComponentTree implements LithoLifecycleListener {
       return this;
     }
 
+    /**
+     * Specify the handler on which to prepare the drawables of each new layout ahead of mount, see
+     * {@link DrawableWarmer}. Disabled when null.
+     */
+    public Builder warmDrawablesHandler(@Nullable RunnableHandler handler) {
+      warmDrawablesHandler = handler;
+      return this;
+    }
+
     /** Enable Mount Content preallocation using the same thread we use to compute layouts */
     public Builder useDefaultHandlerForContentPreallocation() {
       preAllocateMountContentHandler = new DefaultHandler(getDefaultLayoutThreadLooper());
@@ -114,6 +114,41 @@ public class ComponentsPools {
     }
   }
 
+  /**
+   * Pre-allocates up to {@code count} items of mount content for the given Component, using the
+   * RenderCore pools when the owning tree delegates to RenderCore mount.
+   *
+   * @return the number of items that were created, as far as the underlying pool can tell.
+   */
+  static int preallocateContent(
+      Context context,
+      Component component,
+      RenderUnit renderUnit,
+      boolean delegateToRenderCoreMount,
+      int recyclingMode,
+      int count) {
+    if (delegateToRenderCoreMount) {
+      for (int i = 0; i < count; i++) {
+        MountItemsPool.maybePreallocateContent(context, renderUnit);
+      }
+      return count;
+    }
+
+    final MountContentPool pool = getMountContentPool(context, component, recyclingMode);
+    if (pool == null) {
+      return 0;
+    }
+
+    if (pool instanceof DefaultMountContentPool) {
+      return ((DefaultMountContentPool) pool).preallocateContent(context, component, count);
+    }
+
+    for (int i = 0; i < count; i++) {
+      pool.maybePreallocateContent(context, component);
+    }
+    return count;
+  }
+
   /**
    * Can be called to fill up a mount content pool for the specified MountContent types. If a pool
    * doesn't exist for a Mount Content type, a default one will be created with the specified size.
@@ -1486,6 +1486,11 @@ public class DefaultInternalNode
     return mYogaNode.getLayoutDirection();
   }
 
+  @Override
+  public void applyStyle(ComponentLayoutStyle style) {
+    style.apply(this);
+  }
+
   @Override
   public void applyAttributes(Context c, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
 
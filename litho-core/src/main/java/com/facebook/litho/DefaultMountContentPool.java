@@ -61,4 +61,18 @@ public class DefaultMountContentPool extends RecyclePool implements MountContent
       release(component.createMountContent(c));
     }
   }
+
+  /**
+   * Pre-allocates up to {@code count} items for the given Component, bounded by the pool size.
+   *
+   * @return the number of items that were actually created.
+   */
+  int preallocateContent(Context c, Component component, int count) {
+    int created = 0;
+    while (created < count && !isFull() && mAllocationCount.getAndIncrement() < mPoolSize) {
+      release(component.createMountContent(c));
+      created++;
+    }
+    return created;
+  }
 }
@@ -42,6 +42,7 @@ public class DefaultNestedTreeHolder extends DefaultInternalNode
 
   /* OUTPUTS */
   @Nullable LithoLayoutResult mNestedTree;
+  @Nullable NestedTreeResultCache mNestedResultCache;
 
   protected DefaultNestedTreeHolder(ComponentContext context, @Nullable TreeProps props) {
     super(context);
@@ -66,6 +67,19 @@ public class DefaultNestedTreeHolder extends DefaultInternalNode
     }
   }
 
+  @Override
+  public @Nullable NestedTreeResultCache getNestedResultCache() {
+    return mNestedResultCache;
+  }
+
+  @Override
+  public NestedTreeResultCache getOrCreateNestedResultCache() {
+    if (mNestedResultCache == null) {
+      mNestedResultCache = new NestedTreeResultCache();
+    }
+    return mNestedResultCache;
+  }
+
   @Override
   public DefaultNestedTreeHolder getInternalNode() {
     return this;
@@ -108,18 +122,28 @@ public class DefaultNestedTreeHolder extends DefaultInternalNode
     if (mNestedTree != null && mNestedTree instanceof DefaultInternalNode) {
       ((DefaultInternalNode) mNestedTree).setLayoutStateContextRecursively(c);
     }
+    if (mNestedResultCache != null) {
+      for (int i = 0, size = mNestedResultCache.size(); i < size; i++) {
+        final LithoLayoutResult result = mNestedResultCache.getAt(i);
+        if (result != mNestedTree && result instanceof DefaultInternalNode) {
+          ((DefaultInternalNode) result).setLayoutStateContextRecursively(c);
+        }
+      }
+    }
   }
 
   @Override
   protected void clean() {
     super.clean();
     mNestedTree = null;
+    mNestedResultCache = null;
   }
 
   @Override
   protected DefaultNestedTreeHolder clone() {
     DefaultNestedTreeHolder node = (DefaultNestedTreeHolder) super.clone();
     node.mNestedTree = null;
+    node.mNestedResultCache = null;
     return node;
   }
 
@@ -29,6 +29,7 @@ public class DefaultNestedTreeHolderResult extends DefaultLayoutResult
     implements NestedTreeHolderResult {
 
   @Nullable LithoLayoutResult mNestedTree;
+  @Nullable NestedTreeResultCache mNestedResultCache;
 
   public DefaultNestedTreeHolderResult(
       final LayoutStateContext layoutStateContext,
@@ -56,4 +57,17 @@ public class DefaultNestedTreeHolderResult extends DefaultLayoutResult
       tree.setParent(this);
     }
   }
+
+  @Override
+  public @Nullable NestedTreeResultCache getNestedResultCache() {
+    return mNestedResultCache;
+  }
+
+  @Override
+  public NestedTreeResultCache getOrCreateNestedResultCache() {
+    if (mNestedResultCache == null) {
+      mNestedResultCache = new NestedTreeResultCache();
+    }
+    return mNestedResultCache;
+  }
 }
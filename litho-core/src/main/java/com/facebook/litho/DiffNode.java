@@ -18,11 +18,11 @@ package com.facebook.litho;
 
 import androidx.annotation.Nullable;
 import com.facebook.rendercore.visibility.VisibilityOutput;
-import java.util.List;
 
 /**
  * A lightweight representation of a layout node, used to cache measurements between two Layout tree
- * calculations.
+ * calculations. The diff tree of a layout is stored flat in a {@link DiffNodeTree}, and DiffNodes
+ * are views of its nodes.
  */
 public interface DiffNode extends Cloneable {
 
@@ -81,10 +81,6 @@ public interface DiffNode extends Cloneable {
 
   void setLastHeightSpec(int heightSpec);
 
-  List<DiffNode> getChildren();
-
-  void addChild(DiffNode node);
-
   @Nullable
   LithoRenderUnit getContentOutput();
 
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import androidx.core.util.Preconditions;
+import com.facebook.rendercore.visibility.VisibilityOutput;
+import java.util.Arrays;
+
+/**
+ * The diff tree of a layout stored flat, instead of as one object per node. The nodes are numbered
+ * in pre-order as the layout adds them, and their measurements, components and outputs are kept in
+ * parallel arrays; the arrays of outputs are only allocated once a node has such an output. Once
+ * the tree is complete it is {@link #seal() sealed}: the children of every node become a range of
+ * {@link #mChildIndices} starting at the offset of the node in {@link #mChildOffsets}.
+ *
+ * <p>The tree is walked through {@link Node}s, lightweight {@link DiffNode} views of a node which
+ * are created as needed and don't have to be retained along with the tree.
+ */
+final class DiffNodeTree {
+
+  static final int NO_NODE = -1;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int mSize;
+
+  private int[] mLastWidthSpecs = new int[INITIAL_CAPACITY];
+  private int[] mLastHeightSpecs = new int[INITIAL_CAPACITY];
+  private float[] mLastMeasuredWidths = new float[INITIAL_CAPACITY];
+  private float[] mLastMeasuredHeights = new float[INITIAL_CAPACITY];
+
+  private Component[] mComponents = new Component[INITIAL_CAPACITY];
+  private String[] mGlobalKeys = new String[INITIAL_CAPACITY];
+  private ScopedComponentInfo[] mScopedComponentInfos = new ScopedComponentInfo[INITIAL_CAPACITY];
+
+  private @Nullable LithoRenderUnit[] mContentOutputs;
+  private @Nullable LithoRenderUnit[] mBackgroundOutputs;
+  private @Nullable LithoRenderUnit[] mForegroundOutputs;
+  private @Nullable LithoRenderUnit[] mBorderOutputs;
+  private @Nullable LithoRenderUnit[] mHostOutputs;
+  private @Nullable VisibilityOutput[] mVisibilityOutputs;
+
+  /** The parent of every node while the tree is built; replaced by the child ranges once sealed. */
+  private @Nullable int[] mParents = new int[INITIAL_CAPACITY];
+
+  private @Nullable int[] mChildOffsets;
+  private @Nullable int[] mChildIndices;
+
+  /**
+   * Adds a node to the tree, after all the nodes added so far. A node has to be added after its
+   * parent and its preceding siblings, along with their descendants.
+   *
+   * @param parent the index of the parent of the node, or {@link #NO_NODE} for the root.
+   */
+  Node addNode(final int parent) {
+    final int[] parents = mParents;
+    if (parents == null) {
+      throw new IllegalStateException("Cannot add a node to a sealed DiffNodeTree.");
+    }
+    if ((parent == NO_NODE) != (mSize == 0) || parent >= mSize) {
+      throw new IllegalArgumentException("Invalid parent " + parent + " for node " + mSize);
+    }
+
+    if (mSize == parents.length) {
+      grow(mSize * 2);
+    }
+
+    final int index = mSize++;
+    Preconditions.checkNotNull(mParents)[index] = parent;
+    mLastWidthSpecs[index] = DiffNode.UNSPECIFIED;
+    mLastHeightSpecs[index] = DiffNode.UNSPECIFIED;
+    mLastMeasuredWidths[index] = DiffNode.UNSPECIFIED;
+    mLastMeasuredHeights[index] = DiffNode.UNSPECIFIED;
+
+    return new Node(this, index);
+  }
+
+  /**
+   * Completes the tree: lays out the children of every node as consecutive indices, and trims the
+   * arrays to the size of the tree. Nodes cannot be added afterwards.
+   */
+  void seal() {
+    final int[] parents = mParents;
+    if (parents == null) {
+      return;
+    }
+
+    final int[] offsets = new int[mSize + 1];
+    for (int i = 1; i < mSize; i++) {
+      offsets[parents[i] + 1]++;
+    }
+    for (int i = 0; i < mSize; i++) {
+      offsets[i + 1] += offsets[i];
+    }
+
+    // Nodes are added in pre-order, so visiting them in order fills every range in child order.
+    final int[] children = new int[Math.max(mSize - 1, 0)];
+    final int[] cursors = Arrays.copyOf(offsets, mSize);
+    for (int i = 1; i < mSize; i++) {
+      children[cursors[parents[i]]++] = i;
+    }
+
+    mChildOffsets = offsets;
+    mChildIndices = children;
+    mParents = null;
+
+    if (mSize < mLastWidthSpecs.length) {
+      grow(mSize);
+    }
+  }
+
+  boolean isSealed() {
+    return mParents == null;
+  }
+
+  int getSize() {
+    return mSize;
+  }
+
+  Node getNode(final int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+    return new Node(this, index);
+  }
+
+  int getChildCount(final int index) {
+    final int[] offsets = getChildOffsets();
+    return offsets[index + 1] - offsets[index];
+  }
+
+  /** Returns the index of the i-th child of the node. */
+  int getChildIndex(final int index, final int i) {
+    final int[] offsets = getChildOffsets();
+    final int childCount = offsets[index + 1] - offsets[index];
+    if (i < 0 || i >= childCount) {
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + childCount);
+    }
+    return Preconditions.checkNotNull(mChildIndices)[offsets[index] + i];
+  }
+
+  private int[] getChildOffsets() {
+    final int[] offsets = mChildOffsets;
+    if (offsets == null) {
+      throw new IllegalStateException("The children of a DiffNodeTree are read before sealing it.");
+    }
+    return offsets;
+  }
+
+  private void grow(final int capacity) {
+    mLastWidthSpecs = Arrays.copyOf(mLastWidthSpecs, capacity);
+    mLastHeightSpecs = Arrays.copyOf(mLastHeightSpecs, capacity);
+    mLastMeasuredWidths = Arrays.copyOf(mLastMeasuredWidths, capacity);
+    mLastMeasuredHeights = Arrays.copyOf(mLastMeasuredHeights, capacity);
+    mComponents = Arrays.copyOf(mComponents, capacity);
+    mGlobalKeys = Arrays.copyOf(mGlobalKeys, capacity);
+    mScopedComponentInfos = Arrays.copyOf(mScopedComponentInfos, capacity);
+    mContentOutputs = growOrNull(mContentOutputs, capacity);
+    mBackgroundOutputs = growOrNull(mBackgroundOutputs, capacity);
+    mForegroundOutputs = growOrNull(mForegroundOutputs, capacity);
+    mBorderOutputs = growOrNull(mBorderOutputs, capacity);
+    mHostOutputs = growOrNull(mHostOutputs, capacity);
+    mVisibilityOutputs = growOrNull(mVisibilityOutputs, capacity);
+    if (mParents != null) {
+      mParents = Arrays.copyOf(mParents, capacity);
+    }
+  }
+
+  private static @Nullable <T> T[] growOrNull(final @Nullable T[] array, final int capacity) {
+    return array != null ? Arrays.copyOf(array, capacity) : null;
+  }
+
+  private static @Nullable <T> T get(final @Nullable T[] array, final int index) {
+    return array != null ? array[index] : null;
+  }
+
+  private LithoRenderUnit[] setOutput(
+      final @Nullable LithoRenderUnit[] outputs,
+      final int index,
+      final @Nullable LithoRenderUnit output) {
+    final LithoRenderUnit[] result =
+        outputs != null ? outputs : new LithoRenderUnit[mLastWidthSpecs.length];
+    result[index] = output;
+    return result;
+  }
+
+  /** A {@link DiffNode} view of a node of a {@link DiffNodeTree}. */
+  static final class Node implements DiffNode {
+
+    private final DiffNodeTree mTree;
+    private final int mIndex;
+
+    private Node(final DiffNodeTree tree, final int index) {
+      mTree = tree;
+      mIndex = index;
+    }
+
+    DiffNodeTree getTree() {
+      return mTree;
+    }
+
+    int getIndex() {
+      return mIndex;
+    }
+
+    @Override
+    public int getChildCount() {
+      return mTree.getChildCount(mIndex);
+    }
+
+    @Override
+    public DiffNode getChildAt(final int i) {
+      return new Node(mTree, mTree.getChildIndex(mIndex, i));
+    }
+
+    @Override
+    public @Nullable Component getComponent() {
+      return mTree.mComponents[mIndex];
+    }
+
+    @Override
+    public @Nullable String getComponentGlobalKey() {
+      return mTree.mGlobalKeys[mIndex];
+    }
+
+    @Override
+    public @Nullable ScopedComponentInfo getScopedComponentInfo() {
+      return mTree.mScopedComponentInfos[mIndex];
+    }
+
+    @Override
+    public void setComponent(
+        final @Nullable Component component,
+        final @Nullable String globalKey,
+        final @Nullable ScopedComponentInfo scopedComponentInfo) {
+      mTree.mComponents[mIndex] = component;
+      mTree.mGlobalKeys[mIndex] = globalKey;
+      mTree.mScopedComponentInfos[mIndex] = scopedComponentInfo;
+    }
+
+    @Override
+    public float getLastMeasuredWidth() {
+      return mTree.mLastMeasuredWidths[mIndex];
+    }
+
+    @Override
+    public void setLastMeasuredWidth(final float lastMeasuredWidth) {
+      mTree.mLastMeasuredWidths[mIndex] = lastMeasuredWidth;
+    }
+
+    @Override
+    public float getLastMeasuredHeight() {
+      return mTree.mLastMeasuredHeights[mIndex];
+    }
+
+    @Override
+    public void setLastMeasuredHeight(final float lastMeasuredHeight) {
+      mTree.mLastMeasuredHeights[mIndex] = lastMeasuredHeight;
+    }
+
+    @Override
+    public int getLastWidthSpec() {
+      return mTree.mLastWidthSpecs[mIndex];
+    }
+
+    @Override
+    public void setLastWidthSpec(final int widthSpec) {
+      mTree.mLastWidthSpecs[mIndex] = widthSpec;
+    }
+
+    @Override
+    public int getLastHeightSpec() {
+      return mTree.mLastHeightSpecs[mIndex];
+    }
+
+    @Override
+    public void setLastHeightSpec(final int heightSpec) {
+      mTree.mLastHeightSpecs[mIndex] = heightSpec;
+    }
+
+    @Override
+    public @Nullable LithoRenderUnit getContentOutput() {
+      return get(mTree.mContentOutputs, mIndex);
+    }
+
+    @Override
+    public void setContentOutput(final @Nullable LithoRenderUnit content) {
+      if (content != null || mTree.mContentOutputs != null) {
+        mTree.mContentOutputs = mTree.setOutput(mTree.mContentOutputs, mIndex, content);
+      }
+    }
+
+    @Override
+    public @Nullable VisibilityOutput getVisibilityOutput() {
+      return get(mTree.mVisibilityOutputs, mIndex);
+    }
+
+    @Override
+    public void setVisibilityOutput(final @Nullable VisibilityOutput visibilityOutput) {
+      if (mTree.mVisibilityOutputs == null) {
+        if (visibilityOutput == null) {
+          return;
+        }
+        mTree.mVisibilityOutputs = new VisibilityOutput[mTree.mLastWidthSpecs.length];
+      }
+      mTree.mVisibilityOutputs[mIndex] = visibilityOutput;
+    }
+
+    @Override
+    public @Nullable LithoRenderUnit getBackgroundOutput() {
+      return get(mTree.mBackgroundOutputs, mIndex);
+    }
+
+    @Override
+    public void setBackgroundOutput(final @Nullable LithoRenderUnit background) {
+      if (background != null || mTree.mBackgroundOutputs != null) {
+        mTree.mBackgroundOutputs = mTree.setOutput(mTree.mBackgroundOutputs, mIndex, background);
+      }
+    }
+
+    @Override
+    public @Nullable LithoRenderUnit getForegroundOutput() {
+      return get(mTree.mForegroundOutputs, mIndex);
+    }
+
+    @Override
+    public void setForegroundOutput(final @Nullable LithoRenderUnit foreground) {
+      if (foreground != null || mTree.mForegroundOutputs != null) {
+        mTree.mForegroundOutputs = mTree.setOutput(mTree.mForegroundOutputs, mIndex, foreground);
+      }
+    }
+
+    @Override
+    public @Nullable LithoRenderUnit getBorderOutput() {
+      return get(mTree.mBorderOutputs, mIndex);
+    }
+
+    @Override
+    public void setBorderOutput(final @Nullable LithoRenderUnit border) {
+      if (border != null || mTree.mBorderOutputs != null) {
+        mTree.mBorderOutputs = mTree.setOutput(mTree.mBorderOutputs, mIndex, border);
+      }
+    }
+
+    @Override
+    public @Nullable LithoRenderUnit getHostOutput() {
+      return get(mTree.mHostOutputs, mIndex);
+    }
+
+    @Override
+    public void setHostOutput(final @Nullable LithoRenderUnit host) {
+      if (host != null || mTree.mHostOutputs != null) {
+        mTree.mHostOutputs = mTree.setOutput(mTree.mHostOutputs, mIndex, host);
+      }
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Node)) {
+        return false;
+      }
+      final Node other = (Node) o;
+      return mTree == other.mTree && mIndex == other.mIndex;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(mTree) + mIndex;
+    }
+  }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.LayoutOutput.getLayoutOutput;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.rendercore.RenderTreeNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Prepares the drawables of a freshly calculated {@link LayoutState} ahead of mount, on the thread
+ * of the ComponentTree's warm-up handler (see {@link
+ * ComponentTree.Builder#warmDrawablesHandler(RunnableHandler)}). Each drawable is recorded into a
+ * throwaway {@link Picture} at its layout size, which builds its paths, shaders and decoded state,
+ * and bitmaps are handed to {@link Bitmap#prepareToDraw()} so their textures can be uploaded before
+ * the frame that first draws them.
+ *
+ * <p>Backgrounds and foregrounds are collected out of the box. Other mount specs can plug in the
+ * drawables they know they'll draw with {@link #registerPreparer(Class, DrawablePreparer)}.
+ *
+ * <p>This is best-effort: drawables already attached to mounted content or without a {@link
+ * Drawable.ConstantState} are skipped, and failures are ignored. The drawables of the layout are
+ * never modified; a copy sharing their constant state is drawn instead.
+ */
+public class DrawableWarmer {
+
+  /** Collects the drawables mounting a given type of component will draw. */
+  public interface DrawablePreparer<T extends Component> {
+
+    /**
+     * Adds the drawables that mounting {@code component} at {@code width} x {@code height} will
+     * draw to {@code outDrawables}. Called on a background thread.
+     */
+    void collectDrawables(T component, int width, int height, List<Drawable> outDrawables);
+  }
+
+  private static @Nullable DrawableWarmer sInstance;
+
+  private final Map<Class<?>, DrawablePreparer<?>> mPreparers = new HashMap<>();
+  private final Set<Drawable> mWarmedDrawables =
+      Collections.newSetFromMap(new WeakHashMap<Drawable, Boolean>());
+  private final List<Drawable> mTempDrawables = new ArrayList<>();
+
+  private int mWarmedCount;
+  private int mSkippedCount;
+  private long mWarmTimeNs;
+
+  /** @return the global {@link DrawableWarmer} instance. */
+  public static synchronized DrawableWarmer getInstance() {
+    if (sInstance == null) {
+      sInstance = new DrawableWarmer();
+    }
+
+    return sInstance;
+  }
+
+  @VisibleForTesting
+  DrawableWarmer() {}
+
+  /** Plugs in the drawables to prepare for components of the given type. */
+  public synchronized <T extends Component> void registerPreparer(
+      Class<T> componentType, DrawablePreparer<? super T> preparer) {
+    mPreparers.put(componentType, preparer);
+  }
+
+  public synchronized void unregisterPreparer(Class<? extends Component> componentType) {
+    mPreparers.remove(componentType);
+  }
+
+  /**
+   * Prepares the drawables of all the outputs of the given layout that aren't mounted yet. The
+   * drawables are collected under the lock but drawn outside of it, so the main thread is never
+   * blocked on {@link #getStats()} or {@link #registerPreparer} while a layout is being warmed.
+   */
+  void warm(LayoutState layoutState) {
+    final List<Drawable> drawables = new ArrayList<>();
+    final List<Rect> drawableBounds = new ArrayList<>();
+    synchronized (this) {
+      for (int i = 0, size = layoutState.getMountableOutputCount(); i < size; i++) {
+        final RenderTreeNode node = layoutState.getMountableOutputAt(i);
+        final Rect bounds = node.getBounds();
+        collectDrawables(getLayoutOutput(node), bounds.width(), bounds.height(), mTempDrawables);
+
+        for (int j = 0, count = mTempDrawables.size(); j < count; j++) {
+          final Drawable drawable = mTempDrawables.get(j);
+          if (shouldWarm(drawable, bounds.width(), bounds.height())) {
+            drawables.add(drawable);
+            drawableBounds.add(bounds);
+          } else {
+            mSkippedCount++;
+          }
+        }
+        mTempDrawables.clear();
+      }
+    }
+
+    if (drawables.isEmpty()) {
+      return;
+    }
+
+    final Picture picture;
+    try {
+      picture = new Picture();
+    } catch (RuntimeException e) {
+      return;
+    }
+
+    final long startTime = System.nanoTime();
+    final boolean[] warmed = new boolean[drawables.size()];
+    for (int i = 0, size = drawables.size(); i < size; i++) {
+      final Rect bounds = drawableBounds.get(i);
+      warmed[i] = warm(picture, drawables.get(i), bounds.width(), bounds.height());
+    }
+    final long warmTimeNs = System.nanoTime() - startTime;
+
+    synchronized (this) {
+      for (int i = 0, size = drawables.size(); i < size; i++) {
+        if (warmed[i]) {
+          mWarmedDrawables.add(drawables.get(i));
+          mWarmedCount++;
+        } else {
+          mSkippedCount++;
+        }
+      }
+      mWarmTimeNs += warmTimeNs;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void collectDrawables(
+      LayoutOutput output, int width, int height, List<Drawable> outDrawables) {
+    final Component component = output.getComponent();
+
+    if (component instanceof DrawableComponent) {
+      addIfNotNull(((DrawableComponent) component).mDrawable, outDrawables);
+    }
+
+    final ViewNodeInfo viewNodeInfo = output.getViewNodeInfo();
+    if (viewNodeInfo != null) {
+      addIfNotNull(viewNodeInfo.getBackground(), outDrawables);
+      addIfNotNull(viewNodeInfo.getForeground(), outDrawables);
+    }
+
+    final DrawablePreparer preparer = mPreparers.get(component.getClass());
+    if (preparer != null) {
+      try {
+        preparer.collectDrawables(component, width, height, outDrawables);
+      } catch (Exception e) {
+        // Best effort: a failing preparer only means these drawables are prepared at mount.
+      }
+    }
+  }
+
+  private static void addIfNotNull(@Nullable Drawable drawable, List<Drawable> outDrawables) {
+    if (drawable != null) {
+      outDrawables.add(drawable);
+    }
+  }
+
+  /**
+   * The callback is read off the main thread, so a drawable mounted or unmounted concurrently may
+   * still be warmed or skipped. Both are harmless: only a copy of the drawable is ever drawn.
+   */
+  private boolean shouldWarm(Drawable drawable, int width, int height) {
+    return width > 0
+        && height > 0
+        && drawable.getCallback() == null
+        && !mWarmedDrawables.contains(drawable);
+  }
+
+  private static boolean warm(Picture picture, Drawable drawable, int width, int height) {
+    try {
+      if (drawable instanceof BitmapDrawable && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+        final Bitmap bitmap = ((BitmapDrawable) drawable).getBitmap();
+        if (bitmap != null) {
+          bitmap.prepareToDraw();
+        }
+      }
+
+      // The drawable may get mounted on the main thread at any time, so it's never touched here:
+      // a copy sharing its constant state is drawn instead, which builds the shared state.
+      final Drawable copy = newDrawable(drawable);
+      if (copy == null) {
+        return false;
+      }
+
+      copy.setBounds(0, 0, width, height);
+      final Canvas canvas = picture.beginRecording(width, height);
+      copy.draw(canvas);
+      picture.endRecording();
+      return true;
+    } catch (Exception e) {
+      // Nothing to do here. This is a best effort. No real problem if it fails.
+      return false;
+    }
+  }
+
+  private static @Nullable Drawable newDrawable(Drawable drawable) {
+    final Drawable.ConstantState constantState = drawable.getConstantState();
+    return constantState != null ? constantState.newDrawable() : null;
+  }
+
+  /** @return a snapshot of how much work has been prepared ahead of mount so far. */
+  public synchronized Stats getStats() {
+    return new Stats(mWarmedCount, mSkippedCount, mWarmTimeNs);
+  }
+
+  @VisibleForTesting
+  synchronized void resetStats() {
+    mWarmedCount = 0;
+    mSkippedCount = 0;
+    mWarmTimeNs = 0;
+    mWarmedDrawables.clear();
+  }
+
+  /** Counters of the drawables prepared ahead of mount. */
+  public static final class Stats {
+
+    private final int mWarmedCount;
+    private final int mSkippedCount;
+    private final long mWarmTimeNs;
+
+    Stats(int warmedCount, int skippedCount, long warmTimeNs) {
+      mWarmedCount = warmedCount;
+      mSkippedCount = skippedCount;
+      mWarmTimeNs = warmTimeNs;
+    }
+
+    /** @return how many drawables were prepared ahead of mount. */
+    public int getWarmedCount() {
+      return mWarmedCount;
+    }
+
+    /**
+     * @return how many drawables were skipped as already mounted, already warm or empty, or because
+     *     they couldn't be copied or drawn.
+     */
+    public int getSkippedCount() {
+      return mSkippedCount;
+    }
+
+    /**
+     * @return the time spent preparing drawables on the warm-up thread, an estimate of the work
+     *     moved off the first frame that mounts them.
+     */
+    public long getTimeMovedOffMainThreadMs() {
+      return mWarmTimeNs / 1_000_000;
+    }
+  }
+}
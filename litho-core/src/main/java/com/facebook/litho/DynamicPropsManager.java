@@ -52,7 +52,15 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
   public static final int KEY_BACKGROUND_DRAWABLE = 9;
   public static final int KEY_FOREGROUND_COLOR = 10;
 
-  private final Map<DynamicValue<?>, Set<Component>> mDependentComponents = new HashMap<>();
+  private static final int[] NO_INDEXES = new int[0];
+
+  /**
+   * For every subscribed DynamicValue, the bindings that depend on it. Arrays are copy-on-write so
+   * that {@link #onValueChange(DynamicValue)} can walk them without taking a snapshot, even if
+   * applying a prop binds or unbinds a component.
+   */
+  private final Map<DynamicValue<?>, Binding[]> mBindings = new HashMap<>();
+
   private final Map<Component, Set<DynamicValue<?>>> mAffectingDynamicValues = new HashMap<>();
   private final Map<Component, Object> mContents = new HashMap<>();
 
@@ -67,11 +75,15 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
       return;
     }
 
-    final Set<DynamicValue<?>> dynamicValues = new HashSet<>();
+    if (mAffectingDynamicValues.containsKey(component)) {
+      removeBindings(component);
+    }
 
-    if (hasCommonDynamicPropsToBind) {
-      final SparseArray<DynamicValue<?>> commonDynamicProps = component.getCommonDynamicProps();
+    final Set<DynamicValue<?>> dynamicValues = new HashSet<>();
+    final SparseArray<DynamicValue<?>> commonDynamicProps =
+        hasCommonDynamicPropsToBind ? component.getCommonDynamicProps() : null;
 
+    if (commonDynamicProps != null) {
       // Go through all common dynamic props
       for (int i = 0; i < commonDynamicProps.size(); i++) {
         final int key = commonDynamicProps.keyAt(i);
@@ -79,12 +91,14 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
 
         bindCommonDynamicProp(key, value, (View) content);
 
-        addDependentComponentAndSubscribeIfNeeded(value, component);
-        dynamicValues.add(value);
+        if (value != null) {
+          dynamicValues.add(value);
+        }
       }
     }
 
     final DynamicValue[] dynamicProps = component.getDynamicProps();
+    final boolean[] boundCustomProps = new boolean[dynamicProps.length];
     // Go through all the other dynamic props
     for (int i = 0; i < dynamicProps.length; i++) {
       final @Nullable DynamicValue<?> value = dynamicProps[i];
@@ -92,8 +106,10 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
       try {
         component.bindDynamicProp(i, value != null ? value.get() : null, content);
 
-        addDependentComponentAndSubscribeIfNeeded(value, component);
-        dynamicValues.add(value);
+        boundCustomProps[i] = true;
+        if (value != null) {
+          dynamicValues.add(value);
+        }
       } catch (Exception e) {
         if (scopedContext != null) {
           ComponentUtils.handle(scopedContext, e);
@@ -103,6 +119,16 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
       }
     }
 
+    for (DynamicValue<?> value : dynamicValues) {
+      addBindingAndSubscribeIfNeeded(
+          value,
+          new Binding(
+              component,
+              content,
+              findCommonKeys(commonDynamicProps, value),
+              findCustomIndexes(dynamicProps, boundCustomProps, value)));
+    }
+
     mAffectingDynamicValues.put(component, dynamicValues);
     mContents.put(component, content);
   }
@@ -114,17 +140,73 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
 
     mContents.remove(component);
 
-    final Set<DynamicValue<?>> dynamicValues = mAffectingDynamicValues.get(component);
+    if (!mAffectingDynamicValues.containsKey(component)) {
+      return;
+    }
+
+    removeBindings(component);
+    resetDynamicValues(content);
+  }
+
+  private void removeBindings(Component component) {
+    final Set<DynamicValue<?>> dynamicValues = mAffectingDynamicValues.remove(component);
     if (dynamicValues == null) {
       return;
     }
 
     for (DynamicValue<?> value : dynamicValues) {
-      removeDependentComponentAndUnsubscribeIfNeeded(value, component);
+      removeBindingAndUnsubscribeIfNeeded(value, component);
     }
+  }
 
-    resetDynamicValues(content);
-    mAffectingDynamicValues.remove(component);
+  private static int[] findCommonKeys(
+      @Nullable SparseArray<DynamicValue<?>> commonDynamicProps, DynamicValue<?> value) {
+    if (commonDynamicProps == null) {
+      return NO_INDEXES;
+    }
+
+    int count = 0;
+    for (int i = 0; i < commonDynamicProps.size(); i++) {
+      if (commonDynamicProps.valueAt(i) == value) {
+        count++;
+      }
+    }
+
+    if (count == 0) {
+      return NO_INDEXES;
+    }
+
+    final int[] keys = new int[count];
+    int index = 0;
+    for (int i = 0; i < commonDynamicProps.size(); i++) {
+      if (commonDynamicProps.valueAt(i) == value) {
+        keys[index++] = commonDynamicProps.keyAt(i);
+      }
+    }
+    return keys;
+  }
+
+  private static int[] findCustomIndexes(
+      DynamicValue[] dynamicProps, boolean[] boundCustomProps, DynamicValue<?> value) {
+    int count = 0;
+    for (int i = 0; i < dynamicProps.length; i++) {
+      if (boundCustomProps[i] && dynamicProps[i] == value) {
+        count++;
+      }
+    }
+
+    if (count == 0) {
+      return NO_INDEXES;
+    }
+
+    final int[] indexes = new int[count];
+    int index = 0;
+    for (int i = 0; i < dynamicProps.length; i++) {
+      if (boundCustomProps[i] && dynamicProps[i] == value) {
+        indexes[index++] = i;
+      }
+    }
+    return indexes;
   }
 
   private static void resetDynamicValues(Object content) {
@@ -168,67 +250,83 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
     }
   }
 
-  private void addDependentComponentAndSubscribeIfNeeded(
-      @Nullable DynamicValue<?> value, Component component) {
-    if (value == null) {
-      return;
-    }
-    Set<Component> dependentComponents = mDependentComponents.get(value);
+  private void addBindingAndSubscribeIfNeeded(DynamicValue<?> value, Binding binding) {
+    final Binding[] bindings = mBindings.get(value);
 
-    if (dependentComponents == null) {
-      dependentComponents = new HashSet<>();
-      mDependentComponents.put(value, dependentComponents);
+    if (bindings == null) {
+      mBindings.put(value, new Binding[] {binding});
 
       value.attachListener(this);
+      return;
     }
 
-    dependentComponents.add(component);
+    final Binding[] updated = new Binding[bindings.length + 1];
+    System.arraycopy(bindings, 0, updated, 0, bindings.length);
+    updated[bindings.length] = binding;
+    mBindings.put(value, updated);
   }
 
-  private void removeDependentComponentAndUnsubscribeIfNeeded(
-      @Nullable DynamicValue<?> value, Component component) {
-    if (value == null) {
+  private void removeBindingAndUnsubscribeIfNeeded(DynamicValue<?> value, Component component) {
+    final Binding[] bindings = mBindings.get(value);
+    if (bindings == null) {
       return;
     }
-    final Set<Component> dependentComponents = mDependentComponents.get(value);
-    if (dependentComponents == null) {
-      return;
+
+    int remaining = 0;
+    for (Binding binding : bindings) {
+      if (binding.mComponent == component) {
+        binding.mIsBound = false;
+      } else {
+        remaining++;
+      }
     }
 
-    dependentComponents.remove(component);
+    if (remaining == bindings.length) {
+      return;
+    }
 
-    if (dependentComponents.isEmpty()) {
-      mDependentComponents.remove(value);
+    if (remaining == 0) {
+      mBindings.remove(value);
 
       value.detach(this);
+      return;
+    }
+
+    final Binding[] updated = new Binding[remaining];
+    int index = 0;
+    for (Binding binding : bindings) {
+      if (binding.mIsBound) {
+        updated[index++] = binding;
+      }
     }
+    mBindings.put(value, updated);
   }
 
   private void bindCommonDynamicProp(int key, DynamicValue<?> value, View target) {
     switch (key) {
       case KEY_ALPHA:
-        target.setAlpha(DynamicPropsManager.<Float>resolve(value));
+        target.setAlpha(resolveFloat(value));
         break;
 
       case KEY_TRANSLATION_X:
-        target.setTranslationX(DynamicPropsManager.<Float>resolve(value));
+        target.setTranslationX(resolveFloat(value));
         break;
 
       case KEY_TRANSLATION_Y:
-        target.setTranslationY(DynamicPropsManager.<Float>resolve(value));
+        target.setTranslationY(resolveFloat(value));
         break;
 
       case KEY_SCALE_X:
-        target.setScaleX(DynamicPropsManager.<Float>resolve(value));
+        target.setScaleX(resolveFloat(value));
         break;
 
       case KEY_SCALE_Y:
-        target.setScaleY(DynamicPropsManager.<Float>resolve(value));
+        target.setScaleY(resolveFloat(value));
         break;
 
       case KEY_ELEVATION:
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-          target.setElevation(DynamicPropsManager.<Float>resolve(value));
+          target.setElevation(resolveFloat(value));
         }
         break;
 
@@ -237,7 +335,7 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
         break;
 
       case KEY_ROTATION:
-        target.setRotation(DynamicPropsManager.<Float>resolve(value));
+        target.setRotation(resolveFloat(value));
         break;
 
       case KEY_BACKGROUND_DRAWABLE:
@@ -249,6 +347,13 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
     }
   }
 
+  private static float resolveFloat(DynamicValue<?> dynamicValue) {
+    if (dynamicValue instanceof FloatDynamicValue) {
+      return ((FloatDynamicValue) dynamicValue).getFloat();
+    }
+    return DynamicPropsManager.<Float>resolve(dynamicValue);
+  }
+
   @SuppressWarnings("unchecked")
   private static <T> T resolve(DynamicValue<?> dynamicValue) {
     return (T) dynamicValue.get();
@@ -256,36 +361,27 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
 
   @Override
   public void onValueChange(DynamicValue value) {
-    final Set<Component> dependentComponents = mDependentComponents.get(value);
-    if (dependentComponents == null) {
+    final Binding[] bindings = mBindings.get(value);
+    if (bindings == null) {
       return;
     }
 
-    // It's possible that applying a dynamic prop could bind or unbind a component - snapshot the
-    // components here to prevent a ConcurrentModificationException during iteration
-    Component[] dependentComponentSnapshot =
-        dependentComponents.toArray(new Component[dependentComponents.size()]);
-    for (Component component : dependentComponentSnapshot) {
-      final Object content = mContents.get(component);
-      if (content == null) {
+    // Applying a dynamic prop could bind or unbind a component, which replaces the array in
+    // mBindings rather than mutating this one. Bindings removed meanwhile are flagged as unbound.
+    for (int i = 0; i < bindings.length; i++) {
+      final Binding binding = bindings[i];
+      if (!binding.mIsBound) {
         continue;
       }
 
-      if (hasCommonDynamicPropsToBind(component)) {
-        final SparseArray<DynamicValue<?>> commonDynamicProps = component.getCommonDynamicProps();
-
-        for (int i = 0; i < commonDynamicProps.size(); i++) {
-          if (commonDynamicProps.valueAt(i) == value) {
-            bindCommonDynamicProp(commonDynamicProps.keyAt(i), value, (View) content);
-          }
-        }
+      final int[] commonKeys = binding.mCommonKeys;
+      for (int j = 0; j < commonKeys.length; j++) {
+        bindCommonDynamicProp(commonKeys[j], value, (View) binding.mContent);
       }
 
-      final DynamicValue[] dynamicProps = component.getDynamicProps();
-      for (int i = 0; i < dynamicProps.length; i++) {
-        if (value == dynamicProps[i]) {
-          component.bindDynamicProp(i, value.get(), content);
-        }
+      final int[] customIndexes = binding.mCustomIndexes;
+      for (int j = 0; j < customIndexes.length; j++) {
+        binding.mComponent.bindDynamicProp(customIndexes[j], value.get(), binding.mContent);
       }
     }
   }
@@ -307,4 +403,23 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
   boolean hasCachedContent(Component component) {
     return mContents.containsKey(component);
   }
+
+  /**
+   * A Component bound to its mounted content for one DynamicValue, with the common prop keys and
+   * custom prop indexes that DynamicValue drives resolved once at bind time.
+   */
+  private static final class Binding {
+    final Component mComponent;
+    final Object mContent;
+    final int[] mCommonKeys;
+    final int[] mCustomIndexes;
+    boolean mIsBound = true;
+
+    Binding(Component component, Object content, int[] commonKeys, int[] customIndexes) {
+      mComponent = component;
+      mContent = content;
+      mCommonKeys = commonKeys;
+      mCustomIndexes = customIndexes;
+    }
+  }
 }
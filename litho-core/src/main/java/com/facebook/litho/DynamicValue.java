@@ -16,8 +16,7 @@
 
 package com.facebook.litho;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import androidx.annotation.VisibleForTesting;
 
 /**
  * Class represents a DynamicValue, and provides users with ability to change the value, by exposing
@@ -31,8 +30,15 @@ import java.util.concurrent.CopyOnWriteArraySet;
  */
 public class DynamicValue<T> {
 
+  private static final OnValueChangeListener[] NO_LISTENERS = new OnValueChangeListener[0];
+
   private T mValue;
-  private final Set<OnValueChangeListener<T>> mListeners = new CopyOnWriteArraySet<>();
+
+  /**
+   * Copy-on-write array of listeners: attaching and detaching replace the array, so notifying can
+   * iterate the current one without a snapshot or an iterator allocation.
+   */
+  private volatile OnValueChangeListener[] mListeners = NO_LISTENERS;
 
   public DynamicValue(T mValue) {
     this.mValue = mValue;
@@ -50,8 +56,15 @@ public class DynamicValue<T> {
 
     mValue = value;
 
-    for (OnValueChangeListener<T> listener : mListeners) {
-      listener.onValueChange(this);
+    notifyListeners();
+  }
+
+  /** Notifies all the attached listeners that the held value has changed. */
+  @SuppressWarnings("unchecked")
+  void notifyListeners() {
+    final OnValueChangeListener[] listeners = mListeners;
+    for (int i = 0; i < listeners.length; i++) {
+      listeners[i].onValueChange(this);
     }
   }
 
@@ -69,8 +82,18 @@ public class DynamicValue<T> {
    *
    * @param listener The callback to invoke.
    */
-  void attachListener(OnValueChangeListener<T> listener) {
-    mListeners.add(listener);
+  synchronized void attachListener(OnValueChangeListener<T> listener) {
+    final OnValueChangeListener[] listeners = mListeners;
+    for (OnValueChangeListener existing : listeners) {
+      if (existing == listener) {
+        return;
+      }
+    }
+
+    final OnValueChangeListener[] updated = new OnValueChangeListener[listeners.length + 1];
+    System.arraycopy(listeners, 0, updated, 0, listeners.length);
+    updated[listeners.length] = listener;
+    mListeners = updated;
   }
 
   /**
@@ -78,8 +101,27 @@ public class DynamicValue<T> {
    *
    * @param listener The listener to detach
    */
-  void detach(OnValueChangeListener<T> listener) {
-    mListeners.remove(listener);
+  synchronized void detach(OnValueChangeListener<T> listener) {
+    final OnValueChangeListener[] listeners = mListeners;
+    for (int i = 0; i < listeners.length; i++) {
+      if (listeners[i] == listener) {
+        if (listeners.length == 1) {
+          mListeners = NO_LISTENERS;
+          return;
+        }
+
+        final OnValueChangeListener[] updated = new OnValueChangeListener[listeners.length - 1];
+        System.arraycopy(listeners, 0, updated, 0, i);
+        System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+        mListeners = updated;
+        return;
+      }
+    }
+  }
+
+  @VisibleForTesting
+  int getListenerCount() {
+    return mListeners.length;
   }
 
   /** Interface definition for a callback to be invoked when value changes. */
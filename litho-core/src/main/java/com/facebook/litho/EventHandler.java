@@ -91,6 +91,70 @@ public class EventHandler<E> implements Function<Void>, Equivalence<EventHandler
     return true;
   }
 
+  /**
+   * Returns true if the param at the given index of the event handler equals the given value. Used
+   * by generated event handler factories to decide whether a previously created event handler can
+   * be reused; the primitive overloads compare without boxing the value.
+   */
+  public static boolean paramEquals(
+      EventHandler<?> eventHandler, int index, @Nullable Object value) {
+    final Object[] params = eventHandler.params;
+    if (params == null || index >= params.length) {
+      return false;
+    }
+    final Object param = params[index];
+    return value == null ? param == null : value.equals(param);
+  }
+
+  public static boolean paramEquals(EventHandler<?> eventHandler, int index, boolean value) {
+    final Object param = getParam(eventHandler, index);
+    return param instanceof Boolean && (Boolean) param == value;
+  }
+
+  public static boolean paramEquals(EventHandler<?> eventHandler, int index, byte value) {
+    final Object param = getParam(eventHandler, index);
+    return param instanceof Byte && (Byte) param == value;
+  }
+
+  public static boolean paramEquals(EventHandler<?> eventHandler, int index, short value) {
+    final Object param = getParam(eventHandler, index);
+    return param instanceof Short && (Short) param == value;
+  }
+
+  public static boolean paramEquals(EventHandler<?> eventHandler, int index, char value) {
+    final Object param = getParam(eventHandler, index);
+    return param instanceof Character && (Character) param == value;
+  }
+
+  public static boolean paramEquals(EventHandler<?> eventHandler, int index, int value) {
+    final Object param = getParam(eventHandler, index);
+    return param instanceof Integer && (Integer) param == value;
+  }
+
+  public static boolean paramEquals(EventHandler<?> eventHandler, int index, long value) {
+    final Object param = getParam(eventHandler, index);
+    return param instanceof Long && (Long) param == value;
+  }
+
+  /** Compares like {@link Float#equals(Object)}, so that NaN equals NaN. */
+  public static boolean paramEquals(EventHandler<?> eventHandler, int index, float value) {
+    final Object param = getParam(eventHandler, index);
+    return param instanceof Float
+        && Float.floatToIntBits((Float) param) == Float.floatToIntBits(value);
+  }
+
+  /** Compares like {@link Double#equals(Object)}, so that NaN equals NaN. */
+  public static boolean paramEquals(EventHandler<?> eventHandler, int index, double value) {
+    final Object param = getParam(eventHandler, index);
+    return param instanceof Double
+        && Double.doubleToLongBits((Double) param) == Double.doubleToLongBits(value);
+  }
+
+  private static @Nullable Object getParam(EventHandler<?> eventHandler, int index) {
+    final Object[] params = eventHandler.params;
+    return params == null || index >= params.length ? null : params[index];
+  }
+
   @Override
   public String toString() {
     return mHasEventDispatcher != null && mHasEventDispatcher != this
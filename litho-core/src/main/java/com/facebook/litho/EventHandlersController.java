@@ -86,6 +86,20 @@ public class EventHandlersController {
     }
   }
 
+  /**
+   * @return the event handler with the given id last recorded for the dispatcher with the given
+   *     global key, or null if there is none.
+   */
+  public synchronized @Nullable EventHandler<?> getEventHandler(
+      @Nullable String globalKey, int id) {
+    if (globalKey == null) {
+      return null;
+    }
+
+    final EventHandlersWrapper eventHandlersForKey = mEventHandlers.get(globalKey);
+    return eventHandlersForKey == null ? null : eventHandlersForKey.getEventHandlers().get(id);
+  }
+
   private static void bindEventHandlerToDispatcher(
       EventHandler<?> eventHandler, HasEventDispatcher dispatcher, @Nullable ComponentContext c) {
     eventHandler.mHasEventDispatcher = dispatcher;
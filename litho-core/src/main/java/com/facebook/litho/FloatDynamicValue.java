@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A {@link DynamicValue} holding a primitive float. Animations that drive alpha, translation, scale
+ * or rotation every frame should prefer {@link #setFloat(float)} and {@link #getFloat()}, which
+ * neither box the value nor allocate while notifying listeners. The boxed accessors inherited from
+ * {@link DynamicValue} keep working and stay in sync.
+ */
+public class FloatDynamicValue extends DynamicValue<Float> {
+
+  private float mFloatValue;
+  private @Nullable Float mBoxedValue;
+
+  public FloatDynamicValue(float value) {
+    super(null);
+    mFloatValue = value;
+  }
+
+  /**
+   * Sets current value and notifies all the attached listeners, without boxing it.
+   *
+   * @param value the new value
+   */
+  public void setFloat(float value) {
+    if (Float.floatToIntBits(mFloatValue) == Float.floatToIntBits(value)) {
+      return;
+    }
+
+    mFloatValue = value;
+    mBoxedValue = null;
+
+    notifyListeners();
+  }
+
+  /**
+   * Retrieves the current value without boxing it.
+   *
+   * @return the current value
+   */
+  public float getFloat() {
+    return mFloatValue;
+  }
+
+  @Override
+  public void set(Float value) {
+    setFloat(value);
+  }
+
+  @Override
+  public Float get() {
+    Float boxed = mBoxedValue;
+    if (boxed == null) {
+      boxed = mFloatValue;
+      mBoxedValue = boxed;
+    }
+    return boxed;
+  }
+}
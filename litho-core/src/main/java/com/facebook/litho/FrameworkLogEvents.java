@@ -102,6 +102,11 @@ public interface FrameworkLogEvents {
   String PARAM_LAYOUT_FUTURE_WAIT_FOR_RESULT = "wait_for_result";
   String PARAM_IS_MAIN_THREAD = "is_main_thread";
   String PARAM_LAYOUT_VERSION = "layout_version";
+  String PARAM_RESOLVED_NODE_COUNT = "resolved_node_count";
+  String PARAM_REUSED_NODE_COUNT = "reused_node_count";
+  String PARAM_NESTED_TREE_RESOLUTION_COUNT = "nested_tree_resolution_count";
+  String PARAM_NESTED_TREE_RERESOLUTION_COUNT = "nested_tree_reresolution_count";
+  String PARAM_NESTED_TREE_CACHE_HIT_COUNT = "nested_tree_cache_hit_count";
 
   String PARAM_CHANGESET_EFFECTIVE_COUNT = "changeset_effective_count";
   String PARAM_CHANGESET_INSERT_SINGLE_COUNT = "changeset_insert_single_count";
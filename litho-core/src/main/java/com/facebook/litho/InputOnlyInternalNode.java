@@ -116,6 +116,10 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   protected static final long PFLAG_TRANSITION_KEY_TYPE_IS_SET = 1L << 32;
   protected static final long PFLAG_DUPLICATE_CHILDREN_STATES_IS_SET = 1L << 33;
 
+  // Shared by all nodes without a border, never written to.
+  private static final int[] NO_BORDER_COLORS = new int[Border.EDGE_COUNT];
+  private static final float[] NO_BORDER_RADIUS = new float[Border.RADIUS_COUNT];
+
   private List<InternalNode> mChildren = new ArrayList<>(4);
 
   protected Context mContext;
@@ -129,20 +133,14 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   @ThreadConfined(ThreadConfined.ANY)
   private List<String> mComponentGlobalKeys = new ArrayList<>(2);
 
-  protected final int[] mBorderEdgeWidths = new int[Border.EDGE_COUNT];
-  protected final int[] mBorderColors = new int[Border.EDGE_COUNT];
-  protected final float[] mBorderRadius = new float[Border.RADIUS_COUNT];
+  // Most nodes have neither borders nor visibility handlers, so these props are only allocated
+  // when they are set.
+  protected @Nullable BorderProps mBorderProps;
+  protected @Nullable VisibilityProps mVisibilityProps;
 
   protected @Nullable NodeInfo mNodeInfo;
-  protected @Nullable EventHandler<VisibleEvent> mVisibleHandler;
-  protected @Nullable EventHandler<FocusedVisibleEvent> mFocusedHandler;
-  protected @Nullable EventHandler<UnfocusedVisibleEvent> mUnfocusedHandler;
-  protected @Nullable EventHandler<FullImpressionVisibleEvent> mFullImpressionHandler;
-  protected @Nullable EventHandler<InvisibleEvent> mInvisibleHandler;
-  protected @Nullable EventHandler<VisibilityChangedEvent> mVisibilityChangedHandler;
   protected @Nullable Drawable mBackground;
   protected @Nullable Drawable mForeground;
-  protected @Nullable PathEffect mBorderPathEffect;
   protected @Nullable StateListAnimator mStateListAnimator;
   private @Nullable Edges mTouchExpansion;
   protected @Nullable String mTransitionKey;
@@ -167,9 +165,6 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   protected int mImportantForAccessibility = ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_AUTO;
   protected @DrawableRes int mStateListAnimatorRes;
 
-  protected float mVisibleHeightRatio;
-  protected float mVisibleWidthRatio;
-
   protected @Nullable YogaDirection mLayoutDirection;
   protected @Nullable YogaFlexDirection mFlexDirection;
   protected @Nullable YogaJustify mJustifyContent;
@@ -192,7 +187,6 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
 
   protected InputOnlyInternalNode(ComponentContext componentContext) {
     mContext = componentContext.getAndroidContext();
-    mDebugComponents = new HashSet<>();
     if (componentContext.useStatelessComponent()) {
       mScopedComponentInfos = new ArrayList<>(2);
     }
@@ -306,10 +300,11 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   @Override
   public void border(int[] widths, int[] colors, float[] radii, @Nullable PathEffect effect) {
     mPrivateFlags |= PFLAG_BORDER_IS_SET;
-    System.arraycopy(widths, 0, mBorderEdgeWidths, 0, mBorderEdgeWidths.length);
-    System.arraycopy(colors, 0, mBorderColors, 0, mBorderColors.length);
-    System.arraycopy(radii, 0, mBorderRadius, 0, mBorderRadius.length);
-    mBorderPathEffect = effect;
+    final BorderProps borderProps = getOrCreateBorderProps();
+    System.arraycopy(widths, 0, borderProps.mEdgeWidths, 0, borderProps.mEdgeWidths.length);
+    System.arraycopy(colors, 0, borderProps.mColors, 0, borderProps.mColors.length);
+    System.arraycopy(radii, 0, borderProps.mRadius, 0, borderProps.mRadius.length);
+    borderProps.mPathEffect = effect;
   }
 
   protected void applyDiffNode(
@@ -431,6 +426,13 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
       InputOnlyInternalNode<Writer> currentInternalNode,
       @Nullable LithoLayoutResult previousLayoutResult,
       @Nullable YogaNode parentNode) {
+    // A subtree reused from the previous layout is cloned from its own previous layout result.
+    final @Nullable LithoLayoutResult reusedLayoutResult =
+        renderContext.mLayoutStateContext.getReusedLayoutResult(currentInternalNode);
+    if (reusedLayoutResult != null) {
+      previousLayoutResult = reusedLayoutResult;
+    }
+
     final boolean isCloned =
         isCloned(renderContext.mLayoutStateContext, currentInternalNode, previousLayoutResult);
     final YogaNode node;
@@ -553,7 +555,7 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   public InternalNode child(
       LayoutStateContext layoutContext, ComponentContext c, @Nullable Component child) {
     if (child != null) {
-      return child(Layout.create(layoutContext, c, child));
+      return child(Layout.createChild(layoutContext, c, child));
     }
 
     return this;
@@ -591,7 +593,9 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   @Override
   public InternalNode focusedHandler(@Nullable EventHandler<FocusedVisibleEvent> focusedHandler) {
     mPrivateFlags |= PFLAG_FOCUSED_HANDLER_IS_SET;
-    mFocusedHandler = addVisibilityHandler(mFocusedHandler, focusedHandler);
+    final VisibilityProps visibilityProps = getOrCreateVisibilityProps();
+    visibilityProps.mFocusedHandler =
+        addVisibilityHandler(visibilityProps.mFocusedHandler, focusedHandler);
     return this;
   }
 
@@ -639,23 +643,25 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   public InternalNode fullImpressionHandler(
       @Nullable EventHandler<FullImpressionVisibleEvent> fullImpressionHandler) {
     mPrivateFlags |= PFLAG_FULL_IMPRESSION_HANDLER_IS_SET;
-    mFullImpressionHandler = addVisibilityHandler(mFullImpressionHandler, fullImpressionHandler);
+    final VisibilityProps visibilityProps = getOrCreateVisibilityProps();
+    visibilityProps.mFullImpressionHandler =
+        addVisibilityHandler(visibilityProps.mFullImpressionHandler, fullImpressionHandler);
     return this;
   }
 
   @Override
   public int[] getBorderColors() {
-    return mBorderColors;
+    return mBorderProps != null ? mBorderProps.mColors : NO_BORDER_COLORS;
   }
 
   @Override
   public @Nullable PathEffect getBorderPathEffect() {
-    return mBorderPathEffect;
+    return mBorderProps != null ? mBorderProps.mPathEffect : null;
   }
 
   @Override
   public float[] getBorderRadius() {
-    return mBorderRadius;
+    return mBorderProps != null ? mBorderProps.mRadius : NO_BORDER_RADIUS;
   }
 
   @Override
@@ -727,7 +733,7 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
 
   @Override
   public @Nullable EventHandler<FocusedVisibleEvent> getFocusedHandler() {
-    return mFocusedHandler;
+    return mVisibilityProps != null ? mVisibilityProps.mFocusedHandler : null;
   }
 
   @Override
@@ -737,7 +743,7 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
 
   @Override
   public @Nullable EventHandler<FullImpressionVisibleEvent> getFullImpressionHandler() {
-    return mFullImpressionHandler;
+    return mVisibilityProps != null ? mVisibilityProps.mFullImpressionHandler : null;
   }
 
   @Override
@@ -764,7 +770,7 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
 
   @Override
   public @Nullable EventHandler<InvisibleEvent> getInvisibleHandler() {
-    return mInvisibleHandler;
+    return mVisibilityProps != null ? mVisibilityProps.mInvisibleHandler : null;
   }
 
   @Override
@@ -886,27 +892,27 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
 
   @Override
   public @Nullable EventHandler<UnfocusedVisibleEvent> getUnfocusedHandler() {
-    return mUnfocusedHandler;
+    return mVisibilityProps != null ? mVisibilityProps.mUnfocusedHandler : null;
   }
 
   @Override
   public @Nullable EventHandler<VisibilityChangedEvent> getVisibilityChangedHandler() {
-    return mVisibilityChangedHandler;
+    return mVisibilityProps != null ? mVisibilityProps.mVisibilityChangedHandler : null;
   }
 
   @Override
   public @Nullable EventHandler<VisibleEvent> getVisibleHandler() {
-    return mVisibleHandler;
+    return mVisibilityProps != null ? mVisibilityProps.mVisibleHandler : null;
   }
 
   @Override
   public float getVisibleHeightRatio() {
-    return mVisibleHeightRatio;
+    return mVisibilityProps != null ? mVisibilityProps.mVisibleHeightRatio : 0;
   }
 
   @Override
   public float getVisibleWidthRatio() {
-    return mVisibleWidthRatio;
+    return mVisibilityProps != null ? mVisibilityProps.mVisibleWidthRatio : 0;
   }
 
   @Override
@@ -916,7 +922,11 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
 
   @Override
   public boolean hasBorderColor() {
-    for (int color : mBorderColors) {
+    if (mBorderProps == null) {
+      return false;
+    }
+
+    for (int color : mBorderProps.mColors) {
       if (color != Color.TRANSPARENT) {
         return true;
       }
@@ -942,12 +952,14 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
 
   @Override
   public boolean hasVisibilityHandlers() {
-    return mVisibleHandler != null
-        || mFocusedHandler != null
-        || mUnfocusedHandler != null
-        || mFullImpressionHandler != null
-        || mInvisibleHandler != null
-        || mVisibilityChangedHandler != null;
+    final @Nullable VisibilityProps props = mVisibilityProps;
+    return props != null
+        && (props.mVisibleHandler != null
+            || props.mFocusedHandler != null
+            || props.mUnfocusedHandler != null
+            || props.mFullImpressionHandler != null
+            || props.mInvisibleHandler != null
+            || props.mVisibilityChangedHandler != null);
   }
 
   @Override
@@ -960,7 +972,9 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   @Override
   public InternalNode invisibleHandler(@Nullable EventHandler<InvisibleEvent> invisibleHandler) {
     mPrivateFlags |= PFLAG_INVISIBLE_HANDLER_IS_SET;
-    mInvisibleHandler = addVisibilityHandler(mInvisibleHandler, invisibleHandler);
+    final VisibilityProps visibilityProps = getOrCreateVisibilityProps();
+    visibilityProps.mInvisibleHandler =
+        addVisibilityHandler(visibilityProps.mInvisibleHandler, invisibleHandler);
     return this;
   }
 
@@ -1082,7 +1096,9 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   public InternalNode unfocusedHandler(
       @Nullable EventHandler<UnfocusedVisibleEvent> unfocusedHandler) {
     mPrivateFlags |= PFLAG_UNFOCUSED_HANDLER_IS_SET;
-    mUnfocusedHandler = addVisibilityHandler(mUnfocusedHandler, unfocusedHandler);
+    final VisibilityProps visibilityProps = getOrCreateVisibilityProps();
+    visibilityProps.mUnfocusedHandler =
+        addVisibilityHandler(visibilityProps.mUnfocusedHandler, unfocusedHandler);
     return this;
   }
 
@@ -1090,27 +1106,30 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
   public InternalNode visibilityChangedHandler(
       @Nullable EventHandler<VisibilityChangedEvent> visibilityChangedHandler) {
     mPrivateFlags |= PFLAG_VISIBLE_RECT_CHANGED_HANDLER_IS_SET;
-    mVisibilityChangedHandler =
-        addVisibilityHandler(mVisibilityChangedHandler, visibilityChangedHandler);
+    final VisibilityProps visibilityProps = getOrCreateVisibilityProps();
+    visibilityProps.mVisibilityChangedHandler =
+        addVisibilityHandler(visibilityProps.mVisibilityChangedHandler, visibilityChangedHandler);
     return this;
   }
 
   @Override
   public InternalNode visibleHandler(@Nullable EventHandler<VisibleEvent> visibleHandler) {
     mPrivateFlags |= PFLAG_VISIBLE_HANDLER_IS_SET;
-    mVisibleHandler = addVisibilityHandler(mVisibleHandler, visibleHandler);
+    final VisibilityProps visibilityProps = getOrCreateVisibilityProps();
+    visibilityProps.mVisibleHandler =
+        addVisibilityHandler(visibilityProps.mVisibleHandler, visibleHandler);
     return this;
   }
 
   @Override
   public InternalNode visibleHeightRatio(float visibleHeightRatio) {
-    mVisibleHeightRatio = visibleHeightRatio;
+    getOrCreateVisibilityProps().mVisibleHeightRatio = visibleHeightRatio;
     return this;
   }
 
   @Override
   public InternalNode visibleWidthRatio(float visibleWidthRatio) {
-    mVisibleWidthRatio = visibleWidthRatio;
+    getOrCreateVisibilityProps().mVisibleWidthRatio = visibleWidthRatio;
     return this;
   }
 
@@ -1131,6 +1150,12 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
     return mBackground;
   }
 
+  @Override
+  public void applyStyle(ComponentLayoutStyle style) {
+    // The layout props are applied to the YogaNode in copyInto.
+    style.applyNodeAttributes(this);
+  }
+
   @Override
   public void applyAttributes(Context c, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
     final TypedArray a =
@@ -1282,6 +1307,20 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
     return getDrawablePadding(drawable, rect) ? rect : null;
   }
 
+  protected BorderProps getOrCreateBorderProps() {
+    if (mBorderProps == null) {
+      mBorderProps = new BorderProps();
+    }
+    return mBorderProps;
+  }
+
+  private VisibilityProps getOrCreateVisibilityProps() {
+    if (mVisibilityProps == null) {
+      mVisibilityProps = new VisibilityProps();
+    }
+    return mVisibilityProps;
+  }
+
   /**
    * Release properties which are not longer required for the current layout pass or release
    * properties which should be reset during reconciliation.
@@ -1465,13 +1504,20 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
           final int styleAttr = props.getDefStyleAttr();
           final int styleRes = props.getDefStyleRes();
           if (styleAttr != 0 || styleRes != 0) {
-            final Context context =
-                Preconditions.checkNotNull(getTailComponentContext()).getAndroidContext();
-            final TypedArray a =
-                context.obtainStyledAttributes(
-                    null, com.facebook.litho.R.styleable.ComponentLayout, styleAttr, styleRes);
-            applyLayoutStyleAttributes(target, a);
-            a.recycle();
+            final ComponentContext c = Preconditions.checkNotNull(getTailComponentContext());
+            final Context context = c.getAndroidContext();
+            if (ComponentsConfiguration.cacheComponentLayoutStyles) {
+              final ComponentLayoutStyle style =
+                  c.getResourceCache().getComponentLayoutStyle(context, styleAttr, styleRes);
+              style.applyLayoutProps(target);
+              style.applyContainerProps(target);
+            } else {
+              final TypedArray a =
+                  context.obtainStyledAttributes(
+                      null, com.facebook.litho.R.styleable.ComponentLayout, styleAttr, styleRes);
+              applyLayoutStyleAttributes(target, a);
+              a.recycle();
+            }
           }
 
           // Set the padding from the background
@@ -1487,9 +1533,10 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
     }
 
     // Apply the border widths
-    if ((mPrivateFlags & PFLAG_BORDER_IS_SET) != 0L) {
-      for (int i = 0, length = mBorderEdgeWidths.length; i < length; ++i) {
-        target.setBorderWidth(Border.edgeFromIndex(i), mBorderEdgeWidths[i]);
+    if ((mPrivateFlags & PFLAG_BORDER_IS_SET) != 0L && mBorderProps != null) {
+      final int[] edgeWidths = mBorderProps.mEdgeWidths;
+      for (int i = 0, length = edgeWidths.length; i < length; ++i) {
+        target.setBorderWidth(Border.edgeFromIndex(i), edgeWidths[i]);
       }
     }
 
@@ -1814,4 +1861,24 @@ public class InputOnlyInternalNode<Writer extends YogaLayoutProps>
       return false;
     }
   }
+
+  /** Border props of a node, which are only allocated for nodes with a border. */
+  static final class BorderProps {
+    final int[] mEdgeWidths = new int[Border.EDGE_COUNT];
+    final int[] mColors = new int[Border.EDGE_COUNT];
+    final float[] mRadius = new float[Border.RADIUS_COUNT];
+    @Nullable PathEffect mPathEffect;
+  }
+
+  /** Visibility props of a node, which are only allocated for nodes with visibility props. */
+  static final class VisibilityProps {
+    @Nullable EventHandler<VisibleEvent> mVisibleHandler;
+    @Nullable EventHandler<FocusedVisibleEvent> mFocusedHandler;
+    @Nullable EventHandler<UnfocusedVisibleEvent> mUnfocusedHandler;
+    @Nullable EventHandler<FullImpressionVisibleEvent> mFullImpressionHandler;
+    @Nullable EventHandler<InvisibleEvent> mInvisibleHandler;
+    @Nullable EventHandler<VisibilityChangedEvent> mVisibilityChangedHandler;
+    float mVisibleHeightRatio;
+    float mVisibleWidthRatio;
+  }
 }
@@ -52,9 +52,10 @@ public class InputOnlyNestedTreeHolder extends InputOnlyInternalNode<NestedTreeY
   public void border(int[] widths, int[] colors, float[] radii, PathEffect effect) {
     mNestedBorderEdges = new int[Border.EDGE_COUNT];
     System.arraycopy(widths, 0, mNestedBorderEdges, 0, mNestedBorderEdges.length);
-    System.arraycopy(colors, 0, mBorderColors, 0, mBorderColors.length);
-    System.arraycopy(radii, 0, mBorderRadius, 0, mBorderRadius.length);
-    mBorderPathEffect = effect;
+    final BorderProps borderProps = getOrCreateBorderProps();
+    System.arraycopy(colors, 0, borderProps.mColors, 0, borderProps.mColors.length);
+    System.arraycopy(radii, 0, borderProps.mRadius, 0, borderProps.mRadius.length);
+    borderProps.mPathEffect = effect;
   }
 
   @Override
@@ -117,28 +118,29 @@ public class InputOnlyNestedTreeHolder extends InputOnlyInternalNode<NestedTreeY
       target.wrapInView();
     }
     if ((mPrivateFlags & PFLAG_VISIBLE_HANDLER_IS_SET) != 0L) {
-      target.visibleHandler(mVisibleHandler);
+      target.visibleHandler(getVisibleHandler());
     }
     if ((mPrivateFlags & PFLAG_FOCUSED_HANDLER_IS_SET) != 0L) {
-      target.focusedHandler(mFocusedHandler);
+      target.focusedHandler(getFocusedHandler());
     }
     if ((mPrivateFlags & PFLAG_FULL_IMPRESSION_HANDLER_IS_SET) != 0L) {
-      target.fullImpressionHandler(mFullImpressionHandler);
+      target.fullImpressionHandler(getFullImpressionHandler());
     }
     if ((mPrivateFlags & PFLAG_INVISIBLE_HANDLER_IS_SET) != 0L) {
-      target.invisibleHandler(mInvisibleHandler);
+      target.invisibleHandler(getInvisibleHandler());
     }
     if ((mPrivateFlags & PFLAG_UNFOCUSED_HANDLER_IS_SET) != 0L) {
-      target.unfocusedHandler(mUnfocusedHandler);
+      target.unfocusedHandler(getUnfocusedHandler());
     }
     if ((mPrivateFlags & PFLAG_VISIBLE_RECT_CHANGED_HANDLER_IS_SET) != 0L) {
-      target.visibilityChangedHandler(mVisibilityChangedHandler);
+      target.visibilityChangedHandler(getVisibilityChangedHandler());
     }
     if (mTestKey != null) {
       target.testKey(mTestKey);
     }
     if (mNestedBorderEdges != null) {
-      target.border(mNestedBorderEdges, mBorderColors, mBorderRadius, mBorderPathEffect);
+      target.border(
+          mNestedBorderEdges, getBorderColors(), getBorderRadius(), getBorderPathEffect());
     }
     if ((mPrivateFlags & PFLAG_TRANSITION_KEY_IS_SET) != 0L) {
       target.transitionKey(mTransitionKey, mTransitionOwnerKey);
@@ -146,11 +148,11 @@ public class InputOnlyNestedTreeHolder extends InputOnlyInternalNode<NestedTreeY
     if ((mPrivateFlags & PFLAG_TRANSITION_KEY_TYPE_IS_SET) != 0L) {
       target.transitionKeyType(mTransitionKeyType);
     }
-    if (mVisibleHeightRatio != 0) {
-      target.visibleHeightRatio(mVisibleHeightRatio);
+    if (getVisibleHeightRatio() != 0) {
+      target.visibleHeightRatio(getVisibleHeightRatio());
     }
-    if (mVisibleWidthRatio != 0) {
-      target.visibleWidthRatio(mVisibleWidthRatio);
+    if (getVisibleWidthRatio() != 0) {
+      target.visibleWidthRatio(getVisibleWidthRatio());
     }
     if ((mPrivateFlags & PFLAG_STATE_LIST_ANIMATOR_SET) != 0L) {
       target.stateListAnimator(mStateListAnimator);
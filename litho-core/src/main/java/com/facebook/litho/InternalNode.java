@@ -147,6 +147,9 @@ public interface InternalNode extends Node<LithoRenderContext> {
 
   void applyAttributes(Context c, @AttrRes int defStyleAttr, @StyleRes int defStyleRes);
 
+  /** Same as {@link #applyAttributes} with the attributes already resolved into a snapshot. */
+  void applyStyle(ComponentLayoutStyle style);
+
   /* InternalNode related APIs */
 
   Context getAndroidContext();
@@ -49,6 +49,7 @@ import java.util.List;
 public class InternalNodeUtils {
 
   static InternalNode create(ComponentContext context) {
+    onNodeResolved(context);
     return context.isInputOnlyInternalNodeEnabled()
         ? new InputOnlyInternalNode<>(context)
         : new DefaultInternalNode(context);
@@ -56,11 +57,19 @@ public class InternalNodeUtils {
 
   static InternalNode.NestedTreeHolder createNestedTreeHolder(
       final ComponentContext context, final @Nullable TreeProps props) {
+    onNodeResolved(context);
     return context.isInputOnlyInternalNodeEnabled()
         ? new InputOnlyNestedTreeHolder(context, props)
         : new DefaultNestedTreeHolder(context, props);
   }
 
+  private static void onNodeResolved(final ComponentContext context) {
+    final @Nullable LayoutStateContext layoutStateContext = context.getLayoutStateContext();
+    if (layoutStateContext != null) {
+      layoutStateContext.onNodeResolved();
+    }
+  }
+
   /**
    * Check that the root of the nested tree we are going to use, has valid layout directions with
    * its main tree holder node.
@@ -469,6 +478,11 @@ public class InternalNodeUtils {
       return true;
     }
 
+    if (hasBackgroundOrForegroundOnHost(node, layoutState) && !layoutState.mShouldFlattenHosts) {
+      // The background and foreground will be set on the host View.
+      return true;
+    }
+
     if (needsHostViewForCommonDynamicProps(node)) {
       return true;
     }
@@ -484,6 +498,29 @@ public class InternalNodeUtils {
     return false;
   }
 
+  /**
+   * Returns true if a host View would be created for this node only to hold its background or
+   * foreground. Such a host has no touch, accessibility or view attribute responsibilities, so when
+   * host flattening is enabled its drawables are mounted into the enclosing host instead, and the
+   * host is not created.
+   */
+  static boolean canFlattenHost(final InternalNode node, final LayoutState layoutState) {
+    return layoutState.mShouldFlattenHosts
+        && hasBackgroundOrForegroundOnHost(node, layoutState)
+        && !isMountViewSpec(node.getTailComponent())
+        && !node.isForceViewWrapping()
+        && !hasViewContent(node, layoutState)
+        && !needsHostViewForCommonDynamicProps(node)
+        && !needsHostViewForTransition(node)
+        && !hasSelectedStateWhenDisablingDrawableOutputs(layoutState, node);
+  }
+
+  private static boolean hasBackgroundOrForegroundOnHost(
+      final InternalNode node, final LayoutState layoutState) {
+    return layoutState.mShouldDisableDrawableOutputs
+        && (node.getBackground() != null || node.getForeground() != null);
+  }
+
   /**
    * Determine if a given {@link InternalNode} within the context of a given {@link LayoutState}
    * requires to be wrapped inside a view.
@@ -513,9 +550,6 @@ public class InternalNodeUtils {
     // so that such flag is applied in the resulting view hierarchy after the component
     // tree is mounted. Click handling is also considered accessibility content but
     // this is already covered separately i.e. click handler is not null.
-    final boolean hasBackgroundOrForeground =
-        layoutState.mShouldDisableDrawableOutputs
-            && (node.getBackground() != null || node.getForeground() != null);
     final boolean hasAccessibilityContent =
         layoutState.isAccessibilityEnabled()
             && importantForAccessibility != IMPORTANT_FOR_ACCESSIBILITY_NO
@@ -523,8 +557,7 @@ public class InternalNodeUtils {
                 || (nodeInfo != null && !TextUtils.isEmpty(nodeInfo.getContentDescription()))
                 || importantForAccessibility != IMPORTANT_FOR_ACCESSIBILITY_AUTO);
 
-    return hasBackgroundOrForeground
-        || hasAccessibilityContent
+    return hasAccessibilityContent
         || node.isDuplicateChildrenStatesEnabled()
         || hasViewAttributes(nodeInfo)
         || node.getLayerType() != LayerType.LAYER_TYPE_NOT_SET;
@@ -36,6 +36,7 @@ import androidx.core.util.Preconditions;
 import com.facebook.infer.annotation.Nullsafe;
 import com.facebook.litho.LithoLayoutResult.NestedTreeHolderResult;
 import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.stats.LithoPhaseStats;
 import com.facebook.rendercore.RenderState.LayoutContext;
 import com.facebook.yoga.YogaConstants;
 import com.facebook.yoga.YogaFlexDirection;
@@ -80,12 +81,14 @@ class Layout {
     c.setWidthSpec(widthSpec);
     c.setHeightSpec(heightSpec);
 
+    final long resolveStart = LithoPhaseStats.start();
     final @Nullable InternalNode layout;
     if (current == null) {
       layout = create(layoutStateContext, c, component, true);
 
       // This needs to finish layout on the UI thread.
       if (layout != null && layoutStateContext.isLayoutInterrupted()) {
+        LithoPhaseStats.record(LithoPhaseStats.PHASE_RESOLVE, component.getClass(), resolveStart);
         if (layoutStatePerfEvent != null) {
           layoutStatePerfEvent.markerPoint(EVENT_END_CREATE_LAYOUT);
         }
@@ -113,6 +116,8 @@ class Layout {
                   globalKeyToReuse);
     }
 
+    LithoPhaseStats.record(LithoPhaseStats.PHASE_RESOLVE, component.getClass(), resolveStart);
+
     if (layoutStatePerfEvent != null) {
       final String event = current == null ? EVENT_END_CREATE_LAYOUT : EVENT_END_RECONCILE;
       layoutStatePerfEvent.markerPoint(event);
@@ -122,10 +127,12 @@ class Layout {
       layoutStatePerfEvent.markerPoint("start_measure");
     }
 
+    final long measureStart = LithoPhaseStats.start();
     LithoLayoutResult result =
         layout != null
             ? measure(layoutStateContext, c, layout, widthSpec, heightSpec, current, diff)
             : null;
+    LithoPhaseStats.record(LithoPhaseStats.PHASE_MEASURE, component.getClass(), measureStart);
 
     if (layoutStatePerfEvent != null) {
       layoutStatePerfEvent.markerPoint("end_measure");
@@ -152,10 +159,39 @@ class Layout {
   static @Nullable InternalNode create(
       final LayoutStateContext layoutStateContext,
       final ComponentContext parent,
-      Component component,
+      final Component component,
       final boolean resolveNestedTree,
       final boolean reuseGlobalKey,
       final @Nullable String globalKeyToReuse) {
+    return create(
+        layoutStateContext,
+        parent,
+        component,
+        resolveNestedTree,
+        reuseGlobalKey,
+        globalKeyToReuse,
+        false);
+  }
+
+  /**
+   * Creates the InternalNode of a child of a container. If the child is unchanged since the
+   * previous layout, its previous subtree is reused instead; see {@link SubtreeReuseIndex}.
+   */
+  static @Nullable InternalNode createChild(
+      final LayoutStateContext layoutStateContext,
+      final ComponentContext parent,
+      final Component component) {
+    return create(layoutStateContext, parent, component, false, false, null, true);
+  }
+
+  private static @Nullable InternalNode create(
+      final LayoutStateContext layoutStateContext,
+      final ComponentContext parent,
+      Component component,
+      final boolean resolveNestedTree,
+      final boolean reuseGlobalKey,
+      final @Nullable String globalKeyToReuse,
+      final boolean canReuseSubtree) {
 
     final boolean isTracing = ComponentsSystrace.isTracing();
     if (isTracing) {
@@ -188,6 +224,19 @@ class Layout {
       component = c.getComponentScope();
 
       scopedComponentInfo = c.useStatelessComponent() ? c.getScopedComponentInfo() : null;
+
+      // 5.1 Reuse the subtree resolved in the previous layout if the component is unchanged.
+      if (canReuseSubtree && !isNestedTree && !hasCachedLayout) {
+        final @Nullable SubtreeReuseIndex reuseIndex = layoutStateContext.getSubtreeReuseIndex();
+        final @Nullable InternalNode reused =
+            reuseIndex != null
+                ? reuseIndex.reuse(layoutStateContext, c, component, globalKey)
+                : null;
+        if (reused != null) {
+          return reused;
+        }
+      }
+
       // 6. Resolve the component into an InternalNode tree.
 
       final boolean shouldDeferNestedTreeResolution =
@@ -350,6 +399,20 @@ class Layout {
             currentLayout.getLastMeasuredWidth(),
             currentLayout.getLastMeasuredHeight())) {
 
+      final @Nullable NestedTreeResultCache resultCache =
+          ComponentsConfiguration.enableNestedTreeResultCache
+              ? holder.getOrCreateNestedResultCache()
+              : null;
+      final @Nullable LithoLayoutResult cachedResult =
+          resultCache != null ? resultCache.get(widthSpec, heightSpec) : null;
+
+      if (cachedResult != null) {
+        // Use the result previously measured with compatible size specs.
+        layoutStateContext.onNestedTreeCacheHit();
+        holder.setNestedResult(cachedResult);
+        return cachedResult;
+      }
+
       if (currentLayout != null
           && canRemeasureCachedLayouts
           && !isLayoutSpecWithSizeSpec(component)) {
@@ -364,24 +427,38 @@ class Layout {
           // Use the cached layout.
           layout = cachedLayout;
         } else {
-          final int prevWidthSpec = parentContext.getWidthSpec();
-          final int prevHeightSpec = parentContext.getHeightSpec();
+          final @Nullable SubtreeReuseIndex reuseIndex = layoutStateContext.getSubtreeReuseIndex();
+          final @Nullable InternalNode reusedNode =
+              reuseIndex != null
+                  ? reuseIndex.reuseNestedTree(
+                      layoutStateContext, holder.getInternalNode(), widthSpec, heightSpec)
+                  : null;
+
+          final @Nullable InternalNode newNode;
+          if (reusedNode != null) {
+            // Reuse the nested tree resolved with the same size specs by the previous layout.
+            newNode = reusedNode;
+          } else {
+            final int prevWidthSpec = parentContext.getWidthSpec();
+            final int prevHeightSpec = parentContext.getHeightSpec();
 
-          if (!parentContext.useStatelessComponent()) {
-            parentContext.setTreeProps(holder.getInternalNode().getPendingTreeProps());
-          }
+            if (!parentContext.useStatelessComponent()) {
+              parentContext.setTreeProps(holder.getInternalNode().getPendingTreeProps());
+            }
+
+            // Set the size specs in ComponentContext for the nested tree
+            parentContext.setWidthSpec(widthSpec);
+            parentContext.setHeightSpec(heightSpec);
 
-          // Set the size specs in ComponentContext for the nested tree
-          parentContext.setWidthSpec(widthSpec);
-          parentContext.setHeightSpec(heightSpec);
+            layoutStateContext.onNestedTreeResolved(currentLayout != null);
 
-          // Create a new layout.
-          final @Nullable InternalNode newNode =
-              create(layoutStateContext, parentContext, component, true, true, globalKey);
+            // Create a new layout.
+            newNode = create(layoutStateContext, parentContext, component, true, true, globalKey);
 
-          if (parentContext.useStatelessComponent()) {
-            parentContext.setWidthSpec(prevWidthSpec);
-            parentContext.setHeightSpec(prevHeightSpec);
+            if (parentContext.useStatelessComponent()) {
+              parentContext.setWidthSpec(prevWidthSpec);
+              parentContext.setHeightSpec(prevHeightSpec);
+            }
           }
 
           if (newNode != null) {
@@ -415,6 +492,10 @@ class Layout {
         layout.setLastHeightSpec(heightSpec);
         layout.setLastMeasuredHeight(layout.getHeight());
         layout.setLastMeasuredWidth(layout.getWidth());
+
+        if (resultCache != null) {
+          resultCache.put(layout);
+        }
       }
 
       holder.setNestedResult(layout);
@@ -521,7 +602,12 @@ class Layout {
     return result;
   }
 
-  static @Nullable LithoLayoutResult resumeCreateAndMeasureComponent(
+  /**
+   * Resumes resolving a partially resolved tree and measures it. If the layout is interrupted again
+   * before the tree is fully resolved, returns an interrupted holder with the same tree, which can
+   * be resumed again later.
+   */
+  static LayoutResultHolder resumeCreateAndMeasureComponent(
       final LayoutStateContext layoutStateContext,
       final ComponentContext c,
       final @Nullable InternalNode root,
@@ -530,7 +616,7 @@ class Layout {
       final @Nullable DiffNode diff,
       final @Nullable PerfEvent logLayoutState) {
     if (root == null) {
-      return null;
+      return new LayoutResultHolder(null);
     }
 
     final boolean isTracing = ComponentsSystrace.isTracing();
@@ -540,12 +626,27 @@ class Layout {
           "resume:" + Preconditions.checkNotNull(root.getHeadComponent()).getSimpleName());
     }
 
-    resume(layoutStateContext, root);
+    final Class<?> rootType = Preconditions.checkNotNull(root.getHeadComponent()).getClass();
+    final long resolveStart = LithoPhaseStats.start();
+    final boolean isResolved = resume(layoutStateContext, root);
+    LithoPhaseStats.record(LithoPhaseStats.PHASE_RESOLVE, rootType, resolveStart);
+
+    if (!isResolved) {
+      if (isTracing) {
+        ComponentsSystrace.endSection();
+      }
+
+      return LayoutResultHolder.interrupted(root);
+    }
+
+    // Resolution is complete, disable interruption while measuring.
+    layoutStateContext.markLayoutUninterruptible();
 
     if (logLayoutState != null) {
       logLayoutState.markerPoint("start_measure");
     }
 
+    final long measureStart = LithoPhaseStats.start();
     final LithoLayoutResult result =
         measure(
             layoutStateContext,
@@ -555,6 +656,7 @@ class Layout {
             heightSpec,
             null, // TODO(T94662963): Pass the current LayoutResult from LayoutState.
             diff);
+    LithoPhaseStats.record(LithoPhaseStats.PHASE_MEASURE, rootType, measureStart);
 
     if (logLayoutState != null) {
       logLayoutState.markerPoint("end_measure");
@@ -564,23 +666,44 @@ class Layout {
       ComponentsSystrace.endSection();
     }
 
-    return result;
+    return new LayoutResultHolder(result);
   }
 
-  static void resume(final LayoutStateContext c, final InternalNode root) {
+  /**
+   * Resolves the components left unresolved in the tree when its layout was interrupted. The layout
+   * can be interrupted again at component boundaries, after resolving at least one component, so
+   * that every call makes progress.
+   *
+   * @return true if the tree is fully resolved, false if it was interrupted again.
+   */
+  static boolean resume(final LayoutStateContext c, final InternalNode root) {
     final List<Component> unresolved = root.getUnresolvedComponents();
 
-    if (unresolved != null) {
+    if (unresolved != null && !unresolved.isEmpty()) {
       final ComponentContext context = Preconditions.checkNotNull(root.getTailComponentContext());
+      int resolved = 0;
       for (int i = 0, size = unresolved.size(); i < size; i++) {
         root.child(c, Preconditions.checkNotNull(context), unresolved.get(i));
+        resolved++;
+        if (c.isLayoutInterrupted()) {
+          break;
+        }
+      }
+
+      if (resolved < unresolved.size()) {
+        unresolved.subList(0, resolved).clear();
+        return false;
       }
       unresolved.clear();
     }
 
     for (int i = 0, size = root.getChildCount(); i < size; i++) {
-      resume(c, root.getChildAt(i));
+      if (!resume(c, root.getChildAt(i))) {
+        return false;
+      }
     }
+
+    return true;
   }
 
   @VisibleForTesting
@@ -27,6 +27,11 @@ import static com.facebook.litho.FrameworkLogEvents.PARAM_COMPONENT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_IS_BACKGROUND_LAYOUT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_LAYOUT_STATE_SOURCE;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_LAYOUT_VERSION;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_NESTED_TREE_CACHE_HIT_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_NESTED_TREE_RERESOLUTION_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_NESTED_TREE_RESOLUTION_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_RESOLVED_NODE_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_REUSED_NODE_COUNT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_TREE_DIFF_ENABLED;
 import static com.facebook.litho.SizeSpec.EXACTLY;
 import static com.facebook.rendercore.MountState.ROOT_HOST_ID;
@@ -45,20 +50,20 @@ import com.facebook.litho.ComponentTree.LayoutStateFuture;
 import com.facebook.litho.EndToEndTestingExtension.EndToEndTestingExtensionInput;
 import com.facebook.litho.LithoLayoutResult.NestedTreeHolderResult;
 import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.stats.LithoPhaseStats;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.rendercore.MountItemsPool;
 import com.facebook.rendercore.RenderTree;
 import com.facebook.rendercore.RenderTreeNode;
 import com.facebook.rendercore.incrementalmount.IncrementalMountExtensionInput;
+import com.facebook.rendercore.incrementalmount.IncrementalMountIndex;
 import com.facebook.rendercore.incrementalmount.IncrementalMountOutput;
-import com.facebook.rendercore.incrementalmount.IncrementalMountRenderCoreExtension;
 import com.facebook.rendercore.transitions.TransitionUtils;
 import com.facebook.rendercore.transitions.TransitionsExtensionInput;
 import com.facebook.rendercore.visibility.VisibilityExtensionInput;
 import com.facebook.rendercore.visibility.VisibilityOutput;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -138,8 +143,8 @@ public class LayoutState
   private List<VisibilityOutput> mVisibilityOutputs;
   private final LongSparseArray<Integer> mOutputsIdToPositionMap = new LongSparseArray<>(8);
   private final Map<Long, IncrementalMountOutput> mIncrementalMountOutputs = new LinkedHashMap<>(8);
-  private final ArrayList<IncrementalMountOutput> mMountableOutputTops = new ArrayList<>();
-  private final ArrayList<IncrementalMountOutput> mMountableOutputBottoms = new ArrayList<>();
+  private @Nullable IncrementalMountIndex mPreviousIncrementalMountIndex;
+  private IncrementalMountIndex mIncrementalMountIndex = IncrementalMountIndex.EMPTY;
   private final LongSparseArray<AnimatableItem> mAnimatableItems = new LongSparseArray<>(8);
   private final Set<Long> mRenderUnitIdsWhichHostRenderTrees = new HashSet<>(4);
 
@@ -195,6 +200,9 @@ public class LayoutState
   // creating and measuring the InternalNode of the LayoutState.
   private volatile boolean mIsPartialLayoutState;
   private volatile boolean mIsInterruptible = true;
+  // The number of frames the calculation of this LayoutState spanned on the main thread, if it was
+  // time sliced.
+  private int mFramesSpanned = 1;
 
   @Nullable WorkingRangeContainer mWorkingRangeContainer;
 
@@ -206,6 +214,11 @@ public class LayoutState
   final boolean mShouldDisableDrawableOutputs =
       mShouldAddHostViewForRootComponent || ComponentsConfiguration.shouldDisableBgFgOutputs;
 
+  final boolean mShouldFlattenHosts =
+      mShouldDisableDrawableOutputs && ComponentsConfiguration.enableHostFlattening;
+
+  private int mFlattenedHostCount;
+
   final boolean mDelegateToRenderCoreMount = ComponentsConfiguration.delegateToRenderCoreMount;
 
   final Map<String, Object> mLayoutData = new HashMap<>();
@@ -231,6 +244,7 @@ public class LayoutState
     mComponent = rootComponent;
     mId = sIdGenerator.getAndIncrement();
     mPreviousLayoutStateId = current != null ? current.mId : NO_PREVIOUS_LAYOUT_STATE_ID;
+    mPreviousIncrementalMountIndex = current != null ? current.mIncrementalMountIndex : null;
     mStateHandler = stateHandler;
     mTestOutputs = ComponentsConfiguration.isEndToEndTestRun ? new ArrayList<TestOutput>(8) : null;
     mLastMeasuredLayouts = new HashMap<>();
@@ -267,6 +281,42 @@ public class LayoutState
     mIsInterruptible = isInterruptible;
   }
 
+  int getFramesSpanned() {
+    return mFramesSpanned;
+  }
+
+  void incrementFramesSpanned() {
+    mFramesSpanned++;
+  }
+
+  /** Returns the number of InternalNodes that were resolved to calculate this LayoutState. */
+  int getResolvedNodeCount() {
+    return getLayoutStateContext().getResolvedNodeCount();
+  }
+
+  /** Returns the number of InternalNodes reused from the previous LayoutState. */
+  int getReusedNodeCount() {
+    return getLayoutStateContext().getReusedNodeCount();
+  }
+
+  /** Returns the number of nested trees that were resolved to calculate this LayoutState. */
+  int getNestedTreeResolutionCount() {
+    return getLayoutStateContext().getNestedTreeResolutionCount();
+  }
+
+  /**
+   * Returns the number of nested trees that were resolved again because their holder was measured
+   * with incompatible size specs.
+   */
+  int getNestedTreeReResolutionCount() {
+    return getLayoutStateContext().getNestedTreeReResolutionCount();
+  }
+
+  /** Returns the number of nested tree measurements served by the nested tree result caches. */
+  int getNestedTreeCacheHitCount() {
+    return getLayoutStateContext().getNestedTreeCacheHitCount();
+  }
+
   LayoutStateContext getLayoutStateContext() {
     return Preconditions.checkNotNull(mLayoutStateContext);
   }
@@ -618,6 +668,15 @@ public class LayoutState
     final @Nullable LithoRenderUnit hostRenderUnit = result.getHostRenderUnit();
     final boolean needsHostView = hostRenderUnit != null;
 
+    // A flattened host mounts its background and foreground as drawables into the enclosing host.
+    final boolean isFlattenedHost =
+        !needsHostView && InternalNodeUtils.canFlattenHost(node, layoutState);
+    if (isFlattenedHost) {
+      layoutState.mFlattenedHostCount++;
+    }
+    final boolean shouldAddDrawableOutputs =
+        !layoutState.mShouldDisableDrawableOutputs || isFlattenedHost;
+
     final long currentHostMarker = layoutState.mCurrentHostMarker;
     final int currentHostOutputPosition = layoutState.mCurrentHostOutputPosition;
 
@@ -656,7 +715,7 @@ public class LayoutState
             || (shouldDuplicateParentState && node.isDuplicateParentStateEnabled());
 
     // 2. Add background if defined.
-    if (!layoutState.mShouldDisableDrawableOutputs) {
+    if (shouldAddDrawableOutputs) {
       final LithoRenderUnit backgroundRenderUnit = result.getBackgroundRenderUnit();
       if (backgroundRenderUnit != null) {
         final RenderTreeNode backgroundRenderTreeNode =
@@ -804,7 +863,7 @@ public class LayoutState
     }
 
     // 6. Add foreground if defined.
-    if (!layoutState.mShouldDisableDrawableOutputs) {
+    if (shouldAddDrawableOutputs) {
       final @Nullable LithoRenderUnit foregroundRenderUnit = result.getForegroundRenderUnit();
       if (foregroundRenderUnit != null) {
         final RenderTreeNode foregroundRenderTreeNode =
@@ -1215,6 +1274,17 @@ public class LayoutState
         layoutStateContext.setPerfEvent(logLayoutState);
       }
 
+      final @Nullable ComponentTree componentTree = layoutStateContext.getComponentTree();
+      if (!isReconcilable
+          && currentLayoutRoot != null
+          && stateHandler != null
+          && ComponentsConfiguration.reuseUnchangedSubtrees
+          && componentTree != null
+          && componentTree.isLayoutCachingEnabled()) {
+        layoutStateContext.setSubtreeReuseIndex(
+            new SubtreeReuseIndex(currentLayoutRoot, stateHandler.getKeysForPendingUpdates()));
+      }
+
       // Detect errors internal to components
       Component.markLayoutStarted(component, layoutStateContext);
 
@@ -1292,12 +1362,16 @@ public class LayoutState
         logLayoutState.markerPoint("start_collect_results");
       }
 
+      final long collectResultsStart = LithoPhaseStats.start();
       setSizeAfterMeasureAndCollectResults(c, layoutState);
+      LithoPhaseStats.record(
+          LithoPhaseStats.PHASE_COLLECT_RESULTS, component.getClass(), collectResultsStart);
 
       layoutStateContext.releaseReference();
 
       if (logLayoutState != null) {
         logLayoutState.markerPoint("end_collect_results");
+        annotateNodeCounts(logLayoutState, layoutStateContext);
         Preconditions.checkNotNull(logger).logPerfEvent(logLayoutState);
       }
     } finally {
@@ -1365,7 +1439,7 @@ public class LayoutState
       // If we already have a LayoutState but the InternalNode is only partially resolved,
       // resume resolving the InternalNode and measure it.
 
-      layoutState.mLayoutRoot =
+      final LayoutResultHolder holder =
           Layout.resumeCreateAndMeasureComponent(
               layoutState.getLayoutStateContext(),
               c,
@@ -1375,11 +1449,28 @@ public class LayoutState
               layoutState.mDiffTreeRoot,
               logLayoutState);
 
+      // The layout was interrupted again, it stays partial until it is resumed again.
+      if (holder.wasLayoutInterrupted()) {
+        if (logLayoutState != null) {
+          Preconditions.checkNotNull(logger).logPerfEvent(logLayoutState);
+        }
+
+        return layoutState;
+      }
+
+      layoutState.mLayoutRoot = holder.mResult;
+      layoutState.mPartiallyResolvedLayoutRoot = null;
+      layoutState.mIsPartialLayoutState = false;
+
+      final long collectResultsStart = LithoPhaseStats.start();
       setSizeAfterMeasureAndCollectResults(c, layoutState);
+      LithoPhaseStats.record(
+          LithoPhaseStats.PHASE_COLLECT_RESULTS, component.getClass(), collectResultsStart);
 
       layoutState.getLayoutStateContext().releaseReference();
 
       if (logLayoutState != null) {
+        annotateNodeCounts(logLayoutState, layoutState.getLayoutStateContext());
         Preconditions.checkNotNull(logger).logPerfEvent(logLayoutState);
       }
     } finally {
@@ -1394,11 +1485,26 @@ public class LayoutState
     return layoutState;
   }
 
+  private static void annotateNodeCounts(
+      final PerfEvent logLayoutState, final LayoutStateContext layoutStateContext) {
+    logLayoutState.markerAnnotate(
+        PARAM_RESOLVED_NODE_COUNT, layoutStateContext.getResolvedNodeCount());
+    logLayoutState.markerAnnotate(PARAM_REUSED_NODE_COUNT, layoutStateContext.getReusedNodeCount());
+    logLayoutState.markerAnnotate(
+        PARAM_NESTED_TREE_RESOLUTION_COUNT, layoutStateContext.getNestedTreeResolutionCount());
+    logLayoutState.markerAnnotate(
+        PARAM_NESTED_TREE_RERESOLUTION_COUNT, layoutStateContext.getNestedTreeReResolutionCount());
+    logLayoutState.markerAnnotate(
+        PARAM_NESTED_TREE_CACHE_HIT_COUNT, layoutStateContext.getNestedTreeCacheHitCount());
+  }
+
   RenderTree toRenderTree() {
     final RenderTreeNode root;
 
     if (mMountableOutputs.isEmpty()) {
       addRootHostRenderTreeNode(this, null, null);
+      mIncrementalMountIndex =
+          IncrementalMountIndex.create(mIncrementalMountOutputs.values(), null);
     }
 
     root = mMountableOutputs.get(0);
@@ -1475,6 +1581,9 @@ public class LayoutState
       ComponentsSystrace.beginSection("collectResults");
     }
     collectResults(c, root, Preconditions.checkNotNull(node), layoutState, parent, null, hierarchy);
+    if (layoutState.mDiffTreeRoot != null) {
+      ((DiffNodeTree.Node) layoutState.mDiffTreeRoot).getTree().seal();
+    }
     if (isTracing) {
       ComponentsSystrace.endSection();
     }
@@ -1483,8 +1592,11 @@ public class LayoutState
       ComponentsSystrace.beginSection("sortMountableOutputs");
     }
 
-    sortTops(layoutState);
-    sortBottoms(layoutState);
+    layoutState.mIncrementalMountIndex =
+        IncrementalMountIndex.create(
+            layoutState.mIncrementalMountOutputs.values(),
+            layoutState.mPreviousIncrementalMountIndex);
+    layoutState.mPreviousIncrementalMountIndex = null;
 
     if (isTracing) {
       ComponentsSystrace.endSection();
@@ -1498,52 +1610,6 @@ public class LayoutState
     }
   }
 
-  private static void sortTops(LayoutState layoutState) {
-    final List<IncrementalMountOutput> unsorted = new ArrayList<>(layoutState.mMountableOutputTops);
-    try {
-      Collections.sort(
-          layoutState.mMountableOutputTops, IncrementalMountRenderCoreExtension.sTopsComparator);
-    } catch (IllegalArgumentException e) {
-      final StringBuilder errorMessage = new StringBuilder();
-      errorMessage.append(e.getMessage()).append("\n");
-      final int size = unsorted.size();
-      errorMessage.append("Error while sorting LayoutState tops. Size: " + size).append("\n");
-      final Rect rect = new Rect();
-      for (int i = 0; i < size; i++) {
-        final RenderTreeNode node = layoutState.getMountableOutputAt(i);
-        errorMessage
-            .append("   Index " + i + " top: " + node.getAbsoluteBounds(rect).top)
-            .append("\n");
-      }
-
-      throw new IllegalStateException(errorMessage.toString());
-    }
-  }
-
-  private static void sortBottoms(LayoutState layoutState) {
-    final List<IncrementalMountOutput> unsorted =
-        new ArrayList<>(layoutState.mMountableOutputBottoms);
-    try {
-      Collections.sort(
-          layoutState.mMountableOutputBottoms,
-          IncrementalMountRenderCoreExtension.sBottomsComparator);
-    } catch (IllegalArgumentException e) {
-      final StringBuilder errorMessage = new StringBuilder();
-      errorMessage.append(e.getMessage()).append("\n");
-      final int size = unsorted.size();
-      errorMessage.append("Error while sorting LayoutState bottoms. Size: " + size).append("\n");
-      final Rect rect = new Rect();
-      for (int i = 0; i < size; i++) {
-        final RenderTreeNode node = layoutState.getMountableOutputAt(i);
-        errorMessage
-            .append("   Index " + i + " bottom: " + node.getAbsoluteBounds(rect).bottom)
-            .append("\n");
-      }
-
-      throw new IllegalStateException(errorMessage.toString());
-    }
-  }
-
   private static boolean isReconcilable(
       final ComponentContext c,
       final Component nextRootComponent,
@@ -1612,6 +1678,10 @@ public class LayoutState
       ComponentsSystrace.beginSection("preAllocateMountContent:" + mComponent.getSimpleName());
     }
 
+    final MountContentPreallocationPlanner planner = MountContentPreallocationPlanner.getInstance();
+    final String screen = mComponent.getClass().getName();
+    final Map<String, Integer> plan = planner != null ? planner.acquirePlan(screen) : null;
+
     if (mMountableOutputs != null && !mMountableOutputs.isEmpty()) {
       for (int i = 0, size = mMountableOutputs.size(); i < size; i++) {
         final RenderTreeNode treeNode = mMountableOutputs.get(i);
@@ -1633,12 +1703,27 @@ public class LayoutState
             ComponentsSystrace.beginSection("preAllocateMountContent:" + component.getSimpleName());
           }
 
-          if (mDelegateToRenderCoreMount) {
-            MountItemsPool.maybePreallocateContent(
-                mContext.getAndroidContext(), treeNode.getRenderUnit());
-          } else {
-            ComponentsPools.maybePreallocateContent(
-                mContext.getAndroidContext(), component, recyclingMode);
+          // Types the plan covers get exactly the planned count, the others the default.
+          final int planned =
+              plan != null && planner != null
+                  ? planner.preallocate(
+                      mContext.getAndroidContext(),
+                      screen,
+                      plan,
+                      component,
+                      treeNode.getRenderUnit(),
+                      mDelegateToRenderCoreMount,
+                      recyclingMode)
+                  : MountContentPreallocationPlanner.NOT_PLANNED;
+
+          if (planned == MountContentPreallocationPlanner.NOT_PLANNED) {
+            if (mDelegateToRenderCoreMount) {
+              MountItemsPool.maybePreallocateContent(
+                  mContext.getAndroidContext(), treeNode.getRenderUnit());
+            } else {
+              ComponentsPools.maybePreallocateContent(
+                  mContext.getAndroidContext(), component, recyclingMode);
+            }
           }
 
           if (isTracing) {
@@ -1711,7 +1796,13 @@ public class LayoutState
 
   static DiffNode createDiffNode(
       final LithoLayoutResult result, final InternalNode node, final @Nullable DiffNode parent) {
-    final DiffNode diffNode = new DefaultDiffNode();
+    final DiffNode diffNode;
+    if (parent != null) {
+      final DiffNodeTree.Node parentNode = (DiffNodeTree.Node) parent;
+      diffNode = parentNode.getTree().addNode(parentNode.getIndex());
+    } else {
+      diffNode = new DiffNodeTree().addNode(DiffNodeTree.NO_NODE);
+    }
     final Component tail = node.getTailComponent();
     final String key = node.getTailComponentKey();
     diffNode.setLastWidthSpec(result.getLastWidthSpec());
@@ -1719,9 +1810,6 @@ public class LayoutState
     diffNode.setLastMeasuredWidth(result.getLastMeasuredWidth());
     diffNode.setLastMeasuredHeight(result.getLastMeasuredHeight());
     diffNode.setComponent(tail, key, node.getTailScopedComponentInfo());
-    if (parent != null) {
-      parent.addChild(diffNode);
-    }
 
     return diffNode;
   }
@@ -1788,12 +1876,26 @@ public class LayoutState
     return mAnimatableItems.get(id);
   }
 
-  public ArrayList<IncrementalMountOutput> getOutputsOrderedByTopBounds() {
-    return mMountableOutputTops;
+  /**
+   * @return the number of hosts that were flattened into their enclosing host while collecting the
+   *     results of this LayoutState.
+   * @see InternalNodeUtils#canFlattenHost(InternalNode, LayoutState)
+   */
+  public int getFlattenedHostCount() {
+    return mFlattenedHostCount;
+  }
+
+  @Override
+  public IncrementalMountIndex getIncrementalMountIndex() {
+    return mIncrementalMountIndex;
+  }
+
+  public List<IncrementalMountOutput> getOutputsOrderedByTopBounds() {
+    return mIncrementalMountIndex.getOutputsOrderedByTopBounds();
   }
 
-  public ArrayList<IncrementalMountOutput> getOutputsOrderedByBottomBounds() {
-    return mMountableOutputBottoms;
+  public List<IncrementalMountOutput> getOutputsOrderedByBottomBounds() {
+    return mIncrementalMountIndex.getOutputsOrderedByBottomBounds();
   }
 
   int getVisibilityOutputCount() {
@@ -1981,8 +2083,6 @@ public class LayoutState
     final long id = node.getRenderUnit().getId();
     layoutState.mMountableOutputs.add(node);
     layoutState.mIncrementalMountOutputs.put(id, incrementalMountOutput);
-    layoutState.mMountableOutputTops.add(incrementalMountOutput);
-    layoutState.mMountableOutputBottoms.add(incrementalMountOutput);
     if (layoutOutput.getComponent().hasChildLithoViews()) {
       layoutState.mRenderUnitIdsWhichHostRenderTrees.add(id);
     }
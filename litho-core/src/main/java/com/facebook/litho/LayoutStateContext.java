@@ -21,6 +21,7 @@ import androidx.annotation.VisibleForTesting;
 import androidx.core.util.Preconditions;
 import com.facebook.infer.annotation.Nullsafe;
 import com.facebook.litho.ComponentTree.LayoutStateFuture;
+import com.facebook.litho.stats.LithoStats;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -49,6 +50,13 @@ public class LayoutStateContext {
 
   private @Nullable PerfEvent mPerfEvent;
 
+  private @Nullable SubtreeReuseIndex mSubtreeReuseIndex;
+  private int mResolvedNodeCount;
+  private int mReusedNodeCount;
+  private int mNestedTreeResolutionCount;
+  private int mNestedTreeReResolutionCount;
+  private int mNestedTreeCacheHitCount;
+
   @Deprecated
   public static LayoutStateContext getTestInstance(ComponentContext c) {
     final LayoutState layoutState = new LayoutState(c);
@@ -118,6 +126,72 @@ public class LayoutStateContext {
     mCurrentDiffTree = null;
     mComponentIdToWillRenderLayout = null;
     mPerfEvent = null;
+    if (mSubtreeReuseIndex != null) {
+      mReusedNodeCount = mSubtreeReuseIndex.getReusedNodeCount();
+      mSubtreeReuseIndex = null;
+    }
+  }
+
+  @Nullable
+  SubtreeReuseIndex getSubtreeReuseIndex() {
+    return mSubtreeReuseIndex;
+  }
+
+  void setSubtreeReuseIndex(@Nullable SubtreeReuseIndex subtreeReuseIndex) {
+    mSubtreeReuseIndex = subtreeReuseIndex;
+  }
+
+  /** Returns the previous layout result of a subtree reused in this layout, if there is one. */
+  @Nullable
+  LithoLayoutResult getReusedLayoutResult(InternalNode node) {
+    return mSubtreeReuseIndex != null ? mSubtreeReuseIndex.getReusedLayoutResult(node) : null;
+  }
+
+  void onNodeResolved() {
+    mResolvedNodeCount++;
+  }
+
+  /** Returns the number of InternalNodes created by this layout. */
+  int getResolvedNodeCount() {
+    return mResolvedNodeCount;
+  }
+
+  /**
+   * Records the resolution of a nested tree.
+   *
+   * @param isReResolution whether the holder had already resolved its nested tree with other size
+   *     specs in this layout.
+   */
+  void onNestedTreeResolved(final boolean isReResolution) {
+    mNestedTreeResolutionCount++;
+    if (isReResolution) {
+      mNestedTreeReResolutionCount++;
+      LithoStats.incrementComponentNestedTreeReResolutionCount();
+    }
+  }
+
+  void onNestedTreeCacheHit() {
+    mNestedTreeCacheHitCount++;
+  }
+
+  /** Returns the number of nested trees resolved by this layout. */
+  int getNestedTreeResolutionCount() {
+    return mNestedTreeResolutionCount;
+  }
+
+  /** Returns the number of nested trees this layout resolved again with other size specs. */
+  int getNestedTreeReResolutionCount() {
+    return mNestedTreeReResolutionCount;
+  }
+
+  /** Returns the number of nested tree measurements served by a nested tree result cache. */
+  int getNestedTreeCacheHitCount() {
+    return mNestedTreeCacheHitCount;
+  }
+
+  /** Returns the number of InternalNodes this layout reused from the previous layout. */
+  int getReusedNodeCount() {
+    return mSubtreeReuseIndex != null ? mSubtreeReuseIndex.getReusedNodeCount() : mReusedNodeCount;
   }
 
   /** Returns the LayoutState instance or null if the layout state has been released. */
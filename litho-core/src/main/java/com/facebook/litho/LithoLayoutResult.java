@@ -129,5 +129,11 @@ public interface LithoLayoutResult extends ComponentLayout, LayoutResult {
     LithoLayoutResult getNestedResult();
 
     void setNestedResult(@Nullable LithoLayoutResult tree);
+
+    /** Returns the results of the nested tree measured with other size specs, if any. */
+    @Nullable
+    NestedTreeResultCache getNestedResultCache();
+
+    NestedTreeResultCache getOrCreateNestedResultCache();
   }
 }
@@ -27,11 +27,13 @@ import android.util.AttributeSet;
 import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
 import android.view.accessibility.AccessibilityManager;
 import androidx.annotation.VisibleForTesting;
 import androidx.core.view.accessibility.AccessibilityManagerCompat;
 import androidx.core.view.accessibility.AccessibilityManagerCompat.AccessibilityStateChangeListenerCompat;
 import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.stats.LithoStats;
 import com.facebook.proguard.annotations.DoNotStrip;
 import com.facebook.rendercore.MountDelegateTarget;
 import com.facebook.rendercore.RenderState;
@@ -83,6 +85,9 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
   private final @Nullable MountState mMountState;
   private final ComponentContext mComponentContext;
   private boolean mIsAttached;
+  private boolean mHasParentLithoView;
+  private boolean mHasParentLithoViewResolved;
+  private final Rect mCoalescedVisibleRect = new Rect();
   // The bounds of the visible rect that was used for the previous incremental mount.
   private final Rect mPreviousMountVisibleRectBounds = new Rect();
 
@@ -331,7 +336,11 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
         mComponentTree.attach();
       }
 
-      refreshAccessibilityDelegatesIfNeeded(isAccessibilityEnabled(getContext()));
+      final boolean isAccessibilityEnabled = isAccessibilityEnabled(getContext());
+      if (isAccessibilityEnabled) {
+        installAccessibilityNodeInfosIfNeeded();
+      }
+      refreshAccessibilityDelegatesIfNeeded(isAccessibilityEnabled);
 
       AccessibilityManagerCompat.addAccessibilityStateChangeListener(
           mAccessibilityManager, mAccessibilityStateChangeListener);
@@ -341,6 +350,7 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
   private void onDetach() {
     if (mIsAttached) {
       mIsAttached = false;
+      mHasParentLithoViewResolved = false;
 
       if (mDelegateToRenderCore) {
         mMountDelegateTarget.detach();
@@ -884,7 +894,7 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
 
     if (isVisible) {
       if (forceMount) {
-        notifyVisibleBoundsChanged();
+        notifyVisibleBoundsChangedNow();
       } else if (getLocalVisibleRect(mRect)) {
         processVisibilityOutputs(mRect);
       }
@@ -988,7 +998,7 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
 
     if (isVisible) {
       if (forceMount) {
-        notifyVisibleBoundsChanged();
+        notifyVisibleBoundsChangedNow();
       } else if (getLocalVisibleRect(mRect)) {
         processVisibilityOutputs(mRect);
       }
@@ -1045,7 +1055,7 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
         // We mounted everything when the transient state was set on this view. We need to do this
         // partly to unmount content that is not visible but mostly to get the correct visibility
         // events to be fired.
-        notifyVisibleBoundsChanged();
+        notifyVisibleBoundsChangedNow();
       }
       if (mTransientStateCount < 0) {
         mTransientStateCount = 0;
@@ -1172,6 +1182,47 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
       return;
     }
 
+    if (ComponentsConfiguration.coalesceNestedVisibleBoundsChanges
+        && mIsAttached
+        && hasParentLithoView()
+        && VisibleBoundsChangeCoalescer.enqueue(this)) {
+      return;
+    }
+
+    notifyVisibleBoundsChangedNow();
+  }
+
+  /**
+   * Processes a visible bounds change deferred by {@link VisibleBoundsChangeCoalescer}. It is
+   * skipped if the visible rect didn't change since the last mount, in which case the LithoViews
+   * nested in this one don't have to be notified either.
+   */
+  void processCoalescedVisibleBoundsChange() {
+    if (mComponentTree == null || mComponentTree.getMainThreadLayoutState() == null) {
+      return;
+    }
+
+    if (mComponentTree.isIncrementalMountEnabled()
+        && !isMountStateDirty()
+        && getLocalVisibleRect(mCoalescedVisibleRect)
+        && mCoalescedVisibleRect.equals(mPreviousMountVisibleRectBounds)) {
+      LithoStats.incrementComponentSavedVisibleBoundsChangeCount();
+      return;
+    }
+
+    notifyVisibleBoundsChangedNow();
+  }
+
+  /**
+   * Notifies the visible bounds change without coalescing it. The visibility hint and transient
+   * state changes use this, since they have to process the visibility outputs again even if the
+   * visible rect didn't change.
+   */
+  private void notifyVisibleBoundsChangedNow() {
+    if (mComponentTree == null || mComponentTree.getMainThreadLayoutState() == null) {
+      return;
+    }
+
     if (mComponentTree.isIncrementalMountEnabled()) {
       mComponentTree.incrementalMountComponent();
     } else {
@@ -1179,6 +1230,21 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
     }
   }
 
+  private boolean hasParentLithoView() {
+    if (!mHasParentLithoViewResolved) {
+      mHasParentLithoView = false;
+      for (ViewParent parent = getParent(); parent != null; parent = parent.getParent()) {
+        if (parent instanceof LithoView) {
+          mHasParentLithoView = true;
+          break;
+        }
+      }
+      mHasParentLithoViewResolved = true;
+    }
+
+    return mHasParentLithoView;
+  }
+
   public boolean isIncrementalMountEnabled() {
     return (mComponentTree != null && mComponentTree.isIncrementalMountEnabled());
   }
@@ -1614,11 +1680,26 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
   }
 
   public void rerenderForAccessibility(boolean enabled) {
+    if (enabled) {
+      installAccessibilityNodeInfosIfNeeded();
+    }
     refreshAccessibilityDelegatesIfNeeded(enabled);
     // must force (not just request)
     forceRelayout();
   }
 
+  /**
+   * When accessibility delegates are installed lazily, the views mounted while accessibility was
+   * disabled don't carry their NodeInfo yet; store it so the delegates can be created from it.
+   */
+  private void installAccessibilityNodeInfosIfNeeded() {
+    final MountDelegateTarget mountDelegateTarget = getMountDelegateTarget();
+    if (ComponentsConfiguration.installAccessibilityDelegatesLazily
+        && mountDelegateTarget != null) {
+      MountState.installAccessibilityNodeInfos(mountDelegateTarget);
+    }
+  }
+
   /**
    * LayoutParams that override the LayoutManager.
    *
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.rendercore.RenderUnit;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plans mount content preallocation from observed usage instead of filling every pool up to its
+ * static {@link Component#poolSize()}.
+ *
+ * <p>While enabled, every {@link MountState} reports the peak number of concurrently mounted items
+ * per component type, grouped by screen (the type of the root component of the tree). The peaks
+ * can be persisted with {@link #persist()} and are read back by {@link #load()}; on the next run
+ * {@link LayoutState#preAllocateMountContent(boolean, int)} preallocates exactly the recorded mix
+ * for a screen, once, on the tree's preallocation handler (see {@link
+ * ComponentTree.Builder#preAllocateMountContentHandler}). Screens without a recorded plan, and
+ * component types a plan does not list, keep the default preallocation behaviour.
+ *
+ * <p>{@link #getReport()} compares what was preallocated in this run with what the screens
+ * actually needed.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public class MountContentPreallocationPlanner {
+
+  private static final String TAG = "MountContentPreallocationPlanner";
+  private static final String FILE_NAME = "litho_mount_content_preallocation";
+  private static final String FILE_HEADER = "v1";
+  private static final char SEPARATOR = '\t';
+
+  /** Returned by {@link #preallocate} when the plan does not cover the component type. */
+  static final int NOT_PLANNED = -1;
+
+  private static volatile @Nullable MountContentPreallocationPlanner sInstance;
+
+  private final File mFile;
+
+  /** Screen -> component type -> planned count, as read from disk. */
+  private final Map<String, Map<String, Integer>> mPlan = new HashMap<>();
+
+  /** Screen -> component type -> peak concurrently mounted count observed in this run. */
+  private final Map<String, Map<String, Integer>> mObservedPeaks = new HashMap<>();
+
+  /** Screen -> component type -> number of items preallocated in this run. */
+  private final Map<String, Map<String, Integer>> mPreallocated = new HashMap<>();
+
+  private final Set<String> mAppliedScreens = new HashSet<>();
+
+  /**
+   * Creates a planner that persists its plan in the app's private files directory. The plan is
+   * not loaded until {@link #load()} is called.
+   */
+  public static MountContentPreallocationPlanner create(Context context) {
+    return new MountContentPreallocationPlanner(new File(context.getFilesDir(), FILE_NAME));
+  }
+
+  public MountContentPreallocationPlanner(File file) {
+    mFile = file;
+  }
+
+  /**
+   * Installs the planner used by all component trees. Pass null to go back to the default
+   * preallocation behaviour.
+   */
+  public static void setInstance(@Nullable MountContentPreallocationPlanner planner) {
+    sInstance = planner;
+  }
+
+  static @Nullable MountContentPreallocationPlanner getInstance() {
+    return sInstance;
+  }
+
+  /**
+   * Reads the plan recorded by a previous run. Does I/O, so it should be called off the main
+   * thread. A missing or malformed file results in an empty plan.
+   */
+  public synchronized void load() {
+    mPlan.clear();
+    if (!mFile.exists()) {
+      return;
+    }
+
+    BufferedReader reader = null;
+    try {
+      reader = new BufferedReader(new FileReader(mFile));
+      if (!FILE_HEADER.equals(reader.readLine())) {
+        return;
+      }
+
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final int first = line.indexOf(SEPARATOR);
+        final int second = line.indexOf(SEPARATOR, first + 1);
+        if (first <= 0 || second <= first + 1) {
+          continue;
+        }
+        final int count = Integer.parseInt(line.substring(second + 1));
+        if (count > 0) {
+          put(mPlan, line.substring(0, first), line.substring(first + 1, second), count);
+        }
+      }
+    } catch (IOException | NumberFormatException e) {
+      Log.w(TAG, "Failed to read preallocation plan, ignoring it", e);
+      mPlan.clear();
+    } finally {
+      closeQuietly(reader);
+    }
+  }
+
+  /**
+   * Writes the peaks observed in this run to disk, keeping the previous plan for the screens that
+   * were not shown. Does I/O, so it should be called off the main thread, e.g. when the app goes
+   * to the background.
+   *
+   * @return whether the plan was written successfully.
+   */
+  public synchronized boolean persist() {
+    final Map<String, Map<String, Integer>> merged = new HashMap<>(mPlan);
+    merged.putAll(mObservedPeaks);
+
+    final File tmp = new File(mFile.getPath() + ".tmp");
+    BufferedWriter writer = null;
+    try {
+      writer = new BufferedWriter(new FileWriter(tmp));
+      writer.write(FILE_HEADER);
+      writer.newLine();
+      for (Map.Entry<String, Map<String, Integer>> screen : merged.entrySet()) {
+        for (Map.Entry<String, Integer> type : screen.getValue().entrySet()) {
+          writer.write(screen.getKey());
+          writer.write(SEPARATOR);
+          writer.write(type.getKey());
+          writer.write(SEPARATOR);
+          writer.write(Integer.toString(type.getValue()));
+          writer.newLine();
+        }
+      }
+      writer.close();
+      writer = null;
+      return tmp.renameTo(mFile);
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to write preallocation plan", e);
+      return false;
+    } finally {
+      closeQuietly(writer);
+    }
+  }
+
+  /** Returns a summary of the preallocations done in this run against the observed usage. */
+  public synchronized Report getReport() {
+    int preallocated = 0;
+    int needed = 0;
+    int missed = 0;
+
+    final Set<String> screens = new HashSet<>(mPreallocated.keySet());
+    screens.addAll(mObservedPeaks.keySet());
+    for (String screen : screens) {
+      final Map<String, Integer> preallocatedTypes = mPreallocated.get(screen);
+      final Map<String, Integer> observedTypes = mObservedPeaks.get(screen);
+
+      final Set<String> types = new HashSet<>();
+      if (preallocatedTypes != null) {
+        types.addAll(preallocatedTypes.keySet());
+      }
+      if (observedTypes != null) {
+        types.addAll(observedTypes.keySet());
+      }
+
+      for (String type : types) {
+        final int typePreallocated = get(preallocatedTypes, type);
+        final int typePeak = get(observedTypes, type);
+        preallocated += typePreallocated;
+        needed += Math.min(typePreallocated, typePeak);
+        missed += Math.max(0, typePeak - typePreallocated);
+      }
+    }
+
+    return new Report(preallocated, needed, missed);
+  }
+
+  /**
+   * Returns the plan for the given screen if there is one that has not been applied yet in this
+   * run, marking it as applied.
+   */
+  synchronized @Nullable Map<String, Integer> acquirePlan(String screen) {
+    final Map<String, Integer> plan = mPlan.get(screen);
+    if (plan == null || !mAppliedScreens.add(screen)) {
+      return null;
+    }
+    return new HashMap<>(plan);
+  }
+
+  /**
+   * Preallocates the planned count for the given component, returning how many were created, or
+   * {@link #NOT_PLANNED} if the plan does not list its type. A type is only preallocated for the
+   * first component of that type, later ones return 0.
+   */
+  int preallocate(
+      Context context,
+      String screen,
+      Map<String, Integer> plan,
+      Component component,
+      RenderUnit renderUnit,
+      boolean delegateToRenderCoreMount,
+      int recyclingMode) {
+    final String type = component.getClass().getName();
+    final Integer planned = plan.get(type);
+    if (planned == null) {
+      return NOT_PLANNED;
+    }
+    if (planned == 0) {
+      return 0;
+    }
+    plan.put(type, 0);
+
+    final int created =
+        ComponentsPools.preallocateContent(
+            context, component, renderUnit, delegateToRenderCoreMount, recyclingMode, planned);
+    synchronized (this) {
+      put(mPreallocated, screen, type, created);
+    }
+    return created;
+  }
+
+  synchronized void recordPeak(String screen, Class<?> type, int peak) {
+    final String typeName = type.getName();
+    if (peak > get(mObservedPeaks.get(screen), typeName)) {
+      put(mObservedPeaks, screen, typeName, peak);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int getPlannedCount(String screen, String type) {
+    return get(mPlan.get(screen), type);
+  }
+
+  @VisibleForTesting
+  synchronized int getObservedPeak(String screen, String type) {
+    return get(mObservedPeaks.get(screen), type);
+  }
+
+  private static int get(@Nullable Map<String, Integer> counts, String type) {
+    final Integer count = counts == null ? null : counts.get(type);
+    return count == null ? 0 : count;
+  }
+
+  private static void put(
+      Map<String, Map<String, Integer>> counts, String screen, String type, int count) {
+    Map<String, Integer> types = counts.get(screen);
+    if (types == null) {
+      types = new HashMap<>();
+      counts.put(screen, types);
+    }
+    types.put(type, count);
+  }
+
+  private static void closeQuietly(@Nullable Closeable closeable) {
+    if (closeable == null) {
+      return;
+    }
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      // Nothing to do.
+    }
+  }
+
+  /**
+   * Tracks the number of concurrently mounted items per component type for a single {@link
+   * MountState} and reports new peaks to the planner. Only accessed from the main thread.
+   */
+  static final class UsageTracker {
+
+    private final MountContentPreallocationPlanner mPlanner;
+    private final Map<Class<?>, int[]> mCounts = new HashMap<>();
+    private @Nullable String mScreen;
+
+    UsageTracker(MountContentPreallocationPlanner planner) {
+      mPlanner = planner;
+    }
+
+    MountContentPreallocationPlanner getPlanner() {
+      return mPlanner;
+    }
+
+    void setScreen(String screen) {
+      if (screen.equals(mScreen)) {
+        return;
+      }
+      mScreen = screen;
+
+      // Items still mounted from the previous screen count towards the new one.
+      for (Map.Entry<Class<?>, int[]> entry : mCounts.entrySet()) {
+        final int[] counts = entry.getValue();
+        counts[1] = counts[0];
+        if (counts[0] > 0) {
+          mPlanner.recordPeak(screen, entry.getKey(), counts[0]);
+        }
+      }
+    }
+
+    void onMounted(Component component) {
+      final Class<?> type = component.getClass();
+      int[] counts = mCounts.get(type);
+      if (counts == null) {
+        // [current, peak]
+        counts = new int[2];
+        mCounts.put(type, counts);
+      }
+
+      counts[0]++;
+      if (counts[0] > counts[1]) {
+        counts[1] = counts[0];
+        if (mScreen != null) {
+          mPlanner.recordPeak(mScreen, type, counts[1]);
+        }
+      }
+    }
+
+    void onUnmounted(Component component) {
+      final int[] counts = mCounts.get(component.getClass());
+      if (counts != null && counts[0] > 0) {
+        counts[0]--;
+      }
+    }
+  }
+
+  /** Preallocations done in this run compared with the peak usage that was observed. */
+  public static final class Report {
+
+    private final int mPreallocatedCount;
+    private final int mNeededCount;
+    private final int mMissedCount;
+
+    Report(int preallocatedCount, int neededCount, int missedCount) {
+      mPreallocatedCount = preallocatedCount;
+      mNeededCount = neededCount;
+      mMissedCount = missedCount;
+    }
+
+    /** Number of items created ahead of time. */
+    public int getPreallocatedCount() {
+      return mPreallocatedCount;
+    }
+
+    /** Preallocated items that were covered by the observed peak usage. */
+    public int getNeededCount() {
+      return mNeededCount;
+    }
+
+    /** Preallocated items above the observed peak usage. */
+    public int getWastedCount() {
+      return mPreallocatedCount - mNeededCount;
+    }
+
+    /** Items that were mounted concurrently but had not been preallocated. */
+    public int getMissedCount() {
+      return mMissedCount;
+    }
+
+    @Override
+    public String toString() {
+      return "Report{preallocated="
+          + mPreallocatedCount
+          + ", needed="
+          + mNeededCount
+          + ", wasted="
+          + getWastedCount()
+          + ", missed="
+          + mMissedCount
+          + "}";
+    }
+  }
+}
@@ -17,6 +17,7 @@
 package com.facebook.litho;
 
 import static androidx.core.view.ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_AUTO;
+import static com.facebook.litho.AccessibilityUtils.isAccessibilityEnabled;
 import static com.facebook.litho.Component.isHostSpec;
 import static com.facebook.litho.Component.isMountViewSpec;
 import static com.facebook.litho.ComponentHostUtils.maybeSetDrawableState;
@@ -67,6 +68,7 @@ import androidx.core.util.Preconditions;
 import androidx.core.view.ViewCompat;
 import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.stats.LithoPhaseStats;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.rendercore.ErrorReporter;
 import com.facebook.rendercore.Host;
@@ -81,7 +83,7 @@ import com.facebook.rendercore.RenderUnit;
 import com.facebook.rendercore.UnmountDelegateExtension;
 import com.facebook.rendercore.extensions.ExtensionState;
 import com.facebook.rendercore.extensions.MountExtension;
-import com.facebook.rendercore.incrementalmount.IncrementalMountOutput;
+import com.facebook.rendercore.incrementalmount.IncrementalMountIndex;
 import com.facebook.rendercore.utils.BoundsUtils;
 import com.facebook.rendercore.visibility.VisibilityItem;
 import com.facebook.rendercore.visibility.VisibilityMountExtension;
@@ -157,6 +159,7 @@ class MountState implements MountDelegateTarget {
   private final Set<Long> mComponentIdsMountedInThisFrame = new HashSet<>();
 
   private final DynamicPropsManager mDynamicPropsManager = new DynamicPropsManager();
+  private @Nullable MountContentPreallocationPlanner.UsageTracker mPreallocationUsageTracker;
   private @Nullable MountDelegate mMountDelegate;
   private @Nullable UnmountDelegateExtension mUnmountDelegateExtension;
   private @Nullable TransitionsExtension mTransitionsExtension;
@@ -283,6 +286,7 @@ class MountState implements MountDelegateTarget {
     }
 
     mLayoutState = layoutState;
+    updatePreallocationUsageTracker(layoutState);
 
     if (mIsMounting) {
       ComponentsReporter.emitMessage(
@@ -481,6 +485,7 @@ class MountState implements MountDelegateTarget {
     }
 
     mLayoutState = layoutState;
+    updatePreallocationUsageTracker(layoutState);
 
     if (mIsMounting) {
       ComponentsReporter.emitMessage(
@@ -847,23 +852,22 @@ class MountState implements MountDelegateTarget {
       return;
     }
 
-    final ArrayList<IncrementalMountOutput> layoutOutputTops =
-        layoutState.getOutputsOrderedByTopBounds();
-    final ArrayList<IncrementalMountOutput> layoutOutputBottoms =
-        layoutState.getOutputsOrderedByBottomBounds();
-    final int mountableOutputCount = layoutState.getMountableOutputCount();
+    final IncrementalMountIndex index = layoutState.getIncrementalMountIndex();
+    final int[] tops = index.getTops();
+    final int[] bottoms = index.getBottoms();
+    final int mountableOutputCount = index.size();
 
-    mPreviousTopsIndex = layoutState.getMountableOutputCount();
+    mPreviousTopsIndex = mountableOutputCount;
     for (int i = 0; i < mountableOutputCount; i++) {
-      if (localVisibleRect.bottom <= layoutOutputTops.get(i).getBounds().top) {
+      if (localVisibleRect.bottom <= tops[i]) {
         mPreviousTopsIndex = i;
         break;
       }
     }
 
-    mPreviousBottomsIndex = layoutState.getMountableOutputCount();
+    mPreviousBottomsIndex = mountableOutputCount;
     for (int i = 0; i < mountableOutputCount; i++) {
-      if (localVisibleRect.top < layoutOutputBottoms.get(i).getBounds().bottom) {
+      if (localVisibleRect.top < bottoms[i]) {
         mPreviousBottomsIndex = i;
         break;
       }
@@ -929,13 +933,16 @@ class MountState implements MountDelegateTarget {
             currentContext,
             useUpdateValueFromLayoutOutput);
 
-    final boolean shouldUpdateViewInfo =
-        shouldUpdate || shouldUpdateViewInfo(nextLayoutOutput, currentLayoutOutput);
+    // When the content is kept, only the view attributes that differ are reset and re-applied.
+    final int viewAttributeChanges =
+        shouldUpdate
+            ? ViewAttributesDiff.ALL
+            : ViewAttributesDiff.compute(currentLayoutOutput, nextLayoutOutput);
 
     // 2. Reset all the properties like click handler, content description and tags related to
     // this item if it needs to be updated. the update mount item will re-set the new ones.
 
-    if (shouldUpdateViewInfo) {
+    if (viewAttributeChanges == ViewAttributesDiff.ALL) {
       maybeUnsetViewAttributes(currentMountItem);
     }
 
@@ -959,8 +966,15 @@ class MountState implements MountDelegateTarget {
           currentLayoutData);
     }
 
-    if (shouldUpdateViewInfo) {
+    if (viewAttributeChanges == ViewAttributesDiff.ALL) {
       setViewAttributes(currentMountItem);
+    } else if (viewAttributeChanges != ViewAttributesDiff.NONE) {
+      updateViewAttributes(
+          currentContent,
+          currentLayoutOutput,
+          nextLayoutOutput,
+          getMountData(currentMountItem).getDefaultAttributeValuesFlags(),
+          viewAttributeChanges);
     }
 
     // 6. Set the mounted content on the Component and call the bind callback.
@@ -1244,6 +1258,7 @@ class MountState implements MountDelegateTarget {
     if (component == null) {
       throw new RuntimeException("Trying to mount a LayoutOutput with a null Component.");
     }
+    final long mountStart = LithoPhaseStats.start();
     final Object content =
         ComponentsPools.acquireMountContent(
             mContext.getAndroidContext(), component, mRecyclingMode);
@@ -1251,6 +1266,11 @@ class MountState implements MountDelegateTarget {
     final ComponentContext context = getContextForComponent(node);
     final LithoLayoutData layoutData = (LithoLayoutData) node.getLayoutData();
     component.mount(context, content, layoutData.interStagePropsContainer);
+    LithoPhaseStats.record(LithoPhaseStats.PHASE_MOUNT, component.getClass(), mountStart);
+
+    if (mPreallocationUsageTracker != null) {
+      mPreallocationUsageTracker.onMounted(component);
+    }
 
     // 3. If it's a ComponentHost, add the mounted View to the list of Hosts.
     if (isHostSpec(component)) {
@@ -1283,6 +1303,19 @@ class MountState implements MountDelegateTarget {
     }
   }
 
+  private void updatePreallocationUsageTracker(LayoutState layoutState) {
+    final MountContentPreallocationPlanner planner = MountContentPreallocationPlanner.getInstance();
+    if (planner == null) {
+      mPreallocationUsageTracker = null;
+      return;
+    }
+
+    if (mPreallocationUsageTracker == null || mPreallocationUsageTracker.getPlanner() != planner) {
+      mPreallocationUsageTracker = new MountContentPreallocationPlanner.UsageTracker(planner);
+    }
+    mPreallocationUsageTracker.setScreen(layoutState.getRootComponent().getClass().getName());
+  }
+
   // The content might be null because it's the LayoutSpec for the root host
   // (the very first LayoutOutput).
   private MountItem mountContent(
@@ -1385,32 +1418,36 @@ class MountState implements MountDelegateTarget {
 
     final ViewNodeInfo viewNodeInfo = output.getViewNodeInfo();
     if (viewNodeInfo != null) {
-      final boolean isHostSpec = isHostSpec(component);
-      setViewLayerType(view, viewNodeInfo);
-      setViewStateListAnimator(view, viewNodeInfo);
-      if (LayoutOutput.areDrawableOutputsDisabled(output.getFlags())) {
-        setViewBackground(view, viewNodeInfo);
-        ViewUtils.setViewForeground(view, viewNodeInfo.getForeground());
-
-        // when background outputs are disabled, they are wrapped by a ComponentHost.
-        // A background can set the padding of a view, but ComponentHost should not have
-        // any padding because the layout calculation has already accounted for padding by
-        // translating the bounds of its children.
-        if (isHostSpec) {
-          view.setPadding(0, 0, 0, 0);
-        }
+      setViewNodeInfo(view, output, viewNodeInfo);
+    }
+  }
+
+  private static void setViewNodeInfo(View view, LayoutOutput output, ViewNodeInfo viewNodeInfo) {
+    final boolean isHostSpec = isHostSpec(output.getComponent());
+    setViewLayerType(view, viewNodeInfo);
+    setViewStateListAnimator(view, viewNodeInfo);
+    if (LayoutOutput.areDrawableOutputsDisabled(output.getFlags())) {
+      setViewBackground(view, viewNodeInfo);
+      ViewUtils.setViewForeground(view, viewNodeInfo.getForeground());
+
+      // when background outputs are disabled, they are wrapped by a ComponentHost.
+      // A background can set the padding of a view, but ComponentHost should not have
+      // any padding because the layout calculation has already accounted for padding by
+      // translating the bounds of its children.
+      if (isHostSpec) {
+        view.setPadding(0, 0, 0, 0);
       }
-      if (!isHostSpec) {
-        // Set view background, if applicable.  Do this before padding
-        // as it otherwise overrides the padding.
-        setViewBackground(view, viewNodeInfo);
+    }
+    if (!isHostSpec) {
+      // Set view background, if applicable.  Do this before padding
+      // as it otherwise overrides the padding.
+      setViewBackground(view, viewNodeInfo);
 
-        setViewPadding(view, viewNodeInfo);
+      setViewPadding(view, viewNodeInfo);
 
-        ViewUtils.setViewForeground(view, viewNodeInfo.getForeground());
+      ViewUtils.setViewForeground(view, viewNodeInfo.getForeground());
 
-        setViewLayoutDirection(view, viewNodeInfo);
-      }
+      setViewLayoutDirection(view, viewNodeInfo);
     }
   }
 
@@ -1501,22 +1538,180 @@ class MountState implements MountDelegateTarget {
 
     final ViewNodeInfo viewNodeInfo = output.getViewNodeInfo();
     if (viewNodeInfo != null) {
-      unsetViewStateListAnimator(view, viewNodeInfo);
-      // Host view doesn't set its own padding, but gets absolute positions for inner content from
-      // Yoga. Also bg/fg is used as separate drawables instead of using View's bg/fg attribute.
-      if (LayoutOutput.areDrawableOutputsDisabled(output.getFlags())) {
-        unsetViewBackground(view, viewNodeInfo);
-        unsetViewForeground(view, viewNodeInfo);
+      unsetViewNodeInfo(view, output, viewNodeInfo, isHostView);
+    }
+
+    unsetViewLayerType(view, mountFlags);
+  }
+
+  private static void unsetViewNodeInfo(
+      View view, LayoutOutput output, ViewNodeInfo viewNodeInfo, boolean isHostView) {
+    unsetViewStateListAnimator(view, viewNodeInfo);
+    // Host view doesn't set its own padding, but gets absolute positions for inner content from
+    // Yoga. Also bg/fg is used as separate drawables instead of using View's bg/fg attribute.
+    if (LayoutOutput.areDrawableOutputsDisabled(output.getFlags())) {
+      unsetViewBackground(view, viewNodeInfo);
+      unsetViewForeground(view, viewNodeInfo);
+    }
+    if (!isHostView) {
+      unsetViewPadding(view, output, viewNodeInfo);
+      unsetViewBackground(view, viewNodeInfo);
+      unsetViewForeground(view, viewNodeInfo);
+      unsetViewLayoutDirection(view);
+    }
+  }
+
+  /**
+   * Updates the attributes of a View that stays mounted from {@code current} to {@code next},
+   * resetting and re-applying only the groups of attributes flagged in {@code changes} (see {@link
+   * ViewAttributesDiff}). Equivalent to unsetting all of {@code current} and setting all of {@code
+   * next}, minus the View setter calls for attributes that didn't change.
+   */
+  static void updateViewAttributes(
+      final Object content,
+      final LayoutOutput current,
+      final LayoutOutput next,
+      final int mountFlags,
+      final int changes) {
+    if (changes == ViewAttributesDiff.NONE) {
+      return;
+    }
+
+    if (changes == ViewAttributesDiff.ALL) {
+      unsetViewAttributes(content, current, mountFlags);
+      setViewAttributes(content, next);
+      return;
+    }
+
+    final Component component = next.getComponent();
+    if (!isMountViewSpec(component)) {
+      return;
+    }
+
+    final View view = (View) content;
+    final NodeInfo currentNodeInfo = current.getNodeInfo();
+    final NodeInfo nextNodeInfo = next.getNodeInfo();
+
+    // A partial diff implies both outputs have a NodeInfo, or neither does.
+    if (currentNodeInfo != null && nextNodeInfo != null) {
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.CLICK)) {
+        if (currentNodeInfo.getClickHandler() != null) {
+          unsetClickHandler(view);
+        }
+        if (currentNodeInfo.getLongClickHandler() != null) {
+          unsetLongClickHandler(view);
+        }
+        view.setClickable(isViewClickable(mountFlags));
+        view.setLongClickable(isViewLongClickable(mountFlags));
+
+        setClickHandler(nextNodeInfo.getClickHandler(), view);
+        setLongClickHandler(nextNodeInfo.getLongClickHandler(), view);
+        setClickable(view, nextNodeInfo.getClickableState());
+      }
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.FOCUS)) {
+        if (currentNodeInfo.getFocusChangeHandler() != null) {
+          unsetFocusChangeHandler(view);
+        }
+        unsetFocusable(view, mountFlags);
+
+        setFocusChangeHandler(nextNodeInfo.getFocusChangeHandler(), view);
+        setFocusable(view, nextNodeInfo.getFocusState());
+      }
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.TOUCH)) {
+        if (currentNodeInfo.getTouchHandler() != null) {
+          unsetTouchHandler(view);
+        }
+        if (currentNodeInfo.getInterceptTouchHandler() != null) {
+          unsetInterceptTouchEventHandler(view);
+        }
+
+        setTouchHandler(nextNodeInfo.getTouchHandler(), view);
+        setInterceptTouchHandler(nextNodeInfo.getInterceptTouchHandler(), view);
+      }
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.VIEW_TAGS)) {
+        unsetViewTag(view);
+        unsetViewTags(view, currentNodeInfo.getViewTags());
+
+        setViewTag(view, nextNodeInfo.getViewTag());
+        setViewTags(view, nextNodeInfo.getViewTags());
+      }
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.SHADOW_ELEVATION)) {
+        unsetShadowElevation(view, currentNodeInfo.getShadowElevation());
+        setShadowElevation(view, nextNodeInfo.getShadowElevation());
+      }
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.OUTLINE)) {
+        unsetOutlineProvider(view, currentNodeInfo.getOutlineProvider());
+        unsetClipToOutline(view, currentNodeInfo.getClipToOutline());
+
+        setOutlineProvider(view, nextNodeInfo.getOutlineProvider());
+        setClipToOutline(view, nextNodeInfo.getClipToOutline());
+      }
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.CLIP_CHILDREN)) {
+        unsetClipChildren(view, currentNodeInfo.getClipChildren());
+        setClipChildren(view, nextNodeInfo);
+      }
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.ENABLED)) {
+        unsetEnabled(view, mountFlags);
+        setEnabled(view, nextNodeInfo.getEnabledState());
+      }
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.SELECTED)) {
+        unsetSelected(view, mountFlags);
+        setSelected(view, nextNodeInfo.getSelectedState());
+      }
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.TRANSFORM)) {
+        unsetScale(view, currentNodeInfo);
+        unsetAlpha(view, currentNodeInfo);
+        unsetRotation(view, currentNodeInfo);
+        unsetRotationX(view, currentNodeInfo);
+        unsetRotationY(view, currentNodeInfo);
+
+        setScale(view, nextNodeInfo);
+        setAlpha(view, nextNodeInfo);
+        setRotation(view, nextNodeInfo);
+        setRotationX(view, nextNodeInfo);
+        setRotationY(view, nextNodeInfo);
       }
-      if (!isHostView) {
-        unsetViewPadding(view, output, viewNodeInfo);
-        unsetViewBackground(view, viewNodeInfo);
-        unsetViewForeground(view, viewNodeInfo);
-        unsetViewLayoutDirection(view);
+
+      if (ViewAttributesDiff.has(changes, ViewAttributesDiff.TRANSITION_NAME)) {
+        setTransitionName(view, nextNodeInfo.getTransitionName());
       }
     }
 
-    unsetViewLayerType(view, mountFlags);
+    if (ViewAttributesDiff.has(changes, ViewAttributesDiff.ACCESSIBILITY)) {
+      if (currentNodeInfo != null && !TextUtils.isEmpty(currentNodeInfo.getContentDescription())) {
+        unsetContentDescription(view);
+      }
+      if (current.getImportantForAccessibility() != IMPORTANT_FOR_ACCESSIBILITY_AUTO) {
+        unsetImportantForAccessibility(view);
+      }
+      unsetAccessibilityDelegate(view);
+
+      if (nextNodeInfo != null) {
+        setAccessibilityDelegate(view, nextNodeInfo);
+        setContentDescription(view, nextNodeInfo.getContentDescription());
+      }
+      setImportantForAccessibility(view, next.getImportantForAccessibility());
+    }
+
+    final ViewNodeInfo currentViewNodeInfo = current.getViewNodeInfo();
+    final ViewNodeInfo nextViewNodeInfo = next.getViewNodeInfo();
+    if (ViewAttributesDiff.has(changes, ViewAttributesDiff.VIEW_NODE_INFO)
+        && currentViewNodeInfo != null
+        && nextViewNodeInfo != null) {
+      unsetViewNodeInfo(view, current, currentViewNodeInfo, isHostSpec(current.getComponent()));
+      unsetViewLayerType(view, mountFlags);
+
+      setViewNodeInfo(view, next, nextViewNodeInfo);
+    }
   }
 
   /**
@@ -1532,11 +1727,19 @@ class MountState implements MountDelegateTarget {
       return;
     }
 
+    if (ComponentsConfiguration.installAccessibilityDelegatesLazily
+        && !isAccessibilityEnabled(view.getContext())) {
+      // See installAccessibilityNodeInfos.
+      return;
+    }
+
     view.setTag(R.id.component_node_info, nodeInfo);
   }
 
   private static void unsetAccessibilityDelegate(View view) {
-    if (!(view instanceof ComponentHost) && view.getTag(R.id.component_node_info) == null) {
+    if ((!(view instanceof ComponentHost)
+            || ComponentsConfiguration.installAccessibilityDelegatesLazily)
+        && view.getTag(R.id.component_node_info) == null) {
       return;
     }
     view.setTag(R.id.component_node_info, null);
@@ -1545,6 +1748,30 @@ class MountState implements MountDelegateTarget {
     }
   }
 
+  /**
+   * Stores the {@link NodeInfo}s of the views mounted while accessibility was disabled on them, so
+   * that accessibility delegates can be installed on the mounted hierarchy once it gets enabled.
+   */
+  static void installAccessibilityNodeInfos(MountDelegateTarget mountDelegateTarget) {
+    for (int i = 0, size = mountDelegateTarget.getRenderUnitCount(); i < size; i++) {
+      final @Nullable MountItem item = mountDelegateTarget.getMountItemAt(i);
+      if (item == null || !(item.getRenderTreeNode().getRenderUnit() instanceof LithoRenderUnit)) {
+        continue;
+      }
+
+      final LayoutOutput output = getLayoutOutput(item);
+      final @Nullable NodeInfo nodeInfo = output.getNodeInfo();
+      if (nodeInfo == null || !isMountViewSpec(output.getComponent())) {
+        continue;
+      }
+
+      final View view = (View) item.getContent();
+      if (view.getTag(R.id.component_node_info) == null) {
+        setAccessibilityDelegate(view, nodeInfo);
+      }
+    }
+  }
+
   /**
    * Installs the click listeners that will dispatch the click handler defined in the component's
    * props. Unconditionally set the clickable flag on the view.
@@ -2320,6 +2547,10 @@ class MountState implements MountDelegateTarget {
       unbindMountItem(item);
     }
 
+    if (mPreallocationUsageTracker != null) {
+      mPreallocationUsageTracker.onUnmounted(component);
+    }
+
     if (mMountStats.isLoggingEnabled) {
       mMountStats.unmountedTimes.add((System.nanoTime() - startTime) / NS_IN_MS);
       mMountStats.unmountedNames.add(component.getSimpleName());
@@ -2622,20 +2853,18 @@ class MountState implements MountDelegateTarget {
       return false;
     }
 
-    final ArrayList<IncrementalMountOutput> layoutOutputTops =
-        layoutState.getOutputsOrderedByTopBounds();
-    final ArrayList<IncrementalMountOutput> layoutOutputBottoms =
-        layoutState.getOutputsOrderedByBottomBounds();
-    final int count = layoutState.getMountableOutputCount();
+    final IncrementalMountIndex index = layoutState.getIncrementalMountIndex();
+    final int[] tops = index.getTops();
+    final int[] bottoms = index.getBottoms();
+    final int count = index.size();
 
     if (localVisibleRect.top >= 0 || mPreviousLocalVisibleRect.top >= 0) {
       // View is going on/off the top of the screen. Check the bottoms to see if there is anything
       // that has moved on/off the top of the screen.
       while (mPreviousBottomsIndex < count
-          && localVisibleRect.top
-              >= layoutOutputBottoms.get(mPreviousBottomsIndex).getBounds().bottom) {
+          && localVisibleRect.top >= bottoms[mPreviousBottomsIndex]) {
         final RenderTreeNode node =
-            layoutState.getRenderTreeNode(layoutOutputBottoms.get(mPreviousBottomsIndex));
+            layoutState.getRenderTreeNode(index.getOutputOrderedByBottomAt(mPreviousBottomsIndex));
         final long id = node.getRenderUnit().getId();
         final int layoutOutputIndex = layoutState.getPositionForId(id);
         if (!isAnimationLocked(node)) {
@@ -2645,11 +2874,10 @@ class MountState implements MountDelegateTarget {
       }
 
       while (mPreviousBottomsIndex > 0
-          && localVisibleRect.top
-              <= layoutOutputBottoms.get(mPreviousBottomsIndex - 1).getBounds().bottom) {
+          && localVisibleRect.top <= bottoms[mPreviousBottomsIndex - 1]) {
         mPreviousBottomsIndex--;
         final RenderTreeNode node =
-            layoutState.getRenderTreeNode(layoutOutputBottoms.get(mPreviousBottomsIndex));
+            layoutState.getRenderTreeNode(index.getOutputOrderedByBottomAt(mPreviousBottomsIndex));
         final LayoutOutput layoutOutput = getLayoutOutput(node);
         final int layoutOutputIndex = layoutState.getPositionForId(node.getRenderUnit().getId());
         if (getItemAt(layoutOutputIndex) == null) {
@@ -2667,10 +2895,9 @@ class MountState implements MountDelegateTarget {
     if (localVisibleRect.bottom < height || mPreviousLocalVisibleRect.bottom < height) {
       // View is going on/off the bottom of the screen. Check the tops to see if there is anything
       // that has changed.
-      while (mPreviousTopsIndex < count
-          && localVisibleRect.bottom >= layoutOutputTops.get(mPreviousTopsIndex).getBounds().top) {
+      while (mPreviousTopsIndex < count && localVisibleRect.bottom >= tops[mPreviousTopsIndex]) {
         final RenderTreeNode node =
-            layoutState.getRenderTreeNode(layoutOutputTops.get(mPreviousTopsIndex));
+            layoutState.getRenderTreeNode(index.getOutputOrderedByTopAt(mPreviousTopsIndex));
         final LayoutOutput layoutOutput = getLayoutOutput(node);
         final int layoutOutputIndex = layoutState.getPositionForId(node.getRenderUnit().getId());
         if (getItemAt(layoutOutputIndex) == null) {
@@ -2684,12 +2911,10 @@ class MountState implements MountDelegateTarget {
         mPreviousTopsIndex++;
       }
 
-      while (mPreviousTopsIndex > 0
-          && localVisibleRect.bottom
-              < layoutOutputTops.get(mPreviousTopsIndex - 1).getBounds().top) {
+      while (mPreviousTopsIndex > 0 && localVisibleRect.bottom < tops[mPreviousTopsIndex - 1]) {
         mPreviousTopsIndex--;
         final RenderTreeNode node =
-            layoutState.getRenderTreeNode(layoutOutputTops.get(mPreviousTopsIndex));
+            layoutState.getRenderTreeNode(index.getOutputOrderedByTopAt(mPreviousTopsIndex));
         final long id = node.getRenderUnit().getId();
         final int layoutOutputIndex = layoutState.getPositionForId(id);
         if (!isAnimationLocked(node)) {
@@ -2756,12 +2981,14 @@ class MountState implements MountDelegateTarget {
       final LithoLayoutData layoutData,
       final Object content) {
 
+    final long bindStart = LithoPhaseStats.start();
     component.bind(
         getContextForComponent(mountItem.getRenderTreeNode()),
         content,
         layoutData.interStagePropsContainer);
     mDynamicPropsManager.onBindComponentToContent(component, context, content);
     mountItem.setIsBound(true);
+    LithoPhaseStats.record(LithoPhaseStats.PHASE_BIND, component.getClass(), bindStart);
   }
 
   private void unbindComponentFromContent(
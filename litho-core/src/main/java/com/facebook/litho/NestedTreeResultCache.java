@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.litho.LithoLayoutResult.NestedTreeHolderResult;
+
+/**
+ * A small cache of the results of the nested tree of a {@link NestedTreeHolderResult}, keyed by the
+ * size specs they were measured with. Yoga can measure a nested tree with alternating constraints
+ * during flex resolution; a cached result which is compatible with the new size specs is used
+ * instead of resolving and measuring the nested tree again. Once the cache is full, the oldest
+ * result is evicted.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class NestedTreeResultCache {
+
+  static final int MAX_SIZE = 4;
+
+  private final LithoLayoutResult[] mResults = new LithoLayoutResult[MAX_SIZE];
+  private int mSize;
+  private int mNextIndex;
+
+  NestedTreeResultCache() {}
+
+  /** Returns a cached result which can be used as is for the size specs, or null if none can. */
+  @Nullable
+  LithoLayoutResult get(final int widthSpec, final int heightSpec) {
+    for (int i = 0; i < mSize; i++) {
+      final LithoLayoutResult result = mResults[i];
+      if (Layout.hasCompatibleSizeSpec(
+          result.getLastWidthSpec(),
+          result.getLastHeightSpec(),
+          widthSpec,
+          heightSpec,
+          result.getLastMeasuredWidth(),
+          result.getLastMeasuredHeight())) {
+        return result;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the cached result which was resolved with exactly these size specs, or null if there is
+   * none. The nested tree of a layout spec with size spec depends on the exact size specs, so only
+   * such a result is resolved the same way for them.
+   */
+  @Nullable
+  LithoLayoutResult getExact(final int widthSpec, final int heightSpec) {
+    for (int i = 0; i < mSize; i++) {
+      final LithoLayoutResult result = mResults[i];
+      if (result.getLastWidthSpec() == widthSpec && result.getLastHeightSpec() == heightSpec) {
+        return result;
+      }
+    }
+
+    return null;
+  }
+
+  /** Caches a measured result; its last size specs must already be set. */
+  void put(final LithoLayoutResult result) {
+    for (int i = 0; i < mSize; i++) {
+      // A remeasured result is already cached with its new size specs.
+      if (mResults[i] == result) {
+        return;
+      }
+    }
+
+    mResults[mNextIndex] = result;
+    mNextIndex = (mNextIndex + 1) % MAX_SIZE;
+    if (mSize < MAX_SIZE) {
+      mSize++;
+    }
+  }
+
+  int size() {
+    return mSize;
+  }
+
+  LithoLayoutResult getAt(final int index) {
+    return mResults[index];
+  }
+}
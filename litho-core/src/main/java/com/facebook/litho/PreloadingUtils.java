@@ -77,7 +77,8 @@ public class PreloadingUtils {
                         NodeConfig.class,
                         LithoRenderContext.class,
                         LayoutResultHolder.class,
-                        DefaultDiffNode.class,
+                        DiffNodeTree.class,
+                        DiffNodeTree.Node.class,
                         ViewNodeInfo.class,
                         LithoRenderUnit.class,
                         LithoLayoutData.class,
@@ -122,6 +123,9 @@ public class PreloadingUtils {
                         ComponentContext.class,
                         ResourceCache.class,
                         LruResourceCache.class,
+                        ResourceTable.class,
+                        ResourceTable.Slots.class,
+                        ComponentLayoutStyle.class,
                         ResourceResolver.class,
                         DynamicValue.class,
                         InitialStateContainer.class,
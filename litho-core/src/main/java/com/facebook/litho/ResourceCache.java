@@ -16,8 +16,16 @@
 
 package com.facebook.litho;
 
+import android.content.Context;
 import android.content.res.Configuration;
+import android.content.res.Resources;
+import androidx.annotation.AttrRes;
+import androidx.annotation.StyleRes;
+import androidx.collection.LongSparseArray;
+import androidx.collection.SparseArrayCompat;
 import com.facebook.infer.annotation.Nullsafe;
+import java.util.Map;
+import java.util.WeakHashMap;
 import javax.annotation.Nullable;
 
 @Nullsafe(Nullsafe.Mode.LOCAL)
@@ -32,11 +40,108 @@ public abstract class ResourceCache {
   }
 
   private final Configuration mConfiguration;
+  private final ResourceTable mResourceTable = new ResourceTable();
+  private final Map<Resources.Theme, ResourceTable> mThemeTables = new WeakHashMap<>();
+  private final Map<Resources.Theme, LongSparseArray<ComponentLayoutStyle>> mLayoutStyles =
+      new WeakHashMap<>();
+  private final Map<Resources.Theme, LongSparseArray<SparseArrayCompat<Object[]>>>
+      mStyleSnapshots = new WeakHashMap<>();
 
   protected ResourceCache(Configuration configuration) {
     mConfiguration = configuration;
   }
 
+  /** @return the table of the primitive resource values resolved for this configuration. */
+  ResourceTable getResourceTable() {
+    return mResourceTable;
+  }
+
+  /** @return the table of the primitive attribute values resolved against the given theme. */
+  synchronized ResourceTable getThemeTable(Resources.Theme theme) {
+    ResourceTable table = mThemeTables.get(theme);
+    if (table == null) {
+      table = new ResourceTable();
+      mThemeTables.put(theme, table);
+    }
+    return table;
+  }
+
+  /**
+   * @return the layout style of the given default style, resolved against the theme of the given
+   *     context on first use.
+   */
+  synchronized ComponentLayoutStyle getComponentLayoutStyle(
+      Context context, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
+    final Resources.Theme theme = context.getTheme();
+    LongSparseArray<ComponentLayoutStyle> styles = mLayoutStyles.get(theme);
+    if (styles == null) {
+      styles = new LongSparseArray<>();
+      mLayoutStyles.put(theme, styles);
+    }
+
+    final long key = getStyleKey(defStyleAttr, defStyleRes);
+    ComponentLayoutStyle style = styles.get(key);
+    if (style == null) {
+      style = ComponentLayoutStyle.create(context, defStyleAttr, defStyleRes);
+      styles.put(key, style);
+    }
+    return style;
+  }
+
+  /**
+   * @return the values the {@code @OnLoadStyle} method of the given component type loaded for the
+   *     given default style and theme, or null if they weren't cached yet.
+   */
+  synchronized @Nullable Object[] getStyleSnapshot(
+      Resources.Theme theme, int typeId, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
+    final LongSparseArray<SparseArrayCompat<Object[]>> styles = mStyleSnapshots.get(theme);
+    if (styles == null) {
+      return null;
+    }
+    final SparseArrayCompat<Object[]> snapshots =
+        styles.get(getStyleKey(defStyleAttr, defStyleRes));
+    return snapshots == null ? null : snapshots.get(typeId);
+  }
+
+  synchronized void putStyleSnapshot(
+      Resources.Theme theme,
+      int typeId,
+      @AttrRes int defStyleAttr,
+      @StyleRes int defStyleRes,
+      Object[] snapshot) {
+    LongSparseArray<SparseArrayCompat<Object[]>> styles = mStyleSnapshots.get(theme);
+    if (styles == null) {
+      styles = new LongSparseArray<>();
+      mStyleSnapshots.put(theme, styles);
+    }
+
+    final long key = getStyleKey(defStyleAttr, defStyleRes);
+    SparseArrayCompat<Object[]> snapshots = styles.get(key);
+    if (snapshots == null) {
+      snapshots = new SparseArrayCompat<>();
+      styles.put(key, snapshots);
+    }
+    snapshots.put(typeId, snapshot);
+  }
+
+  /**
+   * Drops the attribute values, layout styles and loaded styles resolved against the given theme.
+   * Call this after modifying a theme, e.g. through {@link Resources.Theme#applyStyle}, that
+   * components were already resolved against.
+   */
+  public synchronized void invalidateTheme(Resources.Theme theme) {
+    final ResourceTable table = mThemeTables.get(theme);
+    if (table != null) {
+      table.clear();
+    }
+    mLayoutStyles.remove(theme);
+    mStyleSnapshots.remove(theme);
+  }
+
+  private static long getStyleKey(@AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
+    return ((long) defStyleAttr << 32) | (defStyleRes & 0xffffffffL);
+  }
+
   @Nullable
   abstract <T> T get(int key);
 
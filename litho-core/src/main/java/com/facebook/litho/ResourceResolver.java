@@ -16,6 +16,14 @@
 
 package com.facebook.litho;
 
+import static com.facebook.litho.ResourceTable.TYPE_BOOL;
+import static com.facebook.litho.ResourceTable.TYPE_COLOR;
+import static com.facebook.litho.ResourceTable.TYPE_DIMEN;
+import static com.facebook.litho.ResourceTable.TYPE_DIMEN_OFFSET;
+import static com.facebook.litho.ResourceTable.TYPE_DIMEN_SIZE;
+import static com.facebook.litho.ResourceTable.TYPE_INT;
+import static com.facebook.litho.ResourceTable.TYPE_RES_ID;
+
 import android.content.Context;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
@@ -31,18 +39,48 @@ import androidx.annotation.IntegerRes;
 import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 import androidx.core.content.ContextCompat;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.util.Arrays;
 
 public class ResourceResolver {
   private final Resources mResources;
   private final Resources.Theme mTheme;
   private final ResourceCache mResourceCache;
   private final Context mAndroidContext;
+  private final @Nullable ResourceTable mResourceTable;
+  private final @Nullable ResourceTable mThemeTable;
+
+  // Not synchronized: these only report the hit rate of the tables and may miss a few lookups made
+  // concurrently from several threads.
+  private int mResourceTableHitCount;
+  private int mResourceTableMissCount;
 
   ResourceResolver(ComponentContext context) {
     mAndroidContext = context.getAndroidContext();
     mResources = mAndroidContext.getResources();
     mTheme = mAndroidContext.getTheme();
     mResourceCache = context.getResourceCache();
+    if (ComponentsConfiguration.usePrimitiveResourceTable) {
+      mResourceTable = mResourceCache.getResourceTable();
+      mThemeTable = mResourceCache.getThemeTable(mTheme);
+    } else {
+      mResourceTable = null;
+      mThemeTable = null;
+    }
+  }
+
+  /**
+   * Resolves the given dimension resources ahead of time, e.g. from a background thread while the
+   * app starts, so that layouts find them in the resource table. Only has an effect while {@link
+   * ComponentsConfiguration#usePrimitiveResourceTable} is enabled.
+   */
+  public void preloadDimenSizeRes(@DimenRes int... resIds) {
+    preloadRes(TYPE_DIMEN_SIZE, resIds);
+  }
+
+  /** Same as {@link #preloadDimenSizeRes} for color resources. */
+  public void preloadColorRes(@ColorRes int... resIds) {
+    preloadRes(TYPE_COLOR, resIds);
   }
 
   public int dipsToPixels(float dips) {
@@ -103,6 +141,10 @@ public class ResourceResolver {
   }
 
   public int resolveIntRes(@IntegerRes int resId) {
+    if (mResourceTable != null) {
+      return resolvePrimitiveRes(mResourceTable, TYPE_INT, resId);
+    }
+
     if (resId != 0) {
       Integer cached = mResourceCache.get(resId);
       if (cached != null) {
@@ -147,6 +189,10 @@ public class ResourceResolver {
   }
 
   public boolean resolveBoolRes(@BoolRes int resId) {
+    if (mResourceTable != null) {
+      return resolvePrimitiveRes(mResourceTable, TYPE_BOOL, resId) != 0;
+    }
+
     if (resId != 0) {
       Boolean cached = mResourceCache.get(resId);
       if (cached != null) {
@@ -163,6 +209,10 @@ public class ResourceResolver {
   }
 
   public @ColorInt int resolveColorRes(@ColorRes int resId) {
+    if (mResourceTable != null) {
+      return resolvePrimitiveRes(mResourceTable, TYPE_COLOR, resId);
+    }
+
     if (resId != 0) {
       Integer cached = mResourceCache.get(resId);
       if (cached != null) {
@@ -179,6 +229,10 @@ public class ResourceResolver {
   }
 
   public int resolveDimenSizeRes(@DimenRes int resId) {
+    if (mResourceTable != null) {
+      return resolvePrimitiveRes(mResourceTable, TYPE_DIMEN_SIZE, resId);
+    }
+
     if (resId != 0) {
       Integer cached = mResourceCache.get(resId);
       if (cached != null) {
@@ -195,6 +249,10 @@ public class ResourceResolver {
   }
 
   public int resolveDimenOffsetRes(@DimenRes int resId) {
+    if (mResourceTable != null) {
+      return resolvePrimitiveRes(mResourceTable, TYPE_DIMEN_OFFSET, resId);
+    }
+
     if (resId != 0) {
       Integer cached = mResourceCache.get(resId);
       if (cached != null) {
@@ -211,6 +269,10 @@ public class ResourceResolver {
   }
 
   public float resolveFloatRes(@DimenRes int resId) {
+    if (mResourceTable != null) {
+      return Float.intBitsToFloat(resolvePrimitiveRes(mResourceTable, TYPE_DIMEN, resId));
+    }
+
     if (resId != 0) {
       Float cached = mResourceCache.get(resId);
       if (cached != null) {
@@ -261,6 +323,10 @@ public class ResourceResolver {
   }
 
   public int resolveIntAttr(@AttrRes int attrResId, @IntegerRes int defResId) {
+    if (mThemeTable != null) {
+      return resolvePrimitiveAttr(mThemeTable, TYPE_INT, attrResId, defResId);
+    }
+
     TypedArray a = mTheme.obtainStyledAttributes(new int[] {attrResId});
 
     try {
@@ -293,6 +359,10 @@ public class ResourceResolver {
   }
 
   public boolean resolveBoolAttr(@AttrRes int attrResId, @BoolRes int defResId) {
+    if (mThemeTable != null) {
+      return resolvePrimitiveAttr(mThemeTable, TYPE_BOOL, attrResId, defResId) != 0;
+    }
+
     TypedArray a = mTheme.obtainStyledAttributes(new int[] {attrResId});
 
     try {
@@ -303,6 +373,10 @@ public class ResourceResolver {
   }
 
   public int resolveColorAttr(@AttrRes int attrResId, @ColorRes int defResId) {
+    if (mThemeTable != null) {
+      return resolvePrimitiveAttr(mThemeTable, TYPE_COLOR, attrResId, defResId);
+    }
+
     TypedArray a = mTheme.obtainStyledAttributes(new int[] {attrResId});
 
     try {
@@ -313,6 +387,10 @@ public class ResourceResolver {
   }
 
   public int resolveDimenSizeAttr(@AttrRes int attrResId, @DimenRes int defResId) {
+    if (mThemeTable != null) {
+      return resolvePrimitiveAttr(mThemeTable, TYPE_DIMEN_SIZE, attrResId, defResId);
+    }
+
     TypedArray a = mTheme.obtainStyledAttributes(new int[] {attrResId});
 
     try {
@@ -323,6 +401,10 @@ public class ResourceResolver {
   }
 
   public int resolveDimenOffsetAttr(@AttrRes int attrResId, @DimenRes int defResId) {
+    if (mThemeTable != null) {
+      return resolvePrimitiveAttr(mThemeTable, TYPE_DIMEN_OFFSET, attrResId, defResId);
+    }
+
     TypedArray a = mTheme.obtainStyledAttributes(new int[] {attrResId});
 
     try {
@@ -333,6 +415,11 @@ public class ResourceResolver {
   }
 
   public float resolveFloatAttr(@AttrRes int attrResId, @DimenRes int defResId) {
+    if (mThemeTable != null) {
+      return Float.intBitsToFloat(
+          resolvePrimitiveAttr(mThemeTable, TYPE_DIMEN, attrResId, defResId));
+    }
+
     TypedArray a = mTheme.obtainStyledAttributes(new int[] {attrResId});
 
     try {
@@ -358,6 +445,10 @@ public class ResourceResolver {
   }
 
   final int resolveResIdAttr(@AttrRes int attrResId, int defResId) {
+    if (mThemeTable != null) {
+      return resolvePrimitiveAttr(mThemeTable, TYPE_RES_ID, attrResId, defResId);
+    }
+
     TypedArray a = mTheme.obtainStyledAttributes(new int[] {attrResId});
 
     try {
@@ -366,4 +457,123 @@ public class ResourceResolver {
       a.recycle();
     }
   }
+
+  private int resolvePrimitiveRes(ResourceTable table, int type, int resId) {
+    if (resId == 0) {
+      return 0;
+    }
+
+    final ResourceTable.Slots slots = table.getSlots();
+    final int index = slots.indexOf(type, resId, 0);
+    if (index >= 0) {
+      mResourceTableHitCount++;
+      return slots.getValue(index);
+    }
+
+    mResourceTableMissCount++;
+    final int result = getResValue(type, resId);
+    table.put(type, resId, 0, result);
+    return result;
+  }
+
+  private int resolvePrimitiveAttr(ResourceTable table, int type, int attrResId, int defResId) {
+    final ResourceTable.Slots slots = table.getSlots();
+    final int index = slots.indexOf(type, attrResId, defResId);
+    if (index >= 0) {
+      mResourceTableHitCount++;
+      return slots.getValue(index);
+    }
+
+    mResourceTableMissCount++;
+    final int result = getAttrValue(type, attrResId, defResId);
+    table.put(type, attrResId, defResId, result);
+    return result;
+  }
+
+  private void preloadRes(int type, int[] resIds) {
+    final ResourceTable table = mResourceTable;
+    if (table == null) {
+      return;
+    }
+
+    final ResourceTable.Slots slots = table.getSlots();
+    final int[] entries = new int[resIds.length * 4];
+    int size = 0;
+    for (int resId : resIds) {
+      if (resId != 0 && slots.indexOf(type, resId, 0) < 0) {
+        entries[size++] = type;
+        entries[size++] = resId;
+        entries[size++] = 0;
+        entries[size++] = getResValue(type, resId);
+      }
+    }
+
+    if (size > 0) {
+      table.putAll(size == entries.length ? entries : Arrays.copyOf(entries, size));
+    }
+  }
+
+  /**
+   * @return the number of primitive resource and attribute lookups of this resolver which were
+   *     served by the resource tables.
+   */
+  int getResourceTableHitCount() {
+    return mResourceTableHitCount;
+  }
+
+  /**
+   * @return the number of primitive resource and attribute lookups of this resolver which had to be
+   *     resolved through the Android resources and were added to the resource tables.
+   */
+  int getResourceTableMissCount() {
+    return mResourceTableMissCount;
+  }
+
+  /** @return the value of the resource as stored in a {@link ResourceTable} slot. */
+  private int getResValue(int type, int resId) {
+    switch (type) {
+      case TYPE_DIMEN_SIZE:
+        return mResources.getDimensionPixelSize(resId);
+      case TYPE_DIMEN_OFFSET:
+        return mResources.getDimensionPixelOffset(resId);
+      case TYPE_DIMEN:
+        return Float.floatToRawIntBits(mResources.getDimension(resId));
+      case TYPE_COLOR:
+        return mResources.getColor(resId);
+      case TYPE_INT:
+        return mResources.getInteger(resId);
+      case TYPE_BOOL:
+        return mResources.getBoolean(resId) ? 1 : 0;
+      default:
+        throw new IllegalArgumentException("Unknown resource type: " + type);
+    }
+  }
+
+  /** @return the value of the attribute as stored in a {@link ResourceTable} slot. */
+  private int getAttrValue(int type, int attrResId, int defResId) {
+    TypedArray a = mTheme.obtainStyledAttributes(new int[] {attrResId});
+
+    try {
+      switch (type) {
+        case TYPE_DIMEN_SIZE:
+          return a.getDimensionPixelSize(0, resolveDimenSizeRes(defResId));
+        case TYPE_DIMEN_OFFSET:
+          return a.getDimensionPixelOffset(0, resolveDimenOffsetRes(defResId));
+        case TYPE_DIMEN:
+          return Float.floatToRawIntBits(a.getDimension(0, resolveFloatRes(defResId)));
+        case TYPE_COLOR:
+          return a.getColor(0, resolveColorRes(defResId));
+        case TYPE_INT:
+          return a.getInt(0, resolveIntRes(defResId));
+        case TYPE_BOOL:
+          return a.getBoolean(0, resolveBoolRes(defResId)) ? 1 : 0;
+        case TYPE_RES_ID:
+          return a.getResourceId(0, defResId);
+        default:
+          throw new IllegalArgumentException("Unknown attribute type: " + type);
+      }
+    } finally {
+      a.recycle();
+    }
+  }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import com.facebook.infer.annotation.Nullsafe;
+
+/**
+ * Table of resolved resource values kept in primitive slots, keyed by the type of the lookup, the
+ * resource or attribute id, and an extra key (the default resource id of attribute lookups).
+ *
+ * <p>Reads are lock-free: they go through an immutable {@link Slots} snapshot, which writers
+ * replace with an updated copy. Tables only grow with the distinct resources an app resolves, so
+ * copying on write is cheaper than synchronizing every read.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+final class ResourceTable {
+
+  static final int TYPE_DIMEN_SIZE = 1;
+  static final int TYPE_DIMEN_OFFSET = 2;
+  static final int TYPE_DIMEN = 3;
+  static final int TYPE_COLOR = 4;
+  static final int TYPE_INT = 5;
+  static final int TYPE_BOOL = 6;
+  static final int TYPE_RES_ID = 7;
+
+  private volatile Slots mSlots = Slots.EMPTY;
+
+  /** @return the current snapshot of this table, see {@link Slots#indexOf}. */
+  Slots getSlots() {
+    return mSlots;
+  }
+
+  void put(int type, int key, int extra, int value) {
+    putAll(new int[] {type, key, extra, value});
+  }
+
+  /**
+   * Stores several entries at once, laid out as consecutive (type, key, extra, value) quadruplets,
+   * publishing a single new snapshot.
+   */
+  synchronized void putAll(int[] entries) {
+    mSlots = mSlots.with(entries);
+  }
+
+  /** Drops every entry, e.g. after the theme the values were resolved against was modified. */
+  synchronized void clear() {
+    mSlots = Slots.EMPTY;
+  }
+
+  /**
+   * Immutable open-addressed hash table. Each slot takes {@link #STRIDE} consecutive ints of a
+   * single array: type, key, extra and value. A type of 0 marks an empty slot.
+   */
+  static final class Slots {
+
+    private static final int STRIDE = 4;
+    private static final int INITIAL_CAPACITY = 64;
+
+    static final Slots EMPTY = new Slots(new int[INITIAL_CAPACITY * STRIDE], 0);
+
+    private final int[] mData;
+    private final int mSize;
+
+    private Slots(int[] data, int size) {
+      mData = data;
+      mSize = size;
+    }
+
+    /** @return the index of the entry to read the value of, or -1 if there is none. */
+    int indexOf(int type, int key, int extra) {
+      final int mask = mData.length / STRIDE - 1;
+      for (int slot = hash(type, key, extra) & mask; ; slot = (slot + 1) & mask) {
+        final int index = slot * STRIDE;
+        final int slotType = mData[index];
+        if (slotType == 0) {
+          return -1;
+        }
+        if (slotType == type && mData[index + 1] == key && mData[index + 2] == extra) {
+          return index;
+        }
+      }
+    }
+
+    /** @return the value of the entry at index; floats are stored as their raw int bits. */
+    int getValue(int index) {
+      return mData[index + 3];
+    }
+
+    int size() {
+      return mSize;
+    }
+
+    private Slots with(int[] entries) {
+      int capacity = mData.length / STRIDE;
+      final int maxSize = mSize + entries.length / STRIDE;
+      while (maxSize * 2 > capacity) {
+        capacity *= 2;
+      }
+
+      final int[] data;
+      int size;
+      if (capacity == mData.length / STRIDE) {
+        data = mData.clone();
+        size = mSize;
+      } else {
+        data = new int[capacity * STRIDE];
+        size = 0;
+        for (int i = 0; i < mData.length; i += STRIDE) {
+          if (mData[i] != 0) {
+            size += insert(data, mData[i], mData[i + 1], mData[i + 2], mData[i + 3]);
+          }
+        }
+      }
+
+      for (int i = 0; i < entries.length; i += STRIDE) {
+        size += insert(data, entries[i], entries[i + 1], entries[i + 2], entries[i + 3]);
+      }
+
+      return new Slots(data, size);
+    }
+
+    /** @return 1 if a new slot was taken, 0 if an existing entry was overwritten. */
+    private static int insert(int[] data, int type, int key, int extra, int value) {
+      final int mask = data.length / STRIDE - 1;
+      for (int slot = hash(type, key, extra) & mask; ; slot = (slot + 1) & mask) {
+        final int index = slot * STRIDE;
+        final int slotType = data[index];
+        if (slotType == 0
+            || (slotType == type && data[index + 1] == key && data[index + 2] == extra)) {
+          data[index] = type;
+          data[index + 1] = key;
+          data[index + 2] = extra;
+          data[index + 3] = value;
+          return slotType == 0 ? 1 : 0;
+        }
+      }
+    }
+
+    private static int hash(int type, int key, int extra) {
+      int hash = key * 31 + extra;
+      hash = hash * 31 + type;
+      // Resource ids share their package and type bytes, spread the entry bits.
+      return hash ^ (hash >>> 16);
+    }
+  }
+}
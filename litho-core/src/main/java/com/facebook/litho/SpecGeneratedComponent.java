@@ -25,8 +25,16 @@ import javax.annotation.Nullable;
 @Nullsafe(Nullsafe.Mode.LOCAL)
 public abstract class SpecGeneratedComponent extends Component {
 
+  /** FNV-1a 64-bit offset basis and prime, used to hash primitive props. */
+  protected static final long PROPS_HASH_SEED = 0xcbf29ce484222325L;
+
+  private static final long PROPS_HASH_PRIME = 0x100000001b3L;
+
   private final String mSimpleName;
 
+  private long mPropsHash;
+  private boolean mIsPropsHashComputed;
+
   protected SpecGeneratedComponent(String simpleName) {
     mSimpleName = simpleName;
   }
@@ -65,6 +73,46 @@ public abstract class SpecGeneratedComponent extends Component {
     return current;
   }
 
+  /**
+   * @return a 64-bit hash of the primitive props of this component. Two equivalent components
+   *     always return the same hash, so a different hash means the components are not
+   *     equivalent. The hash is precomputed when the Builder finishes; components not created
+   *     through a Builder compute it on demand without caching it.
+   */
+  public final long getPropsHash() {
+    return mIsPropsHashComputed ? mPropsHash : computePropsHash();
+  }
+
+  /** Called by the generated Builder once all the props have been set. */
+  protected final void precomputePropsHash() {
+    mPropsHash = computePropsHash();
+    mIsPropsHashComputed = true;
+  }
+
+  /**
+   * Generated for MountSpecs with primitive props; it must only read primitive props so that it
+   * neither allocates nor depends on mutable objects.
+   */
+  protected long computePropsHash() {
+    return 0;
+  }
+
+  protected static long hashProp(long hash, long value) {
+    return (hash ^ value) * PROPS_HASH_PRIME;
+  }
+
+  protected static long hashProp(long hash, boolean value) {
+    return hashProp(hash, value ? 1L : 0L);
+  }
+
+  protected static long hashProp(long hash, float value) {
+    return hashProp(hash, Float.floatToIntBits(value));
+  }
+
+  protected static long hashProp(long hash, double value) {
+    return hashProp(hash, Double.doubleToLongBits(value));
+  }
+
   @Override
   protected RenderResult render(ComponentContext c) {
     if (Component.isLayoutSpecWithSizeSpec(this)) {
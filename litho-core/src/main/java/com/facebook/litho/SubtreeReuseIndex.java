@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.litho.InternalNode.NestedTreeHolder;
+import com.facebook.litho.LithoLayoutResult.NestedTreeHolderResult;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the layout results of the previous layout by the global key of their head component, so
+ * that the resolved subtree of a component which hasn't changed since can be reused as is instead
+ * of being resolved again. The previous layout results of reused subtrees are kept to clone their
+ * already measured YogaNodes from during measure.
+ *
+ * <p>A subtree can be reused when its head component is equivalent to the new component, including
+ * common props, the tree props passed down to it are equal, and there are no pending state updates
+ * for it or any of its descendants.
+ *
+ * <p>The nested trees of the previous layout are indexed by the global key of the component they
+ * were resolved for. A nested tree is reused when it was resolved with the same size specs, under
+ * the same conditions.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+final class SubtreeReuseIndex {
+
+  private final LithoLayoutResult mPreviousRoot;
+  private final Set<String> mKeysForPendingUpdates;
+  private final Map<InternalNode, LithoLayoutResult> mReusedResults = new IdentityHashMap<>();
+
+  private @Nullable Map<String, Entry> mEntries;
+  private @Nullable Map<String, NestedTreeHolderResult> mNestedTreeHolders;
+  private int mReusedNodeCount;
+
+  SubtreeReuseIndex(final LithoLayoutResult previousRoot, final Set<String> keysForPendingUpdates) {
+    mPreviousRoot = previousRoot;
+    mKeysForPendingUpdates = keysForPendingUpdates;
+  }
+
+  /**
+   * Returns the subtree of the previous layout to reuse for the component, or null if it has to be
+   * resolved.
+   *
+   * @param scopedContext The scoped context of the updated component.
+   */
+  @Nullable
+  InternalNode reuse(
+      final LayoutStateContext layoutStateContext,
+      final ComponentContext scopedContext,
+      final Component component,
+      final @Nullable String globalKey) {
+    if (globalKey == null || ComponentsConfiguration.isDebugModeEnabled) {
+      return null;
+    }
+
+    final @Nullable Entry entry = getEntries().get(globalKey);
+    if (entry == null) {
+      return null;
+    }
+
+    final InternalNode node = entry.mResult.getInternalNode();
+    if (mReusedResults.containsKey(node)
+        || !canReuse(
+            node.getHeadComponent(),
+            node.getHeadComponentContext(),
+            scopedContext,
+            component,
+            globalKey)) {
+      return null;
+    }
+
+    // The state of the reused components has to be carried over to this layout.
+    InputOnlyInternalNode.commitToLayoutStateRecursively(layoutStateContext, node);
+
+    mReusedResults.put(node, entry.mResult);
+    mReusedNodeCount += entry.mNodeCount;
+
+    return node;
+  }
+
+  /**
+   * Returns the nested tree of the previous layout to reuse for the holder, or null if it has to be
+   * resolved. Only a nested tree resolved with exactly the same size specs can be reused.
+   */
+  @Nullable
+  InternalNode reuseNestedTree(
+      final LayoutStateContext layoutStateContext,
+      final NestedTreeHolder holder,
+      final int widthSpec,
+      final int heightSpec) {
+    final @Nullable String globalKey = holder.getTailComponentKey();
+    if (globalKey == null || ComponentsConfiguration.isDebugModeEnabled) {
+      return null;
+    }
+
+    // The nested tree holders are indexed along with the entries.
+    getEntries();
+    final @Nullable NestedTreeHolderResult previousHolder =
+        mNestedTreeHolders != null ? mNestedTreeHolders.get(globalKey) : null;
+    if (previousHolder == null) {
+      return null;
+    }
+
+    final @Nullable LithoLayoutResult previousResult =
+        getNestedResult(previousHolder, widthSpec, heightSpec);
+    if (previousResult == null) {
+      return null;
+    }
+
+    final InternalNode node = previousResult.getInternalNode();
+    final InternalNode previousHolderNode = previousHolder.getInternalNode();
+    if (!(node instanceof InputOnlyInternalNode)
+        || mReusedResults.containsKey(node)
+        || !canReuse(
+            previousHolderNode.getTailComponent(),
+            previousHolderNode.getTailComponentContext(),
+            holder.getTailComponentContext(),
+            holder.getTailComponent(),
+            globalKey)) {
+      return null;
+    }
+
+    InputOnlyInternalNode.commitToLayoutStateRecursively(layoutStateContext, node);
+
+    mReusedResults.put(node, previousResult);
+    mReusedNodeCount += countNodes(previousResult);
+
+    return node;
+  }
+
+  @Nullable
+  LithoLayoutResult getReusedLayoutResult(final InternalNode node) {
+    return mReusedResults.isEmpty() ? null : mReusedResults.get(node);
+  }
+
+  int getReusedNodeCount() {
+    return mReusedNodeCount;
+  }
+
+  private boolean canReuse(
+      final @Nullable Component previous,
+      final @Nullable ComponentContext previousContext,
+      final @Nullable ComponentContext scopedContext,
+      final @Nullable Component component,
+      final String globalKey) {
+    if (previous == null
+        || component == null
+        || !ComponentUtils.isEquivalent(previous, component)
+        || !CommonUtils.isEquivalentTo(previous.getCommonProps(), component.getCommonProps())) {
+      return false;
+    }
+
+    if (previousContext == null
+        || scopedContext == null
+        || !CommonUtils.equals(
+            previousContext.getParentTreeProps(), scopedContext.getParentTreeProps())) {
+      return false;
+    }
+
+    for (String key : mKeysForPendingUpdates) {
+      if (key.startsWith(globalKey)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private Map<String, Entry> getEntries() {
+    if (mEntries == null) {
+      mEntries = new HashMap<>();
+      index(mPreviousRoot, mEntries);
+    }
+
+    return mEntries;
+  }
+
+  /** Indexes the layout result and its descendants, and returns the size of its subtree. */
+  private int index(final LithoLayoutResult result, final Map<String, Entry> entries) {
+    int nodeCount = 1;
+    for (int i = 0, size = result.getChildCount(); i < size; i++) {
+      nodeCount += index(result.getChildAt(i), entries);
+    }
+
+    final InternalNode node = result.getInternalNode();
+    if (result instanceof NestedTreeHolderResult) {
+      final @Nullable String tailKey = node.getTailComponentKey();
+      if (tailKey != null) {
+        if (mNestedTreeHolders == null) {
+          mNestedTreeHolders = new HashMap<>();
+        }
+        mNestedTreeHolders.put(tailKey, (NestedTreeHolderResult) result);
+      }
+    }
+
+    final @Nullable String key = node.getHeadComponentKey();
+    if (key != null
+        && node.getHeadComponent() != null
+        && node instanceof InputOnlyInternalNode
+        && !(node instanceof NestedTreeHolder)) {
+      entries.put(key, new Entry(result, nodeCount));
+    }
+
+    return nodeCount;
+  }
+
+  /** Returns the nested result of the holder resolved with exactly these size specs, if any. */
+  private static @Nullable LithoLayoutResult getNestedResult(
+      final NestedTreeHolderResult holder, final int widthSpec, final int heightSpec) {
+    final @Nullable LithoLayoutResult current = holder.getNestedResult();
+    if (current != null
+        && current.getLastWidthSpec() == widthSpec
+        && current.getLastHeightSpec() == heightSpec) {
+      return current;
+    }
+
+    final @Nullable NestedTreeResultCache cache = holder.getNestedResultCache();
+    return cache != null ? cache.getExact(widthSpec, heightSpec) : null;
+  }
+
+  private static int countNodes(final LithoLayoutResult result) {
+    int nodeCount = 1;
+    for (int i = 0, size = result.getChildCount(); i < size; i++) {
+      nodeCount += countNodes(result.getChildAt(i));
+    }
+    return nodeCount;
+  }
+
+  private static final class Entry {
+
+    final LithoLayoutResult mResult;
+    final int mNodeCount;
+
+    Entry(final LithoLayoutResult result, final int nodeCount) {
+      mResult = result;
+      mNodeCount = nodeCount;
+    }
+  }
+}
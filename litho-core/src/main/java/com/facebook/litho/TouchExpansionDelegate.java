@@ -138,6 +138,8 @@ class TouchExpansionDelegate extends TouchDelegate {
 
     private final View mDelegateView;
     private final MountItem mItem;
+    private final Rect mDelegateBounds = new Rect();
+    private final Rect mDelegateSlopBounds = new Rect();
     private boolean mIsHandlingTouch;
 
     InnerTouchDelegate(View delegateView, MountItem item) {
@@ -147,34 +149,45 @@ class TouchExpansionDelegate extends TouchDelegate {
 
     @Nullable
     Rect getDelegateBounds() {
+      final Rect bounds = new Rect();
+      return getDelegateBounds(bounds) ? bounds : null;
+    }
+
+    private boolean getDelegateBounds(Rect outBounds) {
       final ViewNodeInfo info = getLayoutOutput(mItem).getViewNodeInfo();
       if (info == null) {
-        return null;
+        return false;
       }
 
       final Rect expansion = info.getTouchBoundsExpansion();
       if (expansion == null) {
-        return null;
+        return false;
       }
 
       final Rect bounds = mItem.getRenderTreeNode().getBounds();
-      return new Rect(
+      outBounds.set(
           bounds.left - expansion.left,
           bounds.top - expansion.top,
           bounds.right + expansion.right,
           bounds.bottom + expansion.bottom);
+      return true;
     }
 
     boolean onTouchEvent(MotionEvent event) {
+      if (!mIsHandlingTouch && event.getAction() != MotionEvent.ACTION_DOWN) {
+        // Only the down event can start delegating a gesture.
+        return false;
+      }
+
       final int x = (int) event.getX();
       final int y = (int) event.getY();
-      final Rect delegateBounds = getDelegateBounds();
-      if (delegateBounds == null) {
+      final Rect delegateBounds = mDelegateBounds;
+      if (!getDelegateBounds(delegateBounds)) {
         return false;
       }
 
       final int slop = ViewConfiguration.get(mDelegateView.getContext()).getScaledTouchSlop();
-      final Rect delegateSlopBounds = new Rect();
+      final Rect delegateSlopBounds = mDelegateSlopBounds;
 
       delegateSlopBounds.set(delegateBounds);
       delegateSlopBounds.inset(-slop, -slop);
@@ -22,6 +22,9 @@ import android.view.View;
 /**
  * Any interface for mounted items that need to capture motion events from its {@link
  * ComponentHost}.
+ *
+ * <p>A {@link MotionEvent#ACTION_DOWN} is only offered to touchables whose bounds contain it; the
+ * rest of the gesture is offered to every touchable of the host.
  */
 public interface Touchable {
   boolean onTouchEvent(MotionEvent event, View host);
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.rendercore.MountItem;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+
+/**
+ * Spatial index over the {@link Touchable} drawables mounted in a {@link ComponentHost}, used to
+ * find the drawables under an {@link android.view.MotionEvent#ACTION_DOWN} without visiting every
+ * mounted drawable.
+ *
+ * <p>Items are added, moved and removed as the host mounts, moves and unmounts them. Lookups go
+ * through an interval tree over the vertical extents of the items: the items are sorted by top and
+ * the tree is laid out implicitly over that array, each node holding the largest bottom of its
+ * subtree. The tree is rebuilt lazily by the first lookup after the items or their bounds changed,
+ * so a lookup is O(log n + k) for k hits.
+ */
+class TouchableIndex {
+
+  private static final Comparator<Entry> TOP_COMPARATOR =
+      new Comparator<Entry>() {
+        @Override
+        public int compare(Entry lhs, Entry rhs) {
+          return lhs.bounds.top < rhs.bounds.top ? -1 : (lhs.bounds.top == rhs.bounds.top ? 0 : 1);
+        }
+      };
+
+  private final IdentityHashMap<Drawable, Entry> mEntries = new IdentityHashMap<>();
+
+  private Entry[] mTree = new Entry[0];
+  private int[] mMaxBottoms = new int[0];
+  private int mTreeSize;
+  private boolean mIsDirty;
+
+  private Entry[] mHits = new Entry[4];
+  private int mHitCount;
+
+  /** Adds a touchable drawable mounted at the given index of the host. */
+  void add(int index, MountItem item) {
+    final Drawable drawable = (Drawable) item.getContent();
+    mEntries.put(drawable, new Entry(index, item));
+    mIsDirty = true;
+  }
+
+  /** Removes a touchable drawable, whatever index it is currently mounted at. */
+  void remove(MountItem item) {
+    if (mEntries.remove(item.getContent()) != null) {
+      mIsDirty = true;
+    }
+  }
+
+  /** Updates the index of a touchable drawable that the host moved to a new position. */
+  void move(MountItem item, int newIndex) {
+    final Entry entry = mEntries.get(item.getContent());
+    if (entry != null) {
+      entry.index = newIndex;
+      mIsDirty = true;
+    }
+  }
+
+  /**
+   * Called when a drawable of the host was invalidated. Changing the bounds of a drawable
+   * invalidates it, so this is where moved or resized touchables are picked up. The drawable is
+   * invalidated before its new bounds are stored, so they can't be compared here: the next lookup
+   * reads them when rebuilding.
+   */
+  void onDrawableInvalidated(Drawable drawable) {
+    if (!mIsDirty && mEntries.containsKey(drawable)) {
+      mIsDirty = true;
+    }
+  }
+
+  boolean isEmpty() {
+    return mEntries.isEmpty();
+  }
+
+  /**
+   * Finds the touchables whose bounds contain the given point. The hits are ordered by decreasing
+   * mount index, which is the order in which the host offers them touch events.
+   *
+   * @return the number of hits, which can be read with {@link #getHitAt(int)}.
+   */
+  int findHits(int x, int y) {
+    if (mIsDirty) {
+      rebuild();
+    }
+
+    for (int i = 0; i < mHitCount; i++) {
+      mHits[i] = null;
+    }
+    mHitCount = 0;
+    collectHits(0, mTreeSize, x, y);
+    sortHitsByDecreasingIndex();
+
+    return mHitCount;
+  }
+
+  MountItem getHitAt(int i) {
+    return mHits[i].item;
+  }
+
+  private void collectHits(int start, int end, int x, int y) {
+    if (start >= end) {
+      return;
+    }
+
+    final int mid = (start + end) >>> 1;
+    if (mMaxBottoms[mid] <= y) {
+      // No interval in this subtree reaches down to y.
+      return;
+    }
+
+    collectHits(start, mid, x, y);
+
+    final Entry entry = mTree[mid];
+    if (entry.bounds.top > y) {
+      // Every interval to the right starts below y.
+      return;
+    }
+
+    if (entry.bounds.contains(x, y)) {
+      addHit(entry);
+    }
+
+    collectHits(mid + 1, end, x, y);
+  }
+
+  private void addHit(Entry entry) {
+    if (mHitCount == mHits.length) {
+      mHits = Arrays.copyOf(mHits, mHitCount * 2);
+    }
+    mHits[mHitCount++] = entry;
+  }
+
+  private void sortHitsByDecreasingIndex() {
+    // Hits are few, an insertion sort avoids allocating.
+    for (int i = 1; i < mHitCount; i++) {
+      final Entry hit = mHits[i];
+      int j = i - 1;
+      while (j >= 0 && mHits[j].index < hit.index) {
+        mHits[j + 1] = mHits[j];
+        j--;
+      }
+      mHits[j + 1] = hit;
+    }
+  }
+
+  private void rebuild() {
+    final int size = mEntries.size();
+    if (mTree.length < size) {
+      mTree = new Entry[size];
+      mMaxBottoms = new int[size];
+    } else {
+      Arrays.fill(mTree, size, mTreeSize, null);
+    }
+
+    boolean hasEmptyBounds = false;
+    int i = 0;
+    for (Entry entry : mEntries.values()) {
+      entry.bounds.set(((Drawable) entry.item.getContent()).getBounds());
+      hasEmptyBounds |= entry.bounds.isEmpty();
+      mTree[i++] = entry;
+    }
+    mTreeSize = size;
+
+    Arrays.sort(mTree, 0, size, TOP_COMPARATOR);
+    computeMaxBottoms(0, size);
+
+    // Bounds going from empty to non-empty do not invalidate a drawable, so keep rebuilding until
+    // every touchable has been laid out.
+    mIsDirty = hasEmptyBounds;
+  }
+
+  private int computeMaxBottoms(int start, int end) {
+    if (start >= end) {
+      return Integer.MIN_VALUE;
+    }
+
+    final int mid = (start + end) >>> 1;
+    final int maxBottom =
+        Math.max(
+            mTree[mid].bounds.bottom,
+            Math.max(computeMaxBottoms(start, mid), computeMaxBottoms(mid + 1, end)));
+    mMaxBottoms[mid] = maxBottom;
+    return maxBottom;
+  }
+
+  @VisibleForTesting
+  int size() {
+    return mEntries.size();
+  }
+
+  private static class Entry {
+    final MountItem item;
+    final Rect bounds = new Rect();
+    int index;
+
+    Entry(int index, MountItem item) {
+      this.index = index;
+      this.item = item;
+    }
+  }
+}
@@ -17,33 +17,77 @@
 package com.facebook.litho;
 
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import com.facebook.infer.annotation.Nullsafe;
 import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.infer.annotation.ThreadSafe;
 import com.facebook.litho.annotations.TreeProp;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * A data structure to store tree props.
  *
+ * <p>Entries are kept in a persistent, parent-linked chain of immutable nodes: {@link #put} pushes
+ * a node in front of the current chain and {@link #acquire} shares the chain of its source, so
+ * creating the TreeProps for children is O(1) and later puts on either instance are not visible
+ * to the other. Reads walk the chain without taking a lock; the chain is compacted once it grows
+ * past {@link #MAX_CHAIN_LENGTH} nodes and twice the number of keys it had after the previous
+ * compaction, so lookups stay cheap in deep trees and puts stay O(1) amortized.
+ *
  * @see TreeProp
  */
 @Nullsafe(Nullsafe.Mode.LOCAL)
 @ThreadConfined(ThreadConfined.ANY)
 public class TreeProps {
 
-  private final Map<Class, Object> mMap = Collections.synchronizedMap(new HashMap<Class, Object>());
+  @VisibleForTesting static final int MAX_CHAIN_LENGTH = 32;
+
+  private static final class Node {
+    final Class mKey;
+    final @Nullable Object mValue;
+    final @Nullable Node mNext;
+    final int mLength;
+    /** Number of distinct keys of the chain after it was last compacted. */
+    final int mCompactedLength;
+
+    Node(Class key, @Nullable Object value, @Nullable Node next) {
+      this(key, value, next, next == null ? 0 : next.mCompactedLength);
+    }
 
-  public void put(Class key, @Nullable Object value) {
-    mMap.put(key, value);
+    Node(Class key, @Nullable Object value, @Nullable Node next, int compactedLength) {
+      mKey = key;
+      mValue = value;
+      mNext = next;
+      mLength = next == null ? 1 : next.mLength + 1;
+      mCompactedLength = compactedLength;
+    }
+  }
+
+  private volatile @Nullable Node mHead;
+
+  public TreeProps() {}
+
+  private TreeProps(@Nullable Node head) {
+    mHead = head;
+  }
+
+  public synchronized void put(Class key, @Nullable Object value) {
+    Node head = new Node(key, value, mHead);
+    if (head.mLength > Math.max(MAX_CHAIN_LENGTH, 2 * head.mCompactedLength)) {
+      head = compact(head);
+    }
+    mHead = head;
   }
 
   @Nullable
   public <T> T get(Class<T> key) {
-    return (T) mMap.get(key);
+    for (Node node = mHead; node != null; node = node.mNext) {
+      if (node.mKey == key) {
+        return (T) node.mValue;
+      }
+    }
+    return null;
   }
 
   /** @return a copy of the provided TreeProps instance; returns null if source is null */
@@ -57,25 +101,66 @@ public class TreeProps {
   }
 
   /**
-   * Whenever a Spec sets tree props, the TreeProps map from the parent is copied. If parent
-   * TreeProps are null, a new TreeProps instance is created to copy the current tree props.
+   * Whenever a Spec sets tree props, the TreeProps from the parent are copied. If parent TreeProps
+   * are null, a new TreeProps instance is created to copy the current tree props.
    *
-   * <p>Infer knows that newProps is owned but doesn't know that newProps.mMap is owned.
+   * <p>The copy shares the immutable chain of the source, so this doesn't depend on the number of
+   * tree props already set.
    */
   @ThreadSafe(enableChecks = false)
   public static TreeProps acquire(@Nullable TreeProps source) {
-    final TreeProps newProps = new TreeProps();
-    if (source != null) {
-      synchronized (source.mMap) {
-        newProps.mMap.putAll(source.mMap);
+    return new TreeProps(source != null ? source.mHead : null);
+  }
+
+  synchronized void reset() {
+    mHead = null;
+  }
+
+  @VisibleForTesting
+  int getChainLength() {
+    final Node head = mHead;
+    return head == null ? 0 : head.mLength;
+  }
+
+  /** Rebuilds the chain keeping only the most recent node for each key. */
+  private static @Nullable Node compact(Node head) {
+    final Map<Class, Object> entries = new HashMap<>();
+    for (Node node = head; node != null; node = node.mNext) {
+      if (!entries.containsKey(node.mKey)) {
+        entries.put(node.mKey, node.mValue);
       }
     }
 
-    return newProps;
+    final int size = entries.size();
+    @Nullable Node compacted = null;
+    for (Map.Entry<Class, Object> entry : entries.entrySet()) {
+      compacted = new Node(entry.getKey(), entry.getValue(), compacted, size);
+    }
+    return compacted;
   }
 
-  void reset() {
-    mMap.clear();
+  private static @Nullable Node find(@Nullable Node head, Class key) {
+    for (Node node = head; node != null; node = node.mNext) {
+      if (node.mKey == key) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  /** @return whether every key of {@code head} maps to the same value in {@code other}. */
+  private static boolean containsAll(@Nullable Node other, @Nullable Node head) {
+    for (Node node = head; node != null; node = node.mNext) {
+      if (find(head, node.mKey) != node) {
+        // Shadowed by a more recent node for the same key.
+        continue;
+      }
+      final Node otherNode = find(other, node.mKey);
+      if (otherNode == null || !CommonUtils.equals(node.mValue, otherNode.mValue)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
@@ -89,12 +174,22 @@ public class TreeProps {
     }
 
     TreeProps treeProps = (TreeProps) o;
+    final Node head = mHead;
+    final Node otherHead = treeProps.mHead;
 
-    return mMap.equals(treeProps.mMap);
+    return head == otherHead || (containsAll(otherHead, head) && containsAll(head, otherHead));
   }
 
+  /** Same as the hash code of a {@link Map} holding the most recent value for each key. */
   @Override
   public int hashCode() {
-    return Objects.hash(mMap);
+    final Node head = mHead;
+    int hashCode = 0;
+    for (Node node = head; node != null; node = node.mNext) {
+      if (find(head, node.mKey) == node) {
+        hashCode += node.mKey.hashCode() ^ (node.mValue == null ? 0 : node.mValue.hashCode());
+      }
+    }
+    return hashCode;
   }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import com.facebook.infer.annotation.Nullsafe;
+
+/**
+ * Computes which groups of view attributes differ between the {@link LayoutOutput} a View is
+ * currently mounted with and the one it is being updated to, so that mount only resets and applies
+ * the groups that changed instead of every {@link NodeInfo} and {@link ViewNodeInfo} field.
+ *
+ * <p>Attributes that interact on the View (e.g. a click handler and the clickable state, or a
+ * background and the padding it overrides) share a group.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+final class ViewAttributesDiff {
+
+  static final int NONE = 0;
+
+  /** Click and long click handlers, and the clickable state. */
+  static final int CLICK = 1;
+
+  /** Focus change handler and the focusable state. */
+  static final int FOCUS = 1 << 1;
+
+  /** Touch and intercept touch handlers. */
+  static final int TOUCH = 1 << 2;
+
+  /** The view tag and the keyed view tags. */
+  static final int VIEW_TAGS = 1 << 3;
+
+  static final int SHADOW_ELEVATION = 1 << 4;
+
+  /** Outline provider and clip to outline. */
+  static final int OUTLINE = 1 << 5;
+
+  static final int CLIP_CHILDREN = 1 << 6;
+
+  static final int ENABLED = 1 << 7;
+
+  static final int SELECTED = 1 << 8;
+
+  /** Scale, alpha and rotations. */
+  static final int TRANSFORM = 1 << 9;
+
+  static final int TRANSITION_NAME = 1 << 10;
+
+  /**
+   * Accessibility delegate, content description and importance for accessibility. The delegate is
+   * backed by the {@link NodeInfo} itself, so this is set whenever the NodeInfo changes at all.
+   */
+  static final int ACCESSIBILITY = 1 << 11;
+
+  /** Everything held by {@link ViewNodeInfo}: layer type, background, foreground, padding... */
+  static final int VIEW_NODE_INFO = 1 << 12;
+
+  /** Reset and re-apply every attribute, as a full unmount and mount would. */
+  static final int ALL = ~0;
+
+  private ViewAttributesDiff() {}
+
+  /**
+   * Returns the groups of attributes to update, {@link #NONE} if the View can be left as is, or
+   * {@link #ALL} if the outputs are too different to be diffed attribute by attribute.
+   */
+  static int compute(LayoutOutput current, LayoutOutput next) {
+    if (current.getFlags() != next.getFlags()) {
+      return ALL;
+    }
+
+    final NodeInfo currentNodeInfo = current.getNodeInfo();
+    final NodeInfo nextNodeInfo = next.getNodeInfo();
+    final ViewNodeInfo currentViewNodeInfo = current.getViewNodeInfo();
+    final ViewNodeInfo nextViewNodeInfo = next.getViewNodeInfo();
+    if ((currentNodeInfo == null) != (nextNodeInfo == null)
+        || (currentViewNodeInfo == null) != (nextViewNodeInfo == null)) {
+      return ALL;
+    }
+
+    int changes = NONE;
+
+    if (currentViewNodeInfo != null && !currentViewNodeInfo.isEquivalentTo(nextViewNodeInfo)) {
+      changes |= VIEW_NODE_INFO;
+    }
+
+    if (current.getImportantForAccessibility() != next.getImportantForAccessibility()) {
+      changes |= ACCESSIBILITY;
+    }
+
+    if (currentNodeInfo != null
+        && nextNodeInfo != null
+        && !currentNodeInfo.isEquivalentTo(nextNodeInfo)) {
+      changes |= ACCESSIBILITY | computeNodeInfoChanges(currentNodeInfo, nextNodeInfo);
+    }
+
+    return changes;
+  }
+
+  private static int computeNodeInfoChanges(NodeInfo current, NodeInfo next) {
+    int changes = NONE;
+
+    if (!CommonUtils.isEquivalentTo(current.getClickHandler(), next.getClickHandler())
+        || !CommonUtils.isEquivalentTo(current.getLongClickHandler(), next.getLongClickHandler())
+        || current.getClickableState() != next.getClickableState()) {
+      changes |= CLICK;
+    }
+
+    if (!CommonUtils.isEquivalentTo(current.getFocusChangeHandler(), next.getFocusChangeHandler())
+        || current.getFocusState() != next.getFocusState()) {
+      changes |= FOCUS;
+    }
+
+    if (!CommonUtils.isEquivalentTo(current.getTouchHandler(), next.getTouchHandler())
+        || !CommonUtils.isEquivalentTo(
+            current.getInterceptTouchHandler(), next.getInterceptTouchHandler())) {
+      changes |= TOUCH;
+    }
+
+    if (!CommonUtils.equals(current.getViewTag(), next.getViewTag())
+        || !CommonUtils.equals(current.getViewTags(), next.getViewTags())) {
+      changes |= VIEW_TAGS;
+    }
+
+    if (current.getShadowElevation() != next.getShadowElevation()) {
+      changes |= SHADOW_ELEVATION;
+    }
+
+    if (!CommonUtils.equals(current.getOutlineProvider(), next.getOutlineProvider())
+        || current.getClipToOutline() != next.getClipToOutline()) {
+      changes |= OUTLINE;
+    }
+
+    if (current.isClipChildrenSet() != next.isClipChildrenSet()
+        || current.getClipChildren() != next.getClipChildren()) {
+      changes |= CLIP_CHILDREN;
+    }
+
+    if (current.getEnabledState() != next.getEnabledState()) {
+      changes |= ENABLED;
+    }
+
+    if (current.getSelectedState() != next.getSelectedState()) {
+      changes |= SELECTED;
+    }
+
+    if (!isSameTransform(current, next)) {
+      changes |= TRANSFORM;
+    }
+
+    if (!CommonUtils.equals(current.getTransitionName(), next.getTransitionName())) {
+      changes |= TRANSITION_NAME;
+    }
+
+    return changes;
+  }
+
+  private static boolean isSameTransform(NodeInfo current, NodeInfo next) {
+    return current.isScaleSet() == next.isScaleSet()
+        && current.getScale() == next.getScale()
+        && current.isAlphaSet() == next.isAlphaSet()
+        && current.getAlpha() == next.getAlpha()
+        && current.isRotationSet() == next.isRotationSet()
+        && current.getRotation() == next.getRotation()
+        && current.isRotationXSet() == next.isRotationXSet()
+        && current.getRotationX() == next.getRotationX()
+        && current.isRotationYSet() == next.isRotationYSet()
+        && current.getRotationY() == next.getRotationY();
+  }
+
+  static boolean has(int changes, int attributes) {
+    return (changes & attributes) != 0;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.ThreadUtils.assertMainThread;
+
+import android.view.View;
+import android.view.ViewTreeObserver;
+import com.facebook.litho.stats.LithoStats;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Collects the visible bounds changes of the nested {@link LithoView}s under a root view, and
+ * processes them once per frame in a single pre-draw pass, instead of computing the visible rect of
+ * every nested LithoView again on each scroll callback.
+ *
+ * <p>A LithoView which is notified again before its pending change is processed is only processed
+ * once. LithoViews notified while the pass runs, e.g. by the incremental mount of their parent, are
+ * processed in the same pass. The notifications saved are reported to {@link LithoStats}.
+ */
+final class VisibleBoundsChangeCoalescer
+    implements ViewTreeObserver.OnPreDrawListener, View.OnAttachStateChangeListener {
+
+  private static final WeakHashMap<View, VisibleBoundsChangeCoalescer> sCoalescers =
+      new WeakHashMap<>();
+
+  private final View mRootView;
+  private final ViewTreeObserver mObserver;
+  private final List<LithoView> mPendingViews = new ArrayList<>();
+  private final Set<LithoView> mPendingViewSet =
+      Collections.newSetFromMap(new IdentityHashMap<LithoView, Boolean>());
+
+  private VisibleBoundsChangeCoalescer(View rootView, ViewTreeObserver observer) {
+    mRootView = rootView;
+    mObserver = observer;
+  }
+
+  /**
+   * Defers the visible bounds change of the LithoView to the next pre-draw pass of its root view.
+   *
+   * @return false if the change cannot be deferred, and has to be processed right away.
+   */
+  static boolean enqueue(LithoView lithoView) {
+    assertMainThread();
+
+    final View rootView = lithoView.getRootView();
+    VisibleBoundsChangeCoalescer coalescer = sCoalescers.get(rootView);
+    if (coalescer == null) {
+      final ViewTreeObserver observer = rootView.getViewTreeObserver();
+      if (!observer.isAlive()) {
+        return false;
+      }
+
+      coalescer = new VisibleBoundsChangeCoalescer(rootView, observer);
+      sCoalescers.put(rootView, coalescer);
+      observer.addOnPreDrawListener(coalescer);
+      rootView.addOnAttachStateChangeListener(coalescer);
+
+      // Makes sure that a pre-draw pass follows.
+      rootView.invalidate();
+    }
+
+    if (coalescer.mPendingViewSet.add(lithoView)) {
+      coalescer.mPendingViews.add(lithoView);
+    } else {
+      LithoStats.incrementComponentSavedVisibleBoundsChangeCount();
+    }
+
+    return true;
+  }
+
+  @Override
+  public boolean onPreDraw() {
+    removeListeners();
+
+    try {
+      // The list grows with the LithoViews notified while their parents are processed.
+      for (int i = 0; i < mPendingViews.size(); i++) {
+        final LithoView lithoView = mPendingViews.get(i);
+        mPendingViewSet.remove(lithoView);
+        lithoView.processCoalescedVisibleBoundsChange();
+      }
+    } finally {
+      clear();
+    }
+
+    return true;
+  }
+
+  @Override
+  public void onViewAttachedToWindow(View v) {}
+
+  @Override
+  public void onViewDetachedFromWindow(View v) {
+    // No pre-draw pass follows while the root view is detached, so the pending changes are dropped.
+    removeListeners();
+    clear();
+  }
+
+  private void removeListeners() {
+    if (mObserver.isAlive()) {
+      mObserver.removeOnPreDrawListener(this);
+    }
+    mRootView.removeOnAttachStateChangeListener(this);
+  }
+
+  /** Drops the pending changes; changes enqueued from now on go to a new coalescer. */
+  private void clear() {
+    mPendingViews.clear();
+    mPendingViewSet.clear();
+    sCoalescers.remove(mRootView);
+  }
+}
@@ -128,6 +128,17 @@ public class ComponentsConfiguration {
 
   public static boolean canInterruptAndMoveLayoutsBetweenThreads = true;
 
+  /**
+   * When {@code true}, async layouts of a ComponentTree that can interrupt and move layouts between
+   * threads are time sliced while they resolve on the main thread: resolution yields at component
+   * boundaries when {@link #mainThreadLayoutSliceBudgetMs} runs out and continues on the next
+   * frame.
+   */
+  public static boolean timeSliceMainThreadLayouts = false;
+
+  /** The time a time sliced layout can spend resolving on the main thread in one frame. */
+  public static long mainThreadLayoutSliceBudgetMs = 8;
+
   /**
    * field.getAnnotation() has bugs which is causing java crashes in the App, in addition to this we
    * suspect this might be a reason for few other native crashes as well. Adding this flag to verify
@@ -166,6 +177,18 @@ public class ComponentsConfiguration {
 
   public static boolean shouldAddHostViewForRootComponent = false;
 
+  /**
+   * When {@code true} and bg/fg outputs are disabled, hosts that are only needed to hold a
+   * background or foreground are flattened: their drawables are mounted into the enclosing host.
+   */
+  public static boolean enableHostFlattening = false;
+
+  /**
+   * When {@code true}, generated event handler factories return the event handler recorded for the
+   * component in a previous layout if its params did not change, instead of creating a new one.
+   */
+  public static boolean reuseEventHandlers = false;
+
   /**
    * If {@code false} we won't force Component to update when Device Orientation change, and rely on
    * its size change.
@@ -191,6 +214,61 @@ public class ComponentsConfiguration {
 
   public static boolean enableLayoutCaching = false;
 
+  /**
+   * When {@code true}, a ComponentTree with layout caching enabled reuses the resolved subtree of
+   * the previous layout for a child component that is equivalent to its previous version, has the
+   * same tree props, and has no pending state updates in its subtree, instead of resolving it again.
+   */
+  public static boolean reuseUnchangedSubtrees = false;
+
+  /**
+   * When {@code true}, the holder of a nested tree keeps the results of the nested tree measured
+   * with different size specs, so that the nested tree isn't resolved again when Yoga measures it
+   * with size specs it was already measured with.
+   */
+  public static boolean enableNestedTreeResultCache = false;
+
+  /**
+   * When {@code true}, the visible bounds changes of nested LithoViews are collected and processed
+   * once per frame, in a pre-draw pass of their root view, instead of on every notification.
+   */
+  public static boolean coalesceNestedVisibleBoundsChanges = false;
+
+  /**
+   * When {@code true}, the NodeInfos that accessibility delegates are created from are only stored
+   * on the mounted views while accessibility is enabled. When it gets enabled, they are stored on
+   * the views which are already mounted before installing the delegates.
+   */
+  public static boolean installAccessibilityDelegatesLazily = false;
+
+  /**
+   * When {@code true}, ResourceResolver keeps the resolved dimension, color, integer and boolean
+   * resources and attributes in primitive slots of a {@code ResourceTable} instead of boxing them
+   * into the LRU resource cache.
+   *
+   * <p>Theme attribute lookups are cached per theme as well, so they keep returning the cached
+   * values after the theme is modified (e.g. with {@code Theme#applyStyle}) until {@code
+   * ResourceCache#invalidateTheme} is called for it.
+   */
+  public static boolean usePrimitiveResourceTable = false;
+
+  /**
+   * When {@code true}, the layout attributes of components created with a defStyleAttr or
+   * defStyleRes are resolved once per theme and style, instead of walking a TypedArray of them in
+   * every layout. They are resolved again after a configuration change.
+   */
+  public static boolean cacheComponentLayoutStyles = false;
+
+  /**
+   * When {@code true}, the prop values the {@code @OnLoadStyle} method of a component loads for a
+   * defStyleAttr or defStyleRes are cached per theme and style, and set on later instances without
+   * calling it again. The cached values are shared between these instances, so they must not be
+   * mutated, except for Drawables: each instance gets a new Drawable from the cached one's constant
+   * state. They are loaded again after a configuration change or {@code
+   * ResourceCache#invalidateTheme}.
+   */
+  public static boolean cacheLoadedStyles = false;
+
   public static int textureSizeWarningLimit = Integer.MAX_VALUE;
 
   public static int overlappingRenderingViewSizeLimit = Integer.MAX_VALUE;
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.stats;
+
+import com.facebook.infer.annotation.Nullsafe;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with fixed, exponentially sized buckets. Recording a value never
+ * allocates, so it is safe to use in hot paths. Bucket {@code 0} holds values below 1µs and every
+ * following bucket doubles the upper bound of the previous one; the last bucket is open-ended.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class LatencyHistogram {
+
+  public static final int BUCKET_COUNT = 26;
+
+  /** Upper bound of the first bucket is 2^10ns, roughly 1µs. */
+  private static final int FIRST_BUCKET_SHIFT = 10;
+
+  private final AtomicLongArray mCounts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong mSumNanos = new AtomicLong();
+  private final AtomicLong mMaxNanos = new AtomicLong();
+
+  public void record(long nanos) {
+    if (nanos < 0) {
+      return;
+    }
+
+    mCounts.incrementAndGet(getBucketIndex(nanos));
+    mSumNanos.addAndGet(nanos);
+
+    long max = mMaxNanos.get();
+    while (nanos > max && !mMaxNanos.compareAndSet(max, nanos)) {
+      max = mMaxNanos.get();
+    }
+  }
+
+  /** @return a copy of the current values of this histogram. */
+  public Snapshot snapshot() {
+    return snapshot(false);
+  }
+
+  /**
+   * @return a copy of the current values of this histogram, and resets them. Values recorded
+   *     concurrently with the reset are kept either in the snapshot or in the histogram.
+   */
+  public Snapshot snapshotAndReset() {
+    return snapshot(true);
+  }
+
+  private Snapshot snapshot(boolean reset) {
+    final long[] counts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = reset ? mCounts.getAndSet(i, 0) : mCounts.get(i);
+    }
+    final long sum = reset ? mSumNanos.getAndSet(0) : mSumNanos.get();
+    final long max = reset ? mMaxNanos.getAndSet(0) : mMaxNanos.get();
+    return new Snapshot(counts, sum, max);
+  }
+
+  static int getBucketIndex(long nanos) {
+    final int index = 64 - Long.numberOfLeadingZeros(nanos >> FIRST_BUCKET_SHIFT);
+    return Math.min(index, BUCKET_COUNT - 1);
+  }
+
+  /** @return the exclusive upper bound of the given bucket, in nanoseconds. */
+  public static long getBucketUpperBoundNanos(int bucket) {
+    return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << (FIRST_BUCKET_SHIFT + bucket);
+  }
+
+  /** An immutable copy of the values of a {@link LatencyHistogram}. */
+  public static final class Snapshot {
+    private final long[] mCounts;
+    private final long mCount;
+    private final long mSumNanos;
+    private final long mMaxNanos;
+
+    Snapshot(long[] counts, long sumNanos, long maxNanos) {
+      mCounts = counts;
+      mSumNanos = sumNanos;
+      mMaxNanos = maxNanos;
+      long count = 0;
+      for (long bucketCount : counts) {
+        count += bucketCount;
+      }
+      mCount = count;
+    }
+
+    public long getCount() {
+      return mCount;
+    }
+
+    public long getBucketCount(int bucket) {
+      return mCounts[bucket];
+    }
+
+    public long getSumNanos() {
+      return mSumNanos;
+    }
+
+    public long getMaxNanos() {
+      return mMaxNanos;
+    }
+
+    public long getMeanNanos() {
+      return mCount == 0 ? 0 : mSumNanos / mCount;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return an upper estimate of the given percentile, which is the upper bound of the bucket
+     *     that contains it, capped to the max recorded value.
+     */
+    public long getPercentileNanos(double percentile) {
+      if (mCount == 0) {
+        return 0;
+      }
+
+      final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * mCount));
+      long seen = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        seen += mCounts[i];
+        if (seen >= rank) {
+          return Math.min(getBucketUpperBoundNanos(i), mMaxNanos);
+        }
+      }
+      return mMaxNanos;
+    }
+
+    /** @return a snapshot holding the values of both this and the other snapshot. */
+    public Snapshot merge(Snapshot other) {
+      final long[] counts = new long[BUCKET_COUNT];
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        counts[i] = mCounts[i] + other.mCounts[i];
+      }
+      return new Snapshot(
+          counts, mSumNanos + other.mSumNanos, Math.max(mMaxNanos, other.mMaxNanos));
+    }
+  }
+}
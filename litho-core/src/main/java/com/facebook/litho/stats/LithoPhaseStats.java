@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.stats;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records latency histograms of the layout, mount and sections phases, per phase and per component
+ * type. Recording is off by default; when it is on, recording a sample is lock-free and does not
+ * allocate once a component type has been seen. Aggregates can be read with {@link #snapshot()}
+ * and shipped from production with {@link #snapshotAndReset()}.
+ *
+ * <p>Call sites follow the pattern:
+ *
+ * <pre>
+ * final long start = LithoPhaseStats.start();
+ * // work
+ * LithoPhaseStats.record(LithoPhaseStats.PHASE_MEASURE, component.getClass(), start);
+ * </pre>
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class LithoPhaseStats {
+
+  /** Creating (or reconciling) the InternalNode tree of a layout; keyed by root component. */
+  public static final int PHASE_RESOLVE = 0;
+  /** Measuring the resolved tree with Yoga; keyed by root component. */
+  public static final int PHASE_MEASURE = 1;
+  /** Collecting the mountable outputs of a measured tree; keyed by root component. */
+  public static final int PHASE_COLLECT_RESULTS = 2;
+  /** Acquiring mount content and calling onMount; keyed by the mounted component. */
+  public static final int PHASE_MOUNT = 3;
+  /** Calling onBind on mounted content; keyed by the mounted component. */
+  public static final int PHASE_BIND = 4;
+  /** Creating the new section tree and its ChangeSet; keyed by root section. */
+  public static final int PHASE_CHANGESET = 5;
+
+  public static final int PHASE_COUNT = 6;
+
+  @IntDef({
+    PHASE_RESOLVE,
+    PHASE_MEASURE,
+    PHASE_COLLECT_RESULTS,
+    PHASE_MOUNT,
+    PHASE_BIND,
+    PHASE_CHANGESET
+  })
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface Phase {}
+
+  private static final ConcurrentHashMap<Class<?>, LatencyHistogram[]> sHistograms =
+      new ConcurrentHashMap<>();
+
+  private static volatile boolean sIsEnabled;
+
+  private LithoPhaseStats() {}
+
+  public static void setEnabled(boolean isEnabled) {
+    sIsEnabled = isEnabled;
+  }
+
+  public static boolean isEnabled() {
+    return sIsEnabled;
+  }
+
+  /** @return the start timestamp to pass to {@link #record}, or 0 if recording is off. */
+  public static long start() {
+    return sIsEnabled ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Records the time elapsed since {@code startNanos} for the given phase and type. Does nothing
+   * if recording is off, or was off when {@link #start()} was called.
+   */
+  public static void record(@Phase int phase, Class<?> type, long startNanos) {
+    if (startNanos == 0 || !sIsEnabled) {
+      return;
+    }
+
+    final long elapsedNanos = System.nanoTime() - startNanos;
+    LatencyHistogram[] histograms = sHistograms.get(type);
+    if (histograms == null) {
+      histograms = new LatencyHistogram[PHASE_COUNT];
+      for (int i = 0; i < PHASE_COUNT; i++) {
+        histograms[i] = new LatencyHistogram();
+      }
+      final LatencyHistogram[] existing = sHistograms.putIfAbsent(type, histograms);
+      if (existing != null) {
+        histograms = existing;
+      }
+    }
+    histograms[phase].record(elapsedNanos);
+  }
+
+  /** @return a copy of the histograms recorded so far. */
+  public static Snapshot snapshot() {
+    return snapshot(false);
+  }
+
+  /** @return a copy of the histograms recorded so far, and resets them. */
+  public static Snapshot snapshotAndReset() {
+    return snapshot(true);
+  }
+
+  @VisibleForTesting
+  public static void reset() {
+    sHistograms.clear();
+  }
+
+  private static Snapshot snapshot(boolean reset) {
+    final Map<String, LatencyHistogram.Snapshot[]> snapshots = new HashMap<>();
+    for (Map.Entry<Class<?>, LatencyHistogram[]> entry : sHistograms.entrySet()) {
+      final LatencyHistogram[] histograms = entry.getValue();
+      final LatencyHistogram.Snapshot[] phases = new LatencyHistogram.Snapshot[PHASE_COUNT];
+      for (int i = 0; i < PHASE_COUNT; i++) {
+        phases[i] = reset ? histograms[i].snapshotAndReset() : histograms[i].snapshot();
+      }
+      snapshots.put(entry.getKey().getName(), phases);
+    }
+    return new Snapshot(snapshots);
+  }
+
+  public static String phaseToString(@Phase int phase) {
+    switch (phase) {
+      case PHASE_RESOLVE:
+        return "resolve";
+      case PHASE_MEASURE:
+        return "measure";
+      case PHASE_COLLECT_RESULTS:
+        return "collect_results";
+      case PHASE_MOUNT:
+        return "mount";
+      case PHASE_BIND:
+        return "bind";
+      case PHASE_CHANGESET:
+        return "changeset";
+      default:
+        throw new IllegalArgumentException("Unknown phase " + phase);
+    }
+  }
+
+  /** An immutable copy of the recorded histograms, keyed by component type name. */
+  public static final class Snapshot {
+    private final Map<String, LatencyHistogram.Snapshot[]> mHistograms;
+
+    Snapshot(Map<String, LatencyHistogram.Snapshot[]> histograms) {
+      mHistograms = histograms;
+    }
+
+    /** @return the fully qualified names of all the types with recorded samples. */
+    public Iterable<String> getTypes() {
+      return Collections.unmodifiableSet(mHistograms.keySet());
+    }
+
+    /** @return the histogram of the given phase for the given type, or null if none exists. */
+    public @Nullable LatencyHistogram.Snapshot get(@Phase int phase, String type) {
+      final LatencyHistogram.Snapshot[] phases = mHistograms.get(type);
+      return phases != null && phases[phase].getCount() > 0 ? phases[phase] : null;
+    }
+
+    /** @return the histogram of the given phase, aggregated across all types. */
+    public LatencyHistogram.Snapshot getTotal(@Phase int phase) {
+      LatencyHistogram.Snapshot total =
+          new LatencyHistogram.Snapshot(new long[LatencyHistogram.BUCKET_COUNT], 0, 0);
+      for (LatencyHistogram.Snapshot[] phases : mHistograms.values()) {
+        total = total.merge(phases[phase]);
+      }
+      return total;
+    }
+  }
+}
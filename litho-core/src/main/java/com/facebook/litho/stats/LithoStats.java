@@ -29,6 +29,8 @@ public final class LithoStats {
   private static final AtomicLong sComponentCalculateLayoutCount = new AtomicLong(0);
   private static final AtomicLong sComponentCalculateLayoutOnUICount = new AtomicLong(0);
   private static final AtomicLong sComponentMountCount = new AtomicLong(0);
+  private static final AtomicLong sComponentNestedTreeReResolutionCount = new AtomicLong(0);
+  private static final AtomicLong sComponentSavedVisibleBoundsChangeCount = new AtomicLong(0);
 
   private static final AtomicLong sSectionAppliedStateUpdateCount = new AtomicLong(0);
   private static final AtomicLong sSectionTriggeredSyncStateUpdateCount = new AtomicLong(0);
@@ -81,6 +83,23 @@ public final class LithoStats {
     return sComponentMountCount.get();
   }
 
+  /**
+   * @return the global count of all nested trees which were resolved again for a holder that had
+   *     already resolved its nested tree with other size specs in the same layout.
+   */
+  public static long getComponentNestedTreeReResolutionCount() {
+    return sComponentNestedTreeReResolutionCount.get();
+  }
+
+  /**
+   * @return the global count of all visible bounds change notifications of nested LithoViews which
+   *     were coalesced with another one in the same frame, or skipped because their visible rect
+   *     didn't change.
+   */
+  public static long getComponentSavedVisibleBoundsChangeCount() {
+    return sComponentSavedVisibleBoundsChangeCount.get();
+  }
+
   /**
    * @return the global count of all applied state updates (async, lazy and sync) in Litho sections
    *     that have happened in the process.
@@ -180,6 +199,24 @@ public final class LithoStats {
     return sComponentMountCount.addAndGet(1);
   }
 
+  /**
+   * Increment the count of nested tree re-resolutions (by one).
+   *
+   * @return The new total number of nested tree re-resolutions recorded.
+   */
+  public static long incrementComponentNestedTreeReResolutionCount() {
+    return sComponentNestedTreeReResolutionCount.addAndGet(1);
+  }
+
+  /**
+   * Increment the count of saved visible bounds change notifications (by one).
+   *
+   * @return The new total number of saved visible bounds change notifications recorded.
+   */
+  public static long incrementComponentSavedVisibleBoundsChangeCount() {
+    return sComponentSavedVisibleBoundsChangeCount.addAndGet(1);
+  }
+
   /**
    * Increment the count of all applied state updates in Litho sections by {@param num}.
    *
@@ -235,6 +272,8 @@ public final class LithoStats {
     sComponentCalculateLayoutCount.set(0);
     sComponentCalculateLayoutOnUICount.set(0);
     sComponentMountCount.set(0);
+    sComponentNestedTreeReResolutionCount.set(0);
+    sComponentSavedVisibleBoundsChangeCount.set(0);
     sSectionAppliedStateUpdateCount.set(0);
     sSectionTriggeredSyncStateUpdateCount.set(0);
     sSectionTriggeredAsyncStateUpdateCount.set(0);
@@ -18,6 +18,8 @@ package com.facebook.litho;
 
 import static android.content.res.Configuration.ORIENTATION_PORTRAIT;
 import static android.graphics.Color.BLACK;
+import static android.view.MotionEvent.ACTION_DOWN;
+import static android.view.MotionEvent.ACTION_MOVE;
 import static android.view.MotionEvent.obtain;
 import static android.view.View.GONE;
 import static android.view.View.IMPORTANT_FOR_ACCESSIBILITY_AUTO;
@@ -210,6 +212,8 @@ public class ComponentHostTest {
     // The n.4 is the first parsed, and returning false means the n.2 will be parsed too.
     TouchableDrawable touchableDrawableOnItem2 = spy(new TouchableDrawable());
     TouchableDrawable touchableDrawableOnItem4 = spy(new TouchableDrawable());
+    touchableDrawableOnItem2.setBounds(0, 0, 10, 10);
+    touchableDrawableOnItem4.setBounds(0, 0, 10, 10);
     when(touchableDrawableOnItem2.shouldHandleTouchEvent((MotionEvent) any())).thenReturn(true);
     when(touchableDrawableOnItem4.shouldHandleTouchEvent((MotionEvent) any())).thenReturn(false);
 
@@ -242,7 +246,9 @@ public class ComponentHostTest {
     MountItem mountItem2 =
         mount(1, new TouchableDrawable(), LayoutOutput.LAYOUT_FLAG_DISABLE_TOUCHABLE);
     MountItem mountItem3 = mount(2, new View(mContext.getAndroidContext()));
-    MountItem mountItem4 = mount(4, spy(new TouchableDrawable()));
+    TouchableDrawable touchableDrawableOnItem4 = spy(new TouchableDrawable());
+    touchableDrawableOnItem4.setBounds(0, 0, 10, 10);
+    MountItem mountItem4 = mount(4, touchableDrawableOnItem4);
     MountItem mountItem5 =
         mount(5, new TouchableDrawable(), LayoutOutput.LAYOUT_FLAG_DISABLE_TOUCHABLE);
     MountItem mountItem6 = mount(7, new View(mContext.getAndroidContext()));
@@ -264,6 +270,44 @@ public class ComponentHostTest {
     verify(touchableDrawable, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
   }
 
+  @Test
+  public void testOnTouchDownOnlyOffersTouchablesUnderPointer() {
+    TouchableDrawable left = spy(new TouchableDrawable());
+    left.setBounds(0, 0, 10, 10);
+    TouchableDrawable right = spy(new TouchableDrawable());
+    right.setBounds(10, 0, 20, 10);
+
+    mount(0, left);
+    mount(1, right);
+
+    assertThat(mHost.onTouchEvent(obtain(0, 0, ACTION_DOWN, 5, 5, 0))).isTrue();
+    verify(left, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
+    verify(right, never()).shouldHandleTouchEvent((MotionEvent) any());
+
+    // Moving a touchable is picked up by the next down event.
+    right.setBounds(0, 0, 10, 10);
+
+    assertThat(mHost.onTouchEvent(obtain(0, 0, ACTION_DOWN, 5, 5, 0))).isTrue();
+    verify(right, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
+    verify(left, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
+
+    // Events after the down keep being offered to every touchable.
+    assertThat(mHost.onTouchEvent(obtain(0, 0, ACTION_MOVE, 50, 50, 0))).isTrue();
+    verify(right, times(2)).onTouchEvent((MotionEvent) any(), (View) any());
+  }
+
+  @Test
+  public void testOnTouchDownSkipsUnmountedTouchables() {
+    TouchableDrawable touchable = spy(new TouchableDrawable());
+    touchable.setBounds(0, 0, 10, 10);
+
+    MountItem mountItem = mount(0, touchable);
+    unmount(0, mountItem);
+
+    assertThat(mHost.onTouchEvent(obtain(0, 0, ACTION_DOWN, 5, 5, 0))).isFalse();
+    verify(touchable, never()).shouldHandleTouchEvent((MotionEvent) any());
+  }
+
   @Test
   public void testMoveItem() {
     MountItem mountItem1 = mount(1, new ColorDrawable());
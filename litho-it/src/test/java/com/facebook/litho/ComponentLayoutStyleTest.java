@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.yoga.YogaEdge.BOTTOM;
+import static com.facebook.yoga.YogaEdge.LEFT;
+import static com.facebook.yoga.YogaEdge.RIGHT;
+import static com.facebook.yoga.YogaEdge.TOP;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.config.TempComponentsConfigurations;
+import com.facebook.litho.it.R;
+import com.facebook.litho.testing.LegacyLithoViewRule;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.yoga.YogaNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class ComponentLayoutStyleTest {
+
+  public @Rule LegacyLithoViewRule mLegacyLithoViewRule = new LegacyLithoViewRule();
+
+  private boolean mDefaultCacheComponentLayoutStyles;
+  private ResourceCache mResourceCache;
+
+  @Before
+  public void setup() {
+    TempComponentsConfigurations.setShouldAddHostViewForRootComponent(true);
+    mDefaultCacheComponentLayoutStyles = ComponentsConfiguration.cacheComponentLayoutStyles;
+    mResourceCache =
+        ResourceCache.getLatest(getApplicationContext().getResources().getConfiguration());
+  }
+
+  @After
+  public void restoreConfiguration() {
+    TempComponentsConfigurations.restoreShouldAddHostViewForRootComponent();
+    ComponentsConfiguration.cacheComponentLayoutStyles = mDefaultCacheComponentLayoutStyles;
+  }
+
+  @Test
+  public void testAppliesResolvedLayoutProps() {
+    final ComponentLayoutStyle style =
+        ComponentLayoutStyle.create(
+            getApplicationContext(), 0, R.style.ApplyStylesTest_PaddingLeftTopRightBottom);
+    final YogaNode node = NodeConfig.createYogaNode();
+
+    style.applyLayoutProps(new YogaLayoutProps(node));
+
+    assertThat(node.getPadding(LEFT).value).isEqualTo(10f);
+    assertThat(node.getPadding(TOP).value).isEqualTo(20f);
+    assertThat(node.getPadding(RIGHT).value).isEqualTo(30f);
+    assertThat(node.getPadding(BOTTOM).value).isEqualTo(40f);
+  }
+
+  @Test
+  public void testExplicitPaddingOverridesPaddingFromBackground() {
+    final Context context = getApplicationContext();
+    final ComponentContext c = new ComponentContext(context);
+    final int styleRes = R.style.ApplyStylesTest_BackgroundWithPaddingAndPadding;
+    final YogaNode styledNode = NodeConfig.createYogaNode();
+    final YogaNode attributedNode = NodeConfig.createYogaNode();
+
+    new DefaultInternalNode(c, styledNode)
+        .applyStyle(ComponentLayoutStyle.create(context, 0, styleRes));
+    new DefaultInternalNode(c, attributedNode).applyAttributes(context, 0, styleRes);
+
+    assertThat(styledNode.getPadding(LEFT).value).isEqualTo(10f);
+    assertThat(styledNode.getPadding(LEFT)).isEqualTo(attributedNode.getPadding(LEFT));
+  }
+
+  @Test
+  public void testCachesStylePerThemeAndStyle() {
+    final Context context = getApplicationContext();
+    final Context themedContext = new ContextThemeWrapper(context, R.style.TestTheme);
+    final ComponentLayoutStyle style =
+        mResourceCache.getComponentLayoutStyle(context, 0, R.style.ApplyStylesTest_WidthHeight);
+
+    assertThat(
+            mResourceCache.getComponentLayoutStyle(context, 0, R.style.ApplyStylesTest_WidthHeight))
+        .isSameAs(style);
+    assertThat(
+            mResourceCache.getComponentLayoutStyle(
+                context, 0, R.style.ApplyStylesTest_MinWidthHeight))
+        .isNotSameAs(style);
+    assertThat(
+            mResourceCache.getComponentLayoutStyle(
+                themedContext, 0, R.style.ApplyStylesTest_WidthHeight))
+        .isNotSameAs(style);
+  }
+
+  @Test
+  public void testInvalidateThemeDropsStyles() {
+    final Context context = getApplicationContext();
+    final ComponentLayoutStyle style =
+        mResourceCache.getComponentLayoutStyle(context, 0, R.style.ApplyStylesTest_WidthHeight);
+
+    mResourceCache.invalidateTheme(context.getTheme());
+
+    assertThat(
+            mResourceCache.getComponentLayoutStyle(context, 0, R.style.ApplyStylesTest_WidthHeight))
+        .isNotSameAs(style);
+  }
+
+  @Test
+  public void testCachedStyleIsAppliedInLayout() {
+    ComponentsConfiguration.cacheComponentLayoutStyles = true;
+
+    for (int i = 0; i < 2; i++) {
+      mLegacyLithoViewRule
+          .setSizeSpecs(
+              View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED),
+              View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED))
+          .setRoot(
+              Column.create(
+                      mLegacyLithoViewRule.getContext(), 0, R.style.ApplyStylesTest_WidthHeight)
+                  .build())
+          .measure()
+          .layout()
+          .attachToWindow();
+
+      assertThat(mLegacyLithoViewRule.getLithoView().getWidth()).isEqualTo(37);
+      assertThat(mLegacyLithoViewRule.getLithoView().getHeight()).isEqualTo(100);
+    }
+  }
+}
@@ -21,6 +21,7 @@ import static org.assertj.core.api.Java6Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.testing.Whitebox;
 import com.facebook.litho.testing.testrunner.LithoTestRunner;
 import org.junit.Before;
@@ -116,4 +117,67 @@ public class ComponentTreeEventHandlerTest {
 
     assertThat(eventHandlersController.getEventHandlers().size()).isEqualTo(1);
   }
+
+  @Test
+  public void testReusableEventHandlerIsRecordedEventHandler() {
+    Component component = mock(Component.class);
+    final String componentGlobalKey = "component1";
+    ComponentTree componentTree = ComponentTree.create(mContext, component).build();
+    ComponentContext scopedContext =
+        ComponentContext.withComponentScope(
+            mLayoutStateContext,
+            ComponentContext.withComponentTree(mContext, componentTree),
+            component,
+            componentGlobalKey);
+    Whitebox.setInternalState(component, "mGlobalKey", componentGlobalKey);
+    when(component.getScopedContext()).thenReturn(scopedContext);
+
+    EventHandler eventHandler = scopedContext.newEventHandler(1, new Object[] {scopedContext, 7});
+    componentTree.recordEventHandler(scopedContext, eventHandler);
+    componentTree
+        .getEventHandlersController()
+        .bindEventHandlers(scopedContext, component, componentGlobalKey);
+
+    final boolean reuseEventHandlers = ComponentsConfiguration.reuseEventHandlers;
+    ComponentsConfiguration.reuseEventHandlers = true;
+    try {
+      assertThat(Component.getReusableEventHandler(component.getClass(), scopedContext, 1))
+          .isSameAs(eventHandler);
+      assertThat(Component.getReusableEventHandler(component.getClass(), scopedContext, 2))
+          .isNull();
+      assertThat(Component.getReusableEventHandler(Row.class, scopedContext, 1)).isNull();
+      assertThat(Component.getReusableEventHandler(component.getClass(), mContext, 1)).isNull();
+    } finally {
+      ComponentsConfiguration.reuseEventHandlers = reuseEventHandlers;
+    }
+  }
+
+  @Test
+  public void testReusableEventHandlerWhenReuseDisabled() {
+    Component component = mock(Component.class);
+    final String componentGlobalKey = "component1";
+    ComponentTree componentTree = ComponentTree.create(mContext, component).build();
+    ComponentContext scopedContext =
+        ComponentContext.withComponentScope(
+            mLayoutStateContext,
+            ComponentContext.withComponentTree(mContext, componentTree),
+            component,
+            componentGlobalKey);
+    Whitebox.setInternalState(component, "mGlobalKey", componentGlobalKey);
+    when(component.getScopedContext()).thenReturn(scopedContext);
+
+    componentTree.recordEventHandler(scopedContext, scopedContext.newEventHandler(1));
+    componentTree
+        .getEventHandlersController()
+        .bindEventHandlers(scopedContext, component, componentGlobalKey);
+
+    final boolean reuseEventHandlers = ComponentsConfiguration.reuseEventHandlers;
+    ComponentsConfiguration.reuseEventHandlers = false;
+    try {
+      assertThat(Component.getReusableEventHandler(component.getClass(), scopedContext, 1))
+          .isNull();
+    } finally {
+      ComponentsConfiguration.reuseEventHandlers = reuseEventHandlers;
+    }
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class DiffNodeTreeTest {
+
+  @Test
+  public void sealedTree_keepsChildrenInOrder() {
+    final DiffNodeTree tree = new DiffNodeTree();
+    final DiffNodeTree.Node root = tree.addNode(DiffNodeTree.NO_NODE);
+    final DiffNodeTree.Node first = tree.addNode(root.getIndex());
+    final DiffNodeTree.Node firstChild = tree.addNode(first.getIndex());
+    final DiffNodeTree.Node second = tree.addNode(root.getIndex());
+    final DiffNodeTree.Node third = tree.addNode(root.getIndex());
+    tree.seal();
+
+    assertThat(tree.isSealed()).isTrue();
+    assertThat(tree.getSize()).isEqualTo(5);
+    assertThat(root.getChildCount()).isEqualTo(3);
+    assertThat(root.getChildAt(0)).isEqualTo(first);
+    assertThat(root.getChildAt(1)).isEqualTo(second);
+    assertThat(root.getChildAt(2)).isEqualTo(third);
+    assertThat(first.getChildCount()).isEqualTo(1);
+    assertThat(first.getChildAt(0)).isEqualTo(firstChild);
+    assertThat(second.getChildCount()).isEqualTo(0);
+    assertThat(third.getChildCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void nodes_storeMeasurementsAndOutputs() {
+    final DiffNodeTree tree = new DiffNodeTree();
+    final DiffNodeTree.Node root = tree.addNode(DiffNodeTree.NO_NODE);
+    final DiffNodeTree.Node child = tree.addNode(root.getIndex());
+    final LithoRenderUnit content = mock(LithoRenderUnit.class);
+
+    assertThat(child.getLastWidthSpec()).isEqualTo(DiffNode.UNSPECIFIED);
+    assertThat(child.getLastMeasuredHeight()).isEqualTo(DiffNode.UNSPECIFIED);
+
+    child.setLastWidthSpec(100);
+    child.setLastHeightSpec(200);
+    child.setLastMeasuredWidth(10f);
+    child.setLastMeasuredHeight(20f);
+    child.setContentOutput(content);
+    root.setHostOutput(null);
+    tree.seal();
+
+    final DiffNode view = root.getChildAt(0);
+    assertThat(view.getLastWidthSpec()).isEqualTo(100);
+    assertThat(view.getLastHeightSpec()).isEqualTo(200);
+    assertThat(view.getLastMeasuredWidth()).isEqualTo(10f);
+    assertThat(view.getLastMeasuredHeight()).isEqualTo(20f);
+    assertThat(view.getContentOutput()).isSameAs(content);
+    assertThat(root.getContentOutput()).isNull();
+    assertThat(root.getHostOutput()).isNull();
+    assertThat(root.getBorderOutput()).isNull();
+  }
+
+  @Test
+  public void tree_growsPastInitialCapacity() {
+    final DiffNodeTree tree = new DiffNodeTree();
+    final DiffNodeTree.Node root = tree.addNode(DiffNodeTree.NO_NODE);
+    for (int i = 0; i < 100; i++) {
+      tree.addNode(root.getIndex()).setLastWidthSpec(i);
+    }
+    tree.seal();
+
+    assertThat(root.getChildCount()).isEqualTo(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(root.getChildAt(i).getLastWidthSpec()).isEqualTo(i);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void addNode_afterSeal_throws() {
+    final DiffNodeTree tree = new DiffNodeTree();
+    tree.addNode(DiffNodeTree.NO_NODE);
+    tree.seal();
+
+    tree.addNode(0);
+  }
+}
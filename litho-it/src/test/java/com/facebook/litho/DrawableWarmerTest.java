@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.LayoutState.calculate;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.Nullable;
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.TextureWarmerTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+@Config(shadows = TextureWarmerTest.ShadowPicture.class)
+@RunWith(LithoTestRunner.class)
+public class DrawableWarmerTest {
+
+  private ComponentContext mContext;
+  private DrawableWarmer mWarmer;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mWarmer = new DrawableWarmer();
+  }
+
+  @Test
+  public void testBackgroundIsDrawnOnceAheadOfMount() {
+    final CountingDrawable background = new CountingDrawable();
+    final LayoutState layoutState =
+        calculateLayoutState(
+            Column.create(mContext)
+                .child(TestDrawableComponent.create(mContext).background(background))
+                .build());
+
+    mWarmer.warm(layoutState);
+    mWarmer.warm(layoutState);
+
+    assertThat(background.mState.mDrawCount).isEqualTo(1);
+    assertThat(background.mDrawCount).isEqualTo(0);
+    assertThat(background.getBounds().isEmpty()).isTrue();
+    assertThat(mWarmer.getStats().getWarmedCount()).isEqualTo(1);
+    assertThat(mWarmer.getStats().getSkippedCount()).isGreaterThanOrEqualTo(1);
+  }
+
+  @Test
+  public void testRegisteredPreparerDrawablesAreWarmed() {
+    final CountingDrawable extra = new CountingDrawable();
+    mWarmer.registerPreparer(
+        TestDrawableComponent.class,
+        (component, width, height, outDrawables) -> outDrawables.add(extra));
+
+    mWarmer.warm(
+        calculateLayoutState(
+            Column.create(mContext).child(TestDrawableComponent.create(mContext)).build()));
+
+    assertThat(extra.mState.mDrawCount).isEqualTo(1);
+  }
+
+  @Test
+  public void testMountedDrawablesAreSkipped() {
+    final CountingDrawable background = new CountingDrawable();
+    background.setCallback(new NoOpCallback());
+
+    mWarmer.warm(
+        calculateLayoutState(
+            Column.create(mContext)
+                .child(TestDrawableComponent.create(mContext).background(background))
+                .build()));
+
+    assertThat(background.mState.mDrawCount).isEqualTo(0);
+  }
+
+  @Test
+  public void testDrawableMountedDuringWarmUpIsNotModified() {
+    final CountingDrawable background = new CountingDrawable();
+    final CountingCallback callback = new CountingCallback();
+    // Mounts the drawable while its copy is being drawn, as the main thread could.
+    background.mState.mOnDraw =
+        () -> {
+          background.setCallback(callback);
+          background.setBounds(10, 10, 50, 50);
+        };
+
+    mWarmer.warm(
+        calculateLayoutState(
+            Column.create(mContext)
+                .child(TestDrawableComponent.create(mContext).background(background))
+                .build()));
+
+    assertThat(background.mState.mDrawCount).isEqualTo(1);
+    assertThat(background.getBounds()).isEqualTo(new Rect(10, 10, 50, 50));
+    assertThat(callback.mInvalidateCount).isEqualTo(0);
+  }
+
+  @Test
+  public void testLockIsNotHeldWhileDrawing() {
+    final CountingDrawable background = new CountingDrawable();
+    final boolean[] holdsLock = new boolean[1];
+    background.mState.mOnDraw = () -> holdsLock[0] = Thread.holdsLock(mWarmer);
+
+    mWarmer.warm(
+        calculateLayoutState(
+            Column.create(mContext)
+                .child(TestDrawableComponent.create(mContext).background(background))
+                .build()));
+
+    assertThat(background.mState.mDrawCount).isEqualTo(1);
+    assertThat(holdsLock[0]).isFalse();
+  }
+
+  @Test
+  public void testDrawablesWithoutConstantStateAreSkipped() {
+    final CountingDrawable background = new CountingDrawable();
+    background.mHasConstantState = false;
+
+    mWarmer.warm(
+        calculateLayoutState(
+            Column.create(mContext)
+                .child(TestDrawableComponent.create(mContext).background(background))
+                .build()));
+
+    assertThat(background.mState.mDrawCount).isEqualTo(0);
+    assertThat(background.mDrawCount).isEqualTo(0);
+  }
+
+  private LayoutState calculateLayoutState(Component component) {
+    return calculate(
+        mContext,
+        component,
+        null,
+        new StateHandler(),
+        -1,
+        makeSizeSpec(100, EXACTLY),
+        makeSizeSpec(100, EXACTLY),
+        -1,
+        false,
+        null,
+        LayoutState.CalculateLayoutSource.TEST,
+        null);
+  }
+
+  private static class CountingDrawable extends ColorDrawable {
+
+    final CountingState mState;
+    boolean mHasConstantState = true;
+    int mDrawCount;
+
+    CountingDrawable() {
+      this(new CountingState());
+    }
+
+    private CountingDrawable(CountingState state) {
+      super(Color.RED);
+      mState = state;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+      mDrawCount++;
+      mState.mDrawCount++;
+      if (mState.mOnDraw != null) {
+        mState.mOnDraw.run();
+      }
+    }
+
+    @Override
+    public @Nullable ConstantState getConstantState() {
+      return mHasConstantState ? mState : null;
+    }
+  }
+
+  /** Shared by a {@link CountingDrawable} and its copies, counting the draws of all of them. */
+  private static class CountingState extends Drawable.ConstantState {
+
+    int mDrawCount;
+    @Nullable Runnable mOnDraw;
+
+    @Override
+    public Drawable newDrawable() {
+      return new CountingDrawable(this);
+    }
+
+    @Override
+    public int getChangingConfigurations() {
+      return 0;
+    }
+  }
+
+  private static class CountingCallback extends NoOpCallback {
+
+    int mInvalidateCount;
+
+    @Override
+    public void invalidateDrawable(Drawable who) {
+      mInvalidateCount++;
+    }
+  }
+
+  private static class NoOpCallback implements Drawable.Callback {
+
+    @Override
+    public void invalidateDrawable(Drawable who) {}
+
+    @Override
+    public void scheduleDrawable(Drawable who, Runnable what, long when) {}
+
+    @Override
+    public void unscheduleDrawable(Drawable who, Runnable what) {}
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import android.content.Context;
+import android.view.View;
+import com.facebook.litho.testing.TestViewComponent;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class DynamicPropsManagerTest {
+
+  private static final int BINDING_COUNT = 500;
+  private static final int FRAME_COUNT = 60;
+
+  /** Leaves room for the bookkeeping of the allocation counter itself. */
+  private static final long ALLOCATION_TOLERANCE_BYTES = 4 * 1024;
+
+  private ComponentContext mContext;
+  private DynamicPropsManager mManager;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mManager = new DynamicPropsManager();
+  }
+
+  @Test
+  public void testFloatDynamicValueUpdatesBoundContent() {
+    final FloatDynamicValue alpha = new FloatDynamicValue(0.5f);
+    final FloatDynamicValue translationX = new FloatDynamicValue(10f);
+    final Component component =
+        TestViewComponent.create(mContext).alpha(alpha).translationX(translationX).build();
+    final RecordingView view = new RecordingView(mContext.getAndroidContext());
+
+    mManager.onBindComponentToContent(component, null, view);
+    assertThat(view.mAlpha).isEqualTo(0.5f);
+    assertThat(view.mTranslationX).isEqualTo(10f);
+
+    alpha.setFloat(0.25f);
+    translationX.set(20f);
+    assertThat(view.mAlpha).isEqualTo(0.25f);
+    assertThat(view.mTranslationX).isEqualTo(20f);
+    assertThat(alpha.get()).isEqualTo(0.25f);
+
+    mManager.onUnbindComponent(component, view);
+    assertThat(mManager.hasCachedContent(component)).isFalse();
+    assertThat(alpha.getListenerCount()).isEqualTo(0);
+    assertThat(translationX.getListenerCount()).isEqualTo(0);
+
+    alpha.setFloat(0.75f);
+    assertThat(view.mAlpha).isEqualTo(1f);
+  }
+
+  @Test
+  public void testSharedDynamicValueSubscribesOnceAndUnsubscribesWithLastBinding() {
+    final FloatDynamicValue alpha = new FloatDynamicValue(0.5f);
+    final Component first = TestViewComponent.create(mContext).alpha(alpha).build();
+    final Component second = TestViewComponent.create(mContext).alpha(alpha).build();
+    final RecordingView firstView = new RecordingView(mContext.getAndroidContext());
+    final RecordingView secondView = new RecordingView(mContext.getAndroidContext());
+
+    mManager.onBindComponentToContent(first, null, firstView);
+    mManager.onBindComponentToContent(second, null, secondView);
+    assertThat(alpha.getListenerCount()).isEqualTo(1);
+
+    mManager.onUnbindComponent(first, firstView);
+    alpha.setFloat(0.3f);
+    assertThat(firstView.mAlpha).isEqualTo(1f);
+    assertThat(secondView.mAlpha).isEqualTo(0.3f);
+    assertThat(alpha.getListenerCount()).isEqualTo(1);
+
+    mManager.onUnbindComponent(second, secondView);
+    assertThat(alpha.getListenerCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testUpdatingAnimatedBindingsDoesNotAllocate() {
+    final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+    final com.sun.management.ThreadMXBean allocationBean =
+        (com.sun.management.ThreadMXBean) threadBean;
+    assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+    allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+    final FloatDynamicValue[] values = new FloatDynamicValue[BINDING_COUNT];
+    final RecordingView[] views = new RecordingView[BINDING_COUNT];
+    for (int i = 0; i < BINDING_COUNT; i++) {
+      values[i] = new FloatDynamicValue(0f);
+      views[i] = new RecordingView(mContext.getAndroidContext());
+      mManager.onBindComponentToContent(
+          TestViewComponent.create(mContext).alpha(values[i]).build(), null, views[i]);
+    }
+
+    // Warm up so class loading and first-call work isn't attributed to the measured frames.
+    animate(values, 0);
+
+    final long threadId = Thread.currentThread().getId();
+    final long before = allocationBean.getThreadAllocatedBytes(threadId);
+    animate(values, 1);
+    final long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+
+    assertThat(allocated).isLessThan(ALLOCATION_TOLERANCE_BYTES);
+    for (int i = 0; i < BINDING_COUNT; i++) {
+      assertThat(views[i].mAlpha).isEqualTo(values[i].getFloat());
+    }
+  }
+
+  private static void animate(FloatDynamicValue[] values, int round) {
+    for (int frame = 0; frame < FRAME_COUNT; frame++) {
+      final float progress = (round * FRAME_COUNT + frame + 1) / (float) (2 * FRAME_COUNT);
+      for (int i = 0; i < values.length; i++) {
+        values[i].setFloat(progress);
+      }
+    }
+  }
+
+  /** Records the animated properties without going through the framework's RenderNode. */
+  private static class RecordingView extends View {
+
+    float mAlpha = 1f;
+    float mTranslationX;
+
+    RecordingView(Context context) {
+      super(context);
+    }
+
+    @Override
+    public void setAlpha(float alpha) {
+      mAlpha = alpha;
+    }
+
+    @Override
+    public float getAlpha() {
+      return mAlpha;
+    }
+
+    @Override
+    public void setTranslationX(float translationX) {
+      mTranslationX = translationX;
+    }
+
+    @Override
+    public float getTranslationX() {
+      return mTranslationX;
+    }
+  }
+}
@@ -94,4 +94,43 @@ public class EventHandlerTest {
     assertThat(eventHandler1.isEquivalentTo(eventHandler2)).isTrue();
     assertThat(eventHandler2.isEquivalentTo(eventHandler1)).isTrue();
   }
+
+  @Test
+  public void testParamEqualsWithObjectParams() {
+    EventHandler eventHandler =
+        new EventHandler(mHasEventDispatcher, 1, new Object[] {1, "text", null});
+
+    assertThat(EventHandler.paramEquals(eventHandler, 1, "text")).isTrue();
+    assertThat(EventHandler.paramEquals(eventHandler, 1, "other")).isFalse();
+    assertThat(EventHandler.paramEquals(eventHandler, 2, (Object) null)).isTrue();
+    assertThat(EventHandler.paramEquals(eventHandler, 1, (Object) null)).isFalse();
+    assertThat(EventHandler.paramEquals(eventHandler, 3, "text")).isFalse();
+  }
+
+  @Test
+  public void testParamEqualsWithPrimitiveParams() {
+    EventHandler eventHandler =
+        new EventHandler(
+            mHasEventDispatcher, 1, new Object[] {1, 2, 3L, true, 'c', 1.5f, Double.NaN});
+
+    assertThat(EventHandler.paramEquals(eventHandler, 1, 2)).isTrue();
+    assertThat(EventHandler.paramEquals(eventHandler, 1, 3)).isFalse();
+    assertThat(EventHandler.paramEquals(eventHandler, 1, 2L)).isFalse();
+    assertThat(EventHandler.paramEquals(eventHandler, 2, 3L)).isTrue();
+    assertThat(EventHandler.paramEquals(eventHandler, 3, true)).isTrue();
+    assertThat(EventHandler.paramEquals(eventHandler, 3, false)).isFalse();
+    assertThat(EventHandler.paramEquals(eventHandler, 4, 'c')).isTrue();
+    assertThat(EventHandler.paramEquals(eventHandler, 5, 1.5f)).isTrue();
+    assertThat(EventHandler.paramEquals(eventHandler, 5, 1.5d)).isFalse();
+    assertThat(EventHandler.paramEquals(eventHandler, 6, Double.NaN)).isTrue();
+    assertThat(EventHandler.paramEquals(eventHandler, 7, 0)).isFalse();
+  }
+
+  @Test
+  public void testParamEqualsWithNullParams() {
+    EventHandler eventHandler = new EventHandler(mHasEventDispatcher, 1);
+
+    assertThat(EventHandler.paramEquals(eventHandler, 1, 0)).isFalse();
+    assertThat(EventHandler.paramEquals(eventHandler, 1, (Object) null)).isFalse();
+  }
 }
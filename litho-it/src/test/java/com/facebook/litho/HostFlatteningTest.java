@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.LayoutOutput.getLayoutOutput;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Color;
+import com.facebook.litho.config.TempComponentsConfigurations;
+import com.facebook.litho.testing.LegacyLithoViewRule;
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.inlinelayoutspec.InlineLayoutSpec;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class HostFlatteningTest {
+
+  public final @Rule LegacyLithoViewRule mLegacyLithoViewRule = new LegacyLithoViewRule();
+
+  @Before
+  public void setup() {
+    TempComponentsConfigurations.setShouldAddHostViewForRootComponent(true);
+  }
+
+  @After
+  public void restoreConfiguration() {
+    TempComponentsConfigurations.restoreShouldAddHostViewForRootComponent();
+    TempComponentsConfigurations.restoreEnableHostFlattening();
+  }
+
+  @Test
+  public void flatteningEnabled_hostWithOnlyBackground_isFlattened() {
+    TempComponentsConfigurations.setEnableHostFlattening(true);
+
+    final LayoutState layoutState = calculateLayoutState(createBackgroundOnlyComponent());
+
+    assertThat(layoutState.getFlattenedHostCount()).isEqualTo(1);
+    // Only the root host and the host of the root component are left.
+    assertThat(countHostOutputs(layoutState)).isEqualTo(2);
+    assertThat(countDrawableComponentOutputs(layoutState)).isEqualTo(1);
+  }
+
+  @Test
+  public void flatteningDisabled_hostWithOnlyBackground_isKept() {
+    TempComponentsConfigurations.setEnableHostFlattening(false);
+
+    final LayoutState layoutState = calculateLayoutState(createBackgroundOnlyComponent());
+
+    assertThat(layoutState.getFlattenedHostCount()).isEqualTo(0);
+    assertThat(countHostOutputs(layoutState)).isEqualTo(3);
+    assertThat(countDrawableComponentOutputs(layoutState)).isEqualTo(0);
+  }
+
+  @Test
+  public void flatteningEnabled_hostWithClickHandler_isKept() {
+    TempComponentsConfigurations.setEnableHostFlattening(true);
+
+    final Component component =
+        new InlineLayoutSpec() {
+          @Override
+          protected Component onCreateLayout(ComponentContext c) {
+            return Column.create(c)
+                .child(
+                    Row.create(c)
+                        .backgroundColor(Color.RED)
+                        .clickHandler(c.newEventHandler(1))
+                        .child(TestDrawableComponent.create(c).widthPx(10).heightPx(10)))
+                .build();
+          }
+        };
+
+    final LayoutState layoutState = calculateLayoutState(component);
+
+    assertThat(layoutState.getFlattenedHostCount()).isEqualTo(0);
+    assertThat(countHostOutputs(layoutState)).isEqualTo(3);
+  }
+
+  @Test
+  public void flatteningEnabled_hostWithTransitionKey_isKept() {
+    TempComponentsConfigurations.setEnableHostFlattening(true);
+
+    final Component component =
+        new InlineLayoutSpec() {
+          @Override
+          protected Component onCreateLayout(ComponentContext c) {
+            return Column.create(c)
+                .child(
+                    Row.create(c)
+                        .backgroundColor(Color.RED)
+                        .transitionKey("row")
+                        .child(TestDrawableComponent.create(c).widthPx(10).heightPx(10)))
+                .build();
+          }
+        };
+
+    final LayoutState layoutState = calculateLayoutState(component);
+
+    assertThat(layoutState.getFlattenedHostCount()).isEqualTo(0);
+    assertThat(countHostOutputs(layoutState)).isEqualTo(3);
+  }
+
+  private static Component createBackgroundOnlyComponent() {
+    return new InlineLayoutSpec() {
+      @Override
+      protected Component onCreateLayout(ComponentContext c) {
+        return Column.create(c)
+            .child(
+                Row.create(c)
+                    .backgroundColor(Color.RED)
+                    .child(TestDrawableComponent.create(c).widthPx(10).heightPx(10)))
+            .build();
+      }
+    };
+  }
+
+  private LayoutState calculateLayoutState(Component component) {
+    return LayoutState.calculate(
+        mLegacyLithoViewRule.getComponentTree().getContext(),
+        component,
+        -1,
+        makeSizeSpec(100, EXACTLY),
+        makeSizeSpec(100, EXACTLY),
+        LayoutState.CalculateLayoutSource.TEST);
+  }
+
+  private static int countHostOutputs(LayoutState layoutState) {
+    int count = 0;
+    for (int i = 0, size = layoutState.getMountableOutputCount(); i < size; i++) {
+      if (getLayoutOutput(layoutState.getMountableOutputAt(i)).getComponent()
+          instanceof HostComponent) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static int countDrawableComponentOutputs(LayoutState layoutState) {
+    int count = 0;
+    for (int i = 0, size = layoutState.getMountableOutputCount(); i < size; i++) {
+      if (getLayoutOutput(layoutState.getMountableOutputAt(i)).getComponent()
+          instanceof DrawableComponent) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -35,6 +35,7 @@ import com.facebook.rendercore.extensions.ExtensionState;
 import com.facebook.rendercore.incrementalmount.IncrementalMountExtension;
 import com.facebook.rendercore.incrementalmount.IncrementalMountExtension.IncrementalMountExtensionState;
 import com.facebook.rendercore.incrementalmount.IncrementalMountExtensionInput;
+import com.facebook.rendercore.incrementalmount.IncrementalMountIndex;
 import com.facebook.rendercore.incrementalmount.IncrementalMountOutput;
 import com.facebook.rendercore.testing.SimpleDrawableUnit;
 import java.util.ArrayList;
@@ -153,8 +154,7 @@ public class IncrementalMountExtensionTest {
   final class TestInput implements IncrementalMountExtensionInput, MountDelegateInput {
     final List<RenderTreeNode> mountableOutputs = new ArrayList<>();
     final Map<Long, IncrementalMountOutput> mIncrementalMountOutputs = new LinkedHashMap<>();
-    final List<IncrementalMountOutput> tops = new ArrayList<>();
-    final List<IncrementalMountOutput> bottoms = new ArrayList<>();
+    final IncrementalMountIndex mIncrementalMountIndex;
     private final int mCount;
 
     public TestInput(int count) {
@@ -176,9 +176,9 @@ public class IncrementalMountExtensionTest {
             new IncrementalMountOutput(
                 i, i, bounds, i != 0 ? mIncrementalMountOutputs.get((long) (i - 1)) : null);
         mIncrementalMountOutputs.put(incrementalMountOutput.getId(), incrementalMountOutput);
-        tops.add(incrementalMountOutput);
-        bottoms.add(incrementalMountOutput);
       }
+      mIncrementalMountIndex =
+          IncrementalMountIndex.create(mIncrementalMountOutputs.values(), null);
     }
 
     @Override
@@ -187,13 +187,8 @@ public class IncrementalMountExtensionTest {
     }
 
     @Override
-    public List<IncrementalMountOutput> getOutputsOrderedByTopBounds() {
-      return tops;
-    }
-
-    @Override
-    public List<IncrementalMountOutput> getOutputsOrderedByBottomBounds() {
-      return bottoms;
+    public IncrementalMountIndex getIncrementalMountIndex() {
+      return mIncrementalMountIndex;
     }
 
     @Override
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.testing.helper.ComponentTestHelper.mountComponent;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Color;
+import com.facebook.litho.stats.LatencyHistogram;
+import com.facebook.litho.stats.LithoPhaseStats;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.SolidColor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class LithoPhaseStatsTest {
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    LithoPhaseStats.reset();
+  }
+
+  @After
+  public void tearDown() {
+    LithoPhaseStats.setEnabled(false);
+    LithoPhaseStats.reset();
+  }
+
+  @Test
+  public void whenDisabled_recordsNothing() {
+    mountComponent(mContext, createComponent());
+
+    assertThat(LithoPhaseStats.snapshot().getTypes()).isEmpty();
+  }
+
+  @Test
+  public void whenEnabled_recordsLayoutPhasesPerRootAndMountPhasesPerComponent() {
+    LithoPhaseStats.setEnabled(true);
+
+    mountComponent(mContext, createComponent());
+
+    final LithoPhaseStats.Snapshot snapshot = LithoPhaseStats.snapshot();
+    final String row = Row.class.getName();
+    final String solidColor = SolidColor.class.getName();
+
+    assertThat(snapshot.get(LithoPhaseStats.PHASE_RESOLVE, row)).isNotNull();
+    assertThat(snapshot.get(LithoPhaseStats.PHASE_MEASURE, row)).isNotNull();
+    assertThat(snapshot.get(LithoPhaseStats.PHASE_COLLECT_RESULTS, row)).isNotNull();
+    assertThat(snapshot.get(LithoPhaseStats.PHASE_MOUNT, solidColor).getCount()).isEqualTo(2);
+    assertThat(snapshot.get(LithoPhaseStats.PHASE_BIND, solidColor).getCount()).isEqualTo(2);
+    assertThat(snapshot.get(LithoPhaseStats.PHASE_RESOLVE, solidColor)).isNull();
+  }
+
+  @Test
+  public void snapshotAndReset_resetsHistograms() {
+    LithoPhaseStats.setEnabled(true);
+    mountComponent(mContext, createComponent());
+
+    final LatencyHistogram.Snapshot mounts =
+        LithoPhaseStats.snapshotAndReset().getTotal(LithoPhaseStats.PHASE_MOUNT);
+
+    assertThat(mounts.getCount()).isGreaterThan(0);
+    assertThat(LithoPhaseStats.snapshot().getTotal(LithoPhaseStats.PHASE_MOUNT).getCount())
+        .isEqualTo(0);
+  }
+
+  private Component createComponent() {
+    return Row.create(mContext)
+        .child(SolidColor.create(mContext).color(Color.RED).widthPx(10).heightPx(10))
+        .child(SolidColor.create(mContext).color(Color.BLUE).widthPx(10).heightPx(10))
+        .build();
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.view.View;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.rendercore.MountItemsPool;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class MountContentPreallocationPlannerTest {
+
+  private static final String SCREEN = "com.example.FeedRoot";
+
+  @Rule public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+  private final Component mComponent = new PooledComponent();
+  private final String mType = PooledComponent.class.getName();
+  private final LithoRenderUnit mRenderUnit =
+      new LithoRenderUnit(
+          0, new LayoutOutput(mComponent, null, null, 0, 0, LayoutOutput.STATE_UNKNOWN), null);
+
+  private Context mContext;
+  private File mFile;
+
+  @Before
+  public void setup() {
+    mContext = new ContextWrapper(getApplicationContext());
+    mFile = new File(mTemporaryFolder.getRoot(), "plan");
+    ComponentsPools.clearMountContentPools();
+    MountItemsPool.clear();
+  }
+
+  @After
+  public void tearDown() {
+    MountContentPreallocationPlanner.setInstance(null);
+    ComponentsPools.clearMountContentPools();
+    ComponentsPools.clearActivityCallbacks();
+    MountItemsPool.clear();
+  }
+
+  @Test
+  public void testUsageTrackerRecordsPeakConcurrentMounts() {
+    final MountContentPreallocationPlanner planner = new MountContentPreallocationPlanner(mFile);
+    final MountContentPreallocationPlanner.UsageTracker tracker =
+        new MountContentPreallocationPlanner.UsageTracker(planner);
+    tracker.setScreen(SCREEN);
+
+    tracker.onMounted(mComponent);
+    tracker.onMounted(mComponent);
+    tracker.onMounted(mComponent);
+    tracker.onUnmounted(mComponent);
+    tracker.onUnmounted(mComponent);
+    tracker.onMounted(mComponent);
+
+    assertThat(planner.getObservedPeak(SCREEN, mType)).isEqualTo(3);
+  }
+
+  @Test
+  public void testUsageTrackerCarriesMountedItemsOverToNewScreen() {
+    final MountContentPreallocationPlanner planner = new MountContentPreallocationPlanner(mFile);
+    final MountContentPreallocationPlanner.UsageTracker tracker =
+        new MountContentPreallocationPlanner.UsageTracker(planner);
+    tracker.setScreen(SCREEN);
+    tracker.onMounted(mComponent);
+    tracker.onMounted(mComponent);
+
+    tracker.setScreen("other");
+    tracker.onMounted(mComponent);
+
+    assertThat(planner.getObservedPeak(SCREEN, mType)).isEqualTo(2);
+    assertThat(planner.getObservedPeak("other", mType)).isEqualTo(3);
+  }
+
+  @Test
+  public void testPersistAndLoad() {
+    final MountContentPreallocationPlanner planner = new MountContentPreallocationPlanner(mFile);
+    planner.recordPeak(SCREEN, PooledComponent.class, 4);
+    planner.recordPeak(SCREEN, PooledComponent.class, 2);
+    assertThat(planner.persist()).isTrue();
+
+    final MountContentPreallocationPlanner reloaded = new MountContentPreallocationPlanner(mFile);
+    reloaded.load();
+
+    assertThat(reloaded.getPlannedCount(SCREEN, mType)).isEqualTo(4);
+    assertThat(reloaded.getPlannedCount("other", mType)).isEqualTo(0);
+  }
+
+  @Test
+  public void testPersistKeepsPlanForScreensNotShown() {
+    final MountContentPreallocationPlanner first = new MountContentPreallocationPlanner(mFile);
+    first.recordPeak(SCREEN, PooledComponent.class, 4);
+    first.persist();
+
+    final MountContentPreallocationPlanner second = new MountContentPreallocationPlanner(mFile);
+    second.load();
+    second.recordPeak("other", PooledComponent.class, 1);
+    second.persist();
+
+    final MountContentPreallocationPlanner third = new MountContentPreallocationPlanner(mFile);
+    third.load();
+    assertThat(third.getPlannedCount(SCREEN, mType)).isEqualTo(4);
+    assertThat(third.getPlannedCount("other", mType)).isEqualTo(1);
+  }
+
+  @Test
+  public void testLoadIgnoresMalformedFile() throws IOException {
+    final FileWriter writer = new FileWriter(mFile);
+    writer.write("v1\n" + SCREEN + "\t" + mType + "\tnot-a-number\n");
+    writer.close();
+
+    final MountContentPreallocationPlanner planner = new MountContentPreallocationPlanner(mFile);
+    planner.load();
+
+    assertThat(planner.getPlannedCount(SCREEN, mType)).isEqualTo(0);
+  }
+
+  @Test
+  public void testPlanIsAppliedOnce() {
+    final MountContentPreallocationPlanner planner = loadedPlanner(3);
+
+    assertThat(planner.acquirePlan(SCREEN)).isNotNull();
+    assertThat(planner.acquirePlan(SCREEN)).isNull();
+    assertThat(planner.acquirePlan("other")).isNull();
+  }
+
+  @Test
+  public void testPreallocatesPlannedCountAndReportsWaste() {
+    final MountContentPreallocationPlanner planner = loadedPlanner(3);
+    final Map<String, Integer> plan = planner.acquirePlan(SCREEN);
+
+    final int created =
+        planner.preallocate(
+            mContext,
+            SCREEN,
+            plan,
+            mComponent,
+            mRenderUnit,
+            false,
+            ComponentTree.RecyclingMode.DEFAULT);
+    // The type is only preallocated once per plan, however many times it appears in the tree.
+    final int createdAgain =
+        planner.preallocate(
+            mContext,
+            SCREEN,
+            plan,
+            mComponent,
+            mRenderUnit,
+            false,
+            ComponentTree.RecyclingMode.DEFAULT);
+
+    assertThat(created).isEqualTo(3);
+    assertThat(createdAgain).isEqualTo(0);
+
+    planner.recordPeak(SCREEN, PooledComponent.class, 2);
+
+    final MountContentPreallocationPlanner.Report report = planner.getReport();
+    assertThat(report.getPreallocatedCount()).isEqualTo(3);
+    assertThat(report.getNeededCount()).isEqualTo(2);
+    assertThat(report.getWastedCount()).isEqualTo(1);
+    assertThat(report.getMissedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testPreallocationIsBoundedByPoolSize() {
+    final MountContentPreallocationPlanner planner = loadedPlanner(PooledComponent.POOL_SIZE + 2);
+    final Map<String, Integer> plan = planner.acquirePlan(SCREEN);
+
+    final int created =
+        planner.preallocate(
+            mContext,
+            SCREEN,
+            plan,
+            mComponent,
+            mRenderUnit,
+            false,
+            ComponentTree.RecyclingMode.DEFAULT);
+    planner.recordPeak(SCREEN, PooledComponent.class, PooledComponent.POOL_SIZE + 2);
+
+    assertThat(created).isEqualTo(PooledComponent.POOL_SIZE);
+    assertThat(planner.getReport().getMissedCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testTypesMissingFromPlanAreNotPlanned() {
+    final MountContentPreallocationPlanner planner = loadedPlanner(3);
+    final Map<String, Integer> plan = planner.acquirePlan(SCREEN);
+    final Component other = new OtherPooledComponent();
+
+    final int created =
+        planner.preallocate(
+            mContext,
+            SCREEN,
+            plan,
+            other,
+            mRenderUnit,
+            false,
+            ComponentTree.RecyclingMode.DEFAULT);
+
+    // The caller falls back to the default preallocation for these.
+    assertThat(created).isEqualTo(MountContentPreallocationPlanner.NOT_PLANNED);
+    assertThat(planner.getReport().getPreallocatedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testPreallocatesIntoRenderCorePoolsWhenTreeDelegatesToRenderCore() {
+    final MountContentPreallocationPlanner planner = loadedPlanner(3);
+    final Map<String, Integer> plan = planner.acquirePlan(SCREEN);
+
+    planner.preallocate(
+        mContext,
+        SCREEN,
+        plan,
+        mComponent,
+        mRenderUnit,
+        true,
+        ComponentTree.RecyclingMode.DEFAULT);
+
+    assertThat(MountItemsPool.getMountItemPools()).hasSize(1);
+    assertThat(ComponentsPools.getMountContentPools()).isEmpty();
+  }
+
+  private MountContentPreallocationPlanner loadedPlanner(int count) {
+    final MountContentPreallocationPlanner recorder = new MountContentPreallocationPlanner(mFile);
+    recorder.recordPeak(SCREEN, PooledComponent.class, count);
+    recorder.persist();
+
+    final MountContentPreallocationPlanner planner = new MountContentPreallocationPlanner(mFile);
+    planner.load();
+    return planner;
+  }
+
+  private static class PooledComponent extends Component {
+
+    static final int POOL_SIZE = 5;
+
+    @Override
+    protected int poolSize() {
+      return POOL_SIZE;
+    }
+
+    @Override
+    public View onCreateMountContent(Context context) {
+      return new View(context);
+    }
+
+    @Override
+    public MountType getMountType() {
+      return MountType.VIEW;
+    }
+
+    @Override
+    public String getSimpleName() {
+      return "PooledComponent";
+    }
+  }
+
+  private static class OtherPooledComponent extends PooledComponent {}
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.SizeSpec.AT_MOST;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.LayoutWithSizeSpecLifecycleTester;
+import com.facebook.litho.widget.Text;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class NestedTreeResultCacheTest {
+
+  private static final int WIDTH_SPEC = makeSizeSpec(100, EXACTLY);
+  private static final int HEIGHT_SPEC = makeSizeSpec(100, EXACTLY);
+
+  private ComponentContext mContext;
+  private boolean mEnableLayoutCaching;
+  private boolean mReuseUnchangedSubtrees;
+  private boolean mEnableNestedTreeResultCache;
+
+  @Before
+  public void setup() {
+    mEnableLayoutCaching = ComponentsConfiguration.enableLayoutCaching;
+    mReuseUnchangedSubtrees = ComponentsConfiguration.reuseUnchangedSubtrees;
+    mEnableNestedTreeResultCache = ComponentsConfiguration.enableNestedTreeResultCache;
+    ComponentsConfiguration.enableLayoutCaching = true;
+    ComponentsConfiguration.reuseUnchangedSubtrees = true;
+    ComponentsConfiguration.enableNestedTreeResultCache = true;
+
+    mContext = new ComponentContext(getApplicationContext());
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.enableLayoutCaching = mEnableLayoutCaching;
+    ComponentsConfiguration.reuseUnchangedSubtrees = mReuseUnchangedSubtrees;
+    ComponentsConfiguration.enableNestedTreeResultCache = mEnableNestedTreeResultCache;
+  }
+
+  @Test
+  public void get_returnsResultWithCompatibleSizeSpecs() {
+    final NestedTreeResultCache cache = new NestedTreeResultCache();
+    final LithoLayoutResult exactly = createResult(makeSizeSpec(50, EXACTLY), 50);
+    final LithoLayoutResult atMost = createResult(makeSizeSpec(200, AT_MOST), 80);
+    cache.put(exactly);
+    cache.put(atMost);
+
+    assertThat(cache.get(makeSizeSpec(50, EXACTLY), HEIGHT_SPEC)).isSameAs(exactly);
+    assertThat(cache.get(makeSizeSpec(80, EXACTLY), HEIGHT_SPEC)).isSameAs(atMost);
+    assertThat(cache.get(makeSizeSpec(60, EXACTLY), HEIGHT_SPEC)).isNull();
+
+    assertThat(cache.getExact(makeSizeSpec(200, AT_MOST), HEIGHT_SPEC)).isSameAs(atMost);
+    assertThat(cache.getExact(makeSizeSpec(80, EXACTLY), HEIGHT_SPEC)).isNull();
+  }
+
+  @Test
+  public void put_evictsOldestResultWhenFull() {
+    final NestedTreeResultCache cache = new NestedTreeResultCache();
+    final LithoLayoutResult oldest = createResult(makeSizeSpec(10, EXACTLY), 10);
+    cache.put(oldest);
+    cache.put(oldest);
+    for (int i = 1; i < NestedTreeResultCache.MAX_SIZE; i++) {
+      cache.put(createResult(makeSizeSpec(10 + i, EXACTLY), 10 + i));
+    }
+
+    assertThat(cache.size()).isEqualTo(NestedTreeResultCache.MAX_SIZE);
+    assertThat(cache.getExact(makeSizeSpec(10, EXACTLY), HEIGHT_SPEC)).isSameAs(oldest);
+
+    cache.put(createResult(makeSizeSpec(99, EXACTLY), 99));
+
+    assertThat(cache.size()).isEqualTo(NestedTreeResultCache.MAX_SIZE);
+    assertThat(cache.getExact(makeSizeSpec(10, EXACTLY), HEIGHT_SPEC)).isNull();
+    assertThat(cache.getExact(makeSizeSpec(99, EXACTLY), HEIGHT_SPEC)).isNotNull();
+  }
+
+  @Test
+  public void unchangedNestedTree_isReusedByNextLayout() {
+    final List<LifecycleStep.StepInfo> steps = new ArrayList<>();
+    final ComponentTree componentTree = ComponentTree.create(mContext).build();
+
+    componentTree.setRootAndSizeSpecSync(createRoot(steps, "first"), WIDTH_SPEC, HEIGHT_SPEC);
+
+    final LayoutState first = componentTree.getCommittedLayoutState();
+    assertThat(LifecycleStep.getSteps(steps))
+        .contains(LifecycleStep.ON_CREATE_LAYOUT_WITH_SIZE_SPEC);
+    assertThat(first.getNestedTreeResolutionCount())
+        .isEqualTo(countSteps(steps, LifecycleStep.ON_CREATE_LAYOUT_WITH_SIZE_SPEC));
+
+    steps.clear();
+    componentTree.setRootAndSizeSpecSync(createRoot(steps, "second"), WIDTH_SPEC, HEIGHT_SPEC);
+
+    final LayoutState second = componentTree.getCommittedLayoutState();
+    assertThat(LifecycleStep.getSteps(steps))
+        .doesNotContain(LifecycleStep.ON_CREATE_LAYOUT_WITH_SIZE_SPEC);
+    assertThat(second.getNestedTreeResolutionCount()).isEqualTo(0);
+    assertThat(second.getReusedNodeCount()).isGreaterThan(0);
+  }
+
+  @Test
+  public void nestedTree_isResolvedAgainWhenReuseIsDisabled() {
+    ComponentsConfiguration.reuseUnchangedSubtrees = false;
+    final List<LifecycleStep.StepInfo> steps = new ArrayList<>();
+    final ComponentTree componentTree = ComponentTree.create(mContext).build();
+
+    componentTree.setRootAndSizeSpecSync(createRoot(steps, "first"), WIDTH_SPEC, HEIGHT_SPEC);
+
+    steps.clear();
+    componentTree.setRootAndSizeSpecSync(createRoot(steps, "second"), WIDTH_SPEC, HEIGHT_SPEC);
+
+    final LayoutState second = componentTree.getCommittedLayoutState();
+    assertThat(LifecycleStep.getSteps(steps))
+        .contains(LifecycleStep.ON_CREATE_LAYOUT_WITH_SIZE_SPEC);
+    assertThat(second.getNestedTreeResolutionCount())
+        .isEqualTo(countSteps(steps, LifecycleStep.ON_CREATE_LAYOUT_WITH_SIZE_SPEC));
+  }
+
+  private Component createRoot(final List<LifecycleStep.StepInfo> steps, final String text) {
+    return Column.create(mContext)
+        .child(LayoutWithSizeSpecLifecycleTester.create(mContext).steps(steps))
+        .child(Text.create(mContext).text(text))
+        .build();
+  }
+
+  private static int countSteps(
+      final List<LifecycleStep.StepInfo> steps, final LifecycleStep lifecycleStep) {
+    int count = 0;
+    for (LifecycleStep step : LifecycleStep.getSteps(steps)) {
+      if (step == lifecycleStep) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static LithoLayoutResult createResult(final int widthSpec, final int measuredWidth) {
+    final LithoLayoutResult result = mock(LithoLayoutResult.class);
+    when(result.getLastWidthSpec()).thenReturn(widthSpec);
+    when(result.getLastHeightSpec()).thenReturn(HEIGHT_SPEC);
+    when(result.getLastMeasuredWidth()).thenReturn((float) measuredWidth);
+    when(result.getLastMeasuredHeight()).thenReturn(100f);
+    return result;
+  }
+}
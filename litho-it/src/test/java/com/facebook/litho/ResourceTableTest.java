@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.ResourceTable.TYPE_DIMEN_OFFSET;
+import static com.facebook.litho.ResourceTable.TYPE_DIMEN_SIZE;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.res.Resources;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class ResourceTableTest {
+
+  private boolean mDefaultUsePrimitiveResourceTable;
+
+  @Before
+  public void setup() {
+    mDefaultUsePrimitiveResourceTable = ComponentsConfiguration.usePrimitiveResourceTable;
+    // The resource cache is shared by all contexts with the same configuration.
+    ResourceCache.getLatest(getApplicationContext().getResources().getConfiguration())
+        .getResourceTable()
+        .clear();
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.usePrimitiveResourceTable = mDefaultUsePrimitiveResourceTable;
+  }
+
+  @Test
+  public void testPutAndGet() {
+    final ResourceTable table = new ResourceTable();
+    table.put(TYPE_DIMEN_SIZE, 0x7f050001, 0, 42);
+    table.put(TYPE_DIMEN_OFFSET, 0x7f050001, 0, 41);
+
+    final ResourceTable.Slots slots = table.getSlots();
+    assertThat(slots.size()).isEqualTo(2);
+    assertThat(slots.getValue(slots.indexOf(TYPE_DIMEN_SIZE, 0x7f050001, 0))).isEqualTo(42);
+    assertThat(slots.getValue(slots.indexOf(TYPE_DIMEN_OFFSET, 0x7f050001, 0))).isEqualTo(41);
+    assertThat(slots.indexOf(TYPE_DIMEN_SIZE, 0x7f050001, 1)).isEqualTo(-1);
+    assertThat(slots.indexOf(TYPE_DIMEN_SIZE, 0x7f050002, 0)).isEqualTo(-1);
+  }
+
+  @Test
+  public void testPutOverwritesExistingEntry() {
+    final ResourceTable table = new ResourceTable();
+    table.put(TYPE_DIMEN_SIZE, 0x7f050001, 0, 42);
+    table.put(TYPE_DIMEN_SIZE, 0x7f050001, 0, 43);
+
+    final ResourceTable.Slots slots = table.getSlots();
+    assertThat(slots.size()).isEqualTo(1);
+    assertThat(slots.getValue(slots.indexOf(TYPE_DIMEN_SIZE, 0x7f050001, 0))).isEqualTo(43);
+  }
+
+  @Test
+  public void testGrowsAndKeepsAllEntries() {
+    final ResourceTable table = new ResourceTable();
+    final int count = 1000;
+    final int[] entries = new int[count * 4];
+    for (int i = 0; i < count; i++) {
+      entries[i * 4] = TYPE_DIMEN_SIZE;
+      entries[i * 4 + 1] = 0x7f050000 + i;
+      entries[i * 4 + 3] = i;
+    }
+    table.putAll(entries);
+    table.put(TYPE_DIMEN_SIZE, 0x7f050000 + count, 0, count);
+
+    final ResourceTable.Slots slots = table.getSlots();
+    assertThat(slots.size()).isEqualTo(count + 1);
+    for (int i = 0; i <= count; i++) {
+      assertThat(slots.getValue(slots.indexOf(TYPE_DIMEN_SIZE, 0x7f050000 + i, 0))).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void testSnapshotIsNotAffectedByLaterWrites() {
+    final ResourceTable table = new ResourceTable();
+    table.put(TYPE_DIMEN_SIZE, 0x7f050001, 0, 42);
+    final ResourceTable.Slots slots = table.getSlots();
+
+    table.put(TYPE_DIMEN_SIZE, 0x7f050002, 0, 43);
+    table.clear();
+
+    assertThat(slots.size()).isEqualTo(1);
+    assertThat(slots.indexOf(TYPE_DIMEN_SIZE, 0x7f050002, 0)).isEqualTo(-1);
+    assertThat(table.getSlots().size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testResolverResolvesThroughTable() {
+    ComponentsConfiguration.usePrimitiveResourceTable = true;
+    final ComponentContext c = new ComponentContext(getApplicationContext());
+    final ResourceResolver resolver = c.getResourceResolver();
+    final Resources resources = getApplicationContext().getResources();
+    final int resId = android.R.dimen.app_icon_size;
+
+    final int expected = resources.getDimensionPixelSize(resId);
+    assertThat(resolver.resolveDimenSizeRes(resId)).isEqualTo(expected);
+    assertThat(resolver.resolveDimenSizeRes(resId)).isEqualTo(expected);
+    assertThat(resolver.resolveFloatRes(resId)).isEqualTo(resources.getDimension(resId));
+
+    assertThat(resolver.getResourceTableHitCount()).isEqualTo(1);
+    assertThat(resolver.getResourceTableMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testPreloadedResourcesAreHits() {
+    ComponentsConfiguration.usePrimitiveResourceTable = true;
+    final ComponentContext c = new ComponentContext(getApplicationContext());
+    final ResourceResolver resolver = c.getResourceResolver();
+    final int resId = android.R.dimen.thumbnail_height;
+
+    resolver.preloadDimenSizeRes(resId);
+    resolver.resolveDimenSizeRes(resId);
+
+    assertThat(resolver.getResourceTableHitCount()).isEqualTo(1);
+    assertThat(resolver.getResourceTableMissCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testInvalidateThemeDropsAttributeValues() {
+    ComponentsConfiguration.usePrimitiveResourceTable = true;
+    final ComponentContext c = new ComponentContext(getApplicationContext());
+    final ResourceResolver resolver = c.getResourceResolver();
+    final int attrId = android.R.attr.listPreferredItemHeight;
+
+    final int value = resolver.resolveDimenSizeAttr(attrId, 0);
+    assertThat(resolver.resolveDimenSizeAttr(attrId, 0)).isEqualTo(value);
+    assertThat(resolver.getResourceTableHitCount()).isEqualTo(1);
+
+    c.getResourceCache().invalidateTheme(c.getAndroidContext().getTheme());
+    assertThat(resolver.resolveDimenSizeAttr(attrId, 0)).isEqualTo(value);
+    assertThat(resolver.getResourceTableHitCount()).isEqualTo(1);
+    assertThat(resolver.getResourceTableMissCount()).isEqualTo(2);
+  }
+}
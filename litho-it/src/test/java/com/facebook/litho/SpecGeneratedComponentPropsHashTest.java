@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static android.graphics.Color.BLACK;
+import static android.graphics.Color.WHITE;
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.SolidColor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class SpecGeneratedComponentPropsHashTest {
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+  }
+
+  @Test
+  public void propsHash_withSamePrimitiveProps_isEqual() {
+    final SolidColor first = SolidColor.create(mContext).color(BLACK).alpha(0.5f).build();
+    final SolidColor second = SolidColor.create(mContext).color(BLACK).alpha(0.5f).build();
+
+    assertThat(first.getPropsHash()).isEqualTo(second.getPropsHash());
+    assertThat(first.isEquivalentTo(second)).isTrue();
+  }
+
+  @Test
+  public void propsHash_withDifferentPrimitiveProps_isNotEquivalent() {
+    final SolidColor first = SolidColor.create(mContext).color(BLACK).alpha(0.5f).build();
+    final SolidColor differentColor = SolidColor.create(mContext).color(WHITE).alpha(0.5f).build();
+    final SolidColor differentAlpha = SolidColor.create(mContext).color(BLACK).alpha(1f).build();
+
+    assertThat(first.getPropsHash()).isNotEqualTo(differentColor.getPropsHash());
+    assertThat(first.getPropsHash()).isNotEqualTo(differentAlpha.getPropsHash());
+    assertThat(first.isEquivalentTo(differentColor)).isFalse();
+    assertThat(first.isEquivalentTo(differentAlpha)).isFalse();
+  }
+
+  @Test
+  public void propsHash_isPreservedByShallowCopy() {
+    final SolidColor component = SolidColor.create(mContext).color(BLACK).build();
+    final Component copy = component.makeShallowCopy();
+
+    assertThat(((SpecGeneratedComponent) copy).getPropsHash())
+        .isEqualTo(component.getPropsHash());
+    assertThat(copy.isEquivalentTo(component)).isTrue();
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.res.TypedArray;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.view.ContextThemeWrapper;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.it.R;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class StyleSnapshotTest {
+
+  private boolean mDefaultCacheLoadedStyles;
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mDefaultCacheLoadedStyles = ComponentsConfiguration.cacheLoadedStyles;
+    ComponentsConfiguration.cacheLoadedStyles = true;
+    mContext = new ComponentContext(getApplicationContext());
+    mContext.getResourceCache().invalidateTheme(mContext.getAndroidContext().getTheme());
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.cacheLoadedStyles = mDefaultCacheLoadedStyles;
+  }
+
+  @Test
+  public void testLoadedStyleIsCachedPerThemeAndStyle() {
+    final ComponentContext themedContext =
+        new ComponentContext(new ContextThemeWrapper(getApplicationContext(), R.style.TestTheme));
+
+    final StyledComponent first = load(mContext, R.style.ApplyStylesTest_WidthHeight);
+    final StyledComponent second = load(mContext, R.style.ApplyStylesTest_WidthHeight);
+    assertThat(first.mWidth).isEqualTo(37);
+    assertThat(second.mWidth).isEqualTo(37);
+    assertThat(first.mSnapshotCount).isEqualTo(1);
+    assertThat(second.mSnapshotCount).isEqualTo(0);
+
+    assertThat(load(mContext, R.style.ApplyStylesTest_MinWidthHeight).mSnapshotCount)
+        .isEqualTo(1);
+    assertThat(load(themedContext, R.style.ApplyStylesTest_WidthHeight).mSnapshotCount)
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void testInvalidateThemeLoadsStyleAgain() {
+    load(mContext, R.style.ApplyStylesTest_WidthHeight);
+
+    mContext.getResourceCache().invalidateTheme(mContext.getAndroidContext().getTheme());
+
+    final StyledComponent component = load(mContext, R.style.ApplyStylesTest_WidthHeight);
+    assertThat(component.mSnapshotCount).isEqualTo(1);
+    assertThat(component.mWidth).isEqualTo(37);
+  }
+
+  @Test
+  public void testStyleWithoutSnapshotIsLoadedEveryTime() {
+    final UncachedStyledComponent first = new UncachedStyledComponent();
+    final UncachedStyledComponent second = new UncachedStyledComponent();
+
+    first.loadStyle(mContext, 0, R.style.ApplyStylesTest_WidthHeight);
+    second.loadStyle(mContext, 0, R.style.ApplyStylesTest_WidthHeight);
+
+    assertThat(first.mLoadCount).isEqualTo(1);
+    assertThat(second.mLoadCount).isEqualTo(1);
+  }
+
+  @Test
+  public void testDrawablesAreCopiedForEachInstance() {
+    final DrawableStyledComponent first = new DrawableStyledComponent(new ColorDrawable());
+    final DrawableStyledComponent second = new DrawableStyledComponent(new ColorDrawable());
+
+    first.loadStyle(mContext, 0, R.style.ApplyStylesTest_WidthHeight);
+    second.loadStyle(mContext, 0, R.style.ApplyStylesTest_WidthHeight);
+
+    assertThat(second.mSnapshotCount).isEqualTo(0);
+    assertThat(first.mDrawable).isInstanceOf(ColorDrawable.class);
+    assertThat(second.mDrawable).isInstanceOf(ColorDrawable.class);
+    assertThat(second.mDrawable).isNotSameAs(first.mDrawable);
+  }
+
+  @Test
+  public void testDrawableWithoutConstantStateIsNotCached() {
+    final Drawable drawable =
+        new ColorDrawable() {
+          @Override
+          public ConstantState getConstantState() {
+            return null;
+          }
+        };
+    final DrawableStyledComponent first = new DrawableStyledComponent(drawable);
+    final DrawableStyledComponent second = new DrawableStyledComponent(drawable);
+
+    first.loadStyle(mContext, 0, R.style.ApplyStylesTest_WidthHeight);
+    second.loadStyle(mContext, 0, R.style.ApplyStylesTest_WidthHeight);
+
+    assertThat(first.mSnapshotCount).isEqualTo(1);
+    assertThat(second.mSnapshotCount).isEqualTo(1);
+  }
+
+  private static StyledComponent load(ComponentContext c, int defStyleRes) {
+    final StyledComponent component = new StyledComponent();
+    component.loadStyle(c, 0, defStyleRes);
+    return component;
+  }
+
+  private static int resolveWidth(ComponentContext c) {
+    final TypedArray a = c.obtainStyledAttributes(new int[] {android.R.attr.layout_width}, 0);
+    try {
+      return a.getLayoutDimension(0, -1);
+    } finally {
+      a.recycle();
+    }
+  }
+
+  /** Implements the style snapshot the way generated components do. */
+  private static class StyledComponent extends Component {
+
+    int mWidth;
+    int mSnapshotCount;
+
+    @Override
+    protected void onLoadStyle(ComponentContext c) {
+      mWidth = resolveWidth(c);
+    }
+
+    @Override
+    protected Object[] createStyleSnapshot(ComponentContext c) {
+      mSnapshotCount++;
+      return new Object[] {resolveWidth(c)};
+    }
+
+    @Override
+    protected void applyStyleSnapshot(Object[] snapshot) {
+      if (snapshot[0] != null) {
+        mWidth = (Integer) snapshot[0];
+      }
+    }
+
+    @Override
+    public String getSimpleName() {
+      return "StyledComponent";
+    }
+  }
+
+  private static class DrawableStyledComponent extends Component {
+
+    private final Drawable mLoadedDrawable;
+    Drawable mDrawable;
+    int mSnapshotCount;
+
+    DrawableStyledComponent(Drawable loadedDrawable) {
+      mLoadedDrawable = loadedDrawable;
+    }
+
+    @Override
+    protected void onLoadStyle(ComponentContext c) {
+      mDrawable = mLoadedDrawable;
+    }
+
+    @Override
+    protected Object[] createStyleSnapshot(ComponentContext c) {
+      mSnapshotCount++;
+      return new Object[] {mLoadedDrawable};
+    }
+
+    @Override
+    protected void applyStyleSnapshot(Object[] snapshot) {
+      if (snapshot[0] != null) {
+        mDrawable = (Drawable) snapshot[0];
+      }
+    }
+
+    @Override
+    public String getSimpleName() {
+      return "DrawableStyledComponent";
+    }
+  }
+
+  private static class UncachedStyledComponent extends Component {
+
+    int mLoadCount;
+
+    @Override
+    protected void onLoadStyle(ComponentContext c) {
+      mLoadCount++;
+    }
+
+    @Override
+    public String getSimpleName() {
+      return "UncachedStyledComponent";
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import androidx.annotation.Nullable;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.LayoutSpecLifecycleTester;
+import com.facebook.litho.widget.LayoutSpecLifecycleTesterSpec;
+import com.facebook.litho.widget.Text;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class SubtreeReuseTest {
+
+  private static final int WIDTH_SPEC = makeSizeSpec(100, EXACTLY);
+  private static final int HEIGHT_SPEC = makeSizeSpec(100, EXACTLY);
+
+  private ComponentContext mContext;
+  private boolean mEnableLayoutCaching;
+  private boolean mReuseUnchangedSubtrees;
+
+  @Before
+  public void setup() {
+    mEnableLayoutCaching = ComponentsConfiguration.enableLayoutCaching;
+    mReuseUnchangedSubtrees = ComponentsConfiguration.reuseUnchangedSubtrees;
+    ComponentsConfiguration.enableLayoutCaching = true;
+    ComponentsConfiguration.reuseUnchangedSubtrees = true;
+
+    mContext = new ComponentContext(getApplicationContext());
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.enableLayoutCaching = mEnableLayoutCaching;
+    ComponentsConfiguration.reuseUnchangedSubtrees = mReuseUnchangedSubtrees;
+  }
+
+  @Test
+  public void unchangedChild_isReusedWithoutRender() {
+    final List<LifecycleStep.StepInfo> steps = new ArrayList<>();
+    final ComponentTree componentTree = ComponentTree.create(mContext).build();
+
+    componentTree.setRootAndSizeSpecSync(createRoot(steps, null, "first"), WIDTH_SPEC, HEIGHT_SPEC);
+    assertThat(LifecycleStep.getSteps(steps)).containsOnlyOnce(LifecycleStep.ON_CREATE_LAYOUT);
+    assertThat(componentTree.getCommittedLayoutState().getReusedNodeCount()).isEqualTo(0);
+
+    steps.clear();
+    componentTree.setRootAndSizeSpecSync(
+        createRoot(steps, null, "second"), WIDTH_SPEC, HEIGHT_SPEC);
+
+    assertThat(LifecycleStep.getSteps(steps)).doesNotContain(LifecycleStep.ON_CREATE_LAYOUT);
+
+    final LayoutState layoutState = componentTree.getCommittedLayoutState();
+    assertThat(layoutState.getReusedNodeCount()).isGreaterThan(0);
+    // The root Column and the Text, whose text changed.
+    assertThat(layoutState.getResolvedNodeCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void changedChild_isResolvedAgain() {
+    final List<LifecycleStep.StepInfo> steps = new ArrayList<>();
+    final ComponentTree componentTree = ComponentTree.create(mContext).build();
+
+    componentTree.setRootAndSizeSpecSync(
+        createRoot(steps, new LayoutSpecLifecycleTesterSpec.Caller(), "first"),
+        WIDTH_SPEC,
+        HEIGHT_SPEC);
+
+    steps.clear();
+    componentTree.setRootAndSizeSpecSync(
+        createRoot(steps, new LayoutSpecLifecycleTesterSpec.Caller(), "first"),
+        WIDTH_SPEC,
+        HEIGHT_SPEC);
+
+    assertThat(LifecycleStep.getSteps(steps)).containsOnlyOnce(LifecycleStep.ON_CREATE_LAYOUT);
+    assertThat(componentTree.getCommittedLayoutState().getReusedNodeCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void unchangedChild_isResolvedAgainWhenReuseIsDisabled() {
+    ComponentsConfiguration.reuseUnchangedSubtrees = false;
+    final List<LifecycleStep.StepInfo> steps = new ArrayList<>();
+    final ComponentTree componentTree = ComponentTree.create(mContext).build();
+
+    componentTree.setRootAndSizeSpecSync(createRoot(steps, null, "first"), WIDTH_SPEC, HEIGHT_SPEC);
+
+    steps.clear();
+    componentTree.setRootAndSizeSpecSync(
+        createRoot(steps, null, "second"), WIDTH_SPEC, HEIGHT_SPEC);
+
+    assertThat(LifecycleStep.getSteps(steps)).containsOnlyOnce(LifecycleStep.ON_CREATE_LAYOUT);
+    assertThat(componentTree.getCommittedLayoutState().getReusedNodeCount()).isEqualTo(0);
+  }
+
+  private Component createRoot(
+      final List<LifecycleStep.StepInfo> steps,
+      final @Nullable LayoutSpecLifecycleTesterSpec.Caller caller,
+      final String text) {
+    return Column.create(mContext)
+        .child(LayoutSpecLifecycleTester.create(mContext).steps(steps).caller(caller))
+        .child(Text.create(mContext).text(text))
+        .build();
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.choreographercompat.ChoreographerCompat;
+import com.facebook.litho.choreographercompat.ChoreographerCompatImpl;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.SimpleMountSpecTester;
+import com.facebook.rendercore.RunnableHandler;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class TimeSlicedLayoutTest {
+
+  private static final int CHILD_COUNT = 10;
+
+  private final QueueingHandler mLayoutThreadHandler = new QueueingHandler();
+  private final FakeChoreographer mChoreographer = new FakeChoreographer();
+
+  private ComponentContext mContext;
+  private boolean mTimeSliceMainThreadLayouts;
+  private long mMainThreadLayoutSliceBudgetMs;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+
+    mTimeSliceMainThreadLayouts = ComponentsConfiguration.timeSliceMainThreadLayouts;
+    mMainThreadLayoutSliceBudgetMs = ComponentsConfiguration.mainThreadLayoutSliceBudgetMs;
+    // A budget of 0 yields after every component, which makes the number of slices predictable.
+    ComponentsConfiguration.timeSliceMainThreadLayouts = true;
+    ComponentsConfiguration.mainThreadLayoutSliceBudgetMs = 0;
+    ChoreographerCompatImpl.setInstance(mChoreographer);
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.timeSliceMainThreadLayouts = mTimeSliceMainThreadLayouts;
+    ComponentsConfiguration.mainThreadLayoutSliceBudgetMs = mMainThreadLayoutSliceBudgetMs;
+    ChoreographerCompatImpl.setInstance(null);
+  }
+
+  @Test
+  public void asyncLayoutOnMainThread_spansFramesUntilResolved() {
+    final ComponentTree componentTree = createComponentTree();
+
+    componentTree.setSizeSpecAsync(makeSizeSpec(100, EXACTLY), makeSizeSpec(100, EXACTLY));
+    mLayoutThreadHandler.runAll();
+
+    assertThat(componentTree.getCommittedLayoutState()).isNull();
+    assertThat(mChoreographer.mCallbacks).hasSize(1);
+
+    int frames = 0;
+    while (componentTree.getCommittedLayoutState() == null && frames <= CHILD_COUNT) {
+      mChoreographer.step();
+      frames++;
+    }
+
+    final LayoutState layoutState = componentTree.getCommittedLayoutState();
+    assertThat(layoutState).isNotNull();
+    assertThat(layoutState.isPartialLayoutState()).isFalse();
+    assertThat(layoutState.getFramesSpanned()).isEqualTo(frames + 1);
+    assertThat(layoutState.getMountableOutputCount()).isEqualTo(CHILD_COUNT + 1);
+    assertThat(mChoreographer.mCallbacks).isEmpty();
+  }
+
+  @Test
+  public void syncLayout_isNotTimeSliced() {
+    final ComponentTree componentTree = createComponentTree();
+
+    componentTree.setSizeSpec(makeSizeSpec(100, EXACTLY), makeSizeSpec(100, EXACTLY));
+
+    final LayoutState layoutState = componentTree.getCommittedLayoutState();
+    assertThat(layoutState).isNotNull();
+    assertThat(layoutState.getFramesSpanned()).isEqualTo(1);
+    assertThat(mChoreographer.mCallbacks).isEmpty();
+  }
+
+  @Test
+  public void asyncLayoutOnMainThread_isNotTimeSlicedWhenDisabled() {
+    ComponentsConfiguration.timeSliceMainThreadLayouts = false;
+    final ComponentTree componentTree = createComponentTree();
+
+    componentTree.setSizeSpecAsync(makeSizeSpec(100, EXACTLY), makeSizeSpec(100, EXACTLY));
+    mLayoutThreadHandler.runAll();
+
+    final LayoutState layoutState = componentTree.getCommittedLayoutState();
+    assertThat(layoutState).isNotNull();
+    assertThat(layoutState.getFramesSpanned()).isEqualTo(1);
+    assertThat(mChoreographer.mCallbacks).isEmpty();
+  }
+
+  private ComponentTree createComponentTree() {
+    final Column.Builder builder = Column.create(mContext);
+    for (int i = 0; i < CHILD_COUNT; i++) {
+      builder.child(SimpleMountSpecTester.create(mContext).widthPx(10).heightPx(10));
+    }
+
+    return ComponentTree.create(mContext, builder.build())
+        .layoutThreadHandler(mLayoutThreadHandler)
+        .canInterruptAndMoveLayoutsBetweenThreads(true)
+        .build();
+  }
+
+  /** Runs posted layouts on the calling thread when asked to, which is the main thread here. */
+  private static class QueueingHandler implements RunnableHandler {
+
+    private final List<Runnable> mQueue = new ArrayList<>();
+
+    @Override
+    public boolean isTracing() {
+      return false;
+    }
+
+    @Override
+    public void post(Runnable runnable, String tag) {
+      mQueue.add(runnable);
+    }
+
+    @Override
+    public void postAtFront(Runnable runnable, String tag) {
+      mQueue.add(0, runnable);
+    }
+
+    @Override
+    public void remove(Runnable runnable) {
+      mQueue.remove(runnable);
+    }
+
+    void runAll() {
+      while (!mQueue.isEmpty()) {
+        mQueue.remove(0).run();
+      }
+    }
+  }
+
+  private static class FakeChoreographer implements ChoreographerCompat {
+
+    private final List<FrameCallback> mCallbacks = new ArrayList<>();
+
+    @Override
+    public void postFrameCallback(FrameCallback callbackWrapper) {
+      mCallbacks.add(callbackWrapper);
+    }
+
+    @Override
+    public void postFrameCallbackDelayed(FrameCallback callbackWrapper, long delayMillis) {
+      mCallbacks.add(callbackWrapper);
+    }
+
+    @Override
+    public void removeFrameCallback(FrameCallback callbackWrapper) {
+      mCallbacks.remove(callbackWrapper);
+    }
+
+    /** Runs the callbacks posted for the next frame. */
+    void step() {
+      final List<FrameCallback> callbacks = new ArrayList<>(mCallbacks);
+      mCallbacks.clear();
+      for (FrameCallback callback : callbacks) {
+        callback.doFrame(0);
+      }
+    }
+  }
+}
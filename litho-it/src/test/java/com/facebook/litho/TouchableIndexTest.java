@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.rendercore.MountItem;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class TouchableIndexTest {
+
+  private final TouchableIndex mIndex = new TouchableIndex();
+
+  @Test
+  public void findHits_returnsItemsContainingPointByDecreasingIndex() {
+    final MountItem below = add(0, 0, 0, 100, 100);
+    add(1, 200, 0, 300, 100);
+    final MountItem above = add(2, 50, 50, 150, 150);
+
+    assertThat(mIndex.findHits(75, 75)).isEqualTo(2);
+    assertThat(mIndex.getHitAt(0)).isSameAs(above);
+    assertThat(mIndex.getHitAt(1)).isSameAs(below);
+
+    assertThat(mIndex.findHits(150, 10)).isEqualTo(0);
+  }
+
+  @Test
+  public void findHits_inGrid_findsSingleCell() {
+    final MountItem[] items = new MountItem[100];
+    for (int i = 0; i < 100; i++) {
+      final int left = (i % 10) * 10;
+      final int top = (i / 10) * 10;
+      items[i] = add(i, left, top, left + 10, top + 10);
+    }
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(mIndex.findHits((i % 10) * 10 + 5, (i / 10) * 10 + 5)).isEqualTo(1);
+      assertThat(mIndex.getHitAt(0)).isSameAs(items[i]);
+    }
+  }
+
+  @Test
+  public void remove_itemIsNoLongerHit() {
+    final MountItem item = add(0, 0, 0, 10, 10);
+    assertThat(mIndex.findHits(5, 5)).isEqualTo(1);
+
+    mIndex.remove(item);
+
+    assertThat(mIndex.findHits(5, 5)).isEqualTo(0);
+    assertThat(mIndex.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void move_updatesHitOrder() {
+    final MountItem first = add(0, 0, 0, 10, 10);
+    final MountItem second = add(1, 0, 0, 10, 10);
+
+    mIndex.move(first, 5);
+
+    assertThat(mIndex.findHits(5, 5)).isEqualTo(2);
+    assertThat(mIndex.getHitAt(0)).isSameAs(first);
+    assertThat(mIndex.getHitAt(1)).isSameAs(second);
+  }
+
+  @Test
+  public void onDrawableInvalidated_withNewBounds_picksUpNewBounds() {
+    final MountItem item = add(0, 0, 0, 10, 10);
+    assertThat(mIndex.findHits(25, 25)).isEqualTo(0);
+
+    // Drawables invalidate themselves before storing their new bounds.
+    final Drawable drawable = (Drawable) item.getContent();
+    drawable.setCallback(new IndexInvalidatingCallback());
+    drawable.setBounds(20, 20, 30, 30);
+
+    assertThat(mIndex.findHits(5, 5)).isEqualTo(0);
+    assertThat(mIndex.findHits(25, 25)).isEqualTo(1);
+  }
+
+  @Test
+  public void findHits_withEmptyBoundsLaidOutLater_picksUpNewBounds() {
+    final MountItem item = add(0, 0, 0, 0, 0);
+    assertThat(mIndex.findHits(5, 5)).isEqualTo(0);
+
+    ((Drawable) item.getContent()).setBounds(0, 0, 10, 10);
+
+    assertThat(mIndex.findHits(5, 5)).isEqualTo(1);
+  }
+
+  /** Forwards invalidations to the index, like the host does. */
+  private class IndexInvalidatingCallback implements Drawable.Callback {
+
+    @Override
+    public void invalidateDrawable(Drawable who) {
+      mIndex.onDrawableInvalidated(who);
+    }
+
+    @Override
+    public void scheduleDrawable(Drawable who, Runnable what, long when) {}
+
+    @Override
+    public void unscheduleDrawable(Drawable who, Runnable what) {}
+  }
+
+  private MountItem add(int index, int left, int top, int right, int bottom) {
+    final Drawable drawable = new ColorDrawable();
+    drawable.setBounds(left, top, right, bottom);
+    final MountItem item =
+        MountItemTestHelper.create(
+            DrawableComponent.create(drawable),
+            null,
+            null,
+            drawable,
+            null,
+            null,
+            null,
+            0,
+            0,
+            0,
+            0,
+            0,
+            0,
+            null);
+    mIndex.add(index, item);
+    return item;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TransitionIdMapTest {
+
+  @Test
+  public void testValuesAreStoredInDenseSlots() {
+    final TransitionIdMap<String> map = new TransitionIdMap<>();
+    final TransitionId global = new TransitionId(TransitionId.Type.GLOBAL, "global", null);
+    final TransitionId scoped = new TransitionId(TransitionId.Type.SCOPED, "scoped", "owner");
+
+    map.put(global, "a");
+    map.put(scoped, "b");
+    map.put(global, "c");
+
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.idAt(0)).isEqualTo(global);
+    assertThat(map.valueAt(0)).isEqualTo("c");
+    assertThat(map.idAt(1)).isEqualTo(scoped);
+    assertThat(map.valueAt(1)).isEqualTo("b");
+    assertThat(map.getGlobalId("global")).isEqualTo(global);
+    assertThat(map.getScopedId("owner", "scoped")).isEqualTo(scoped);
+  }
+
+  @Test
+  public void testRemoveMovesLastSlotIntoFreedSlot() {
+    final TransitionIdMap<Integer> map = new TransitionIdMap<>();
+    final TransitionId[] ids = new TransitionId[20];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = new TransitionId(TransitionId.Type.AUTOGENERATED, "id" + i, null);
+      map.put(ids[i], i);
+    }
+
+    map.remove(ids[3]);
+
+    assertThat(map.size()).isEqualTo(19);
+    assertThat(map.contains(ids[3])).isFalse();
+    assertThat(map.get(ids[3])).isNull();
+    assertThat(map.idAt(3)).isEqualTo(ids[19]);
+    assertThat(map.get(ids[19])).isEqualTo(19);
+
+    for (int i = map.size() - 1; i >= 0; i--) {
+      map.remove(map.idAt(i));
+    }
+
+    assertThat(map.size()).isEqualTo(0);
+    assertThat(map.get(ids[0])).isNull();
+  }
+
+  @Test
+  public void testClear() {
+    final TransitionIdMap<String> map = new TransitionIdMap<>();
+    final TransitionId id = new TransitionId(TransitionId.Type.GLOBAL, "global", null);
+    map.put(id, "a");
+
+    map.clear();
+
+    assertThat(map.size()).isEqualTo(0);
+    assertThat(map.contains(id)).isFalse();
+    assertThat(map.getGlobalId("global")).isNull();
+  }
+}
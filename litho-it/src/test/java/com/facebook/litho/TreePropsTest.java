@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import java.lang.reflect.Array;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TreePropsTest {
+
+  @Test
+  public void testGetReturnsMostRecentValue() {
+    final TreeProps treeProps = new TreeProps();
+    treeProps.put(String.class, "first");
+    treeProps.put(Integer.class, 1);
+    treeProps.put(String.class, "second");
+
+    assertThat(treeProps.get(String.class)).isEqualTo("second");
+    assertThat(treeProps.get(Integer.class)).isEqualTo(1);
+    assertThat(treeProps.get(Long.class)).isNull();
+  }
+
+  @Test
+  public void testPutNullHidesParentValue() {
+    final TreeProps parent = new TreeProps();
+    parent.put(String.class, "parent");
+
+    final TreeProps child = TreeProps.acquire(parent);
+    child.put(String.class, null);
+
+    assertThat(child.get(String.class)).isNull();
+    assertThat(parent.get(String.class)).isEqualTo("parent");
+  }
+
+  @Test
+  public void testAcquireIsIsolatedFromLaterPuts() {
+    final TreeProps parent = new TreeProps();
+    parent.put(String.class, "parent");
+
+    final TreeProps child = TreeProps.acquire(parent);
+    child.put(Integer.class, 1);
+    parent.put(Long.class, 2L);
+
+    assertThat(child.get(String.class)).isEqualTo("parent");
+    assertThat(child.get(Long.class)).isNull();
+    assertThat(parent.get(Integer.class)).isNull();
+  }
+
+  @Test
+  public void testCopyOfNullIsNull() {
+    assertThat(TreeProps.copy(null)).isNull();
+    assertThat(TreeProps.acquire(null).get(String.class)).isNull();
+  }
+
+  @Test
+  public void testChainIsCompacted() {
+    TreeProps treeProps = new TreeProps();
+    for (int i = 0; i < TreeProps.MAX_CHAIN_LENGTH * 2; i++) {
+      treeProps = TreeProps.acquire(treeProps);
+      treeProps.put(i % 2 == 0 ? String.class : Integer.class, i);
+    }
+
+    assertThat(treeProps.getChainLength()).isLessThanOrEqualTo(TreeProps.MAX_CHAIN_LENGTH);
+    assertThat(treeProps.get(String.class)).isEqualTo(TreeProps.MAX_CHAIN_LENGTH * 2 - 2);
+    assertThat(treeProps.get(Integer.class)).isEqualTo(TreeProps.MAX_CHAIN_LENGTH * 2 - 1);
+  }
+
+  @Test
+  public void testChainWithManyKeysIsNotCompactedOnEveryPut() {
+    final int keyCount = TreeProps.MAX_CHAIN_LENGTH + 8;
+    TreeProps treeProps = new TreeProps();
+    for (int i = 0; i < keyCount; i++) {
+      treeProps.put(key(i), i);
+    }
+    // Compacted once, when the chain first grew past MAX_CHAIN_LENGTH.
+    assertThat(treeProps.getChainLength()).isEqualTo(keyCount);
+
+    for (int i = 0; i < keyCount / 2; i++) {
+      treeProps = TreeProps.acquire(treeProps);
+      treeProps.put(key(i), -i);
+    }
+    assertThat(treeProps.getChainLength()).isEqualTo(keyCount + keyCount / 2);
+
+    for (int i = 0; i < keyCount; i++) {
+      treeProps.put(key(i), -i);
+    }
+    assertThat(treeProps.getChainLength()).isLessThanOrEqualTo(2 * keyCount);
+    for (int i = 0; i < keyCount; i++) {
+      assertThat(treeProps.get(key(i))).isEqualTo(-i);
+    }
+  }
+
+  @Test
+  public void testEqualsComparesEffectiveValues() {
+    final TreeProps first = new TreeProps();
+    first.put(String.class, "old");
+    first.put(String.class, "value");
+    first.put(Integer.class, 1);
+
+    final TreeProps second = new TreeProps();
+    second.put(Integer.class, 1);
+    second.put(String.class, "value");
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.hashCode()).isEqualTo(second.hashCode());
+
+    second.put(Integer.class, 2);
+    assertThat(first).isNotEqualTo(second);
+
+    second.put(Integer.class, 1);
+    second.put(Long.class, null);
+    assertThat(first).isNotEqualTo(second);
+    assertThat(second).isNotEqualTo(first);
+  }
+
+  /** @return a distinct key for each index: Object[].class, Object[][].class, ... */
+  private static Class<?> key(int index) {
+    return Array.newInstance(Object.class, new int[index + 1]).getClass();
+  }
+}
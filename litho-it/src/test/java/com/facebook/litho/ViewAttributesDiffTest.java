@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.Context;
+import android.view.View;
+import com.facebook.litho.testing.TestViewComponent;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class ViewAttributesDiffTest {
+
+  private Component mComponent;
+  private EventHandler<ClickEvent> mClickHandler;
+
+  @Before
+  public void setup() {
+    mComponent = TestViewComponent.create(new ComponentContext(getApplicationContext())).build();
+    mClickHandler = new EventHandler<>(null, 1, null);
+  }
+
+  @Test
+  public void testEquivalentOutputsHaveNoChanges() {
+    final LayoutOutput current = createOutput(createNodeInfo(0.5f, "tag"), 0);
+    final LayoutOutput next = createOutput(createNodeInfo(0.5f, "tag"), 0);
+
+    assertThat(ViewAttributesDiff.compute(current, next)).isEqualTo(ViewAttributesDiff.NONE);
+  }
+
+  @Test
+  public void testOnlyChangedGroupsAreFlagged() {
+    final LayoutOutput current = createOutput(createNodeInfo(0.5f, "tag"), 0);
+    final LayoutOutput next = createOutput(createNodeInfo(0.8f, "tag"), 0);
+
+    final int changes = ViewAttributesDiff.compute(current, next);
+
+    assertThat(ViewAttributesDiff.has(changes, ViewAttributesDiff.TRANSFORM)).isTrue();
+    assertThat(ViewAttributesDiff.has(changes, ViewAttributesDiff.ACCESSIBILITY)).isTrue();
+    assertThat(ViewAttributesDiff.has(changes, ViewAttributesDiff.CLICK)).isFalse();
+    assertThat(ViewAttributesDiff.has(changes, ViewAttributesDiff.VIEW_TAGS)).isFalse();
+    assertThat(ViewAttributesDiff.has(changes, ViewAttributesDiff.VIEW_NODE_INFO)).isFalse();
+  }
+
+  @Test
+  public void testStructuralDifferencesRequireFullUpdate() {
+    final LayoutOutput withNodeInfo = createOutput(createNodeInfo(0.5f, "tag"), 0);
+    final LayoutOutput withoutNodeInfo = createOutput(null, 0);
+    final LayoutOutput withOtherFlags =
+        createOutput(createNodeInfo(0.5f, "tag"), LayoutOutput.LAYOUT_FLAG_DUPLICATE_PARENT_STATE);
+
+    assertThat(ViewAttributesDiff.compute(withNodeInfo, withoutNodeInfo))
+        .isEqualTo(ViewAttributesDiff.ALL);
+    assertThat(ViewAttributesDiff.compute(withNodeInfo, withOtherFlags))
+        .isEqualTo(ViewAttributesDiff.ALL);
+  }
+
+  @Test
+  public void testPartialUpdateMatchesFullUpdateWithFewerSetterCalls() {
+    final LayoutOutput current = createOutput(createNodeInfo(0.5f, "tag"), 0);
+    final LayoutOutput next = createOutput(createNodeInfo(0.8f, "tag"), 0);
+
+    final CountingView partial = new CountingView(getApplicationContext());
+    final int partialFlags = LithoMountData.getViewAttributeFlags(partial);
+    MountState.setViewAttributes(partial, current);
+    partial.mSetterCalls = 0;
+    MountState.updateViewAttributes(
+        partial, current, next, partialFlags, ViewAttributesDiff.compute(current, next));
+
+    final CountingView full = new CountingView(getApplicationContext());
+    final int fullFlags = LithoMountData.getViewAttributeFlags(full);
+    MountState.setViewAttributes(full, current);
+    full.mSetterCalls = 0;
+    MountState.updateViewAttributes(full, current, next, fullFlags, ViewAttributesDiff.ALL);
+
+    assertThat(partial.getAlpha()).isEqualTo(0.8f).isEqualTo(full.getAlpha());
+    assertThat(partial.getTag()).isEqualTo("tag").isEqualTo(full.getTag());
+    assertThat(partial.isClickable()).isTrue().isEqualTo(full.isClickable());
+    assertThat(MountState.getComponentClickListener(partial).getEventHandler())
+        .isSameAs(mClickHandler);
+    assertThat(partial.mSetterCalls).isLessThan(full.mSetterCalls);
+  }
+
+  private NodeInfo createNodeInfo(float alpha, Object viewTag) {
+    final NodeInfo nodeInfo = new NodeInfo();
+    nodeInfo.setClickHandler(mClickHandler);
+    nodeInfo.setViewTag(viewTag);
+    nodeInfo.setAlpha(alpha);
+    return nodeInfo;
+  }
+
+  private LayoutOutput createOutput(NodeInfo nodeInfo, int flags) {
+    return new LayoutOutput(mComponent, nodeInfo, null, flags, 0, LayoutOutput.STATE_UNKNOWN);
+  }
+
+  /** Counts calls to the View setters touched by view attributes. */
+  private static class CountingView extends View {
+
+    int mSetterCalls;
+
+    CountingView(Context context) {
+      super(context);
+    }
+
+    @Override
+    public void setClickable(boolean clickable) {
+      mSetterCalls++;
+      super.setClickable(clickable);
+    }
+
+    @Override
+    public void setLongClickable(boolean longClickable) {
+      mSetterCalls++;
+      super.setLongClickable(longClickable);
+    }
+
+    @Override
+    public void setFocusable(boolean focusable) {
+      mSetterCalls++;
+      super.setFocusable(focusable);
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+      mSetterCalls++;
+      super.setEnabled(enabled);
+    }
+
+    @Override
+    public void setSelected(boolean selected) {
+      mSetterCalls++;
+      super.setSelected(selected);
+    }
+
+    @Override
+    public void setTag(Object tag) {
+      mSetterCalls++;
+      super.setTag(tag);
+    }
+
+    @Override
+    public void setAlpha(float alpha) {
+      mSetterCalls++;
+      super.setAlpha(alpha);
+    }
+
+    @Override
+    public void setOnClickListener(OnClickListener listener) {
+      mSetterCalls++;
+      super.setOnClickListener(listener);
+    }
+  }
+}
@@ -1807,6 +1807,71 @@ public class VisibilityEventsTest {
     assertThat(testComponentInner.getDispatchedEventHandlers().contains(visibleEventHandlerInner));
   }
 
+  @Test
+  public void testSetVisibilityHintTrueProcessesVisibilityOutputsOfCoalescedNestedLithoView() {
+    final boolean coalesce = ComponentsConfiguration.coalesceNestedVisibleBoundsChanges;
+    ComponentsConfiguration.coalesceNestedVisibleBoundsChanges = true;
+    try {
+      final TestComponent component = create(mContext).build();
+      final EventHandler<VisibleEvent> visibleEventHandler = new EventHandler<>(component, 1);
+      final EventHandler<InvisibleEvent> invisibleEventHandler = new EventHandler<>(component, 2);
+      mountNestedLithoView(
+          Column.create(mContext)
+              .child(
+                  Wrapper.create(mContext)
+                      .delegate(component)
+                      .visibleHandler(visibleEventHandler)
+                      .invisibleHandler(invisibleEventHandler)
+                      .widthPx(10)
+                      .heightPx(10))
+              .build());
+
+      assertThat(component.getDispatchedEventHandlers()).contains(visibleEventHandler);
+
+      component.getDispatchedEventHandlers().clear();
+      mLithoView.setVisibilityHint(false);
+
+      assertThat(component.getDispatchedEventHandlers()).contains(invisibleEventHandler);
+
+      component.getDispatchedEventHandlers().clear();
+      mLithoView.setVisibilityHint(true);
+
+      assertThat(component.getDispatchedEventHandlers()).contains(visibleEventHandler);
+    } finally {
+      ComponentsConfiguration.coalesceNestedVisibleBoundsChanges = coalesce;
+    }
+  }
+
+  @Test
+  public void testTransientStateFalseProcessesVisibilityOutputsOfCoalescedNestedLithoView() {
+    final boolean coalesce = ComponentsConfiguration.coalesceNestedVisibleBoundsChanges;
+    ComponentsConfiguration.coalesceNestedVisibleBoundsChanges = true;
+    try {
+      final TestComponent content = create(mContext).build();
+      final EventHandler<VisibleEvent> visibleEventHandler = new EventHandler<>(content, 2);
+      mountNestedLithoView(
+          Column.create(mContext)
+              .child(
+                  Wrapper.create(mContext)
+                      .delegate(content)
+                      .visibleHandler(visibleEventHandler)
+                      .widthPx(10)
+                      .heightPx(10))
+              .build());
+
+      mLithoView.notifyVisibleBoundsChanged(new Rect(0, -10, 10, -5), true);
+      content.getDispatchedEventHandlers().clear();
+
+      mLithoView.setHasTransientState(true);
+      assertThat(content.getDispatchedEventHandlers()).doesNotContain(visibleEventHandler);
+
+      mLithoView.setHasTransientState(false);
+      assertThat(content.getDispatchedEventHandlers()).contains(visibleEventHandler);
+    } finally {
+      ComponentsConfiguration.coalesceNestedVisibleBoundsChanges = coalesce;
+    }
+  }
+
   @Test
   public void testMultipleVisibleEventsIncrementalMountDisabled() {
     final TestComponent content1 = create(mContext).build();
@@ -2026,6 +2091,20 @@ public class VisibilityEventsTest {
     assertThat(nullOutput.get()).isNull();
   }
 
+  /** Mounts the root in mLithoView, which is then treated as nested in another LithoView. */
+  private void mountNestedLithoView(Component root) {
+    mLegacyLithoViewRule
+        .useComponentTree(ComponentTree.create(mContext).build())
+        .setRoot(root)
+        .attachToWindow()
+        .setSizeSpecs(makeSizeSpec(100, EXACTLY), makeSizeSpec(100, EXACTLY))
+        .measure()
+        .layout();
+
+    Whitebox.setInternalState(mLithoView, "mHasParentLithoView", true);
+    Whitebox.setInternalState(mLithoView, "mHasParentLithoViewResolved", true);
+  }
+
   private Map<String, VisibilityItem> getVisibilityIdToItemMap() {
     if (!ComponentsConfiguration.delegateToRenderCoreMount) {
       return ((MountState) mLithoView.getMountDelegateTarget()).getVisibilityIdToItemMap();
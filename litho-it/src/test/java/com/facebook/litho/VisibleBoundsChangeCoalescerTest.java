@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.Context;
+import android.widget.FrameLayout;
+import com.facebook.litho.stats.LithoStats;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class VisibleBoundsChangeCoalescerTest {
+
+  private FrameLayout mRoot;
+  private CountingLithoView mFirst;
+  private CountingLithoView mSecond;
+
+  @Before
+  public void setup() {
+    final Context context = getApplicationContext();
+    mRoot = new FrameLayout(context);
+    mFirst = new CountingLithoView(context);
+    mSecond = new CountingLithoView(context);
+    mRoot.addView(mFirst);
+    mRoot.addView(mSecond);
+  }
+
+  @Test
+  public void enqueuedChanges_areProcessedOnceOnPreDraw() {
+    final long savedCount = LithoStats.getComponentSavedVisibleBoundsChangeCount();
+
+    assertThat(VisibleBoundsChangeCoalescer.enqueue(mFirst)).isTrue();
+    assertThat(VisibleBoundsChangeCoalescer.enqueue(mSecond)).isTrue();
+    assertThat(VisibleBoundsChangeCoalescer.enqueue(mFirst)).isTrue();
+
+    assertThat(mFirst.mProcessCount).isEqualTo(0);
+    assertThat(mSecond.mProcessCount).isEqualTo(0);
+
+    mRoot.getViewTreeObserver().dispatchOnPreDraw();
+
+    assertThat(mFirst.mProcessCount).isEqualTo(1);
+    assertThat(mSecond.mProcessCount).isEqualTo(1);
+    assertThat(LithoStats.getComponentSavedVisibleBoundsChangeCount() - savedCount).isEqualTo(1);
+  }
+
+  @Test
+  public void changesEnqueuedWhileProcessing_areProcessedInTheSamePass() {
+    mFirst.mOnProcess =
+        new Runnable() {
+          @Override
+          public void run() {
+            VisibleBoundsChangeCoalescer.enqueue(mSecond);
+          }
+        };
+
+    VisibleBoundsChangeCoalescer.enqueue(mFirst);
+    mRoot.getViewTreeObserver().dispatchOnPreDraw();
+
+    assertThat(mFirst.mProcessCount).isEqualTo(1);
+    assertThat(mSecond.mProcessCount).isEqualTo(1);
+
+    // The next pass starts from scratch.
+    mRoot.getViewTreeObserver().dispatchOnPreDraw();
+
+    assertThat(mFirst.mProcessCount).isEqualTo(1);
+    assertThat(mSecond.mProcessCount).isEqualTo(1);
+  }
+
+  private static class CountingLithoView extends LithoView {
+
+    int mProcessCount;
+    Runnable mOnProcess;
+
+    CountingLithoView(Context context) {
+      super(context);
+    }
+
+    @Override
+    void processCoalescedVisibleBoundsChange() {
+      mProcessCount++;
+      if (mOnProcess != null) {
+        mOnProcess.run();
+      }
+    }
+  }
+}
@@ -436,6 +436,9 @@ public class ComponentBodyGeneratorTest {
                 + "    return false;\n"
                 + "  }\n"
                 + "  MountTest mountTestRef = (MountTest) other;\n"
+                + "  if (getPropsHash() != mountTestRef.getPropsHash()) {\n"
+                + "    return false;\n"
+                + "  }\n"
                 + "  if (arg0 != mountTestRef.arg0) {\n"
                 + "    return false;\n"
                 + "  }\n"
@@ -495,6 +498,23 @@ public class ComponentBodyGeneratorTest {
                 + "}\n");
   }
 
+  @Test
+  public void testGenerateComputePropsHash() {
+    TypeSpecDataHolder dataHolder = ComponentBodyGenerator.generateComputePropsHash(mSpecModelDI);
+    assertThat(dataHolder.getMethodSpecs()).isEmpty();
+
+    dataHolder = ComponentBodyGenerator.generateComputePropsHash(mMountSpecModelDI);
+    assertThat(dataHolder.getMethodSpecs()).hasSize(1);
+    assertThat(dataHolder.getMethodSpecs().get(0).toString())
+        .isEqualTo(
+            "@java.lang.Override\n"
+                + "protected long computePropsHash() {\n"
+                + "  long _hash = PROPS_HASH_SEED;\n"
+                + "  _hash = hashProp(_hash, arg0);\n"
+                + "  return _hash;\n"
+                + "}\n");
+  }
+
   @Test
   public void testGetDynamicProps() {
     TypeSpecDataHolder dataHolder = ComponentBodyGenerator.generateGetDynamicProps(mSpecModelDI);
@@ -189,6 +189,10 @@ public class EventGeneratorTest {
         .isEqualTo(
             "public static <T extends java.lang.CharSequence> com.facebook.litho.EventHandler<java.lang.Object> testEventMethod1(com.facebook.litho.ComponentContext c,\n"
                 + "    java.lang.Object arg2, T arg3, @androidx.annotation.Nullable T arg6) {\n"
+                + "  final com.facebook.litho.EventHandler<java.lang.Object> _reusedEventHandler = getReusableEventHandler(Test.class, c, -1400079064);\n"
+                + "  if (_reusedEventHandler != null && com.facebook.litho.EventHandler.paramEquals(_reusedEventHandler, 1, arg2) && com.facebook.litho.EventHandler.paramEquals(_reusedEventHandler, 2, arg3) && com.facebook.litho.EventHandler.paramEquals(_reusedEventHandler, 3, arg6)) {\n"
+                + "    return _reusedEventHandler;\n"
+                + "  }\n"
                 + "  return newEventHandler(Test.class, \"Test\", c, -1400079064, new Object[] {\n"
                 + "        c,\n"
                 + "        arg2,\n"
@@ -200,6 +204,10 @@ public class EventGeneratorTest {
     assertThat(dataHolder.getMethodSpecs().get(1).toString())
         .isEqualTo(
             "public static com.facebook.litho.EventHandler<java.lang.Object> testEventMethod2(com.facebook.litho.ComponentContext c) {\n"
+                + "  final com.facebook.litho.EventHandler<java.lang.Object> _reusedEventHandler = getReusableEventHandler(Test.class, c, -1400079063);\n"
+                + "  if (_reusedEventHandler != null) {\n"
+                + "    return _reusedEventHandler;\n"
+                + "  }\n"
                 + "  return newEventHandler(Test.class, \"Test\", c, -1400079063, new Object[] {\n"
                 + "        c,\n"
                 + "      });\n"
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.stats;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LatencyHistogramTest {
+
+  @Test
+  public void record_placesValuesInExponentialBuckets() {
+    assertThat(LatencyHistogram.getBucketIndex(0)).isEqualTo(0);
+    assertThat(LatencyHistogram.getBucketIndex(1023)).isEqualTo(0);
+    assertThat(LatencyHistogram.getBucketIndex(1024)).isEqualTo(1);
+    assertThat(LatencyHistogram.getBucketIndex(2047)).isEqualTo(1);
+    assertThat(LatencyHistogram.getBucketIndex(2048)).isEqualTo(2);
+    assertThat(LatencyHistogram.getBucketIndex(Long.MAX_VALUE))
+        .isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+  }
+
+  @Test
+  public void snapshot_computesPercentilesFromBuckets() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 99; i++) {
+      histogram.record(1500);
+    }
+    histogram.record(1_000_000);
+
+    final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getCount()).isEqualTo(100);
+    assertThat(snapshot.getMaxNanos()).isEqualTo(1_000_000);
+    assertThat(snapshot.getPercentileNanos(50)).isEqualTo(2048);
+    assertThat(snapshot.getPercentileNanos(99)).isEqualTo(2048);
+    assertThat(snapshot.getPercentileNanos(100)).isEqualTo(1_000_000);
+    assertThat(snapshot.getMeanNanos()).isEqualTo((99 * 1500 + 1_000_000) / 100);
+  }
+
+  @Test
+  public void snapshotAndReset_clearsHistogram() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(5000);
+
+    assertThat(histogram.snapshotAndReset().getCount()).isEqualTo(1);
+    assertThat(histogram.snapshot().getCount()).isEqualTo(0);
+    assertThat(histogram.snapshot().getPercentileNanos(99)).isEqualTo(0);
+  }
+
+  @Test
+  public void merge_addsCounts() {
+    final LatencyHistogram first = new LatencyHistogram();
+    final LatencyHistogram second = new LatencyHistogram();
+    first.record(100);
+    second.record(100_000);
+
+    final LatencyHistogram.Snapshot merged = first.snapshot().merge(second.snapshot());
+
+    assertThat(merged.getCount()).isEqualTo(2);
+    assertThat(merged.getSumNanos()).isEqualTo(100_100);
+    assertThat(merged.getMaxNanos()).isEqualTo(100_000);
+  }
+}
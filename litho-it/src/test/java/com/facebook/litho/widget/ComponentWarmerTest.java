@@ -20,6 +20,7 @@ import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.robolectric.annotation.LooperMode.Mode.LEGACY;
 
+import android.content.ComponentCallbacks2;
 import android.os.HandlerThread;
 import android.os.Looper;
 import com.facebook.litho.Column;
@@ -533,6 +534,83 @@ public class ComponentWarmerTest {
     assertThat(warmer.getFactory()).isNotEqualTo(preparer);
   }
 
+  @Test
+  public void testPrepareOnIdleHighestPriorityFirst() {
+    final ComponentWarmer warmer = new ComponentWarmer(mContext, mWidthSpec, mHeightSpec);
+
+    warmer.prepareOnIdle("low", createRenderInfo(), 0, 10);
+    warmer.prepareOnIdle("high", createRenderInfo(), 5, 10);
+
+    assertThat(warmer.prepareNextOnIdle()).isTrue();
+    assertThat(warmer.getCache().get("high")).isNotNull();
+    assertThat(warmer.getCache().get("low")).isNull();
+
+    assertThat(warmer.prepareNextOnIdle()).isFalse();
+    assertThat(warmer.getCache().get("low")).isNotNull();
+  }
+
+  @Test
+  public void testPrepareOnIdleStopsUnderMemoryPressure() {
+    final ComponentWarmer warmer = new ComponentWarmer(mContext, mWidthSpec, mHeightSpec);
+
+    warmer.prepareOnIdle("tag1", createRenderInfo(), 0, 10);
+    warmer.prepareOnIdle("tag2", createRenderInfo(), 0, 10);
+    warmer.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+
+    assertThat(warmer.prepareNextOnIdle()).isFalse();
+    assertThat(warmer.getCache().get("tag1")).isNull();
+    assertThat(warmer.getCache().get("tag2")).isNull();
+    assertThat(warmer.getStats().getSkippedCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testCostAwareEvictionEvictsLowestPriorityFirst() {
+    final ComponentWarmer warmer = new ComponentWarmer(mContext, mWidthSpec, mHeightSpec);
+    final ComponentWarmer.CostAwareCache cache = (ComponentWarmer.CostAwareCache) warmer.getCache();
+    warmer.setMaxCost(100);
+
+    cache.put("high", createHolder(), 2, 40);
+    cache.put("low", createHolder(), 0, 40);
+    cache.put("normal", createHolder(), 1, 40);
+
+    assertThat(cache.get("high")).isNotNull();
+    assertThat(cache.get("low")).isNull();
+    assertThat(cache.get("normal")).isNotNull();
+  }
+
+  @Test
+  public void testCostAwareEvictionEvictsLeastRecentlyUsedWithinPriority() {
+    final ComponentWarmer warmer = new ComponentWarmer(mContext, mWidthSpec, mHeightSpec);
+    final ComponentWarmer.CostAwareCache cache = (ComponentWarmer.CostAwareCache) warmer.getCache();
+
+    for (int i = 0; i < ComponentWarmer.DEFAULT_MAX_SIZE; i++) {
+      cache.put("tag" + i, createHolder());
+    }
+    cache.get("tag0");
+    cache.put("extra", createHolder());
+
+    assertThat(cache.get("tag0")).isNotNull();
+    assertThat(cache.get("tag1")).isNull();
+    assertThat(cache.get("extra")).isNotNull();
+  }
+
+  @Test
+  public void testStatsTrackUsedAndEvictedEntries() {
+    final ComponentWarmer warmer = new ComponentWarmer(mContext, mWidthSpec, mHeightSpec);
+
+    warmer.prepare("used", createRenderInfo(), null);
+    warmer.prepare("unused", createRenderInfo(), null);
+
+    assertThat(warmer.consume("used")).isNotNull();
+    warmer.evictAll();
+
+    final ComponentWarmer.Stats stats = warmer.getStats();
+    assertThat(stats.getPreparedCount()).isEqualTo(2);
+    assertThat(stats.getUsedCount()).isEqualTo(1);
+    assertThat(stats.getEvictedUnusedCount()).isEqualTo(1);
+    assertThat(stats.getUsedRatio()).isEqualTo(0.5f);
+  }
+
   private static void runOnBackgroundThreadSync(final Runnable runnable) {
     new Thread(
             new Runnable() {
@@ -544,6 +622,16 @@ public class ComponentWarmerTest {
         .start();
   }
 
+  private ComponentRenderInfo createRenderInfo() {
+    return ComponentRenderInfo.create()
+        .component(SimpleMountSpecTester.create(mContext).build())
+        .build();
+  }
+
+  private ComponentTreeHolder createHolder() {
+    return ComponentTreeHolder.create().renderInfo(createRenderInfo()).build();
+  }
+
   final class TestComponent extends Component {
 
     private final String mSimpleName;
@@ -20,8 +20,11 @@ import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
 import static org.assertj.core.api.Java6Assertions.assertThat;
 
 import android.view.View;
+import android.widget.ProgressBar;
 import com.facebook.litho.ComponentContext;
 import com.facebook.litho.LithoView;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.it.R;
 import com.facebook.litho.testing.helper.ComponentTestHelper;
 import com.facebook.litho.testing.testrunner.LithoTestRunner;
 import org.junit.Before;
@@ -57,6 +60,30 @@ public class ProgressSpecTest {
     assertThat(view.getMeasuredHeight()).isEqualTo(ProgressSpec.DEFAULT_SIZE);
   }
 
+  @Test
+  public void testCachedStyleGivesEachMountedProgressItsOwnDrawable() {
+    final boolean cacheLoadedStyles = ComponentsConfiguration.cacheLoadedStyles;
+    ComponentsConfiguration.cacheLoadedStyles = true;
+    try {
+      final ProgressBar first =
+          getMountedProgressBar(R.style.ProgressSpecTest_IndeterminateDrawable);
+      final ProgressBar second =
+          getMountedProgressBar(R.style.ProgressSpecTest_IndeterminateDrawable);
+
+      assertThat(first.getIndeterminateDrawable()).isNotNull();
+      assertThat(second.getIndeterminateDrawable()).isNotNull();
+      assertThat(second.getIndeterminateDrawable()).isNotSameAs(first.getIndeterminateDrawable());
+    } finally {
+      ComponentsConfiguration.cacheLoadedStyles = cacheLoadedStyles;
+    }
+  }
+
+  private ProgressBar getMountedProgressBar(int defStyleRes) {
+    final LithoView view =
+        ComponentTestHelper.mountComponent(Progress.create(mContext, 0, defStyleRes));
+    return (ProgressBar) view.getChildAt(0);
+  }
+
   private LithoView getMountedView() {
     Progress.Builder progress = Progress.create(mContext);
 
@@ -5603,6 +5603,43 @@ public class RecyclerBinderTest {
     return components;
   }
 
+  @Test
+  public void testStickyPositionIndexFollowsMutations() {
+    final RenderInfo sticky =
+        ComponentRenderInfo.create()
+            .component(SimpleMountSpecTester.create(mComponentContext).build())
+            .isSticky(true)
+            .build();
+
+    for (int i = 0; i < 10; i++) {
+      mRecyclerBinder.insertItemAt(i, i % 5 == 0 ? sticky : createTestComponentRenderInfo());
+    }
+    mRecyclerBinder.notifyChangeSetComplete(true, NO_OP_CHANGE_SET_COMPLETE_CALLBACK);
+
+    assertThat(mRecyclerBinder.findStickyPositionAtOrBefore(4)).isEqualTo(0);
+    assertThat(mRecyclerBinder.findStickyPositionAtOrBefore(7)).isEqualTo(5);
+    assertThat(mRecyclerBinder.findStickyPositionAtOrAfter(1)).isEqualTo(5);
+
+    mRecyclerBinder.insertRangeAt(
+        1, Arrays.asList(createTestComponentRenderInfo(), createTestComponentRenderInfo()));
+    mRecyclerBinder.moveItem(0, 3);
+    mRecyclerBinder.removeItemAt(0);
+    mRecyclerBinder.updateItemAt(5, createTestComponentRenderInfo());
+    mRecyclerBinder.updateRangeAt(1, Arrays.asList(sticky));
+    mRecyclerBinder.notifyChangeSetComplete(true, NO_OP_CHANGE_SET_COMPLETE_CALLBACK);
+
+    for (int i = 0; i < mRecyclerBinder.getItemCount(); i++) {
+      int expected = RecyclerView.NO_POSITION;
+      for (int j = i; j >= 0; j--) {
+        if (mRecyclerBinder.isSticky(j)) {
+          expected = j;
+          break;
+        }
+      }
+      assertThat(mRecyclerBinder.findStickyPositionAtOrBefore(i)).isEqualTo(expected);
+    }
+  }
+
   private void makeIndexSticky(List<ComponentRenderInfo> components, int i) {
     components.set(
         i, ComponentRenderInfo.create().component(mock(Component.class)).isSticky(true).build());
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import static androidx.recyclerview.widget.RecyclerView.NO_POSITION;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class StickyPositionIndexTest {
+
+  @Test
+  public void testFindOnEmptyIndex() {
+    final StickyPositionIndex index = new StickyPositionIndex();
+
+    assertThat(index.findAtOrBefore(10)).isEqualTo(NO_POSITION);
+    assertThat(index.findAtOrAfter(0)).isEqualTo(NO_POSITION);
+  }
+
+  @Test
+  public void testFind() {
+    final StickyPositionIndex index = indexWithStickyAt(20, 0, 5, 12);
+
+    assertThat(index.findAtOrBefore(0)).isEqualTo(0);
+    assertThat(index.findAtOrBefore(4)).isEqualTo(0);
+    assertThat(index.findAtOrBefore(5)).isEqualTo(5);
+    assertThat(index.findAtOrBefore(19)).isEqualTo(12);
+    assertThat(index.findAtOrAfter(6)).isEqualTo(12);
+    assertThat(index.findAtOrAfter(13)).isEqualTo(NO_POSITION);
+  }
+
+  @Test
+  public void testInsertShiftsFollowingPositions() {
+    final StickyPositionIndex index = indexWithStickyAt(20, 0, 5, 12);
+
+    index.onInserted(5, false);
+    index.onRangeInserted(0, 2);
+
+    assertThat(index.contains(2)).isTrue();
+    assertThat(index.contains(8)).isTrue();
+    assertThat(index.contains(15)).isTrue();
+    assertThat(index.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void testRemoveDropsAndShiftsPositions() {
+    final StickyPositionIndex index = indexWithStickyAt(20, 0, 5, 12);
+
+    index.onRangeRemoved(4, 3);
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.findAtOrBefore(8)).isEqualTo(0);
+    assertThat(index.findAtOrAfter(1)).isEqualTo(9);
+  }
+
+  @Test
+  public void testMove() {
+    final StickyPositionIndex index = indexWithStickyAt(20, 0, 5, 12);
+
+    index.onMoved(0, 10);
+
+    assertThat(index.contains(0)).isFalse();
+    assertThat(index.contains(4)).isTrue();
+    assertThat(index.contains(10)).isTrue();
+    assertThat(index.contains(12)).isTrue();
+  }
+
+  @Test
+  public void testUpdate() {
+    final StickyPositionIndex index = indexWithStickyAt(20, 0, 5, 12);
+
+    index.onUpdated(5, false);
+    index.onUpdated(7, true);
+    index.onUpdated(7, true);
+
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.findAtOrBefore(6)).isEqualTo(0);
+    assertThat(index.findAtOrBefore(8)).isEqualTo(7);
+  }
+
+  @Test
+  public void testGrowsPastInitialCapacity() {
+    final StickyPositionIndex index = new StickyPositionIndex();
+    for (int i = 0; i < 100; i++) {
+      index.onInserted(i, i % 2 == 0);
+    }
+
+    assertThat(index.size()).isEqualTo(50);
+    assertThat(index.findAtOrBefore(99)).isEqualTo(98);
+  }
+
+  private static StickyPositionIndex indexWithStickyAt(int count, int... stickyPositions) {
+    final StickyPositionIndex index = new StickyPositionIndex();
+    index.onRangeInserted(0, count);
+    for (int position : stickyPositions) {
+      index.onUpdated(position, true);
+    }
+    return index;
+  }
+}
@@ -178,6 +178,26 @@ public final class TestLayout<S extends View> extends SpecGeneratedComponent imp
     }
   }
 
+  @Override
+  protected Object[] createStyleSnapshot(ComponentContext c) {
+    Output<Boolean> prop2Tmp = new Output<>();
+    Output<Object> prop3Tmp = new Output<>();
+    TestLayoutSpec.onLoadStyle(
+        (ComponentContext) c, (Output<Boolean>) prop2Tmp, (Output<Object>) prop3Tmp);
+    return new Object[] {prop2Tmp.get(), prop3Tmp.get()};
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected void applyStyleSnapshot(Object[] snapshot) {
+    if (snapshot[0] != null) {
+      prop2 = (Boolean) snapshot[0];
+    }
+    if (snapshot[1] != null) {
+      prop3 = (Object) snapshot[1];
+    }
+  }
+
   @Override
   protected void createInitialState(ComponentContext c) {
     TestLayoutStateContainer _state = getStateContainerImpl(c);
@@ -280,6 +300,12 @@ public final class TestLayout<S extends View> extends SpecGeneratedComponent imp
   }
 
   public static EventHandler<ClickEvent> testLayoutEvent(ComponentContext c, int param1) {
+    final EventHandler<ClickEvent> _reusedEventHandler =
+        getReusableEventHandler(TestLayout.class, c, 1328162206);
+    if (_reusedEventHandler != null
+        && EventHandler.paramEquals(_reusedEventHandler, 1, param1)) {
+      return _reusedEventHandler;
+    }
     return newEventHandler(
         TestLayout.class,
         "TestLayout",
@@ -291,6 +317,11 @@ public final class TestLayout<S extends View> extends SpecGeneratedComponent imp
   }
 
   public static EventHandler<ErrorEvent> __internalOnErrorHandler(ComponentContext c) {
+    final EventHandler<ErrorEvent> _reusedEventHandler =
+        getReusableEventHandler(TestLayout.class, c, -1048037474);
+    if (_reusedEventHandler != null) {
+      return _reusedEventHandler;
+    }
     return newEventHandler(
         TestLayout.class,
         "TestLayout",
@@ -129,6 +129,9 @@ public final class TestMount<S extends View> extends SpecGeneratedComponent impl
       return false;
     }
     TestMount testMountRef = (TestMount) other;
+    if (getPropsHash() != testMountRef.getPropsHash()) {
+      return false;
+    }
     if (prop1 != testMountRef.prop1) {
       return false;
     }
@@ -163,6 +166,17 @@ public final class TestMount<S extends View> extends SpecGeneratedComponent impl
     return true;
   }
 
+  @Override
+  protected long computePropsHash() {
+    long _hash = PROPS_HASH_SEED;
+    _hash = hashProp(_hash, prop1);
+    _hash = hashProp(_hash, prop2);
+    _hash = hashProp(_hash, prop5);
+    _hash = hashProp(_hash, prop6);
+    _hash = hashProp(_hash, prop8);
+    return _hash;
+  }
+
   @Override
   protected boolean isEqualivalentTreeProps(ComponentContext current, ComponentContext next) {
     if (current.getParentTreeProp(
@@ -236,6 +250,26 @@ public final class TestMount<S extends View> extends SpecGeneratedComponent impl
     }
   }
 
+  @Override
+  protected Object[] createStyleSnapshot(ComponentContext c) {
+    Output<Boolean> prop2Tmp = new Output<>();
+    Output<Object> prop3Tmp = new Output<>();
+    TestMountSpec.onLoadStyle(
+        (ComponentContext) c, (Output<Boolean>) prop2Tmp, (Output<Object>) prop3Tmp);
+    return new Object[] {prop2Tmp.get(), prop3Tmp.get()};
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected void applyStyleSnapshot(Object[] snapshot) {
+    if (snapshot[0] != null) {
+      prop2 = (Boolean) snapshot[0];
+    }
+    if (snapshot[1] != null) {
+      prop3 = (Object) snapshot[1];
+    }
+  }
+
   @Override
   protected void createInitialState(ComponentContext c) {
     TestMountStateContainer _state = getStateContainerImpl(c);
@@ -484,6 +518,12 @@ public final class TestMount<S extends View> extends SpecGeneratedComponent impl
   }
 
   public static EventHandler<ClickEvent> testLayoutEvent(ComponentContext c, int param1) {
+    final EventHandler<ClickEvent> _reusedEventHandler =
+        getReusableEventHandler(TestMount.class, c, 1328162206);
+    if (_reusedEventHandler != null
+        && EventHandler.paramEquals(_reusedEventHandler, 1, param1)) {
+      return _reusedEventHandler;
+    }
     return newEventHandler(
         TestMount.class,
         "TestMount",
@@ -895,6 +935,7 @@ public final class TestMount<S extends View> extends SpecGeneratedComponent impl
     public TestMount build() {
       checkArgs(REQUIRED_PROPS_COUNT, mRequired, REQUIRED_PROPS_NAMES);
       registerEventTriggers();
+      mTestMount.precomputePropsHash();
       return mTestMount;
     }
   }
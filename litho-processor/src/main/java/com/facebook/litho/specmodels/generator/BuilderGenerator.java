@@ -1401,6 +1401,11 @@ public class BuilderGenerator {
       buildMethodBuilder.addStatement("registerEventTriggers()");
     }
 
+    if (!ComponentBodyGenerator.getHashableProps(specModel).isEmpty()) {
+      buildMethodBuilder.addStatement(
+          "$L.precomputePropsHash()", getComponentMemberInstanceName(specModel));
+    }
+
     return buildMethodBuilder
         .addStatement("return $L", getComponentMemberInstanceName(specModel))
         .build();
@@ -150,6 +150,7 @@ public class ComponentBodyGenerator {
 
     if (specModel.shouldGenerateIsEquivalentTo()) {
       builder.addMethod(generateIsEquivalentMethod(specModel, runMode));
+      builder.addTypeSpecDataHolder(generateComputePropsHash(specModel));
     }
 
     if (specModel.shouldGenerateIsEquivalentTo()
@@ -580,6 +581,13 @@ public class ComponentBodyGenerator {
           .endControlFlow();
     }
 
+    if (!getHashableProps(specModel).isEmpty()) {
+      isEquivalentBuilder
+          .beginControlFlow("if (getPropsHash() != $N.getPropsHash())", instanceRefName)
+          .addStatement("return false")
+          .endControlFlow();
+    }
+
     for (PropModel prop : specModel.getProps()) {
       isEquivalentBuilder.addCode(
           getCompareStatement("isEquivalentTo", specModel, instanceRefName, prop, runMode));
@@ -599,6 +607,48 @@ public class ComponentBodyGenerator {
     return isEquivalentBuilder.build();
   }
 
+  /**
+   * Generates {@code computePropsHash}, which folds every hashable prop into a 64-bit hash without
+   * boxing. The hash is used by the generated isEquivalentTo to bail out early.
+   */
+  static TypeSpecDataHolder generateComputePropsHash(SpecModel specModel) {
+    final TypeSpecDataHolder.Builder typeSpecDataHolder = TypeSpecDataHolder.newBuilder();
+    final List<PropModel> hashableProps = getHashableProps(specModel);
+    if (hashableProps.isEmpty()) {
+      return typeSpecDataHolder.build();
+    }
+
+    final MethodSpec.Builder computePropsHash =
+        MethodSpec.methodBuilder("computePropsHash")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PROTECTED)
+            .returns(TypeName.LONG)
+            .addStatement("long _hash = PROPS_HASH_SEED");
+
+    for (PropModel prop : hashableProps) {
+      computePropsHash.addStatement("_hash = hashProp(_hash, $L)", prop.getName());
+    }
+
+    return typeSpecDataHolder
+        .addMethod(computePropsHash.addStatement("return _hash").build())
+        .build();
+  }
+
+  /**
+   * @return the props of a generated Component which are part of its props hash. Only non-dynamic
+   *     primitive props are hashed, since they are compared by value in isEquivalentTo.
+   */
+  static List<PropModel> getHashableProps(SpecModel specModel) {
+    if (!specModel.shouldGenerateIsEquivalentTo()
+        || !specModel.getComponentClass().equals(ClassNames.COMPONENT)) {
+      return Collections.emptyList();
+    }
+
+    return specModel.getProps().stream()
+        .filter(prop -> !prop.isDynamic() && prop.getTypeName().isPrimitive())
+        .collect(Collectors.toList());
+  }
+
   static TypeSpecDataHolder generateCopyInterStageImpl(
       SpecModel specModel, ClassName implClassName) {
     final TypeSpecDataHolder.Builder typeSpecDataHolder = TypeSpecDataHolder.newBuilder();
@@ -31,6 +31,7 @@ import static com.facebook.litho.specmodels.model.DelegateMethodDescription.isAl
 
 import com.facebook.litho.annotations.OnAttached;
 import com.facebook.litho.annotations.OnDetached;
+import com.facebook.litho.annotations.OnLoadStyle;
 import com.facebook.litho.specmodels.internal.ImmutableList;
 import com.facebook.litho.specmodels.internal.RunMode;
 import com.facebook.litho.specmodels.model.ClassNames;
@@ -49,6 +50,7 @@ import com.facebook.litho.specmodels.model.SpecModel;
 import com.facebook.litho.specmodels.model.SpecModelUtils;
 import com.facebook.litho.specmodels.model.StateParamModel;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -87,6 +89,13 @@ public class DelegateMethodGenerator {
               delegateMethodsMap.get(annotation.annotationType());
           typeSpecDataHolder.addMethod(
               generateDelegate(specModel, delegateMethodDescription, delegateMethodModel, runMode));
+          if (annotationType.equals(OnLoadStyle.class)) {
+            typeSpecDataHolder.addMethod(
+                generateCreateStyleSnapshot(specModel, delegateMethodModel));
+            typeSpecDataHolder.addMethod(
+                generateApplyStyleSnapshot(
+                    specModel, delegateMethodDescription, delegateMethodModel));
+          }
           for (MethodSpec methodSpec : delegateMethodDescription.extraMethods) {
             typeSpecDataHolder.addMethod(methodSpec);
           }
@@ -465,6 +474,90 @@ public class DelegateMethodGenerator {
     return delegation.build();
   }
 
+  /**
+   * Generates createStyleSnapshot(), which calls the {@code @OnLoadStyle} method and returns the
+   * values it set on its outputs, in the order of the outputs, so they can be cached.
+   */
+  private static MethodSpec generateCreateStyleSnapshot(
+      SpecModel specModel, SpecMethodModel<DelegateMethod, Void> delegateMethod) {
+    final MethodSpec.Builder methodSpec =
+        MethodSpec.methodBuilder("createStyleSnapshot")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PROTECTED)
+            .returns(ArrayTypeName.of(ClassNames.OBJECT));
+
+    final List<ParamTypeAndName> delegationParams =
+        new ArrayList<>(delegateMethod.methodParams.size());
+    final CodeBlock.Builder outputs = CodeBlock.builder();
+    int outputCount = 0;
+    for (int i = 0, size = delegateMethod.methodParams.size(); i < size; i++) {
+      final MethodParamModel methodParamModel = delegateMethod.methodParams.get(i);
+      final TypeName typeName = methodParamModel.getTypeName();
+      if (isOutputType(typeName)) {
+        final String localOutputName = methodParamModel.getName() + "Tmp";
+        methodSpec.addCode("$T $L = new Output<>();\n", typeName, localOutputName);
+        delegationParams.add(ParamTypeAndName.create(typeName, localOutputName));
+        outputs.add(outputCount++ == 0 ? "$L.get()" : ", $L.get()", localOutputName);
+      } else {
+        methodSpec.addParameter(typeName, methodParamModel.getName());
+        delegationParams.add(ParamTypeAndName.create(typeName, methodParamModel.getName()));
+      }
+    }
+
+    methodSpec.addCode(
+        getDelegationMethod(
+            specModel,
+            delegateMethod.name,
+            TypeName.VOID,
+            ImmutableList.copyOf(delegationParams)));
+    methodSpec.addStatement("return new $T[] {$L}", ClassNames.OBJECT, outputs.build());
+
+    return methodSpec.build();
+  }
+
+  /**
+   * Generates applyStyleSnapshot(), which sets the values returned by createStyleSnapshot() on the
+   * props the same way the {@code @OnLoadStyle} delegate does.
+   */
+  private static MethodSpec generateApplyStyleSnapshot(
+      SpecModel specModel,
+      DelegateMethodDescription methodDescription,
+      SpecMethodModel<DelegateMethod, Void> delegateMethod) {
+    final MethodSpec.Builder methodSpec =
+        MethodSpec.methodBuilder("applyStyleSnapshot")
+            .addAnnotation(
+                AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build())
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PROTECTED)
+            .returns(TypeName.VOID)
+            .addParameter(ArrayTypeName.of(ClassNames.OBJECT), "snapshot");
+
+    int index = 0;
+    for (MethodParamModel methodParamModel : delegateMethod.methodParams) {
+      final TypeName typeName = methodParamModel.getTypeName();
+      if (!isOutputType(typeName)) {
+        continue;
+      }
+
+      final TypeName valueType =
+          typeName instanceof ParameterizedTypeName
+              ? ((ParameterizedTypeName) typeName).typeArguments.get(0)
+              : ClassNames.OBJECT;
+      methodSpec.beginControlFlow("if (snapshot[$L] != null)", index);
+      methodSpec.addStatement(
+          "$L = ($T) snapshot[$L]",
+          getImplAccessor(specModel, methodDescription, methodParamModel, null),
+          valueType,
+          index);
+      methodSpec.endControlFlow();
+      index++;
+    }
+
+    return methodSpec.build();
+  }
+
   /** Override hasAttachDetachCallback() method and return true. */
   private static MethodSpec generateHasAttachDetachCallback() {
     final MethodSpec.Builder methodSpec =
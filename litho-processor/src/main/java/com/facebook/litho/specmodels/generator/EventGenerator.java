@@ -60,6 +60,8 @@ import javax.lang.model.element.Modifier;
 /** Class that generates the event methods for a Component. */
 public class EventGenerator {
 
+  private static final String REUSED_EVENT_HANDLER_NAME = "_reusedEventHandler";
+
   private EventGenerator() {}
 
   public static TypeSpecDataHolder generate(SpecModel specModel) {
@@ -374,7 +376,11 @@ public class EventGenerator {
         specModel.getEventMethods()) {
       typeSpecDataHolder.addMethod(
           generateEventHandlerFactory(
-              eventMethodModel, specModel.getContextClass(), specModel.getComponentName()));
+              eventMethodModel,
+              specModel.getContextClass(),
+              specModel.getComponentName(),
+              // For now, Sections don't record their event handlers for reuse.
+              specModel.getComponentClass().equals(ClassNames.COMPONENT)));
     }
 
     return typeSpecDataHolder.build();
@@ -384,32 +390,70 @@ public class EventGenerator {
       SpecMethodModel<EventMethod, EventDeclarationModel> eventMethodModel,
       TypeName paramClass,
       String componentName) {
+    return generateEventHandlerFactory(eventMethodModel, paramClass, componentName, false);
+  }
+
+  /**
+   * Generates the factory of the event handlers of an event method. If {@param reuseEventHandlers}
+   * is true, the factory first looks up the event handler recorded for the component in a previous
+   * layout and returns it if none of its params changed, comparing primitive params without boxing
+   * them.
+   */
+  static MethodSpec generateEventHandlerFactory(
+      SpecMethodModel<EventMethod, EventDeclarationModel> eventMethodModel,
+      TypeName paramClass,
+      String componentName,
+      boolean reuseEventHandlers) {
 
     final Map.Entry<TypeName, List<TypeVariableName>> eventInfo = getEventInfo(eventMethodModel);
+    final TypeName eventHandlerType =
+        ParameterizedTypeName.get(ClassNames.EVENT_HANDLER, eventInfo.getKey());
 
     final MethodSpec.Builder builder =
         MethodSpec.methodBuilder(eventMethodModel.name.toString())
             .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
             .addTypeVariables(eventInfo.getValue())
             .addParameter(paramClass, "c")
-            .returns(ParameterizedTypeName.get(ClassNames.EVENT_HANDLER, eventInfo.getKey()));
+            .returns(eventHandlerType);
 
     final CodeBlock.Builder paramsBlock = CodeBlock.builder();
+    final CodeBlock.Builder reuseCondition =
+        CodeBlock.builder().add("$L != null", REUSED_EVENT_HANDLER_NAME);
 
     paramsBlock.add("new Object[] {\n");
     paramsBlock.indent();
     paramsBlock.add("c,\n");
 
+    int paramIndex = 1;
     for (MethodParamModel methodParamModel : eventMethodModel.methodParams) {
       if (isAnnotatedWith(methodParamModel, Param.class)) {
         builder.addParameter(parameter(methodParamModel));
         paramsBlock.add("$L,\n", methodParamModel.getName());
+        reuseCondition.add(
+            " && $T.paramEquals($L, $L, $L)",
+            ClassNames.EVENT_HANDLER,
+            REUSED_EVENT_HANDLER_NAME,
+            paramIndex++,
+            methodParamModel.getName());
       }
     }
 
     paramsBlock.unindent();
     paramsBlock.add("}");
 
+    if (reuseEventHandlers) {
+      builder
+          .addStatement(
+              "final $T $L = getReusableEventHandler($L.class, c, $L)",
+              eventHandlerType,
+              REUSED_EVENT_HANDLER_NAME,
+              componentName,
+              eventMethodModel.name.toString().hashCode())
+          .beginControlFlow("if ($L)", reuseCondition.build())
+          .addStatement("return $L", REUSED_EVENT_HANDLER_NAME)
+          .endControlFlow();
+    }
+
     builder.addStatement(
         "return newEventHandler($L.class, \"$L\", c, $L, $L)",
         componentName,
@@ -33,7 +33,6 @@ import com.facebook.rendercore.incrementalmount.IncrementalMountExtension.Increm
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 /** Extension for performing incremental mount. */
@@ -331,10 +330,10 @@ public class IncrementalMountExtension
       final ExtensionState<IncrementalMountExtensionState> extensionState,
       final Rect localVisibleRect) {
     final IncrementalMountExtensionState state = extensionState.getState();
-    final List<IncrementalMountOutput> byTopBounds = state.mInput.getOutputsOrderedByTopBounds();
-    final List<IncrementalMountOutput> byBottomBounds =
-        state.mInput.getOutputsOrderedByBottomBounds();
-    final int count = state.mInput.getIncrementalMountOutputCount();
+    final IncrementalMountIndex index = state.mInput.getIncrementalMountIndex();
+    final int[] tops = index.getTops();
+    final int[] bottoms = index.getBottoms();
+    final int count = index.size();
 
     int itemsMounted = 0;
     int itemsUnmounted = 0;
@@ -343,10 +342,10 @@ public class IncrementalMountExtension
       // View is going on/off the top of the screen. Check the bottoms to see if there is anything
       // that has moved on/off the top of the screen.
       while (state.mPreviousBottomsIndex < count
-          && localVisibleRect.top
-              >= byBottomBounds.get(state.mPreviousBottomsIndex).getBounds().bottom) {
+          && localVisibleRect.top >= bottoms[state.mPreviousBottomsIndex]) {
 
-        final IncrementalMountOutput node = byBottomBounds.get(state.mPreviousBottomsIndex);
+        final IncrementalMountOutput node =
+            index.getOutputOrderedByBottomAt(state.mPreviousBottomsIndex);
         final long id = node.getId();
 
         if (extensionState.ownsReference(id)) {
@@ -360,15 +359,14 @@ public class IncrementalMountExtension
       }
 
       while (state.mPreviousBottomsIndex > 0
-          && localVisibleRect.top
-              < byBottomBounds.get(state.mPreviousBottomsIndex - 1).getBounds().bottom) {
+          && localVisibleRect.top < bottoms[state.mPreviousBottomsIndex - 1]) {
 
-        final IncrementalMountOutput node = byBottomBounds.get(state.mPreviousBottomsIndex - 1);
+        final IncrementalMountOutput node =
+            index.getOutputOrderedByBottomAt(state.mPreviousBottomsIndex - 1);
         final long id = node.getId();
 
         // Item should still be in the view port.
-        if (localVisibleRect.bottom
-            >= byBottomBounds.get(state.mPreviousBottomsIndex - 1).getBounds().top) {
+        if (localVisibleRect.bottom >= node.getBounds().top) {
           if (!extensionState.ownsReference(id)) {
             extensionState.acquireMountReference(node.getId(), true);
             state.mComponentIdsMountedInThisFrame.add(id);
@@ -388,13 +386,13 @@ public class IncrementalMountExtension
       // View is going on/off the bottom of the screen. Check the tops to see if there is anything
       // that has changed.
       while (state.mPreviousTopsIndex < count
-          && localVisibleRect.bottom >= byTopBounds.get(state.mPreviousTopsIndex).getBounds().top) {
+          && localVisibleRect.bottom >= tops[state.mPreviousTopsIndex]) {
 
-        final IncrementalMountOutput node = byTopBounds.get(state.mPreviousTopsIndex);
+        final IncrementalMountOutput node = index.getOutputOrderedByTopAt(state.mPreviousTopsIndex);
         final long id = node.getId();
 
         // Item should still be in the view port.
-        if (localVisibleRect.top <= byTopBounds.get(state.mPreviousTopsIndex).getBounds().bottom) {
+        if (localVisibleRect.top <= node.getBounds().bottom) {
           if (!extensionState.ownsReference(id)) {
             extensionState.acquireMountReference(node.getId(), true);
             state.mComponentIdsMountedInThisFrame.add(id);
@@ -408,10 +406,10 @@ public class IncrementalMountExtension
       }
 
       while (state.mPreviousTopsIndex > 0
-          && localVisibleRect.bottom
-              < byTopBounds.get(state.mPreviousTopsIndex - 1).getBounds().top) {
+          && localVisibleRect.bottom < tops[state.mPreviousTopsIndex - 1]) {
 
-        final IncrementalMountOutput node = byTopBounds.get(state.mPreviousTopsIndex - 1);
+        final IncrementalMountOutput node =
+            index.getOutputOrderedByTopAt(state.mPreviousTopsIndex - 1);
         final long id = node.getId();
 
         if (extensionState.ownsReference(id)) {
@@ -447,14 +445,14 @@ public class IncrementalMountExtension
       return;
     }
 
-    final List<IncrementalMountOutput> byTopBounds = state.mInput.getOutputsOrderedByTopBounds();
-    final List<IncrementalMountOutput> byBottomBounds =
-        state.mInput.getOutputsOrderedByBottomBounds();
-    final int mountableOutputCount = state.mInput.getIncrementalMountOutputCount();
+    final IncrementalMountIndex index = state.mInput.getIncrementalMountIndex();
+    final int[] tops = index.getTops();
+    final int[] bottoms = index.getBottoms();
+    final int mountableOutputCount = index.size();
 
     state.mPreviousTopsIndex = mountableOutputCount;
     for (int i = 0; i < mountableOutputCount; i++) {
-      if (localVisibleRect.bottom <= byTopBounds.get(i).getBounds().top) {
+      if (localVisibleRect.bottom <= tops[i]) {
         state.mPreviousTopsIndex = i;
         break;
       }
@@ -462,7 +460,7 @@ public class IncrementalMountExtension
 
     state.mPreviousBottomsIndex = mountableOutputCount;
     for (int i = 0; i < mountableOutputCount; i++) {
-      if (localVisibleRect.top < byBottomBounds.get(i).getBounds().bottom) {
+      if (localVisibleRect.top < bottoms[i]) {
         state.mPreviousBottomsIndex = i;
         break;
       }
@@ -18,13 +18,11 @@ package com.facebook.rendercore.incrementalmount;
 
 import androidx.annotation.Nullable;
 import java.util.Collection;
-import java.util.List;
 
 public interface IncrementalMountExtensionInput {
 
-  List<IncrementalMountOutput> getOutputsOrderedByTopBounds();
-
-  List<IncrementalMountOutput> getOutputsOrderedByBottomBounds();
+  /** Returns the index of the outputs ordered by their top and bottom bounds. */
+  IncrementalMountIndex getIncrementalMountIndex();
 
   @Nullable
   IncrementalMountOutput getIncrementalMountOutputForId(long id);
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore.incrementalmount;
+
+import androidx.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The tops and bottoms indexes walked by incremental mount. The top (and bottom) coordinates of the
+ * outputs are kept sorted in an int array, with a parallel array holding the position of the
+ * output for every coordinate, so that walking an index does not go through the bounds of every
+ * output.
+ *
+ * <p>Outputs are ordered by top, then by increasing index, and by bottom, then by decreasing
+ * index; the same order as {@link IncrementalMountRenderCoreExtension#sTopsComparator} and {@link
+ * IncrementalMountRenderCoreExtension#sBottomsComparator}.
+ *
+ * <p>The arrays are sorted with a natural merge sort, starting from the order of the previous
+ * index if there is one with the same number of outputs: if the outputs did not move, or moved
+ * little, the arrays are sorted in linear time.
+ */
+public final class IncrementalMountIndex {
+
+  /** The index of a layout without outputs. */
+  public static final IncrementalMountIndex EMPTY =
+      new IncrementalMountIndex(new IncrementalMountOutput[0]);
+
+  private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+  private final IncrementalMountOutput[] mOutputs;
+  private final int[] mTops;
+  private final int[] mTopsOrder;
+  private final int[] mBottoms;
+  private final int[] mBottomsOrder;
+
+  private @Nullable List<IncrementalMountOutput> mOutputsOrderedByTopBounds;
+  private @Nullable List<IncrementalMountOutput> mOutputsOrderedByBottomBounds;
+
+  private IncrementalMountIndex(IncrementalMountOutput[] outputs) {
+    final int size = outputs.length;
+    mOutputs = outputs;
+    mTops = new int[size];
+    mTopsOrder = new int[size];
+    mBottoms = new int[size];
+    mBottomsOrder = new int[size];
+  }
+
+  /**
+   * Creates the index of the given outputs.
+   *
+   * @param outputs the outputs, in the order of their positions.
+   * @param previous the index of the previous layout, used as the starting order of the sort.
+   */
+  public static IncrementalMountIndex create(
+      Collection<IncrementalMountOutput> outputs, @Nullable IncrementalMountIndex previous) {
+    final IncrementalMountIndex index =
+        new IncrementalMountIndex(outputs.toArray(new IncrementalMountOutput[outputs.size()]));
+    final boolean canSeed = previous != null && previous.size() == index.size();
+    index.build(canSeed ? previous : null);
+    return index;
+  }
+
+  public int size() {
+    return mOutputs.length;
+  }
+
+  /** Returns the top coordinates of the outputs, in increasing order. Must not be modified. */
+  public int[] getTops() {
+    return mTops;
+  }
+
+  /** Returns the bottom coordinates of the outputs, in increasing order. Must not be modified. */
+  public int[] getBottoms() {
+    return mBottoms;
+  }
+
+  /** Returns the output whose top is at the given position of {@link #getTops()}. */
+  public IncrementalMountOutput getOutputOrderedByTopAt(int position) {
+    return mOutputs[mTopsOrder[position]];
+  }
+
+  /** Returns the output whose bottom is at the given position of {@link #getBottoms()}. */
+  public IncrementalMountOutput getOutputOrderedByBottomAt(int position) {
+    return mOutputs[mBottomsOrder[position]];
+  }
+
+  /** Returns a read only view of the outputs ordered by their top bounds. */
+  public List<IncrementalMountOutput> getOutputsOrderedByTopBounds() {
+    if (mOutputsOrderedByTopBounds == null) {
+      mOutputsOrderedByTopBounds = new OrderedOutputs(mOutputs, mTopsOrder);
+    }
+    return mOutputsOrderedByTopBounds;
+  }
+
+  /** Returns a read only view of the outputs ordered by their bottom bounds. */
+  public List<IncrementalMountOutput> getOutputsOrderedByBottomBounds() {
+    if (mOutputsOrderedByBottomBounds == null) {
+      mOutputsOrderedByBottomBounds = new OrderedOutputs(mOutputs, mBottomsOrder);
+    }
+    return mOutputsOrderedByBottomBounds;
+  }
+
+  private void build(@Nullable IncrementalMountIndex previous) {
+    final int size = mOutputs.length;
+    final long[] keys = new long[size];
+    final long[] keysScratch = new long[size];
+    final int[] orderScratch = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      final int position = previous != null ? previous.mTopsOrder[i] : i;
+      final IncrementalMountOutput output = mOutputs[position];
+      keys[i] = ((long) output.getBounds().top << 32) | (output.getIndex() & INDEX_MASK);
+      mTopsOrder[i] = position;
+    }
+    sort(keys, mTopsOrder, keysScratch, orderScratch);
+    for (int i = 0; i < size; i++) {
+      mTops[i] = (int) (keys[i] >> 32);
+    }
+
+    for (int i = 0; i < size; i++) {
+      final int position = previous != null ? previous.mBottomsOrder[i] : i;
+      final IncrementalMountOutput output = mOutputs[position];
+      // Inverting the index orders outputs with the same bottom by decreasing index.
+      keys[i] =
+          ((long) output.getBounds().bottom << 32)
+              | ((Integer.MAX_VALUE - output.getIndex()) & INDEX_MASK);
+      mBottomsOrder[i] = position;
+    }
+    sort(keys, mBottomsOrder, keysScratch, orderScratch);
+    for (int i = 0; i < size; i++) {
+      mBottoms[i] = (int) (keys[i] >> 32);
+    }
+  }
+
+  /**
+   * Sorts the keys, applying the same permutation to the order. Adjacent non-descending runs are
+   * merged until a single run is left, so already sorted keys only take one pass. The sort is
+   * stable, so it terminates and keeps the order of equal keys even if outputs share an index.
+   */
+  static void sort(long[] keys, int[] order, long[] keysScratch, int[] orderScratch) {
+    final int size = keys.length;
+    if (size < 2) {
+      return;
+    }
+
+    reverseDescendingRuns(keys, order, size);
+    if (runEnd(keys, 0, size) == size) {
+      return;
+    }
+
+    long[] srcKeys = keys;
+    int[] srcOrder = order;
+    long[] dstKeys = keysScratch;
+    int[] dstOrder = orderScratch;
+    int runs;
+    do {
+      runs = 0;
+      int start = 0;
+      while (start < size) {
+        final int mid = runEnd(srcKeys, start, size);
+        final int end = mid < size ? runEnd(srcKeys, mid, size) : size;
+        merge(srcKeys, srcOrder, start, mid, end, dstKeys, dstOrder);
+        runs++;
+        start = end;
+      }
+
+      final long[] tmpKeys = srcKeys;
+      srcKeys = dstKeys;
+      dstKeys = tmpKeys;
+      final int[] tmpOrder = srcOrder;
+      srcOrder = dstOrder;
+      dstOrder = tmpOrder;
+    } while (runs > 1);
+
+    if (srcKeys != keys) {
+      System.arraycopy(srcKeys, 0, keys, 0, size);
+      System.arraycopy(srcOrder, 0, order, 0, size);
+    }
+  }
+
+  /** Reverses descending runs in place so that a reversed input is sorted in linear time. */
+  private static void reverseDescendingRuns(long[] keys, int[] order, int size) {
+    int start = 0;
+    while (start < size) {
+      int end = start + 1;
+      while (end < size && keys[end] < keys[end - 1]) {
+        end++;
+      }
+      for (int i = start, j = end - 1; i < j; i++, j--) {
+        final long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        final int position = order[i];
+        order[i] = order[j];
+        order[j] = position;
+      }
+      start = end;
+    }
+  }
+
+  private static int runEnd(long[] keys, int start, int size) {
+    int end = start + 1;
+    while (end < size && keys[end - 1] <= keys[end]) {
+      end++;
+    }
+    return end;
+  }
+
+  private static void merge(
+      long[] keys,
+      int[] order,
+      int start,
+      int mid,
+      int end,
+      long[] dstKeys,
+      int[] dstOrder) {
+    int left = start;
+    int right = mid;
+    for (int i = start; i < end; i++) {
+      if (right >= end || (left < mid && keys[left] <= keys[right])) {
+        dstKeys[i] = keys[left];
+        dstOrder[i] = order[left++];
+      } else {
+        dstKeys[i] = keys[right];
+        dstOrder[i] = order[right++];
+      }
+    }
+  }
+
+  private static class OrderedOutputs extends AbstractList<IncrementalMountOutput> {
+
+    private final IncrementalMountOutput[] mOutputs;
+    private final int[] mOrder;
+
+    OrderedOutputs(IncrementalMountOutput[] outputs, int[] order) {
+      mOutputs = outputs;
+      mOrder = order;
+    }
+
+    @Override
+    public IncrementalMountOutput get(int position) {
+      return mOutputs[mOrder[position]];
+    }
+
+    @Override
+    public int size() {
+      return mOrder.length;
+    }
+  }
+}
@@ -27,16 +27,11 @@ import com.facebook.rendercore.extensions.LayoutResultVisitor;
 import com.facebook.rendercore.extensions.MountExtension;
 import com.facebook.rendercore.extensions.RenderCoreExtension;
 import com.facebook.rendercore.incrementalmount.IncrementalMountExtension.IncrementalMountExtensionState;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 public class IncrementalMountRenderCoreExtension
     extends RenderCoreExtension<IncrementalMountExtensionInput, IncrementalMountExtensionState> {
@@ -108,25 +103,16 @@ public class IncrementalMountRenderCoreExtension
   public static class Results implements IncrementalMountExtensionInput {
 
     private final LinkedHashMap<Long, IncrementalMountOutput> outputs = new LinkedHashMap<>(8);
-    private final SortedSet<IncrementalMountOutput> outputsOrderedByTopBounds =
-        new TreeSet<>(sTopsComparator);
-    private final SortedSet<IncrementalMountOutput> outputsOrderedByBottomBounds =
-        new TreeSet<>(sBottomsComparator);
     private final Set<Long> renderUnitIdsWhichHostRenderTrees = new HashSet<>(4);
 
-    private @Nullable List<IncrementalMountOutput> outputsOrderedByTopBoundsList;
-    private @Nullable List<IncrementalMountOutput> outputsOrderedByBottomBoundsList;
+    private @Nullable IncrementalMountIndex index;
 
     @Override
-    public List<IncrementalMountOutput> getOutputsOrderedByTopBounds() {
-      maybeInitializeList();
-      return outputsOrderedByTopBoundsList;
-    }
-
-    @Override
-    public List<IncrementalMountOutput> getOutputsOrderedByBottomBounds() {
-      maybeInitializeList();
-      return outputsOrderedByBottomBoundsList;
+    public IncrementalMountIndex getIncrementalMountIndex() {
+      if (index == null) {
+        index = IncrementalMountIndex.create(outputs.values(), null);
+      }
+      return index;
     }
 
     @Override
@@ -164,28 +150,12 @@ public class IncrementalMountRenderCoreExtension
                 + "\nbounds="
                 + existing.getBounds());
       }
-      outputsOrderedByTopBounds.add(output);
-      outputsOrderedByBottomBounds.add(output);
+      index = null;
     }
 
     void addRenderTreeHostId(long id) {
       renderUnitIdsWhichHostRenderTrees.add(id);
     }
-
-    private void maybeInitializeList() {
-      if (outputsOrderedByTopBoundsList == null || outputsOrderedByBottomBoundsList == null) {
-        outputsOrderedByTopBoundsList = new ArrayList<>(outputsOrderedByTopBounds.size());
-        outputsOrderedByBottomBoundsList = new ArrayList<>(outputsOrderedByBottomBounds.size());
-
-        Iterator<IncrementalMountOutput> topIterator = outputsOrderedByTopBounds.iterator();
-        Iterator<IncrementalMountOutput> bottomIterator = outputsOrderedByBottomBounds.iterator();
-
-        while (topIterator.hasNext() && bottomIterator.hasNext()) {
-          outputsOrderedByTopBoundsList.add(topIterator.next());
-          outputsOrderedByBottomBoundsList.add(bottomIterator.next());
-        }
-      }
-    }
   }
 
   public static class Visitor implements LayoutResultVisitor<Results> {
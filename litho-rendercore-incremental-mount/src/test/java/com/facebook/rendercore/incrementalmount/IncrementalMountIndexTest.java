@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore.incrementalmount;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Rect;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 16)
+public class IncrementalMountIndexTest {
+
+  @Test
+  public void create_ordersOutputsLikeComparators() {
+    final List<IncrementalMountOutput> outputs = createRandomOutputs(new Random(42), 500);
+
+    assertOrderedLikeComparators(IncrementalMountIndex.create(outputs, null), outputs);
+  }
+
+  @Test
+  public void create_withSameTopsAndBottoms_ordersByIndex() {
+    final List<IncrementalMountOutput> outputs = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      outputs.add(new IncrementalMountOutput(i, i, new Rect(0, 0, 10, 10), null));
+    }
+
+    final IncrementalMountIndex index = IncrementalMountIndex.create(outputs, null);
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(index.getOutputOrderedByTopAt(i).getIndex()).isEqualTo(i);
+      assertThat(index.getOutputOrderedByBottomAt(i).getIndex()).isEqualTo(3 - i);
+    }
+  }
+
+  @Test
+  public void create_withNegativeAndExtremeBounds_ordersOutputs() {
+    final List<IncrementalMountOutput> outputs = new ArrayList<>();
+    outputs.add(new IncrementalMountOutput(0, 0, new Rect(0, Integer.MAX_VALUE, 0, 0), null));
+    outputs.add(new IncrementalMountOutput(1, 1, new Rect(0, -10, 0, Integer.MIN_VALUE), null));
+    outputs.add(new IncrementalMountOutput(2, 2, new Rect(0, Integer.MIN_VALUE, 0, 5), null));
+
+    final IncrementalMountIndex index = IncrementalMountIndex.create(outputs, null);
+
+    assertThat(index.getTops()).containsExactly(Integer.MIN_VALUE, -10, Integer.MAX_VALUE);
+    assertThat(index.getBottoms()).containsExactly(Integer.MIN_VALUE, 0, 5);
+    assertOrderedLikeComparators(index, outputs);
+  }
+
+  @Test
+  public void create_withPreviousIndex_ordersOutputsLikeComparators() {
+    final Random random = new Random(7);
+    final List<IncrementalMountOutput> previousOutputs = createRandomOutputs(random, 300);
+    final IncrementalMountIndex previous = IncrementalMountIndex.create(previousOutputs, null);
+
+    // Same number of outputs with unrelated bounds: the previous order is only a starting point.
+    final List<IncrementalMountOutput> outputs = createRandomOutputs(random, 300);
+
+    assertOrderedLikeComparators(IncrementalMountIndex.create(outputs, previous), outputs);
+  }
+
+  @Test
+  public void create_withPreviousIndexOfDifferentSize_ordersOutputsLikeComparators() {
+    final Random random = new Random(11);
+    final IncrementalMountIndex previous =
+        IncrementalMountIndex.create(createRandomOutputs(random, 10), null);
+    final List<IncrementalMountOutput> outputs = createRandomOutputs(random, 300);
+
+    assertOrderedLikeComparators(IncrementalMountIndex.create(outputs, previous), outputs);
+  }
+
+  @Test
+  public void create_withReversedOutputs_ordersOutputsLikeComparators() {
+    final List<IncrementalMountOutput> outputs = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final int top = (100 - i) * 10;
+      outputs.add(new IncrementalMountOutput(i, i, new Rect(0, top, 10, top + 10), null));
+    }
+
+    assertOrderedLikeComparators(IncrementalMountIndex.create(outputs, null), outputs);
+  }
+
+  @Test
+  public void sort_withEqualKeys_isStable() {
+    final long[] keys = {3, 1, 3, 2, 3, 1, 3};
+    final int[] order = {0, 1, 2, 3, 4, 5, 6};
+
+    IncrementalMountIndex.sort(keys, order, new long[keys.length], new int[order.length]);
+
+    assertThat(keys).containsExactly(1, 1, 2, 3, 3, 3, 3);
+    assertThat(order).containsExactly(1, 5, 3, 0, 2, 4, 6);
+  }
+
+  @Test
+  public void create_withoutOutputs_isEmpty() {
+    final IncrementalMountIndex index =
+        IncrementalMountIndex.create(Collections.<IncrementalMountOutput>emptyList(), null);
+
+    assertThat(index.size()).isEqualTo(0);
+    assertThat(index.getOutputsOrderedByTopBounds()).isEmpty();
+    assertThat(index.getOutputsOrderedByBottomBounds()).isEmpty();
+  }
+
+  private static void assertOrderedLikeComparators(
+      IncrementalMountIndex index, List<IncrementalMountOutput> outputs) {
+    final List<IncrementalMountOutput> tops = new ArrayList<>(outputs);
+    final List<IncrementalMountOutput> bottoms = new ArrayList<>(outputs);
+    Collections.sort(tops, IncrementalMountRenderCoreExtension.sTopsComparator);
+    Collections.sort(bottoms, IncrementalMountRenderCoreExtension.sBottomsComparator);
+
+    assertThat(index.size()).isEqualTo(outputs.size());
+    assertThat(index.getOutputsOrderedByTopBounds()).containsExactlyElementsOf(tops);
+    assertThat(index.getOutputsOrderedByBottomBounds()).containsExactlyElementsOf(bottoms);
+    for (int i = 0; i < outputs.size(); i++) {
+      assertThat(index.getTops()[i]).isEqualTo(tops.get(i).getBounds().top);
+      assertThat(index.getBottoms()[i]).isEqualTo(bottoms.get(i).getBounds().bottom);
+    }
+  }
+
+  private static List<IncrementalMountOutput> createRandomOutputs(Random random, int count) {
+    final List<IncrementalMountOutput> outputs = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      // A small range of tops so that many outputs share the same bounds.
+      final int top = random.nextInt(50) * 10;
+      final int bottom = top + random.nextInt(5) * 10;
+      outputs.add(new IncrementalMountOutput(i, i, new Rect(0, top, 10, bottom), null));
+    }
+    return outputs;
+  }
+}
@@ -17,37 +17,25 @@
 package com.facebook.rendercore.incrementalmount;
 
 import androidx.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 public class TestIncrementalMountExtensionInput implements IncrementalMountExtensionInput {
   final Map<Long, IncrementalMountOutput> mIncrementalMountOutputs = new LinkedHashMap<>();
-  final List<IncrementalMountOutput> tops = new ArrayList<>();
-  final List<IncrementalMountOutput> bottoms = new ArrayList<>();
+  final IncrementalMountIndex mIncrementalMountIndex;
 
   public TestIncrementalMountExtensionInput(IncrementalMountOutput... incrementalMountOutputs) {
     for (IncrementalMountOutput output : incrementalMountOutputs) {
       mIncrementalMountOutputs.put(output.getId(), output);
-      tops.add(output);
-      bottoms.add(output);
     }
 
-    Collections.sort(tops, IncrementalMountRenderCoreExtension.sTopsComparator);
-    Collections.sort(bottoms, IncrementalMountRenderCoreExtension.sBottomsComparator);
+    mIncrementalMountIndex = IncrementalMountIndex.create(mIncrementalMountOutputs.values(), null);
   }
 
   @Override
-  public List<IncrementalMountOutput> getOutputsOrderedByTopBounds() {
-    return tops;
-  }
-
-  @Override
-  public List<IncrementalMountOutput> getOutputsOrderedByBottomBounds() {
-    return bottoms;
+  public IncrementalMountIndex getIncrementalMountIndex() {
+    return mIncrementalMountIndex;
   }
 
   @Nullable
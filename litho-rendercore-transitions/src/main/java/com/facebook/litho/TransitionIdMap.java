@@ -16,11 +16,9 @@
 
 package com.facebook.litho;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 import javax.annotation.Nullable;
 
 /**
@@ -31,13 +29,22 @@ import javax.annotation.Nullable;
  * {@link TransitionManager.AnimationState}s, and quickly find a value when creating transition for
  * the given {@link Transition.TransitionUnit} - {@link
  * TransitionManager#createAnimationsForTransitionUnit(Transition.TransitionUnit)}
+ *
+ * <p>Values live in dense slots {@code [0, size())} so they can be walked by index without
+ * iterators or copies. Removing an id moves the value from the last slot into the freed one, so
+ * callers that remove while walking should go from the last slot down.
  */
 class TransitionIdMap<V> {
   private final Map<String, TransitionId> mGlobalIds = new LinkedHashMap<>();
   private final Map<String, Map<String, TransitionId>> mScopedIdsByOwner = new LinkedHashMap<>();
   private final Map<String, TransitionId> mAutogeneratedIds = new LinkedHashMap<>();
 
-  private final Map<TransitionId, V> mIds = new HashMap<>();
+  private static final int INITIAL_CAPACITY = 8;
+
+  private final Map<TransitionId, Integer> mSlots = new HashMap<>();
+  private TransitionId[] mSlotIds = new TransitionId[INITIAL_CAPACITY];
+  private Object[] mSlotValues = new Object[INITIAL_CAPACITY];
+  private int mSize;
 
   /**
    * Checks if this map contains a mapping for the specified {@link TransitionId}.
@@ -46,7 +53,7 @@ class TransitionIdMap<V> {
    * @return {@code true} if this map contains a mapping for the specified key
    */
   boolean contains(TransitionId id) {
-    return mIds.containsKey(id);
+    return mSlots.containsKey(id);
   }
 
   /**
@@ -57,30 +64,49 @@ class TransitionIdMap<V> {
    * @param value value to be associated with the specified {@link TransitionId}
    */
   void put(TransitionId id, V value) {
-    if (mIds.put(id, value) == null) {
-      // New transition id for this set
-      switch (id.mType) {
-        case TransitionId.Type.GLOBAL:
-          mGlobalIds.put(id.mReference, id);
-          break;
-
-        case TransitionId.Type.SCOPED:
-          final String owner = id.mExtraData;
-          Map<String, TransitionId> siblingsIds = mScopedIdsByOwner.get(owner);
-          if (siblingsIds == null) {
-            siblingsIds = new LinkedHashMap<>();
-            mScopedIdsByOwner.put(owner, siblingsIds);
-          }
-          siblingsIds.put(id.mReference, id);
-          break;
-
-        case TransitionId.Type.AUTOGENERATED:
-          mAutogeneratedIds.put(id.mReference, id);
-          break;
-
-        default:
-          throw new RuntimeException("Unknown TransitionId type " + id.mType);
-      }
+    final Integer existingSlot = mSlots.get(id);
+    if (existingSlot != null) {
+      mSlotValues[existingSlot] = value;
+      return;
+    }
+
+    if (mSize == mSlotIds.length) {
+      final int capacity = mSize * 2;
+      final TransitionId[] slotIds = new TransitionId[capacity];
+      final Object[] slotValues = new Object[capacity];
+      System.arraycopy(mSlotIds, 0, slotIds, 0, mSize);
+      System.arraycopy(mSlotValues, 0, slotValues, 0, mSize);
+      mSlotIds = slotIds;
+      mSlotValues = slotValues;
+    }
+
+    mSlotIds[mSize] = id;
+    mSlotValues[mSize] = value;
+    mSlots.put(id, mSize);
+    mSize++;
+
+    // New transition id for this set
+    switch (id.mType) {
+      case TransitionId.Type.GLOBAL:
+        mGlobalIds.put(id.mReference, id);
+        break;
+
+      case TransitionId.Type.SCOPED:
+        final String owner = id.mExtraData;
+        Map<String, TransitionId> siblingsIds = mScopedIdsByOwner.get(owner);
+        if (siblingsIds == null) {
+          siblingsIds = new LinkedHashMap<>();
+          mScopedIdsByOwner.put(owner, siblingsIds);
+        }
+        siblingsIds.put(id.mReference, id);
+        break;
+
+      case TransitionId.Type.AUTOGENERATED:
+        mAutogeneratedIds.put(id.mReference, id);
+        break;
+
+      default:
+        throw new RuntimeException("Unknown TransitionId type " + id.mType);
     }
   }
 
@@ -92,7 +118,24 @@ class TransitionIdMap<V> {
    */
   @Nullable
   V get(TransitionId id) {
-    return mIds.get(id);
+    final Integer slot = mSlots.get(id);
+    return slot != null ? valueAt(slot) : null;
+  }
+
+  /** Returns the number of mappings, which is also the number of occupied slots. */
+  int size() {
+    return mSize;
+  }
+
+  /** Returns the {@link TransitionId} held in the given slot, {@code 0 <= slot < size()}. */
+  TransitionId idAt(int slot) {
+    return mSlotIds[slot];
+  }
+
+  /** Returns the value held in the given slot, {@code 0 <= slot < size()}. */
+  @SuppressWarnings("unchecked")
+  V valueAt(int slot) {
+    return (V) mSlotValues[slot];
   }
 
   /**
@@ -101,11 +144,23 @@ class TransitionIdMap<V> {
    * @param id {@link TransitionId} whose mapping is to be removed from the map
    */
   void remove(TransitionId id) {
-    if (mIds.remove(id) == null) {
+    final Integer slot = mSlots.remove(id);
+    if (slot == null) {
       // There is no mapping for the id, return early
       return;
     }
 
+    final int last = mSize - 1;
+    if (slot != last) {
+      final TransitionId movedId = mSlotIds[last];
+      mSlotIds[slot] = movedId;
+      mSlotValues[slot] = mSlotValues[last];
+      mSlots.put(movedId, slot);
+    }
+    mSlotIds[last] = null;
+    mSlotValues[last] = null;
+    mSize = last;
+
     switch (id.mType) {
       case TransitionId.Type.GLOBAL:
         mGlobalIds.remove(id.mReference);
@@ -147,25 +202,17 @@ class TransitionIdMap<V> {
     return siblingsIds != null ? siblingsIds.get(reference) : null;
   }
 
-  /**
-   * Returns a {@link Set} view of the {@link TransitionId}s mappings for which are contained in
-   * this map.
-   */
-  Set<TransitionId> ids() {
-    return mIds.keySet();
-  }
-
-  /** Returns a {@link Collection} view of the values contained in this map. */
-  Collection<V> values() {
-    return mIds.values();
-  }
-
   /** Removes all of the mappings from this map. */
   void clear() {
     mGlobalIds.clear();
     mScopedIdsByOwner.clear();
     mAutogeneratedIds.clear();
 
-    mIds.clear();
+    mSlots.clear();
+    for (int i = 0; i < mSize; i++) {
+      mSlotIds[i] = null;
+      mSlotValues[i] = null;
+    }
+    mSize = 0;
   }
 }
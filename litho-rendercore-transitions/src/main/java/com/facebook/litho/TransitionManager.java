@@ -39,12 +39,11 @@ import com.facebook.rendercore.transitions.TransitionsExtensionInput;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Handles animating transitions defined by ComponentSpec's onCreateTransition code.
@@ -67,14 +66,15 @@ import java.util.Set;
  *
  * <p>TECHNICAL DETAILS
  *
- * <p>- Transition keys are 1-1 mapped to AnimationState - An {@link AnimationState} has many {@link
- * PropertyState}s (one for each property) - A {@link PropertyState} can have up to one animation.
+ * <p>- Transition keys are 1-1 mapped to AnimationState, held in dense slots of a {@link
+ * TransitionIdMap} - An {@link AnimationState} has many property slots (one for each property) - A
+ * property slot can have up to one animation.
  *
  * <p>An {@link AnimationState} keeps track of the current mount content object, as well as the
- * state of all animating properties ({@link PropertyState}s). A {@link PropertyState} keeps track
- * of a {@link AnimatedPropertyNode}, which has the current value of that property in the animation,
- * and up to one animation and end value. A reverse mapping from animation to property(s) being
- * animated is tracked in {@link #mAnimationsToPropertyHandles}.
+ * state of all animating properties, stored as parallel arrays indexed by property slot. A property
+ * slot keeps track of a {@link AnimatedPropertyNode}, which has the current value of that property
+ * in the animation, and up to one animation and end value. A reverse mapping from animation to
+ * property(s) being animated is tracked in {@link #mAnimationsToPropertyHandles}.
  *
  * <p>Combined, these mean that at any point in time, we're able to tell what animation is animating
  * what property(s). Knowing this, we can properly resolve conflicting animations (animations on the
@@ -89,7 +89,7 @@ import java.util.Set;
  * (e.g., consider animating alpha and X position: if the alpha animation finishes first, we still
  * need to keep the final value until we can remove the animating content).
  *
- * <p>As such, our rule is that we should have a {@link PropertyState} on the corresponding {@link
+ * <p>As such, our rule is that we should have a property slot on the corresponding {@link
  * AnimationState} for any property that has a value no necessarily reflected by the most up to date
  * {@link LayoutOutput} for that transition key in the most recent {@link
  * TransitionsExtensionInput}. Put another way, animation doesn't always imply movement, but a
@@ -117,40 +117,46 @@ public class TransitionManager {
     void onAnimationUnitComplete(PropertyHandle propertyHandle, T data);
   }
 
-  /** The animation state of a single property (e.g. X, Y, ALPHA) on a piece of mount content. */
-  private static class PropertyState {
+  /**
+   * Animation state of a given mount content. Holds everything we currently know about an animating
+   * transition key, such as whether it's appearing, disappearing, or changing, as well as
+   * information about any animating properties on this mount content.
+   */
+  private static class AnimationState {
+
+    private static final int INITIAL_PROPERTY_CAPACITY = 4;
+
+    /**
+     * The properties of this mount content that have an animated value (e.g. a value that isn't
+     * necessarily their mounted value). The state of the property in slot {@code i < propertyCount}
+     * is spread over the parallel arrays below, at the same index.
+     */
+    public AnimatedProperty[] properties = new AnimatedProperty[INITIAL_PROPERTY_CAPACITY];
+
+    public int propertyCount;
 
     /**
-     * The {@link AnimatedPropertyNode} for this property: it contains the current animated value
+     * The {@link AnimatedPropertyNode} for each property: it contains the current animated value
      * and a way to set a new value.
      */
-    public AnimatedPropertyNode animatedPropertyNode;
+    public AnimatedPropertyNode[] propertyNodes =
+        new AnimatedPropertyNode[INITIAL_PROPERTY_CAPACITY];
 
-    /** The animation, if any, that is currently running on this property. */
-    public AnimationBinding animation;
+    /** The animation, if any, that is currently running on each property. */
+    public AnimationBinding[] propertyAnimations = new AnimationBinding[INITIAL_PROPERTY_CAPACITY];
 
-    /** If there's an {@link #animation}, the target value it's animating to. */
-    public Float targetValue;
+    /** If there's an animation, the target value it's animating to. */
+    public float[] targetValues = new float[INITIAL_PROPERTY_CAPACITY];
 
-    /** The last mounted value of this property. */
-    public Float lastMountedValue;
+    public boolean[] hasTargetValue = new boolean[INITIAL_PROPERTY_CAPACITY];
 
-    /** How many animations are waiting to finish for this property. */
-    public int numPendingAnimations;
-  }
+    /** The last mounted value of each property. */
+    public float[] lastMountedValues = new float[INITIAL_PROPERTY_CAPACITY];
 
-  /**
-   * Animation state of a given mount content. Holds everything we currently know about an animating
-   * transition key, such as whether it's appearing, disappearing, or changing, as well as
-   * information about any animating properties on this mount content.
-   */
-  private static class AnimationState {
+    public boolean[] hasLastMountedValue = new boolean[INITIAL_PROPERTY_CAPACITY];
 
-    /**
-     * The states for all the properties of this mount content that have an animated value (e.g. a
-     * value that isn't necessarily their mounted value).
-     */
-    public final Map<AnimatedProperty, PropertyState> propertyStates = new HashMap<>();
+    /** How many animations are waiting to finish for each property. */
+    public int[] numPendingAnimations = new int[INITIAL_PROPERTY_CAPACITY];
 
     /**
      * The current mount content for this animation state, if it's mounted, null otherwise. This
@@ -183,13 +189,70 @@ public class TransitionManager {
     public boolean shouldFinishUndeclaredAnimation;
 
     public boolean hasDisappearingAnimation;
+
+    /** Returns the slot of the given property, or -1 if it doesn't have an animated value. */
+    int indexOfProperty(AnimatedProperty property) {
+      for (int i = 0; i < propertyCount; i++) {
+        if (properties[i] == property || properties[i].equals(property)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /** Adds a property with no running animation and returns its slot. */
+    int addProperty(AnimatedProperty property, AnimatedPropertyNode animatedPropertyNode) {
+      if (propertyCount == properties.length) {
+        final int capacity = propertyCount * 2;
+        properties = Arrays.copyOf(properties, capacity);
+        propertyNodes = Arrays.copyOf(propertyNodes, capacity);
+        propertyAnimations = Arrays.copyOf(propertyAnimations, capacity);
+        targetValues = Arrays.copyOf(targetValues, capacity);
+        hasTargetValue = Arrays.copyOf(hasTargetValue, capacity);
+        lastMountedValues = Arrays.copyOf(lastMountedValues, capacity);
+        hasLastMountedValue = Arrays.copyOf(hasLastMountedValue, capacity);
+        numPendingAnimations = Arrays.copyOf(numPendingAnimations, capacity);
+      }
+
+      final int index = propertyCount++;
+      properties[index] = property;
+      propertyNodes[index] = animatedPropertyNode;
+      propertyAnimations[index] = null;
+      hasTargetValue[index] = false;
+      hasLastMountedValue[index] = false;
+      numPendingAnimations[index] = 0;
+      return index;
+    }
+
+    /**
+     * Removes the property in the given slot by moving the last one into it, so callers removing
+     * while walking the properties should go from the last slot down.
+     */
+    void removePropertyAt(int index) {
+      final int last = --propertyCount;
+      if (index != last) {
+        properties[index] = properties[last];
+        propertyNodes[index] = propertyNodes[last];
+        propertyAnimations[index] = propertyAnimations[last];
+        targetValues[index] = targetValues[last];
+        hasTargetValue[index] = hasTargetValue[last];
+        lastMountedValues[index] = lastMountedValues[last];
+        hasLastMountedValue[index] = hasLastMountedValue[last];
+        numPendingAnimations[index] = numPendingAnimations[last];
+      }
+      properties[last] = null;
+      propertyNodes[last] = null;
+      propertyAnimations[last] = null;
+    }
   }
 
   private final Map<AnimationBinding, List<PropertyHandle>> mAnimationsToPropertyHandles =
       new HashMap<>();
   private final TransitionIdMap<AnimationState> mAnimationStates = new TransitionIdMap<>();
   private final SparseArrayCompat<String> mTraceNames = new SparseArrayCompat<>();
-  private final Map<PropertyHandle, Float> mInitialStatesToRestore = new HashMap<>();
+  private PropertyHandle[] mInitialStateHandles = new PropertyHandle[8];
+  private float[] mInitialStateValues = new float[8];
+  private int mInitialStateCount;
   private final ArrayList<AnimationBinding> mRunningRootAnimations = new ArrayList<>();
   private final TransitionsAnimationBindingListener mAnimationBindingListener =
       new TransitionsAnimationBindingListener();
@@ -231,8 +294,8 @@ public class TransitionManager {
       Transition rootTransition) {
     RenderCoreSystrace.beginSection("TransitionManager.setupTransition");
 
-    for (AnimationState animationState : mAnimationStates.values()) {
-      animationState.seenInLastTransition = false;
+    for (int i = 0, size = mAnimationStates.size(); i < size; i++) {
+      mAnimationStates.valueAt(i).seenInLastTransition = false;
     }
 
     if (currentTransitionIds == null) {
@@ -245,8 +308,6 @@ public class TransitionManager {
         recordLayoutOutputsGroupDiff(transitionId, null, nextLayoutOutputsGroup);
       }
     } else {
-      final HashSet<TransitionId> seenInNewLayout = new HashSet<>();
-
       for (TransitionId transitionId : nextTransitionIds.keySet()) {
         final boolean isAutogenerated = transitionId.mType == TransitionId.Type.AUTOGENERATED;
 
@@ -255,9 +316,7 @@ public class TransitionManager {
         final OutputUnitsAffinityGroup<AnimatableItem> currentLayoutOutputsGroup =
             currentTransitionIds.get(transitionId);
 
-        if (nextLayoutOutputsGroup != null) {
-          seenInNewLayout.add(transitionId);
-        } else if (isAutogenerated) {
+        if (nextLayoutOutputsGroup == null && isAutogenerated) {
           // Only appearing animation would be possible, but there is no way to declare appearing
           // animation for autogenerated ids
           continue;
@@ -268,7 +327,7 @@ public class TransitionManager {
       }
 
       for (TransitionId transitionId : currentTransitionIds.keySet()) {
-        if (seenInNewLayout.contains(transitionId)) {
+        if (nextTransitionIds.get(transitionId) != null) {
           // We either already processed this id or it's autogenerated and is not present in the
           // new layout, thus only disappearing animation would be possible, but there is no way to
           // declare disappearing animation for autogenerated ids
@@ -295,13 +354,21 @@ public class TransitionManager {
   //       which change without a change transition declared. Also the flag should probably belong
   //       to the properties and not to the AnimationState.
   void finishUndeclaredTransitions() {
-    for (AnimationState animationState : new ArrayList<>(mAnimationStates.values())) {
+    // Finishing an animation can release its animation state or property, which moves the last
+    // slot into the freed one: walk both from the last slot down so nothing is skipped.
+    for (int i = mAnimationStates.size() - 1; i >= 0; i--) {
+      if (i >= mAnimationStates.size()) {
+        continue;
+      }
+      final AnimationState animationState = mAnimationStates.valueAt(i);
       if (animationState.shouldFinishUndeclaredAnimation) {
         animationState.shouldFinishUndeclaredAnimation = false;
 
-        for (PropertyState propertyState :
-            new ArrayList<>(animationState.propertyStates.values())) {
-          final AnimationBinding animationBinding = propertyState.animation;
+        for (int j = animationState.propertyCount - 1; j >= 0; j--) {
+          if (j >= animationState.propertyCount) {
+            continue;
+          }
+          final AnimationBinding animationBinding = animationState.propertyAnimations[j];
           if (animationBinding != null) {
             animationBinding.stop();
             mAnimationBindingListener.finishAnimation(animationBinding);
@@ -390,12 +457,13 @@ public class TransitionManager {
 
   /** To be called when a MountState is recycled for a new component tree. Clears all animations. */
   void reset() {
-    for (TransitionId transitionId : mAnimationStates.ids()) {
-      final AnimationState animationState = mAnimationStates.get(transitionId);
-      setMountContentInner(transitionId, animationState, null);
+    for (int i = 0, size = mAnimationStates.size(); i < size; i++) {
+      final AnimationState animationState = mAnimationStates.valueAt(i);
+      setMountContentInner(mAnimationStates.idAt(i), animationState, null);
       clearLayoutOutputs(animationState);
     }
     mAnimationStates.clear();
+    clearInitialStatesToRestore();
     mTraceNames.clear();
 
     // Clear these so that stopping animations below doesn't cause us to trigger any useless
@@ -472,12 +540,12 @@ public class TransitionManager {
             : null;
     // The values for all members of the group should be the same, thus we'll be collected from the
     // most significant one
-    for (AnimatedProperty property : animationState.propertyStates.keySet()) {
-      final PropertyState propertyState = animationState.propertyStates.get(property);
+    for (int i = 0; i < animationState.propertyCount; i++) {
       if (animatableItem == null) {
-        propertyState.lastMountedValue = null;
+        animationState.hasLastMountedValue[i] = false;
       } else {
-        propertyState.lastMountedValue = property.get(animatableItem);
+        animationState.lastMountedValues[i] = animationState.properties[i].get(animatableItem);
+        animationState.hasLastMountedValue[i] = true;
       }
     }
   }
@@ -582,12 +650,11 @@ public class TransitionManager {
 
   private void createAnimationsForTransitionUnitAllKeys(
       TransitionUnit transition, ArrayList<AnimationBinding> outList) {
-    for (TransitionId transitionId : mAnimationStates.ids()) {
-      final AnimationState animationState = mAnimationStates.get(transitionId);
-      if (!animationState.seenInLastTransition) {
+    for (int i = 0, size = mAnimationStates.size(); i < size; i++) {
+      if (!mAnimationStates.valueAt(i).seenInLastTransition) {
         continue;
       }
-      createAnimationsForTransitionUnit(transition, transitionId, outList);
+      createAnimationsForTransitionUnit(transition, mAnimationStates.idAt(i), outList);
     }
   }
 
@@ -663,11 +730,11 @@ public class TransitionManager {
       return null;
     }
 
-    final PropertyState existingState = animationState.propertyStates.get(property);
+    final int existingIndex = animationState.indexOfProperty(property);
     final PropertyHandle propertyHandle = new PropertyHandle(transitionId, property);
     final float startValue;
-    if (existingState != null) {
-      startValue = existingState.animatedPropertyNode.getValue();
+    if (existingIndex >= 0) {
+      startValue = animationState.propertyNodes[existingIndex].getValue();
     } else {
       if (animationState.changeType != ChangeType.APPEARED) {
         startValue =
@@ -686,8 +753,8 @@ public class TransitionManager {
 
     // Don't replace new animations in two cases: 1) we're already animating that property to
     // the same end value or 2) the start and end values are already the same
-    if (existingState != null && existingState.targetValue != null) {
-      if (endValue == existingState.targetValue) {
+    if (existingIndex >= 0 && animationState.hasTargetValue[existingIndex]) {
+      if (endValue == animationState.targetValues[existingIndex]) {
         if (mDebugTag != null) {
           Log.d(mDebugTag, " - property is already animating to this end value: " + endValue);
         }
@@ -711,16 +778,14 @@ public class TransitionManager {
     // We add this transition handler to the binding
     animation.setTag(transition.getTransitionEndHandler());
 
-    PropertyState propertyState = existingState;
-    if (propertyState == null) {
-      propertyState = new PropertyState();
-
-      propertyState.animatedPropertyNode =
-          new AnimatedPropertyNode(animationState.mountContentGroup, property);
-      animationState.propertyStates.put(property, propertyState);
+    int propertyIndex = existingIndex;
+    if (propertyIndex < 0) {
+      propertyIndex =
+          animationState.addProperty(
+              property, new AnimatedPropertyNode(animationState.mountContentGroup, property));
     }
-    propertyState.animatedPropertyNode.setValue(startValue);
-    propertyState.numPendingAnimations++;
+    animationState.propertyNodes[propertyIndex].setValue(startValue);
+    animationState.numPendingAnimations[propertyIndex]++;
 
     // Currently, all supported animations can only animate one property at a time, but we think
     // this will change in the future so we maintain a set here.
@@ -728,7 +793,7 @@ public class TransitionManager {
     animatedPropertyHandles.add(propertyHandle);
     mAnimationsToPropertyHandles.put(animation, animatedPropertyHandles);
 
-    mInitialStatesToRestore.put(propertyHandle, startValue);
+    addInitialStateToRestore(propertyHandle, startValue);
 
     if (!TextUtils.isEmpty(transition.getTraceName())) {
       mTraceNames.put(animation.hashCode(), transition.getTraceName());
@@ -737,17 +802,40 @@ public class TransitionManager {
     return animation;
   }
 
+  /**
+   * Records the value a property should be restored to before its animation runs. A property
+   * recorded twice is restored twice, in order, so the latest value wins.
+   */
+  private void addInitialStateToRestore(PropertyHandle propertyHandle, float value) {
+    if (mInitialStateCount == mInitialStateHandles.length) {
+      final int capacity = mInitialStateCount * 2;
+      mInitialStateHandles = Arrays.copyOf(mInitialStateHandles, capacity);
+      mInitialStateValues = Arrays.copyOf(mInitialStateValues, capacity);
+    }
+    mInitialStateHandles[mInitialStateCount] = propertyHandle;
+    mInitialStateValues[mInitialStateCount] = value;
+    mInitialStateCount++;
+  }
+
   private void restoreInitialStates() {
-    for (PropertyHandle propertyHandle : mInitialStatesToRestore.keySet()) {
-      final float value = mInitialStatesToRestore.get(propertyHandle);
+    for (int i = 0; i < mInitialStateCount; i++) {
+      final PropertyHandle propertyHandle = mInitialStateHandles[i];
       final TransitionId transitionId = propertyHandle.getTransitionId();
       final AnimationState animationState = mAnimationStates.get(transitionId);
       if (animationState.mountContentGroup != null) {
-        setPropertyValue(propertyHandle.getProperty(), value, animationState.mountContentGroup);
+        setPropertyValue(
+            propertyHandle.getProperty(),
+            mInitialStateValues[i],
+            animationState.mountContentGroup);
       }
     }
 
-    mInitialStatesToRestore.clear();
+    clearInitialStatesToRestore();
+  }
+
+  private void clearInitialStatesToRestore() {
+    Arrays.fill(mInitialStateHandles, 0, mInitialStateCount, null);
+    mInitialStateCount = 0;
   }
 
   private void setMountContentInner(
@@ -767,16 +855,15 @@ public class TransitionManager {
       Log.d(mDebugTag, "Setting mount content for " + transitionId + " to " + newMountContentGroup);
     }
 
-    final Map<AnimatedProperty, PropertyState> animatingProperties = animationState.propertyStates;
     if (animationState.mountContentGroup != null) {
-      for (AnimatedProperty animatedProperty : animatingProperties.keySet()) {
-        resetProperty(animatedProperty, animationState.mountContentGroup);
+      for (int i = 0; i < animationState.propertyCount; i++) {
+        resetProperty(animationState.properties[i], animationState.mountContentGroup);
       }
       recursivelySetChildClippingForGroup(animationState.mountContentGroup, true);
     }
 
-    for (PropertyState propertyState : animatingProperties.values()) {
-      propertyState.animatedPropertyNode.setMountContentGroup(newMountContentGroup);
+    for (int i = 0; i < animationState.propertyCount; i++) {
+      animationState.propertyNodes[i].setMountContentGroup(newMountContentGroup);
     }
     if (newMountContentGroup != null) {
       recursivelySetChildClippingForGroup(newMountContentGroup, false);
@@ -835,21 +922,17 @@ public class TransitionManager {
    * never resulted in an animation being created.
    */
   private void cleanupNonAnimatingAnimationStates() {
-    final Set<TransitionId> toRemove = new HashSet<>();
-
-    for (TransitionId transitionId : mAnimationStates.ids()) {
-      final AnimationState animationState = mAnimationStates.get(transitionId);
-      if (animationState.propertyStates.isEmpty()) {
+    // Removing moves the last slot into the freed one, so walk from the last slot down.
+    for (int i = mAnimationStates.size() - 1; i >= 0; i--) {
+      final AnimationState animationState = mAnimationStates.valueAt(i);
+      if (animationState.propertyCount == 0) {
+        final TransitionId transitionId = mAnimationStates.idAt(i);
         setMountContentInner(transitionId, animationState, null);
         clearLayoutOutputs(animationState);
 
-        toRemove.add(transitionId);
+        mAnimationStates.remove(transitionId);
       }
     }
-
-    for (TransitionId transitionId : toRemove) {
-      mAnimationStates.remove(transitionId);
-    }
   }
 
   private void debugLogStartingAnimations() {
@@ -952,10 +1035,10 @@ public class TransitionManager {
         final PropertyAnimation propertyAnimation = mTempPropertyAnimations.get(i);
         final TransitionId transitionId = propertyAnimation.getTransitionId();
         final @Nullable AnimationState animationState = mAnimationStates.get(transitionId);
-        final @Nullable PropertyState propertyState =
+        final int propertyIndex =
             (animationState != null)
-                ? animationState.propertyStates.get(propertyAnimation.getProperty())
-                : null;
+                ? animationState.indexOfProperty(propertyAnimation.getProperty())
+                : -1;
 
         if (mDebugTag != null) {
           Log.d(
@@ -969,7 +1052,7 @@ public class TransitionManager {
                   + ":");
         }
 
-        if (propertyState == null) {
+        if (propertyIndex < 0) {
           if (mDebugTag != null) {
             Log.d(
                 mDebugTag,
@@ -981,13 +1064,14 @@ public class TransitionManager {
         }
 
         if (shouldStart
-            && propertyState.lastMountedValue != null
-            && propertyState.lastMountedValue != propertyAnimation.getTargetValue()) {
+            && animationState.hasLastMountedValue[propertyIndex]
+            && animationState.lastMountedValues[propertyIndex]
+                != propertyAnimation.getTargetValue()) {
           if (mDebugTag != null) {
             Log.d(
                 mDebugTag,
                 " - Canceling animation, last mounted value does not equal animation target: "
-                    + propertyState.lastMountedValue
+                    + animationState.lastMountedValues[propertyIndex]
                     + " != "
                     + propertyAnimation.getTargetValue());
           }
@@ -1011,11 +1095,11 @@ public class TransitionManager {
           // This can happen when unmounting all items on running animations.
           continue;
         }
-        final PropertyState propertyState =
-            animationState.propertyStates.get(propertyAnimation.getProperty());
+        final int propertyIndex = animationState.indexOfProperty(propertyAnimation.getProperty());
 
-        propertyState.targetValue = propertyAnimation.getTargetValue();
-        propertyState.animation = binding;
+        animationState.targetValues[propertyIndex] = propertyAnimation.getTargetValue();
+        animationState.hasTargetValue[propertyIndex] = true;
+        animationState.propertyAnimations[propertyIndex] = binding;
       }
 
       mTempPropertyAnimations.clear();
@@ -1045,35 +1129,34 @@ public class TransitionManager {
         // For non-disappearing content, we know the end value is already reflected by the
         // LayoutOutput we transitioned to, so we don't need to persist an animated value.
         final boolean didFinish;
+        final int propertyIndex = animationState.indexOfProperty(property);
         if (isDisappearAnimation) {
-          final PropertyState propertyState = animationState.propertyStates.get(property);
-          if (propertyState == null) {
+          if (propertyIndex < 0) {
             throw new RuntimeException(
                 "Some animation bookkeeping is wrong: tried to remove an animation from the list "
                     + "of active animations, but it wasn't there.");
           }
 
-          propertyState.numPendingAnimations--;
+          animationState.numPendingAnimations[propertyIndex]--;
           didFinish = areAllDisappearingAnimationsFinished(animationState);
           if (didFinish && animationState.mountContentGroup != null) {
-            for (AnimatedProperty animatedProperty : animationState.propertyStates.keySet()) {
-              resetProperty(animatedProperty, animationState.mountContentGroup);
+            for (int j = 0; j < animationState.propertyCount; j++) {
+              resetProperty(animationState.properties[j], animationState.mountContentGroup);
             }
           }
         } else {
-          final PropertyState propertyState = animationState.propertyStates.get(property);
-          if (propertyState == null) {
+          if (propertyIndex < 0) {
             throw new RuntimeException(
                 "Some animation bookkeeping is wrong: tried to remove an animation from the list "
                     + "of active animations, but it wasn't there.");
           }
 
-          propertyState.numPendingAnimations--;
-          if (propertyState.numPendingAnimations > 0) {
+          animationState.numPendingAnimations[propertyIndex]--;
+          if (animationState.numPendingAnimations[propertyIndex] > 0) {
             didFinish = false;
           } else {
-            animationState.propertyStates.remove(property);
-            didFinish = animationState.propertyStates.isEmpty();
+            animationState.removePropertyAt(propertyIndex);
+            didFinish = animationState.propertyCount == 0;
 
             if (animationState.mountContentGroup != null) {
               final float value = getPropertyValue(property, animationState.nextLayoutOutputsGroup);
@@ -1108,8 +1191,8 @@ public class TransitionManager {
       if (animationState.changeType != ChangeType.DISAPPEARED) {
         throw new RuntimeException("This should only be checked for disappearing animations");
       }
-      for (PropertyState propertyState : animationState.propertyStates.values()) {
-        if (propertyState.numPendingAnimations > 0) {
+      for (int i = 0; i < animationState.propertyCount; i++) {
+        if (animationState.numPendingAnimations[i] > 0) {
           return false;
         }
       }
@@ -1124,11 +1207,11 @@ public class TransitionManager {
       final AnimatedProperty animatedProperty = propertyHandle.getProperty();
       final TransitionId transitionId = propertyHandle.getTransitionId();
       final AnimationState animationState = mAnimationStates.get(transitionId);
-      final PropertyState propertyState = animationState.propertyStates.get(animatedProperty);
+      final int propertyIndex = animationState.indexOfProperty(animatedProperty);
 
       // Use the current animating value if it exists...
-      if (propertyState != null) {
-        return propertyState.animatedPropertyNode.getValue();
+      if (propertyIndex >= 0) {
+        return animationState.propertyNodes[propertyIndex].getValue();
       }
 
       // ...otherwise, if it's a property not being animated (e.g., the width when content appears
@@ -1148,8 +1231,7 @@ public class TransitionManager {
     public AnimatedPropertyNode getAnimatedPropertyNode(PropertyHandle propertyHandle) {
       final TransitionId transitionId = propertyHandle.getTransitionId();
       final AnimationState state = mAnimationStates.get(transitionId);
-      final PropertyState propertyState = state.propertyStates.get(propertyHandle.getProperty());
-      return propertyState.animatedPropertyNode;
+      return state.propertyNodes[state.indexOfProperty(propertyHandle.getProperty())];
     }
   }
 
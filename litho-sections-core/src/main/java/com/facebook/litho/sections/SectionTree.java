@@ -56,6 +56,7 @@ import com.facebook.litho.sections.ChangesetDebugConfiguration.ChangesetDebugLis
 import com.facebook.litho.sections.SectionsLogEventUtils.ApplyNewChangeSet;
 import com.facebook.litho.sections.config.SectionsConfiguration;
 import com.facebook.litho.sections.logger.SectionsDebugLogger;
+import com.facebook.litho.stats.LithoPhaseStats;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.litho.widget.ChangeSetCompleteCallback;
 import com.facebook.litho.widget.RecyclerBinder.CommitPolicy;
@@ -1222,6 +1223,7 @@ public class SectionTree {
         if (isTracing) {
           ComponentsSystrace.beginSection("calculateNewChangeSet");
         }
+        final long changeSetStart = LithoPhaseStats.start();
         final ChangeSetState changeSetState =
             calculateNewChangeSet(
                 mContext,
@@ -1231,6 +1233,8 @@ public class SectionTree {
                 mSectionsDebugLogger,
                 mTag,
                 enableStats);
+        LithoPhaseStats.record(
+            LithoPhaseStats.PHASE_CHANGESET, nextRoot.getClass(), changeSetStart);
         if (isTracing) {
           ComponentsSystrace.endSection();
         }
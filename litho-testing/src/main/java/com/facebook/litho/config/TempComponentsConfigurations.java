@@ -38,6 +38,9 @@ public class TempComponentsConfigurations {
   private static final boolean originalEnsureParentMountedInRenderCore =
       ComponentsConfiguration.ensureParentMountedInRenderCoreMountState;
 
+  private static final boolean originalEnableHostFlattening =
+      ComponentsConfiguration.enableHostFlattening;
+
   private static final boolean originalLayoutCaching = ComponentsConfiguration.enableLayoutCaching;
 
   private static final boolean originalCanRemeasureCachedLayouts =
@@ -54,6 +57,14 @@ public class TempComponentsConfigurations {
         originalShouldAddHostViewForRootComponent;
   }
 
+  public static void setEnableHostFlattening(boolean value) {
+    ComponentsConfiguration.enableHostFlattening = value;
+  }
+
+  public static void restoreEnableHostFlattening() {
+    ComponentsConfiguration.enableHostFlattening = originalEnableHostFlattening;
+  }
+
   public static void setUseStatelessComponent(boolean value) {
     ComponentsConfiguration.useStatelessComponent = value;
     ComponentsConfiguration.setDefaultComponentsConfigurationBuilder(
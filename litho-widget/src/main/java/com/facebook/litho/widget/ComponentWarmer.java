@@ -16,18 +16,28 @@
 
 package com.facebook.litho.widget;
 
+import android.content.ComponentCallbacks2;
 import android.os.Handler;
 import android.os.Looper;
-import androidx.annotation.NonNull;
+import android.os.MessageQueue;
+import android.os.SystemClock;
 import androidx.annotation.VisibleForTesting;
-import androidx.collection.LruCache;
 import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentsReporter;
 import com.facebook.litho.Size;
 import com.facebook.litho.ThreadUtils;
 import com.facebook.rendercore.RunnableHandler;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 
 /**
@@ -41,8 +51,26 @@ public class ComponentWarmer {
   public static final String COMPONENT_WARMER_TAG = "component_warmer_tag";
   public static final String COMPONENT_WARMER_PREPARE_HANDLER = "component_warmer_prepare_handler";
   public static final int DEFAULT_MAX_SIZE = 10;
+  /** Priority of items prepared without an explicit one. Higher priorities are evicted last. */
+  public static final int PRIORITY_DEFAULT = 0;
   private static final String COMPONENT_WARMER_LOG_TAG = "ComponentWarmer";
 
+  /** Idle preparation stops when the used heap goes above this fraction of the max heap. */
+  private static final float MEMORY_PRESSURE_HEAP_RATIO = 0.85f;
+  /** Idle preparation stays stopped for this long after a memory trim signal. */
+  private static final long MEMORY_PRESSURE_COOLDOWN_MS = 10_000;
+
+  private static final Comparator<IdleRequest> IDLE_REQUEST_COMPARATOR =
+      new Comparator<IdleRequest>() {
+        @Override
+        public int compare(IdleRequest lhs, IdleRequest rhs) {
+          if (lhs.mPriority != rhs.mPriority) {
+            return lhs.mPriority > rhs.mPriority ? -1 : 1;
+          }
+          return lhs.mSequence < rhs.mSequence ? -1 : (lhs.mSequence == rhs.mSequence ? 0 : 1);
+        }
+      };
+
   public interface ComponentTreeHolderPreparer {
 
     /**
@@ -120,53 +148,224 @@ public class ComponentWarmer {
     void setCacheListener(CacheListener cacheListener);
   }
 
-  private static class DefaultCache implements Cache {
-    private final LruCache<String, ComponentTreeHolder> mCache;
+  /**
+   * A {@link Cache} which is aware of the priority and estimated memory cost of its entries. When
+   * the cache is over its entry or cost limits, it evicts the least recently used entry among the
+   * ones with the lowest priority.
+   */
+  public interface CostAwareCache extends Cache {
+
+    void put(String tag, ComponentTreeHolder holder, int priority, long estimatedCostBytes);
+
+    /** Sets the maximum total estimated cost of the entries held by this cache. */
+    void setMaxCost(long maxCostBytes);
+  }
+
+  private static class DefaultCache implements CostAwareCache {
+
+    private static final class Entry {
+      final ComponentTreeHolder mHolder;
+      final int mPriority;
+      final long mCost;
+
+      Entry(ComponentTreeHolder holder, int priority, long cost) {
+        mHolder = holder;
+        mPriority = priority;
+        mCost = cost;
+      }
+    }
+
+    // Access ordered, so iteration starts from the least recently used entry.
+    private final LinkedHashMap<String, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int mMaxSize;
     private final CacheListener mCacheListener;
+    private long mMaxCost = Long.MAX_VALUE;
+    private long mTotalCost;
 
     DefaultCache(int maxSize, CacheListener cacheListener) {
+      mMaxSize = maxSize;
       mCacheListener = cacheListener;
-      mCache =
-          new LruCache<String, ComponentTreeHolder>(maxSize) {
-
-            @Override
-            protected void entryRemoved(
-                boolean evicted,
-                @NonNull String key,
-                @NonNull ComponentTreeHolder oldValue,
-                @Nullable ComponentTreeHolder newValue) {
-              if (evicted && mCacheListener != null) {
-                mCacheListener.onEntryEvicted(key, oldValue);
-              }
-            }
-          };
     }
 
     @Override
     public @Nullable ComponentTreeHolder remove(String tag) {
-      return mCache.remove(tag);
+      final Entry entry;
+      synchronized (this) {
+        entry = mEntries.remove(tag);
+        if (entry == null) {
+          return null;
+        }
+        mTotalCost -= entry.mCost;
+      }
+      return entry.mHolder;
     }
 
     @Override
     public void put(String tag, ComponentTreeHolder holder) {
-      mCache.put(tag, holder);
+      put(tag, holder, PRIORITY_DEFAULT, 0);
+    }
+
+    @Override
+    public void put(String tag, ComponentTreeHolder holder, int priority, long estimatedCostBytes) {
+      synchronized (this) {
+        final Entry previous = mEntries.put(tag, new Entry(holder, priority, estimatedCostBytes));
+        if (previous != null) {
+          mTotalCost -= previous.mCost;
+        }
+        mTotalCost += estimatedCostBytes;
+      }
+      trim();
     }
 
     @Override
     @Nullable
     public ComponentTreeHolder get(String tag) {
-      return mCache.get(tag);
+      synchronized (this) {
+        final Entry entry = mEntries.get(tag);
+        return entry != null ? entry.mHolder : null;
+      }
     }
 
     @Override
     public void evictAll() {
-      mCache.evictAll();
+      final List<Map.Entry<String, Entry>> evicted;
+      synchronized (this) {
+        evicted = new ArrayList<>(mEntries.entrySet());
+        mEntries.clear();
+        mTotalCost = 0;
+      }
+
+      for (Map.Entry<String, Entry> entry : evicted) {
+        mCacheListener.onEntryEvicted(entry.getKey(), entry.getValue().mHolder);
+      }
     }
 
     @Override
     public void setCacheListener(CacheListener cacheListener) {
       // Already set from the constructor, so there is nothing to do here
     }
+
+    @Override
+    public void setMaxCost(long maxCostBytes) {
+      synchronized (this) {
+        mMaxCost = maxCostBytes;
+      }
+      trim();
+    }
+
+    private void trim() {
+      while (true) {
+        final String victimTag;
+        final Entry victim;
+        synchronized (this) {
+          if (mEntries.isEmpty() || (mEntries.size() <= mMaxSize && mTotalCost <= mMaxCost)) {
+            return;
+          }
+
+          Map.Entry<String, Entry> candidate = null;
+          for (Map.Entry<String, Entry> entry : mEntries.entrySet()) {
+            if (candidate == null || entry.getValue().mPriority < candidate.getValue().mPriority) {
+              candidate = entry;
+            }
+          }
+
+          victimTag = candidate.getKey();
+          victim = candidate.getValue();
+          mEntries.remove(victimTag);
+          mTotalCost -= victim.mCost;
+        }
+
+        mCacheListener.onEntryEvicted(victimTag, victim.mHolder);
+      }
+    }
+  }
+
+  /** An item scheduled with {@link #prepareOnIdle}, waiting for the main thread to be idle. */
+  private static final class IdleRequest {
+    final String mTag;
+    final ComponentRenderInfo mRenderInfo;
+    final int mPriority;
+    final long mSequence;
+    final @Nullable RunnableHandler mHandler;
+
+    IdleRequest(
+        String tag,
+        ComponentRenderInfo renderInfo,
+        int priority,
+        long sequence,
+        @Nullable RunnableHandler handler) {
+      mTag = tag;
+      mRenderInfo = renderInfo;
+      mPriority = priority;
+      mSequence = sequence;
+      mHandler = handler;
+    }
+  }
+
+  /** Priority and estimated cost of an entry, kept until it is consumed, removed or evicted. */
+  private static final class EntryInfo {
+    final int mPriority;
+    final long mCost;
+
+    EntryInfo(int priority, long cost) {
+      mPriority = priority;
+      mCost = cost;
+    }
+  }
+
+  /** Counters describing how well warming pays off for a {@link ComponentWarmer}. */
+  public static final class Stats {
+
+    private final int mPreparedCount;
+    private final int mUsedCount;
+    private final int mEvictedUnusedCount;
+    private final int mSkippedCount;
+
+    Stats(int preparedCount, int usedCount, int evictedUnusedCount, int skippedCount) {
+      mPreparedCount = preparedCount;
+      mUsedCount = usedCount;
+      mEvictedUnusedCount = evictedUnusedCount;
+      mSkippedCount = skippedCount;
+    }
+
+    /** Number of items that started preparing. */
+    public int getPreparedCount() {
+      return mPreparedCount;
+    }
+
+    /** Number of prepared items that were consumed before being evicted. */
+    public int getUsedCount() {
+      return mUsedCount;
+    }
+
+    /** Number of prepared items that were evicted from the cache without being consumed. */
+    public int getEvictedUnusedCount() {
+      return mEvictedUnusedCount;
+    }
+
+    /** Number of idle prepare requests dropped because of memory pressure. */
+    public int getSkippedCount() {
+      return mSkippedCount;
+    }
+
+    /** Fraction of the items that left the cache that were consumed, or 0 if none did. */
+    public float getUsedRatio() {
+      final int total = mUsedCount + mEvictedUnusedCount;
+      return total == 0 ? 0f : (float) mUsedCount / total;
+    }
+
+    @Override
+    public String toString() {
+      return "Stats{prepared="
+          + mPreparedCount
+          + ", used="
+          + mUsedCount
+          + ", evictedUnused="
+          + mEvictedUnusedCount
+          + ", skipped="
+          + mSkippedCount
+          + "}";
+    }
   }
 
   private Cache mCache;
@@ -176,6 +375,23 @@ public class ComponentWarmer {
   private BlockingQueue<ComponentRenderInfo> mPendingRenderInfos;
   private final Handler mMainThreadHandler = new Handler(Looper.getMainLooper());
   private volatile boolean mReleaseEvictedEntries;
+  private final Map<String, EntryInfo> mEntryInfos = new ConcurrentHashMap<>();
+  private final PriorityQueue<IdleRequest> mIdleRequests =
+      new PriorityQueue<>(DEFAULT_MAX_SIZE, IDLE_REQUEST_COMPARATOR);
+  private long mIdleRequestSequence;
+  private boolean mIsIdleHandlerScheduled;
+  private volatile long mLastTrimMemoryUptimeMs = -1;
+  private final AtomicInteger mPreparedCount = new AtomicInteger();
+  private final AtomicInteger mUsedCount = new AtomicInteger();
+  private final AtomicInteger mEvictedUnusedCount = new AtomicInteger();
+  private final AtomicInteger mSkippedCount = new AtomicInteger();
+  private final MessageQueue.IdleHandler mIdleHandler =
+      new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+          return prepareNextOnIdle();
+        }
+      };
 
   /**
    * Sets up a {@link ComponentTreeHolderPreparerWithSizeImpl} as the {@link
@@ -194,7 +410,8 @@ public class ComponentWarmer {
    * only be executed once this instance is bound to a ComponentTreeHolderPreparer.
    *
    * <p>Pass in a {@link ComponentWarmerReadyListener} instance to be notified when the instance is
-   * ready. Uses a {@link LruCache} to manage the internal cache.
+   * ready. Uses a least recently used cache of {@link #DEFAULT_MAX_SIZE} entries to manage the
+   * internal cache.
    */
   public ComponentWarmer() {
     init(null, null);
@@ -207,8 +424,8 @@ public class ComponentWarmer {
   /**
    * Creates a ComponentWarmer for this RecyclerBinder. This ComponentWarmer instance will use the
    * same ComponentTree factory as the RecyclerBinder. The RecyclerBinder will query the
-   * ComponentWarmer for cached items before creating new ComponentTrees. Uses a {@link LruCache} to
-   * manage the internal cache.
+   * ComponentWarmer for cached items before creating new ComponentTrees. Uses a least recently used
+   * cache of {@link #DEFAULT_MAX_SIZE} entries to manage the internal cache.
    */
   public ComponentWarmer(RecyclerBinder recyclerBinder) {
     this(recyclerBinder, null);
@@ -225,8 +442,8 @@ public class ComponentWarmer {
 
   /**
    * Creates a ComponentWarmer which will use the provided ComponentTreeHolderPreparer instance to
-   * create ComponentTreeHolder instances for preparing and caching items. Uses a {@link LruCache}
-   * to manage the internal cache.
+   * create ComponentTreeHolder instances for preparing and caching items. Uses a least recently
+   * used cache of {@link #DEFAULT_MAX_SIZE} entries to manage the internal cache.
    */
   public ComponentWarmer(ComponentTreeHolderPreparer factory) {
     this(factory, null);
@@ -261,6 +478,10 @@ public class ComponentWarmer {
         new CacheListener() {
           @Override
           public void onEntryEvicted(String tag, final ComponentTreeHolder holder) {
+            if (mEntryInfos.remove(tag) != null) {
+              mEvictedUnusedCount.incrementAndGet();
+            }
+
             if (mReleaseEvictedEntries) {
               if (ThreadUtils.isMainThread()) {
                 holder.releaseTree();
@@ -378,7 +599,19 @@ public class ComponentWarmer {
     }
     renderInfo.addCustomAttribute(COMPONENT_WARMER_TAG, tag);
     final ComponentTreeHolder holder = mFactory.create(renderInfo);
-    mCache.put(tag, holder);
+
+    EntryInfo info = mEntryInfos.get(tag);
+    if (info == null) {
+      info = new EntryInfo(PRIORITY_DEFAULT, 0);
+      mEntryInfos.put(tag, info);
+    }
+    mPreparedCount.incrementAndGet();
+
+    if (mCache instanceof CostAwareCache) {
+      ((CostAwareCache) mCache).put(tag, holder, info.mPriority, info.mCost);
+    } else {
+      mCache.put(tag, holder);
+    }
 
     if (isAsync) {
       mFactory.prepareAsync(holder);
@@ -398,6 +631,151 @@ public class ComponentWarmer {
     }
   }
 
+  /**
+   * Same as {@link #prepareOnIdle(String, ComponentRenderInfo, int, long, RunnableHandler)}, but
+   * computes the layout on the main thread within the idle window.
+   */
+  public void prepareOnIdle(
+      String tag, ComponentRenderInfo componentRenderInfo, int priority, long estimatedCostBytes) {
+    prepareOnIdle(tag, componentRenderInfo, priority, estimatedCostBytes, null);
+  }
+
+  /**
+   * Schedules preparing the ComponentTree for the given ComponentRenderInfo the next time the main
+   * thread is idle. One item is prepared per idle window, highest priority first. Items which are
+   * still waiting are dropped when the app is under memory pressure, see {@link
+   * #onTrimMemory(int)}.
+   *
+   * @param priority items with a higher priority are prepared first and evicted last.
+   * @param estimatedCostBytes estimated memory retained by the prepared item, used to keep the
+   *     cache within the budget set with {@link #setMaxCost(long)}.
+   * @param handler if not null, the layout is computed on this handler (e.g. a low priority layout
+   *     thread) once the main thread is idle. Otherwise it is computed on the main thread.
+   */
+  public void prepareOnIdle(
+      String tag,
+      ComponentRenderInfo componentRenderInfo,
+      int priority,
+      long estimatedCostBytes,
+      @Nullable RunnableHandler handler) {
+    mEntryInfos.put(tag, new EntryInfo(priority, estimatedCostBytes));
+
+    synchronized (this) {
+      mIdleRequests.offer(
+          new IdleRequest(tag, componentRenderInfo, priority, mIdleRequestSequence++, handler));
+      if (mIsIdleHandlerScheduled) {
+        return;
+      }
+      mIsIdleHandlerScheduled = true;
+    }
+
+    if (ThreadUtils.isMainThread()) {
+      Looper.myQueue().addIdleHandler(mIdleHandler);
+    } else {
+      mMainThreadHandler.post(
+          new Runnable() {
+            @Override
+            public void run() {
+              Looper.myQueue().addIdleHandler(mIdleHandler);
+            }
+          });
+    }
+  }
+
+  /** @return whether the idle handler should be kept registered. */
+  @VisibleForTesting
+  boolean prepareNextOnIdle() {
+    final IdleRequest request;
+    synchronized (this) {
+      if (isUnderMemoryPressure()) {
+        dropIdleRequests();
+      }
+
+      request = mIdleRequests.poll();
+      if (request == null) {
+        mIsIdleHandlerScheduled = false;
+        return false;
+      }
+    }
+
+    prepare(request.mTag, request.mRenderInfo, null, request.mHandler);
+
+    synchronized (this) {
+      if (mIdleRequests.isEmpty()) {
+        mIsIdleHandlerScheduled = false;
+        return false;
+      }
+      return true;
+    }
+  }
+
+  private synchronized void dropIdleRequests() {
+    for (IdleRequest request : mIdleRequests) {
+      mEntryInfos.remove(request.mTag);
+      mSkippedCount.incrementAndGet();
+    }
+    mIdleRequests.clear();
+  }
+
+  private synchronized void removeIdleRequest(String tag) {
+    final Iterator<IdleRequest> iterator = mIdleRequests.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().mTag.equals(tag)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private boolean isUnderMemoryPressure() {
+    final long lastTrimMemoryUptimeMs = mLastTrimMemoryUptimeMs;
+    if (lastTrimMemoryUptimeMs >= 0
+        && SystemClock.uptimeMillis() - lastTrimMemoryUptimeMs < MEMORY_PRESSURE_COOLDOWN_MS) {
+      return true;
+    }
+
+    final Runtime runtime = Runtime.getRuntime();
+    final long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+    return usedMemory > runtime.maxMemory() * MEMORY_PRESSURE_HEAP_RATIO;
+  }
+
+  /**
+   * Forward {@link ComponentCallbacks2#onTrimMemory(int)} here. While the app is low on memory,
+   * idle prepare requests are dropped; on critical levels the cache is evicted as well.
+   */
+  public void onTrimMemory(int level) {
+    final boolean isCritical =
+        level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL
+            || level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE;
+    if (level != ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+        && level < ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+        && !isCritical) {
+      return;
+    }
+
+    mLastTrimMemoryUptimeMs = SystemClock.uptimeMillis();
+    dropIdleRequests();
+
+    if (isCritical) {
+      evictAll();
+    }
+  }
+
+  /**
+   * Sets the maximum total estimated cost of the prepared items held by this instance. Only
+   * applies if the cache is a {@link CostAwareCache}, which the default one is.
+   */
+  public void setMaxCost(long maxCostBytes) {
+    if (mCache instanceof CostAwareCache) {
+      ((CostAwareCache) mCache).setMaxCost(maxCostBytes);
+    }
+  }
+
+  /** Returns how many prepared items were consumed versus evicted unused so far. */
+  public Stats getStats() {
+    return new Stats(
+        mPreparedCount.get(), mUsedCount.get(), mEvictedUnusedCount.get(), mSkippedCount.get());
+  }
+
   private void addToPending(
       String tag, ComponentRenderInfo componentRenderInfo, @Nullable RunnableHandler handler) {
     ensurePendingQueue();
@@ -457,6 +835,8 @@ public class ComponentWarmer {
   }
 
   public void remove(String tag) {
+    removeIdleRequest(tag);
+    mEntryInfos.remove(tag);
     mCache.remove(tag);
   }
 
@@ -465,7 +845,11 @@ public class ComponentWarmer {
    */
   @Nullable
   public ComponentTreeHolder consume(String tag) {
-    return mCache.remove(tag);
+    final ComponentTreeHolder holder = mCache.remove(tag);
+    if (holder != null && mEntryInfos.remove(tag) != null) {
+      mUsedCount.incrementAndGet();
+    }
+    return holder;
   }
 
   /**
@@ -473,6 +857,8 @@ public class ComponentWarmer {
    * removes the item from the cache.
    */
   public void cancelPrepare(String tag) {
+    removeIdleRequest(tag);
+    mEntryInfos.remove(tag);
     final ComponentTreeHolder holder = mCache.remove(tag);
     if (holder == null || holder.getComponentTree() == null) {
       return;
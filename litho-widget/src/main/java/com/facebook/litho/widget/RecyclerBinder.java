@@ -120,6 +120,9 @@ public class RecyclerBinder
   @GuardedBy("this")
   private final List<ComponentTreeHolder> mComponentTreeHolders = new ArrayList<>();
 
+  @GuardedBy("this")
+  private final StickyPositionIndex mStickyPositionIndex = new StickyPositionIndex();
+
   @GuardedBy("this")
   private final List<ComponentTreeHolder> mAsyncComponentTreeHolders = new ArrayList<>();
 
@@ -1346,6 +1349,8 @@ public class RecyclerBinder
 
     mRenderInfoViewCreatorController.maybeTrackViewCreator(operation.mHolder.getRenderInfo());
     mComponentTreeHolders.add(operation.mPosition, operation.mHolder);
+    mStickyPositionIndex.onInserted(
+        operation.mPosition, operation.mHolder.getRenderInfo().isSticky());
     operation.mHolder.setInserted(true);
     mInternalAdapter.notifyItemInserted(operation.mPosition);
     final boolean shouldUpdate =
@@ -1480,7 +1485,9 @@ public class RecyclerBinder
       }
       toRelease = new ArrayList<>(mComponentTreeHolders);
       mComponentTreeHolders.clear();
+      mStickyPositionIndex.clear();
       for (RenderInfo renderInfo : renderInfos) {
+        mStickyPositionIndex.onInserted(mComponentTreeHolders.size(), renderInfo.isSticky());
         mComponentTreeHolders.add(createComponentTreeHolder(renderInfo));
       }
     }
@@ -1540,6 +1547,7 @@ public class RecyclerBinder
         throw new RuntimeException("Trying to do a sync insert when using asynchronous mutations!");
       }
       mComponentTreeHolders.add(position, holder);
+      mStickyPositionIndex.onInserted(position, renderInfo.isSticky());
       mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
     }
 
@@ -1670,6 +1678,13 @@ public class RecyclerBinder
         mComponentTreeHolders.add(position + i, holder);
         mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
       }
+
+      mStickyPositionIndex.onRangeInserted(position, renderInfos.size());
+      for (int i = 0, size = renderInfos.size(); i < size; i++) {
+        if (renderInfos.get(i).isSticky()) {
+          mStickyPositionIndex.onUpdated(position + i, true);
+        }
+      }
     }
 
     mInternalAdapter.notifyItemRangeInserted(position, renderInfos.size());
@@ -1709,6 +1724,7 @@ public class RecyclerBinder
       assertNotNullRenderInfo(renderInfo);
       mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
       updateHolder(holder, renderInfo);
+      mStickyPositionIndex.onUpdated(position, renderInfo.isSticky());
     }
 
     // If this item is rendered with a view (or was rendered with a view before now) we need to
@@ -1761,6 +1777,7 @@ public class RecyclerBinder
 
           mRenderInfoViewCreatorController.maybeTrackViewCreator(newRenderInfo);
           updateHolder(holder, newRenderInfo);
+          mStickyPositionIndex.onUpdated(position + i, newRenderInfo.isSticky());
         }
       } catch (IndexOutOfBoundsException e) {
         final String[] names = new String[renderInfos.size()];
@@ -1802,6 +1819,7 @@ public class RecyclerBinder
     synchronized (this) {
       holder = mComponentTreeHolders.remove(fromPosition);
       mComponentTreeHolders.add(toPosition, holder);
+      mStickyPositionIndex.onMoved(fromPosition, toPosition);
 
       isNewPositionInRange =
           mEstimatedViewportCount != UNSET
@@ -1838,6 +1856,7 @@ public class RecyclerBinder
     final ComponentTreeHolder holder;
     synchronized (this) {
       holder = mComponentTreeHolders.remove(position);
+      mStickyPositionIndex.onRangeRemoved(position, 1);
     }
     mInternalAdapter.notifyItemRemoved(position);
 
@@ -1872,6 +1891,7 @@ public class RecyclerBinder
         final ComponentTreeHolder holder = mComponentTreeHolders.remove(position);
         toRelease.add(holder);
       }
+      mStickyPositionIndex.onRangeRemoved(position, count);
     }
     mInternalAdapter.notifyItemRangeRemoved(position, count);
 
@@ -3199,6 +3219,25 @@ public class RecyclerBinder
         && mComponentTreeHolders.get(position).getRenderInfo().isSticky();
   }
 
+  /**
+   * @return the position of the last sticky item at or before the given position, or {@link
+   *     RecyclerView#NO_POSITION} if there is none. Uses an index of the sticky positions instead
+   *     of checking every item.
+   */
+  @UiThread
+  synchronized int findStickyPositionAtOrBefore(int position) {
+    return mStickyPositionIndex.findAtOrBefore(position);
+  }
+
+  /**
+   * @return the position of the first sticky item at or after the given position, or {@link
+   *     RecyclerView#NO_POSITION} if there is none.
+   */
+  @UiThread
+  synchronized int findStickyPositionAtOrAfter(int position) {
+    return mStickyPositionIndex.findAtOrAfter(position);
+  }
+
   @Override
   @UiThread
   @GuardedBy("this")
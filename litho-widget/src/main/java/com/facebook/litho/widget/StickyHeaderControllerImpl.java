@@ -165,16 +165,15 @@ class StickyHeaderControllerImpl extends RecyclerView.OnScrollListener
       // Translate sticky header
       final int lastVisiblePosition = mHasStickyHeader.findLastVisibleItemPosition();
       int translationY = 0;
-      for (int i = firstVisiblePosition; i <= lastVisiblePosition; i++) {
-        if (mHasStickyHeader.isSticky(i)) {
-          final View nextStickyHeader = mLayoutManager.findViewByPosition(i);
-          final int offsetBetweenStickyHeaders =
-              nextStickyHeader.getTop()
-                  - mSectionsRecyclerView.getStickyHeader().getBottom()
-                  + mSectionsRecyclerView.getPaddingTop();
-          translationY = Math.min(offsetBetweenStickyHeaders, 0);
-          break;
-        }
+      final int nextStickyHeaderPosition =
+          findNextStickyHeaderPosition(firstVisiblePosition, lastVisiblePosition);
+      if (nextStickyHeaderPosition != RecyclerView.NO_POSITION) {
+        final View nextStickyHeader = mLayoutManager.findViewByPosition(nextStickyHeaderPosition);
+        final int offsetBetweenStickyHeaders =
+            nextStickyHeader.getTop()
+                - mSectionsRecyclerView.getStickyHeader().getBottom()
+                + mSectionsRecyclerView.getPaddingTop();
+        translationY = Math.min(offsetBetweenStickyHeaders, 0);
       }
       mSectionsRecyclerView.setStickyHeaderVerticalOffset(translationY);
       previousStickyHeaderPosition = stickyHeaderPosition;
@@ -189,6 +188,11 @@ class StickyHeaderControllerImpl extends RecyclerView.OnScrollListener
 
   @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
   int findStickyHeaderPosition(int currentFirstVisiblePosition) {
+    if (mHasStickyHeader instanceof RecyclerBinder) {
+      return ((RecyclerBinder) mHasStickyHeader)
+          .findStickyPositionAtOrBefore(currentFirstVisiblePosition);
+    }
+
     for (int i = currentFirstVisiblePosition; i >= 0; i--) {
       if (mHasStickyHeader.isSticky(i)) {
         return i;
@@ -196,4 +200,19 @@ class StickyHeaderControllerImpl extends RecyclerView.OnScrollListener
     }
     return RecyclerView.NO_POSITION;
   }
+
+  private int findNextStickyHeaderPosition(int firstVisiblePosition, int lastVisiblePosition) {
+    if (mHasStickyHeader instanceof RecyclerBinder) {
+      final int position =
+          ((RecyclerBinder) mHasStickyHeader).findStickyPositionAtOrAfter(firstVisiblePosition);
+      return position <= lastVisiblePosition ? position : RecyclerView.NO_POSITION;
+    }
+
+    for (int i = firstVisiblePosition; i <= lastVisiblePosition; i++) {
+      if (mHasStickyHeader.isSticky(i)) {
+        return i;
+      }
+    }
+    return RecyclerView.NO_POSITION;
+  }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import androidx.recyclerview.widget.RecyclerView;
+import java.util.Arrays;
+
+/**
+ * Sorted positions of the sticky items of a list. It is kept up to date as items are inserted,
+ * removed, moved and updated so that the sticky header for a position can be found with a binary
+ * search instead of walking back through the items. Updates are linear in the number of sticky
+ * items, which are expected to be sparse. Not thread safe.
+ */
+class StickyPositionIndex {
+
+  private int[] mPositions = new int[8];
+  private int mSize;
+
+  void clear() {
+    mSize = 0;
+  }
+
+  int size() {
+    return mSize;
+  }
+
+  /** Called after {@code count} items were inserted at {@code position}, before marking any. */
+  void onRangeInserted(int position, int count) {
+    for (int i = lowerBound(position); i < mSize; i++) {
+      mPositions[i] += count;
+    }
+  }
+
+  /** Called after an item was inserted at {@code position}. */
+  void onInserted(int position, boolean isSticky) {
+    onRangeInserted(position, 1);
+    if (isSticky) {
+      add(position);
+    }
+  }
+
+  /** Called after {@code count} items were removed starting at {@code position}. */
+  void onRangeRemoved(int position, int count) {
+    final int from = lowerBound(position);
+    final int to = lowerBound(position + count);
+    System.arraycopy(mPositions, to, mPositions, from, mSize - to);
+    mSize -= to - from;
+    for (int i = from; i < mSize; i++) {
+      mPositions[i] -= count;
+    }
+  }
+
+  /** Called after the item at {@code fromPosition} was moved to {@code toPosition}. */
+  void onMoved(int fromPosition, int toPosition) {
+    final boolean isSticky = contains(fromPosition);
+    onRangeRemoved(fromPosition, 1);
+    onInserted(toPosition, isSticky);
+  }
+
+  /** Called when the item at {@code position} was updated and may have changed stickiness. */
+  void onUpdated(int position, boolean isSticky) {
+    final int index = lowerBound(position);
+    final boolean wasSticky = index < mSize && mPositions[index] == position;
+    if (isSticky && !wasSticky) {
+      add(position);
+    } else if (!isSticky && wasSticky) {
+      System.arraycopy(mPositions, index + 1, mPositions, index, mSize - index - 1);
+      mSize--;
+    }
+  }
+
+  boolean contains(int position) {
+    final int index = lowerBound(position);
+    return index < mSize && mPositions[index] == position;
+  }
+
+  /**
+   * @return the largest sticky position <= {@code position}, or {@link RecyclerView#NO_POSITION}
+   */
+  int findAtOrBefore(int position) {
+    final int index = lowerBound(position + 1) - 1;
+    return index >= 0 ? mPositions[index] : RecyclerView.NO_POSITION;
+  }
+
+  /**
+   * @return the smallest sticky position >= {@code position}, or {@link RecyclerView#NO_POSITION}
+   */
+  int findAtOrAfter(int position) {
+    final int index = lowerBound(position);
+    return index < mSize ? mPositions[index] : RecyclerView.NO_POSITION;
+  }
+
+  private void add(int position) {
+    final int index = lowerBound(position);
+    if (mSize == mPositions.length) {
+      mPositions = Arrays.copyOf(mPositions, mSize * 2);
+    }
+    System.arraycopy(mPositions, index, mPositions, index + 1, mSize - index);
+    mPositions[index] = position;
+    mSize++;
+  }
+
+  /** @return the index of the first sticky position >= {@code position}. */
+  private int lowerBound(int position) {
+    int low = 0;
+    int high = mSize;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (mPositions[mid] < position) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}